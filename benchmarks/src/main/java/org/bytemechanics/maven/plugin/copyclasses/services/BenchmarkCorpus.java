@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Corpora of the benchmarks:
+ * <ul>
+ * <li>LambdaUnchecker and Scope: the real sources used as fixtures by the plugin tests</li>
+ * <li>large: synthetic source with comments, literals, annotations and qualified references of the given number of lines</li>
+ * <li>sources jar: synthetic sources jar with the given number of classes spread over packages</li>
+ * </ul>
+ * All the corpora belong to the package org.bytemechanics.commons (or its subpackages), so they are relocated by {@link #FROM_PACKAGE}
+ * @author afarre
+ * @since 2.1.0
+ */
+public final class BenchmarkCorpus {
+
+	public static final String FROM_PACKAGE="org.bytemechanics.commons";
+	public static final String TO_PACKAGE="my.internal.commons";
+	public static final String ARTIFACT="org.bytemechanics:copy-commons:1.5.0";
+	public static final String LARGE="large";
+
+	private static final String SYNTHETIC_HEADER="/*\n * Synthetic source generated for benchmarking, class {1}\n */\npackage {0};\n\nimport java.util.Optional;\nimport org.bytemechanics.commons.functional.LambdaUnchecker;\n\n/**\n * Synthetic class {1}\n * @see org.bytemechanics.commons.string.GenericTextParser\n */\npublic class {1} '{'\n\n";
+	private static final String SYNTHETIC_METHOD="\t/**\n\t * Method {0} of the class, see org.bytemechanics.commons.functional.LambdaUnchecker\n\t */\n\tpublic String method{0}(final String _value)'{'\n\t\t// class-like comment: public class Commented\n\t\tfinal String text=\"org.bytemechanics.commons literal with \\\"quotes\\\" {0}\";\n\t\tfinal char quote=''\"'';\n\t\treturn Optional.ofNullable(_value)\n\t\t\t\t\t.map(value -> value+text+quote)\n\t\t\t\t\t.map(org.bytemechanics.commons.string.GenericTextParser::toString)\n\t\t\t\t\t.orElse(\"\");\n\t'}'\n\n";
+	private static final int SYNTHETIC_METHOD_LINES=12;
+
+
+	private BenchmarkCorpus(){
+	}
+
+	/**
+	 * @param _name LambdaUnchecker, Scope or large
+	 * @param _lines lines of the large corpus
+	 * @return the source content
+	 */
+	public static String source(final String _name,final int _lines){
+		return (LARGE.equals(_name))? synthetic(FROM_PACKAGE+".large","Large",_lines) : fixture(_name);
+	}
+
+	/**
+	 * @param _name fixture name
+	 * @return the fixture content
+	 */
+	public static String fixture(final String _name){
+
+		try(InputStream inputStream=BenchmarkCorpus.class.getResourceAsStream("/corpus/"+_name+".javacode")){
+			if(inputStream==null){
+				throw new IllegalArgumentException(MessageFormat.format("Unknown corpus {0}",_name));
+			}
+			final ByteArrayOutputStream content=new ByteArrayOutputStream();
+			final byte[] buffer=new byte[8192];
+			int read=inputStream.read(buffer);
+			while(read>=0){
+				content.write(buffer,0,read);
+				read=inputStream.read(buffer);
+			}
+			return new String(content.toByteArray(),StandardCharsets.UTF_8);
+		}catch(IOException e){
+			throw new UncheckedIOException(MessageFormat.format("Unable to read corpus {0}",_name),e);
+		}
+	}
+
+	/**
+	 * @param _package package of the class
+	 * @param _className simple name of the class
+	 * @param _lines approximate number of lines
+	 * @return a synthetic source
+	 */
+	public static String synthetic(final String _package,final String _className,final int _lines){
+
+		final StringBuilder reply=new StringBuilder(_lines*48);
+
+		reply.append(MessageFormat.format(SYNTHETIC_HEADER,_package,_className));
+		for(int i=0;i<Math.max(1,_lines/SYNTHETIC_METHOD_LINES);i++){
+			reply.append(MessageFormat.format(SYNTHETIC_METHOD,String.valueOf(i)));
+		}
+		reply.append("}\n");
+
+		return reply.toString();
+	}
+
+	/**
+	 * @param _source source content
+	 * @return number of lines of the source
+	 */
+	public static int lines(final String _source){
+
+		int reply=0;
+
+		for(int i=0;i<_source.length();i++){
+			if(_source.charAt(i)=='\n'){
+				reply++;
+			}
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Write a synthetic sources jar
+	 * @param _jar jar file to write
+	 * @param _classes number of classes, spread over packages of 100 classes
+	 * @param _lines lines of each class
+	 * @throws IOException if the jar can not be written
+	 */
+	public static void writeSourcesJar(final Path _jar,final int _classes,final int _lines) throws IOException{
+
+		try(OutputStream outputStream=Files.newOutputStream(_jar);
+				JarOutputStream jar=new JarOutputStream(outputStream)){
+			jar.putNextEntry(new JarEntry("META-INF/MANIFEST.MF"));
+			jar.write("Manifest-Version: 1.0\n".getBytes(StandardCharsets.UTF_8));
+			jar.closeEntry();
+			for(int i=0;i<_classes;i++){
+				final String packageName=FROM_PACKAGE+".p"+(i/100);
+				final String className="Synthetic"+i;
+				jar.putNextEntry(new JarEntry(packageName.replace('.','/')+'/'+className+CopyServiceImpl.JAVA_SOURCE_EXTENSION));
+				jar.write(synthetic(packageName,className,_lines).getBytes(StandardCharsets.UTF_8));
+				jar.closeEntry();
+			}
+		}
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the gc profiler enabled, so the allocation rate per operation (gc.alloc.rate.norm) is always reported.
+ * Accepts the standard JMH command line options (benchmark filter, -p parameters, -rf json...)
+ * @author afarre
+ * @since 2.1.0
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner(){
+	}
+
+	public static void main(final String... _args) throws RunnerException, CommandLineOptionException{
+
+		new Runner(new OptionsBuilder()
+							.parent(new CommandLineOptions(_args))
+							.addProfiler(GCProfiler.class)
+							.build())
+				.run();
+	}
+}
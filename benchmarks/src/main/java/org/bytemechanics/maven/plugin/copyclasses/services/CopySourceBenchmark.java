@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the per class hot paths of the copy engine over a single source:
+ * <ul>
+ * <li>copySource: full copy of the source to its target (read, rewrite, encode and write if different)</li>
+ * <li>rewrite: single-pass rewriter over the in-memory source</li>
+ * <li>copySourceByLines: {@link LineBasedRewriter} over the in-memory source, as reference</li>
+ * <li>isMainTypeDefinition: main type detection over all the lines of the source</li>
+ * <li>generateSourceFile: target file resolution of the class, with the compiled plan and with the copy definition</li>
+ * </ul>
+ * Processed lines and bytes are reported as lines/s and bytes/s secondary results. 
+ * The setup fails if the single-pass and the line based rewriters do not generate the same source
+ * @author afarre
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations=3, time=2)
+@Measurement(iterations=5, time=2)
+@Fork(1)
+public class CopySourceBenchmark {
+
+	@Param({"LambdaUnchecker","Scope",BenchmarkCorpus.LARGE})
+	public String corpus;
+	@Param({"20000"})
+	public int largeLines;
+	@Param({"true"})
+	public boolean annotate;
+
+	private Path workFolder;
+	private Path targetFile;
+	private CopyServiceImpl service;
+	private CopyDefinition copy;
+	private CompiledCopyPlan plan;
+	private LineBasedRewriter lineBasedRewriter;
+	private String clazz;
+	private String source;
+	private char[] sourceChars;
+	private byte[] sourceBytes;
+	private String[] sourceLines;
+
+
+	@Setup
+	public void setup() throws IOException, MojoExecutionException{
+
+		this.workFolder=Files.createTempDirectory("copysource-benchmark");
+		this.service=new CopyServiceImpl(new CopyServiceImpl.Settings(new SilentLog(), this.workFolder.toString(), "generated", StandardCharsets.UTF_8)
+												.withExecutionTime(LocalDateTime.of(2026,1,1,0,0)));
+		this.source=BenchmarkCorpus.source(this.corpus, this.largeLines);
+		this.sourceChars=this.source.toCharArray();
+		this.sourceBytes=this.source.getBytes(StandardCharsets.UTF_8);
+		this.sourceLines=this.source.split("\n");
+		this.clazz=BenchmarkCorpus.FROM_PACKAGE+".functional."+this.corpus;
+		this.copy=new CopyDefinition(BenchmarkCorpus.ARTIFACT, new String[]{this.clazz}, "UTF-8", BenchmarkCorpus.FROM_PACKAGE, BenchmarkCorpus.TO_PACKAGE);
+		this.plan=this.service.compilePlan(this.copy, this.annotate);
+		this.lineBasedRewriter=new LineBasedRewriter(this.service, this.plan);
+		final StringWriter reference=new StringWriter(this.sourceChars.length);
+		this.lineBasedRewriter.rewrite(new BufferedReader(new StringReader(this.source)), reference);
+		if(!reference.toString().equals(new JavaSourceRewriter(this.plan).rewrite(this.sourceChars, this.sourceChars.length))){
+			throw new IllegalStateException(MessageFormat.format("The single-pass rewriter does not generate the same source than the line based rewriter for corpus {0}",this.corpus));
+		}
+		this.targetFile=this.plan.generateSourceFile(this.workFolder.resolve("generated"), this.clazz).get();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException{
+		Files.deleteIfExists(this.targetFile);
+	}
+
+	@Benchmark
+	public boolean copySource(final ThroughputCounters _counters) throws MojoExecutionException{
+
+		final boolean reply=this.service.copySource(new ByteArrayInputStream(this.sourceBytes), this.targetFile, this.clazz, this.plan);
+		_counters.count(this.sourceLines.length, this.sourceBytes.length);
+
+		return reply;
+	}
+
+	@Benchmark
+	public String rewrite(final ThroughputCounters _counters){
+
+		final String reply=new JavaSourceRewriter(this.plan).rewrite(this.sourceChars, this.sourceChars.length);
+		_counters.count(this.sourceLines.length, this.sourceBytes.length);
+
+		return reply;
+	}
+
+	@Benchmark
+	public String copySourceByLines(final ThroughputCounters _counters) throws IOException{
+
+		final StringWriter reply=new StringWriter(this.sourceChars.length);
+		this.lineBasedRewriter.rewrite(new BufferedReader(new StringReader(this.source)), reply);
+		_counters.count(this.sourceLines.length, this.sourceBytes.length);
+
+		return reply.toString();
+	}
+
+	@Benchmark
+	public int isMainTypeDefinition(final ThroughputCounters _counters){
+
+		int reply=0;
+
+		for(String line:this.sourceLines){
+			if(this.service.isMainTypeDefinition(line)){
+				reply++;
+			}
+		}
+		_counters.count(this.sourceLines.length, this.sourceBytes.length);
+
+		return reply;
+	}
+
+	@Benchmark
+	public Optional<Path> generateSourceFile_plan(){
+		return this.service.generateSourceFile(this.workFolder, this.clazz, this.plan);
+	}
+
+	@Benchmark
+	public Optional<Path> generateSourceFile_definition(){
+		return this.service.generateSourceFile(this.workFolder, this.clazz, this.copy);
+	}
+}
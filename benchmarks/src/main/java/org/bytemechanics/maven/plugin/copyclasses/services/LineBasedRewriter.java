@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Line based rewriter used by the copy service before the single-pass {@link JavaSourceRewriter}, 
+ * kept out of the plugin only as baseline of the rewriter benchmarks
+ * @author afarre
+ * @since 2.1.0
+ */
+public class LineBasedRewriter {
+
+	private final CopyServiceImpl service;
+	private final CompiledCopyPlan plan;
+
+
+	/**
+	 * @param _service copy service that provides the line classifiers
+	 * @param _plan compiled copy plan
+	 */
+	public LineBasedRewriter(final CopyServiceImpl _service,final CompiledCopyPlan _plan) {
+		this.service=_service;
+		this.plan=_plan;
+	}
+
+	/**
+	 * Rewrite the source line by line
+	 * @param _sourceReader source reader
+	 * @param _sourceWriter target writer
+	 * @throws IOException if the source can not be read or the target can not be written
+	 */
+	public void rewrite(final BufferedReader _sourceReader,final Writer _sourceWriter) throws IOException{
+
+		String line=_sourceReader.readLine();
+		boolean mainFound=false;
+		boolean packageFound=false;
+		boolean isInComment=false;
+		boolean importAdded=false;
+		while(line!=null){
+			packageFound|=this.service.isPackage(line);
+			if((!isInComment)&&(this.service.isBeginComment(line))){
+				isInComment=true;
+			}else{
+				if(this.service.isEndComment(line)){
+					isInComment=false;
+				}
+			}
+			line=this.plan.relocate(line);
+			if((this.plan.isAnnotate())&&(packageFound)&&(!isInComment)&&(!mainFound)){
+				if(this.service.isMainTypeDefinition(line)){
+					_sourceWriter.write(this.plan.getAnnotation());
+					_sourceWriter.write('\n');
+					mainFound=true;
+				}
+				_sourceWriter.write(line);
+				_sourceWriter.write('\n');
+				if(!importAdded){
+					_sourceWriter.write(CopyServiceImpl.CUSTOM_IMPORT_ANNOTATION);
+					_sourceWriter.write('\n');
+					importAdded=true;
+				}
+			}else{
+				_sourceWriter.write(line);
+				_sourceWriter.write('\n');
+			}
+			line=_sourceReader.readLine();
+		}
+	}
+}
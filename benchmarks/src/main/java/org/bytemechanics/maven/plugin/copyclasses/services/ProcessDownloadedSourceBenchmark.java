@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of a full copy from a synthetic sources jar of thousands of classes: open and index the jar, resolve the selection and copy each selected class.
+ * The selection is one package (100 classes) or the whole jar. The generated classes are kept between invocations, so after the first one
+ * the measure is the steady state of a non incremental build: everything is read and rewritten but nothing is written.
+ * The classes are copied inline (pipelineMaxMemory 0) or through the copy pipeline
+ * @author afarre
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=3, time=5)
+@Measurement(iterations=5, time=5)
+@Fork(1)
+public class ProcessDownloadedSourceBenchmark {
+
+	@Param({"5000"})
+	public int entries;
+	@Param({"200"})
+	public int linesPerClass;
+	@Param({BenchmarkCorpus.FROM_PACKAGE+".p0.*","**"})
+	public String selection;
+	@Param({"0","32"})
+	public long pipelineMaxMemory;
+
+	private Path workFolder;
+	private Path sourcesJar;
+	private Path generatedSourcesPath;
+	private CopyServiceImpl service;
+	private CopyDefinition copy;
+	private long selectedLines;
+	private long selectedBytes;
+
+
+	@Setup
+	public void setup() throws IOException{
+
+		this.workFolder=Files.createTempDirectory("copysource-benchmark");
+		this.sourcesJar=this.workFolder.resolve("synthetic-sources.jar");
+		BenchmarkCorpus.writeSourcesJar(this.sourcesJar, this.entries, this.linesPerClass);
+		this.generatedSourcesPath=this.workFolder.resolve("generated");
+		this.service=new CopyServiceImpl(new CopyServiceImpl.Settings(new SilentLog(), this.workFolder.toString(), "generated", StandardCharsets.UTF_8)
+												.withExecutionTime(LocalDateTime.of(2026,1,1,0,0))
+												.withPipeline((this.pipelineMaxMemory>0)? new CopyPipeline(Runtime.getRuntime().availableProcessors(),this.pipelineMaxMemory*1024l*1024l) : null));
+		this.copy=new CopyDefinition(BenchmarkCorpus.ARTIFACT, new String[]{this.selection}, "UTF-8", BenchmarkCorpus.FROM_PACKAGE, BenchmarkCorpus.TO_PACKAGE);
+		final int selectedClasses=("**".equals(this.selection))? this.entries : Math.min(100,this.entries);
+		final String sample=BenchmarkCorpus.synthetic(BenchmarkCorpus.FROM_PACKAGE+".p0","Synthetic0",this.linesPerClass);
+		this.selectedLines=(long)selectedClasses*BenchmarkCorpus.lines(sample);
+		this.selectedBytes=(long)selectedClasses*sample.getBytes(StandardCharsets.UTF_8).length;
+	}
+
+	@TearDown
+	public void tearDown() throws IOException{
+
+		this.service.close();
+		try(Stream<Path> paths=Files.walk(this.workFolder)){
+			paths.sorted(Comparator.reverseOrder())
+					.map(Path::toFile)
+					.forEach(java.io.File::delete);
+		}
+	}
+
+	@Benchmark
+	public int processDownloadedSource(final ThroughputCounters _counters) throws MojoExecutionException{
+
+		this.service.processDownloadedSource(this.sourcesJar, this.copy, this.generatedSourcesPath);
+		_counters.count(this.selectedLines, this.selectedBytes);
+
+		return this.service.getWrittenFiles();
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Log with all the levels disabled, so the benchmarks measure the copy and not the console
+ * @author afarre
+ * @since 2.1.0
+ */
+public class SilentLog implements Log{
+
+	@Override
+	public boolean isDebugEnabled() {
+		return false;
+	}
+	@Override
+	public void debug(CharSequence cs) {
+	}
+	@Override
+	public void debug(CharSequence cs, Throwable thrwbl) {
+	}
+	@Override
+	public void debug(Throwable thrwbl) {
+	}
+
+	@Override
+	public boolean isInfoEnabled() {
+		return false;
+	}
+	@Override
+	public void info(CharSequence cs) {
+	}
+	@Override
+	public void info(CharSequence cs, Throwable thrwbl) {
+	}
+	@Override
+	public void info(Throwable thrwbl) {
+	}
+
+	@Override
+	public boolean isWarnEnabled() {
+		return false;
+	}
+	@Override
+	public void warn(CharSequence cs) {
+	}
+	@Override
+	public void warn(CharSequence cs, Throwable thrwbl) {
+	}
+	@Override
+	public void warn(Throwable thrwbl) {
+	}
+
+	@Override
+	public boolean isErrorEnabled() {
+		return false;
+	}
+	@Override
+	public void error(CharSequence cs) {
+	}
+	@Override
+	public void error(CharSequence cs, Throwable thrwbl) {
+	}
+	@Override
+	public void error(Throwable thrwbl) {
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.stream.Stream;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the archive readers side by side over a synthetic sources jar of thousands of classes: 
+ * open and index the jar, and read the content of the selected classes (one package of 100 classes or the whole jar)
+ * @author afarre
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=3, time=5)
+@Measurement(iterations=5, time=5)
+@Fork(1)
+public class SourceArchiveBenchmark {
+
+	@Param({"5000"})
+	public int entries;
+	@Param({"200"})
+	public int linesPerClass;
+	@Param({BenchmarkCorpus.FROM_PACKAGE+".p0.*","**"})
+	public String selection;
+	@Param({"JAR","ZIP","ZIPFS","MAPPED"})
+	public ArchiveReader archiveReader;
+
+	private Path workFolder;
+	private Path sourcesJar;
+	private byte[] buffer;
+
+
+	@Setup
+	public void setup() throws IOException{
+
+		this.workFolder=Files.createTempDirectory("copysource-benchmark");
+		this.sourcesJar=this.workFolder.resolve("synthetic-sources.jar");
+		BenchmarkCorpus.writeSourcesJar(this.sourcesJar, this.entries, this.linesPerClass);
+		this.buffer=new byte[8192];
+	}
+
+	@TearDown
+	public void tearDown() throws IOException{
+
+		try(Stream<Path> paths=Files.walk(this.workFolder)){
+			paths.sorted(Comparator.reverseOrder())
+					.map(Path::toFile)
+					.forEach(java.io.File::delete);
+		}
+	}
+
+	@Benchmark
+	public long openAndIndex() throws IOException{
+		try(OpenedSourceJar opened=OpenedSourceJar.open(this.sourcesJar, this.archiveReader, false)){
+			return opened.getIndex().size();
+		}
+	}
+
+	@Benchmark
+	public long openAndRead() throws IOException{
+
+		long reply=0;
+
+		try(OpenedSourceJar opened=OpenedSourceJar.open(this.sourcesJar, this.archiveReader, false)){
+			for(JarEntry entry:opened.getIndex().select(this.selection).values()){
+				try(InputStream inputStream=opened.getArchive().getInputStream(entry)){
+					int read=inputStream.read(this.buffer);
+					while(read>=0){
+						reply+=read;
+						read=inputStream.read(this.buffer);
+					}
+				}
+			}
+		}
+
+		return reply;
+	}
+}
@@ -15,25 +15,64 @@
  */
 package org.bytemechanics.maven.plugin.copyclasses;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.MessageFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.jar.JarFile;
+import javax.tools.JavaCompiler;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenExecutionRequest;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
 import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+import org.bytemechanics.maven.plugin.copyclasses.enums.CopyDateSource;
 import org.bytemechanics.maven.plugin.copyclasses.enums.Scope;
+import org.bytemechanics.maven.plugin.copyclasses.logging.OrderedLog;
+import org.bytemechanics.maven.plugin.copyclasses.report.ExecutionReport;
+import org.bytemechanics.maven.plugin.copyclasses.services.BuildCacheDescriptor;
+import org.bytemechanics.maven.plugin.copyclasses.services.CopyPipeline;
 import org.bytemechanics.maven.plugin.copyclasses.services.CopyService;
 import org.bytemechanics.maven.plugin.copyclasses.services.CopyServiceImpl;
+import org.bytemechanics.maven.plugin.copyclasses.services.FingerprintStore;
+import org.bytemechanics.maven.plugin.copyclasses.services.RelocationCache;
+import org.bytemechanics.maven.plugin.copyclasses.services.ResidentState;
+import org.bytemechanics.maven.plugin.copyclasses.services.SourceJarCache;
+import org.bytemechanics.maven.plugin.copyclasses.services.SourcePrecompiler;
+import org.sonatype.plexus.build.incremental.BuildContext;
 
 /**
  * @author afarre
@@ -70,12 +109,20 @@ public abstract class CopyClassesBase extends AbstractMojo {
 
 	
 	protected static final String METAINF = "META-INF";
+	protected static final String OUTPUT_TIMESTAMP_PROPERTY = "project.build.outputTimestamp";
 	
 	/**
 	 * Artifact resolver, needed to download source jars for inclusion in classpath.
 	 */
 	@Component
 	protected ArtifactResolver artifactResolver;
+
+	/**
+	 * Build context, incremental when the build runs inside an IDE (as m2e) 
+	 * @since 2.1.0
+	 */
+	@Component
+	protected BuildContext buildContext;
 	
 	/**
 	 * Maven session
@@ -98,6 +145,103 @@ public abstract class CopyClassesBase extends AbstractMojo {
 	
 	@Parameter(defaultValue = "copies", required = true)
 	protected String generatedSourceFolder;
+
+	/**
+	 * Skip the copies whose definition and source artifact did not change since the last build
+	 */
+	@Parameter(property = "copysource.incremental", defaultValue = "true")
+	protected boolean incremental=true;
+
+	/**
+	 * Number of copies processed concurrently, if zero or negative uses the degree of concurrency of the maven build (-T)
+	 */
+	@Parameter(property = "copysource.parallelism", defaultValue = "0")
+	protected int parallelism;
+
+	/**
+	 * Trace the rewriting of one of every traceSampling copied classes at info level, zero or negative disables the trace
+	 */
+	@Parameter(property = "copysource.traceSampling", defaultValue = "0")
+	protected int traceSampling;
+
+	/**
+	 * Date stamped as copyDate at the copied classes: an ISO-8601 date-time (with or without offset), seconds since the epoch, 
+	 * or "entry" to use the modification time of each class at the sources jar. 
+	 * If not defined, the project.build.outputTimestamp property is used when present, otherwise the build time
+	 */
+	@Parameter(property = "copysource.copyDate")
+	protected String copyDate;
+
+	/**
+	 * Reuse the relocated sources from the relocation cache shared by all the builds of the machine. 
+	 * Only the copies not annotated or with a reproducible copyDate are cached
+	 */
+	@Parameter(property = "copysource.cache", defaultValue = "false")
+	protected boolean cache;
+
+	/**
+	 * Folder of the relocation cache
+	 */
+	@Parameter(property = "copysource.cacheDirectory", defaultValue = "${user.home}/.m2/copysource-cache")
+	protected String cacheDirectory;
+
+	/**
+	 * Maximum size in megabytes of the relocation cache, the least recently used entries are evicted over it. Zero or negative never evicts
+	 */
+	@Parameter(property = "copysource.cacheMaxSize", defaultValue = "256")
+	protected long cacheMaxSize=256;
+
+	/**
+	 * Maximum size in megabytes of the sources read and not yet written. The classes are read, rewritten and written by separate stages 
+	 * joined by bounded queues, so writing overlaps with rewriting. Zero or negative (by default) copies each class inline
+	 */
+	@Parameter(property = "copysource.pipelineMaxMemory", defaultValue = "0")
+	protected long pipelineMaxMemory=0;
+
+	/**
+	 * Implementation used to read the sources jars: JAR (java.util.jar.JarFile), ZIP (java.util.zip.ZipFile), 
+	 * ZIPFS (zip file system provider) or MAPPED (memory mapped central directory, for archives up to 2GB without ZIP64 records)
+	 */
+	@Parameter(property = "copysource.archiveReader", defaultValue = "JAR")
+	protected ArchiveReader archiveReader=ArchiveReader.JAR;
+
+	/**
+	 * Write the performance report of the execution (copysource-report.json or copysource-test-report.json at the build directory) 
+	 * and log its summary
+	 */
+	@Parameter(property = "copysource.report", defaultValue = "true")
+	protected boolean report=true;
+
+	/**
+	 * Compile the generated sources of each copy in process and place the classes at the output folder instead of registering 
+	 * the generated sources for the project compilation. The compiled classes are stored at the cacheDirectory folder keyed by the 
+	 * generated sources and the compiler options, so later builds reuse them. Copies that can not be compiled alone (or running on a jre) 
+	 * fall back to register the generated sources
+	 */
+	@Parameter(property = "copysource.precompile", defaultValue = "false")
+	protected boolean precompile;
+
+	/**
+	 * Keep the indexes of the jars, the transformation plans and the fingerprints in memory between builds of the same JVM. 
+	 * Always enabled when running inside the maven daemon (mvnd)
+	 */
+	@Parameter(property = "copysource.residentCache", defaultValue = "false")
+	protected boolean residentCache;
+
+	/**
+	 * Maximum entries kept in memory by the resident cache, the least recently used entries are evicted over it. Zero or negative disables it
+	 */
+	@Parameter(property = "copysource.residentCacheMaxEntries", defaultValue = "256")
+	protected int residentCacheMaxEntries=256;
+
+	/**
+	 * Take the artifacts with release versions directly from the local repository when already present, 
+	 * resolving through the artifact resolver only the missing ones (and the snapshots or version ranges)
+	 */
+	@Parameter(property = "copysource.localRepositoryFastPath", defaultValue = "true")
+	protected boolean localRepositoryFastPath=true;
+
+	private OrderedLog orderedLog;
 	
 	public CopyClassesBase() {
 		super();
@@ -119,6 +263,21 @@ public abstract class CopyClassesBase extends AbstractMojo {
 		this.artifactResolver = artifactResolver;
 	}
 
+	/**
+	 * @return the build context
+	 * @since 2.1.0
+	 */
+	public BuildContext getBuildContext() {
+		return buildContext;
+	}
+	/**
+	 * @param buildContext the build context
+	 * @since 2.1.0
+	 */
+	public void setBuildContext(BuildContext buildContext) {
+		this.buildContext = buildContext;
+	}
+
 	public MavenSession getSession() {
 		return session;
 	}
@@ -147,50 +306,799 @@ public abstract class CopyClassesBase extends AbstractMojo {
 		this.generatedSourceFolder = generatedSourceFolder;
 	}
 
-	protected CopyService instantiateCopyService(){
+	public boolean isIncremental() {
+		return incremental;
+	}
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public int getTraceSampling() {
+		return traceSampling;
+	}
+	public void setTraceSampling(int traceSampling) {
+		this.traceSampling = traceSampling;
+	}
+
+	public String getCopyDate() {
+		return copyDate;
+	}
+	public void setCopyDate(String copyDate) {
+		this.copyDate = copyDate;
+	}
+
+	public boolean isCache() {
+		return cache;
+	}
+	public void setCache(boolean cache) {
+		this.cache = cache;
+	}
+
+	public String getCacheDirectory() {
+		return cacheDirectory;
+	}
+	public void setCacheDirectory(String cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	public long getCacheMaxSize() {
+		return cacheMaxSize;
+	}
+	public void setCacheMaxSize(long cacheMaxSize) {
+		this.cacheMaxSize = cacheMaxSize;
+	}
+
+	public long getPipelineMaxMemory() {
+		return pipelineMaxMemory;
+	}
+	public void setPipelineMaxMemory(long pipelineMaxMemory) {
+		this.pipelineMaxMemory = pipelineMaxMemory;
+	}
+
+	public ArchiveReader getArchiveReader() {
+		return archiveReader;
+	}
+	public void setArchiveReader(ArchiveReader archiveReader) {
+		this.archiveReader = archiveReader;
+	}
+
+	public boolean isReport() {
+		return report;
+	}
+	public void setReport(boolean report) {
+		this.report = report;
+	}
+	/**
+	 * @return true if the generated sources must be compiled in process
+	 * @since 2.1.0
+	 */
+	public boolean isPrecompile() {
+		return precompile;
+	}
+	/**
+	 * @param precompile true to compile the generated sources in process
+	 * @since 2.1.0
+	 */
+	public void setPrecompile(boolean precompile) {
+		this.precompile = precompile;
+	}
+	/**
+	 * @return true if the resident cache has been requested
+	 * @since 2.1.0
+	 */
+	public boolean isResidentCache() {
+		return residentCache;
+	}
+	/**
+	 * @param residentCache true to keep the resident cache between builds of the same JVM
+	 * @since 2.1.0
+	 */
+	public void setResidentCache(boolean residentCache) {
+		this.residentCache = residentCache;
+	}
+	/**
+	 * @return maximum entries of the resident cache
+	 * @since 2.1.0
+	 */
+	public int getResidentCacheMaxEntries() {
+		return residentCacheMaxEntries;
+	}
+	/**
+	 * @param residentCacheMaxEntries maximum entries of the resident cache
+	 * @since 2.1.0
+	 */
+	public void setResidentCacheMaxEntries(int residentCacheMaxEntries) {
+		this.residentCacheMaxEntries = residentCacheMaxEntries;
+	}
+	/**
+	 * @return true if the release artifacts present at the local repository are taken without resolution
+	 * @since 2.1.0
+	 */
+	public boolean isLocalRepositoryFastPath() {
+		return localRepositoryFastPath;
+	}
+	/**
+	 * @param localRepositoryFastPath true to take the release artifacts present at the local repository without resolution
+	 * @since 2.1.0
+	 */
+	public void setLocalRepositoryFastPath(boolean localRepositoryFastPath) {
+		this.localRepositoryFastPath = localRepositoryFastPath;
+	}
+
+	public int getEffectiveParallelism() {
+		return (getParallelism()>0)? getParallelism() : Optional.ofNullable(getSession())
+																	.map(MavenSession::getRequest)
+																	.map(MavenExecutionRequest::getDegreeOfConcurrency)
+																	.filter(degree -> degree>0)
+																	.orElse(1);
+	}
+
+	/**
+	 * Plugin log wrapped to allow concurrent copies to replay their messages in the copies order
+	 * @return the plugin log
+	 */
+	@Override
+	public synchronized OrderedLog getLog() {
+
+		final Log log=super.getLog();
+		if((this.orderedLog==null)||(this.orderedLog.getDelegate()!=log)){
+			this.orderedLog=new OrderedLog(log,getTraceSampling());
+		}
+
+		return this.orderedLog;
+	}
+
+	/**
+	 * Resolve the origin of the copyDate: the copyDate parameter, otherwise the project.build.outputTimestamp property, otherwise the build time
+	 * @return the copyDate origin
+	 * @throws MojoExecutionException if the project.build.outputTimestamp property can not be parsed
+	 */
+	protected CopyDateSource resolveCopyDateSource() throws MojoExecutionException{
+		
+		final CopyDateSource reply;
+		
+		if(CopyDateSource.ENTRY.getKeyword().equalsIgnoreCase(Optional.ofNullable(getCopyDate()).map(String::trim).orElse(null))){
+			reply=CopyDateSource.ENTRY;
+		}else if((getCopyDate()!=null)&&(!getCopyDate().trim().isEmpty())){
+			reply=CopyDateSource.FIXED;
+		}else{
+			final String timestamp=getProject().getProperties().getProperty(OUTPUT_TIMESTAMP_PROPERTY);
+			try{
+				reply=(CopyDateSource.parseDate(timestamp).isPresent())? CopyDateSource.FIXED : CopyDateSource.EXECUTION;
+			}catch(DateTimeParseException e){
+				throw new MojoExecutionException(MessageFormat.format("Unable to parse {0} {1}, expected ISO-8601 date-time or seconds since the epoch",OUTPUT_TIMESTAMP_PROPERTY,timestamp), e);
+			}
+		}
+		
+		return reply;
+	}
+
+	/**
+	 * Resolve the date to stamp when it is fixed (the copyDate parameter or the project.build.outputTimestamp property), otherwise the current time
+	 * @param _source copyDate origin
+	 * @return the date to stamp
+	 * @throws MojoExecutionException if the fixed date can not be parsed
+	 */
+	protected LocalDateTime resolveCopyDate(final CopyDateSource _source) throws MojoExecutionException{
+
+		LocalDateTime reply=null;
+
+		if(_source==CopyDateSource.FIXED){
+			final String value=Optional.ofNullable(getCopyDate())
+											.filter(date -> !date.trim().isEmpty())
+											.orElseGet(() -> getProject().getProperties().getProperty(OUTPUT_TIMESTAMP_PROPERTY));
+			try{
+				reply=CopyDateSource.parseDate(value).orElse(null);
+			}catch(DateTimeParseException e){
+				throw new MojoExecutionException(MessageFormat.format("Unable to parse copy date {0}, expected ISO-8601 date-time or seconds since the epoch",value), e);
+			}
+		}
+
+		return Optional.ofNullable(reply).orElseGet(LocalDateTime::now);
+	}
+
+	protected CopyService instantiateCopyService() throws MojoExecutionException{
 
 		final String encoding=getProject()
 										.getProperties()
 											.getProperty("project.build.sourceEncoding",Charset.defaultCharset().name());
-		getLog().debug(MessageFormat.format("Source encoding: {0}",encoding));
+		getLog().debug("Source encoding: {0}",encoding);
 		final String targetFolder=getProject()
 											.getBuild()
 												.getDirectory();
-		getLog().debug(MessageFormat.format("Target folder: {0}",targetFolder));
-		return new CopyServiceImpl(getLog(),targetFolder,getGeneratedSourceFolder(),Charset.forName(encoding));
+		getLog().debug("Target folder: {0}",targetFolder);
+		final CopyDateSource copyDateSource=resolveCopyDateSource();
+		final LocalDateTime copyDate=resolveCopyDate(copyDateSource);
+		getLog().debug("Copy date: {0} ({1})",copyDate,copyDateSource);
+		final RelocationCache relocationCache=instantiateRelocationCache();
+		getLog().debug("Archive reader: {0}",getArchiveReader());
+		final SourcePrecompiler precompiler=instantiateSourcePrecompiler(Charset.forName(encoding),relocationCache);
+		return new CopyServiceImpl(new CopyServiceImpl.Settings(getLog(),targetFolder,getGeneratedSourceFolder(),Charset.forName(encoding))
+											.withExecutionTime(copyDate)
+											.withIncremental(isIncremental())
+											.withCopyDateSource(copyDateSource)
+											.withCache(relocationCache)
+											.withSourceJars(SourceJarCache.of(getSession()))
+											.withPipeline(instantiateCopyPipeline())
+											.withArchiveReader(getArchiveReader())
+											.withPrecompiler(precompiler)
+											.withBuildContext(getBuildContext())
+											.withResidentState(instantiateResidentState()));
+	}
+
+	/**
+	 * @return the state shared by the builds of this JVM or null if disabled
+	 * @since 2.1.0
+	 */
+	protected ResidentState instantiateResidentState(){
+
+		final ResidentState reply=((isResidentCache()||ResidentState.isDaemon())&&(getResidentCacheMaxEntries()>0))? ResidentState.shared(getResidentCacheMaxEntries()) : null;
+		getLog().debug("Resident cache: {0}",Optional.ofNullable(reply).map(state -> state.size()+"/"+state.getMaxEntries()+" entries, "+state.getHits()+" hits, "+state.getMisses()+" misses").orElse("disabled"));
+
+		return reply;
+	}
+
+	/**
+	 * @param _encoding encoding of the generated sources
+	 * @param _relocationCache relocation cache or null if disabled
+	 * @return the compiler of the generated sources or null if disabled or the jdk compiler is not available
+	 * @since 2.1.0
+	 */
+	protected SourcePrecompiler instantiateSourcePrecompiler(final Charset _encoding,final RelocationCache _relocationCache){
+
+		SourcePrecompiler reply=null;
+
+		if(isPrecompile()){
+			final Optional<JavaCompiler> compiler=SourcePrecompiler.systemCompiler();
+			if(compiler.isPresent()){
+				final RelocationCache compiledCache=Optional.ofNullable(_relocationCache)
+																.orElseGet(() -> Optional.ofNullable(getCacheDirectory())
+																							.map(directory -> new RelocationCache(Paths.get(directory),getCacheMaxSize()*1024l*1024l))
+																							.orElse(null));
+				reply=new SourcePrecompiler(compiler.get(),compiledCache,_encoding,resolveCompilerOptions());
+				getLog().debug("Precompile with options {0}, cache: {1}",reply.getOptions(),Optional.ofNullable(compiledCache).map(RelocationCache::getFolder).map(String::valueOf).orElse("disabled"));
+			}else{
+				getLog().warn("Java compiler not available (running on a jre), the generated sources are compiled with the project");
+			}
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Compiler options of the project: debug information and the release (or the source and target) of the maven compiler properties
+	 * @return the compiler options
+	 * @since 2.1.0
+	 */
+	protected List<String> resolveCompilerOptions(){
+
+		final List<String> reply=new ArrayList<>();
+		final Properties properties=getProject().getProperties();
+
+		reply.add("-g");
+		reply.add("-nowarn");
+		final Optional<String> release=Optional.ofNullable(properties.getProperty("maven.compiler.release"))
+													.filter(value -> !"1.8".equals(System.getProperty("java.specification.version")));
+		if(release.isPresent()){
+			reply.add("--release");
+			reply.add(release.get());
+		}else{
+			Optional.ofNullable(properties.getProperty("maven.compiler.source"))
+				.ifPresent(source -> reply.addAll(Arrays.asList("-source",source)));
+			Optional.ofNullable(properties.getProperty("maven.compiler.target"))
+				.ifPresent(target -> reply.addAll(Arrays.asList("-target",target)));
+		}
+
+		return reply;
+	}
+
+	/**
+	 * @return the relocation cache or null if disabled
+	 * @since 2.1.0
+	 */
+	protected RelocationCache instantiateRelocationCache(){
+
+		final RelocationCache reply=Optional.ofNullable(getCacheDirectory())
+												.filter(directory -> isCache())
+												.map(directory -> new RelocationCache(Paths.get(directory),getCacheMaxSize()*1024l*1024l))
+												.orElse(null);
+		getLog().debug("Relocation cache: {0}",Optional.ofNullable(reply).map(RelocationCache::getFolder).map(String::valueOf).orElse("disabled"));
+
+		return reply;
+	}
+	
+	/**
+	 * @return the pipeline to transform and write the classes or null to copy them inline
+	 * @since 2.1.0
+	 */
+	protected CopyPipeline instantiateCopyPipeline(){
+
+		final CopyPipeline reply=(getPipelineMaxMemory()>0)? new CopyPipeline(Runtime.getRuntime().availableProcessors(),getPipelineMaxMemory()*1024l*1024l,getLog()) : null;
+		getLog().debug("Copy pipeline: {0}",Optional.ofNullable(reply).map(pipeline -> pipeline.getTransformers()+" transformers, "+getPipelineMaxMemory()+" MB").orElse("disabled"));
+
+		return reply;
 	}
 	
 	protected void generateSources(final Scope _scope) throws MojoExecutionException {
 		
+		final long start=System.nanoTime();
 		final ProjectBuildingRequest buildingRequest=new DefaultProjectBuildingRequest( session.getProjectBuildingRequest() );
-		final CopyService copyService=instantiateCopyService();
+		try(CopyService copyService=instantiateCopyService()){
+			final ExecutionReport executionReport=copyService.getReport().orElseGet(() -> new ExecutionReport(null));
+		
+			getLog().debug("Generate source destiny path");
+			final Path generatedSourcesPath=copyService.generateSourcePath(_scope);
+			if(!isPrecompile()){
+				_scope.registerSourceFolder(getProject(), generatedSourcesPath);
+			}
+			getLog().debug("Generate source destiny path >> {0}",generatedSourcesPath);
+
+			final CopyDefinition[] copies=getCopies();
+			long phaseStart;
+			if(isUnchangedInWorkspace(copyService, _scope, copies, generatedSourcesPath)){
+				getLog().info("Generated sources at {0} unchanged since the last incremental build, copies skipped",generatedSourcesPath);
+				final String lastKey=String.valueOf(getBuildContext().getValue(buildCacheKeyName(_scope)));
+				getProject().getProperties().setProperty(buildCacheKeyName(_scope), lastKey);
+				getBuildContext().setValue(buildCacheKeyName(_scope), lastKey);
+			}else{
+				getLog().debug("Resolve copy sources");
+				phaseStart=System.nanoTime();
+				final Path[] downloadedFiles=downloadSources(buildingRequest, copies, generatedSourcesPath);
+				executionReport.addPhase(ExecutionReport.PHASE_RESOLUTION, System.nanoTime()-phaseStart);
+				getLog().debug("Describe build cache inputs and outputs");
+				final Optional<BuildCacheDescriptor> buildCache=copyService.describeBuildCache(copies, downloadedFiles, generatedSourcesPath, describeOutputs(generatedSourcesPath, _scope));
+				if(buildCache.isPresent()){
+					getLog().debug("Build cache key: {0}",buildCache.get().getKey());
+					getProject().getProperties().setProperty(buildCacheKeyName(_scope), buildCache.get().getKey());
+					if(getBuildContext()!=null){
+						getBuildContext().setValue(buildCacheKeyName(_scope), buildCache.get().getKey());
+					}
+				}
+				if(isRestored(buildCache, generatedSourcesPath)){
+					getLog().info("Generated sources at {0} already generated with build cache key {1}, copies skipped",generatedSourcesPath,buildCache.get().getKey());
+				}else{
+					getLog().debug("Process copies");
+					phaseStart=System.nanoTime();
+					processCopies(copyService, copies, downloadedFiles, generatedSourcesPath);
+					executionReport.addPhase(ExecutionReport.PHASE_COPIES, System.nanoTime()-phaseStart);
+
+					getLog().debug("Write copy manifest");
+					phaseStart=System.nanoTime();
+					copyService.createManifest(getCopies(),generatedSourcesPath);
+					executionReport.addPhase(ExecutionReport.PHASE_MANIFEST, System.nanoTime()-phaseStart);
+					getLog().debug("Write copy fingerprints");
+					phaseStart=System.nanoTime();
+					copyService.storeFingerprints(generatedSourcesPath);
+					if(buildCache.isPresent()){
+						buildCache.get().store(generatedSourcesPath.resolve(METAINF));
+					}
+					executionReport.addPhase(ExecutionReport.PHASE_FINGERPRINTS, System.nanoTime()-phaseStart);
+				}
+			}
+			if(isPrecompile()){
+				getLog().debug("Precompile copies");
+				phaseStart=System.nanoTime();
+				if(precompileCopies(copyService, copies, generatedSourcesPath, _scope.getOutputFolder(getProject()))){
+					getLog().info("Generated sources at {0} precompiled, not registered for the project compilation",generatedSourcesPath);
+				}else{
+					_scope.registerSourceFolder(getProject(), generatedSourcesPath);
+				}
+				executionReport.addPhase(ExecutionReport.PHASE_PRECOMPILE, System.nanoTime()-phaseStart);
+			}
+			getLog().debug("Evict relocation cache");
+			copyService.evictCache();
+			getLog().info("Generated sources at {0}: {1} files written",generatedSourcesPath,copyService.getWrittenFiles());
+			executionReport.addPhase(ExecutionReport.PHASE_TOTAL, System.nanoTime()-start);
+			writeReport(executionReport, _scope);
 		
-		getLog().debug("Generate source destiny path");
-		final Path generatedSourcesPath=copyService.generateSourcePath(_scope);
-		_scope.registerSourceFolder(getProject(), generatedSourcesPath);
-		getLog().debug(MessageFormat.format("Generate source destiny path >> {0}",generatedSourcesPath));
-
-		getLog().debug("Process copies");
-		for(CopyDefinition copy:getCopies()){
-			getLog().info(MessageFormat.format("Prepare environment for:\n {0}",copy));
-			copyService.prepareEnvironment(generatedSourcesPath, copy);
-			getLog().info(MessageFormat.format("Process copy: {0}",copy));
-			final Path downloadedFile=downloadSource(buildingRequest, copy, generatedSourcesPath);
-			getLog().debug(MessageFormat.format("Process copy {0} >> Downloaded source: {1}",copy,downloadedFile));
-			copyService.processDownloadedSource(downloadedFile, copy, generatedSourcesPath);
-			getLog().debug(MessageFormat.format("Process copy {0} >> Downloaded source: {1} >> processed",copy,downloadedFile));
+			getLog().debug("Register manifest resource");
+			final Resource resource=new Resource();
+			resource.setDirectory(generatedSourcesPath.resolve(METAINF).toString());
+			resource.setTargetPath(METAINF);
+			resource.addExclude(FingerprintStore.FINGERPRINTS_FILE);
+			resource.addExclude(BuildCacheDescriptor.DESCRIPTOR_FILE);
+			getProject().addResource(resource);
+		}
+	}
+
+	private static String buildCacheKeyName(final Scope _scope){
+		return BuildCacheDescriptor.KEY_PROPERTY+'.'+_scope.getFolder();
+	}
+
+	/**
+	 * Incremental IDE builds skip the copies, even the artifacts resolution, when the project descriptor did not change since the last build, 
+	 * the generated sources are still the ones generated with the build cache key of the last build and every copy is up to date with
+	 * its sources jar at the local repository. Copies of versions that can change without changing the project descriptor 
+	 * (snapshots, ranges, LATEST or RELEASE) are never skipped, their version must be resolved. 
+	 * As the sources jars are taken from the local repository, nothing is skipped without the local repository fast path
+	 * @param _copyService copy service
+	 * @param _scope scope of the generated sources
+	 * @param _copies copies to process
+	 * @param _generatedSourcesPath generated sources folder
+	 * @return true if the copies can be skipped
+	 * @throws MojoExecutionException if the persisted build cache descriptor or the fingerprints can not be read
+	 * @since 2.1.0
+	 */
+	protected boolean isUnchangedInWorkspace(final CopyService _copyService,final Scope _scope,final CopyDefinition[] _copies,final Path _generatedSourcesPath) throws MojoExecutionException{
+
+		boolean reply=false;
+
+		final BuildContext context=getBuildContext();
+		if((context!=null)
+				&&(context.isIncremental())
+				&&(isIncremental())
+				&&(!isPrecompile())
+				&&(isLocalRepositoryFastPath())
+				&&(!context.hasDelta(getProject().getFile()))){
+			final Object lastKey=context.getValue(buildCacheKeyName(_scope));
+			final Path metainfPath=_generatedSourcesPath.resolve(METAINF);
+			reply=(lastKey!=null)
+					&&(Files.exists(metainfPath.resolve(CopyServiceImpl.MANIFEST_FILE)))
+					&&(BuildCacheDescriptor.loadKey(metainfPath).filter(lastKey::equals).isPresent());
+			for(int i=0;(reply)&&(i<_copies.length);i++){
+				// only release coordinates are found at the local repository without resolving them
+				final Optional<Path> sourceFile=findInLocalRepository(toCoordinate(_copies[i]));
+				reply=(sourceFile.isPresent())&&(_copyService.isUpToDate(sourceFile.get(), _copies[i], _generatedSourcesPath));
+			}
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Output folders of the execution relative to the project folder: the generated sources folder and, when precompiling, the classes output folder
+	 * @param _generatedSourcesPath generated sources folder
+	 * @param _scope scope of the generated sources
+	 * @return the output folders
+	 * @since 2.1.0
+	 */
+	protected List<String> describeOutputs(final Path _generatedSourcesPath,final Scope _scope){
+
+		final List<String> reply=new ArrayList<>();
+
+		reply.add(toProjectPath(_generatedSourcesPath));
+		if(isPrecompile()){
+			reply.add(toProjectPath(_scope.getOutputFolder(getProject())));
+		}
+
+		return reply;
+	}
+	private String toProjectPath(final Path _path){
+		return Optional.ofNullable(getProject().getBasedir())
+						.map(File::toPath)
+						.filter(basedir -> _path.isAbsolute()&&_path.startsWith(basedir))
+						.map(basedir -> basedir.relativize(_path))
+						.orElse(_path)
+						.toString()
+							.replace('\\','/');
+	}
+
+	/**
+	 * Only incremental executions without precompilation (the precompiled classes are not owned by the generated sources) can be skipped
+	 * @param _buildCache build cache descriptor of the execution
+	 * @param _generatedSourcesPath generated sources folder
+	 * @return true if the generated sources have been already generated (or restored by a build cache) with the same build cache key
+	 * @throws MojoExecutionException if the persisted descriptor can not be read
+	 * @since 2.1.0
+	 */
+	protected boolean isRestored(final Optional<BuildCacheDescriptor> _buildCache,final Path _generatedSourcesPath) throws MojoExecutionException{
+		return (isIncremental())
+					&&(!isPrecompile())
+					&&(_buildCache.isPresent())
+					&&(_buildCache.get().isRestored(Optional.ofNullable(getProject().getBasedir()).map(File::toPath).orElseGet(() -> Paths.get("")), _generatedSourcesPath.resolve(METAINF)));
+	}
+
+
+	/**
+	 * Compile the generated sources of each copy in process, stopping at the first copy that can not be precompiled
+	 * @param _copyService copy service
+	 * @param _copies copies processed
+	 * @param _generatedSourcesPath generated sources folder
+	 * @param _outputPath classes output folder
+	 * @return true if all the copies have been precompiled, false if the generated sources must be compiled with the project
+	 * @throws MojoExecutionException if the compiled classes can not be written
+	 * @since 2.1.0
+	 */
+	protected boolean precompileCopies(final CopyService _copyService,final CopyDefinition[] _copies,final Path _generatedSourcesPath,final Path _outputPath) throws MojoExecutionException {
+
+		boolean reply=true;
+
+		for(int i=0;(reply)&&(i<_copies.length);i++){
+			reply=_copyService.precompile(_copies[i], _generatedSourcesPath, _outputPath);
 		}
+
+		return reply;
+	}
+
+	/**
+	 * Copy the selected compiled classes of the binary jars to the classes output folder, relocated from the origin package to the destiny package
+	 * @throws MojoExecutionException if any artifact can not be resolved or any copy fails
+	 * @since 2.1.0
+	 */
+	protected void copyCompiledClasses() throws MojoExecutionException {
 		
-		getLog().debug("Write copy manifest");
-		copyService.createManifest(getCopies(),generatedSourcesPath);
+		final long start=System.nanoTime();
+		final ProjectBuildingRequest buildingRequest=new DefaultProjectBuildingRequest( session.getProjectBuildingRequest() );
+		try(CopyService copyService=instantiateCopyService()){
+			final ExecutionReport executionReport=copyService.getReport().orElseGet(() -> new ExecutionReport(null));
 		
-		getLog().debug("Register manifest resource");
-		final Resource resource=new Resource();
-		resource.setDirectory(generatedSourcesPath.resolve(METAINF).toString());
-		resource.setTargetPath(METAINF);
-		getProject().addResource(resource);
+			final Path outputPath=Paths.get(getProject().getBuild().getOutputDirectory());
+			getLog().debug("Compiled classes destiny path >> {0}",outputPath);
+
+			final CopyDefinition[] copies=getCopies();
+			getLog().debug("Resolve copy binaries");
+			long phaseStart=System.nanoTime();
+			final Path[] downloadedFiles=downloadSources(buildingRequest, copies, outputPath);
+			executionReport.addPhase(ExecutionReport.PHASE_RESOLUTION, System.nanoTime()-phaseStart);
+			getLog().debug("Process compiled copies");
+			phaseStart=System.nanoTime();
+			processCompiledCopies(copyService, copies, downloadedFiles, outputPath);
+			executionReport.addPhase(ExecutionReport.PHASE_COPIES, System.nanoTime()-phaseStart);
+		
+			getLog().debug("Write compiled copy manifest");
+			phaseStart=System.nanoTime();
+			copyService.createCompiledManifest(copies,outputPath);
+			executionReport.addPhase(ExecutionReport.PHASE_MANIFEST, System.nanoTime()-phaseStart);
+			getLog().info("Copied compiled classes at {0}: {1} files written",outputPath,copyService.getWrittenFiles());
+			executionReport.addPhase(ExecutionReport.PHASE_TOTAL, System.nanoTime()-start);
+			writeReport(executionReport, Scope.SRC.name(), ExecutionReport.COMPILED_REPORT_FILE);
+		}
 	}
 
+	/**
+	 * Process the compiled copies, concurrently if the parallelism allows it
+	 * @param _copyService copy service
+	 * @param _copies copies to process
+	 * @param _downloadedFiles binary jars of each copy
+	 * @param _outputPath classes output folder
+	 * @throws MojoExecutionException the first failure of the copies
+	 * @since 2.1.0
+	 */
+	protected void processCompiledCopies(final CopyService _copyService,final CopyDefinition[] _copies,final Path[] _downloadedFiles,final Path _outputPath) throws MojoExecutionException {
+
+		final int threads=Math.min(_copies.length,getEffectiveParallelism());
+		final List<Task<Void>> tasks=new ArrayList<>(_copies.length);
+		for(int i=0;i<_copies.length;i++){
+			final CopyDefinition copy=_copies[i];
+			final Path downloadedFile=_downloadedFiles[i];
+			tasks.add(() -> {
+				getLog().info("Process compiled copy: {0}",copy.getArtifact());
+				_copyService.processDownloadedBinary(downloadedFile, copy, _outputPath);
+				return null;
+			});
+		}
+		if(threads>1){
+			getLog().debug("Process {0} compiled copies with {1} threads",_copies.length,threads);
+			executeInOrder(Executors.newFixedThreadPool(threads,newThreadFactory("copysource-")), tasks);
+		}else{
+			for(Task<Void> task:tasks){
+				task.execute();
+			}
+		}
+	}
+
+	/**
+	 * Write the performance report at the build directory and log its summary. Failures to write it never fail the build
+	 * @param _report execution report
+	 * @param _scope copy scope
+	 * @since 2.1.0
+	 */
+	protected void writeReport(final ExecutionReport _report,final Scope _scope){
+		writeReport(_report, _scope.name(), (_scope==Scope.TEST)? ExecutionReport.TEST_REPORT_FILE : ExecutionReport.REPORT_FILE);
+	}
+	/**
+	 * Write the performance report at the build directory and log its summary. Failures to write it never fail the build
+	 * @param _report execution report
+	 * @param _scope copy scope name
+	 * @param _fileName report file name
+	 * @since 2.1.0
+	 */
+	protected void writeReport(final ExecutionReport _report,final String _scope,final String _fileName){
+
+		if(isReport()){
+			_report.summary()
+						.forEach(getLog()::info);
+			final Optional<Path> reportFile=Optional.ofNullable(getProject())
+														.map(MavenProject::getBuild)
+														.map(Build::getDirectory)
+														.map(Paths::get)
+														.map(directory -> directory.resolve(_fileName));
+			if(reportFile.isPresent()){
+				try{
+					_report.write(reportFile.get(), getProject().getId(), _scope);
+					getLog().debug("Performance report written at {0}",reportFile.get());
+				}catch(IOException e){
+					getLog().warn(MessageFormat.format("Unable to write the performance report {0}",reportFile.get()), e);
+				}
+			}
+		}
+	}
+
+	protected void processCopies(final CopyService _copyService,final CopyDefinition[] _copies,final Path[] _downloadedFiles,final Path _generatedSourcesPath) throws MojoExecutionException {
+
+		for(CopyDefinition copy:_copies){
+			getLog().debug("Prepare environment for:\n {0}",copy);
+			_copyService.prepareEnvironment(_generatedSourcesPath, copy);
+		}
+		final int threads=Math.min(_copies.length,getEffectiveParallelism());
+		if(threads>1){
+			getLog().debug("Process {0} copies with {1} threads",_copies.length,threads);
+			final List<Task<Void>> tasks=new ArrayList<>(_copies.length);
+			for(int i=0;i<_copies.length;i++){
+				final CopyDefinition copy=_copies[i];
+				final Path downloadedFile=_downloadedFiles[i];
+				tasks.add(() -> {
+					processCopy(_copyService, copy, downloadedFile, _generatedSourcesPath);
+					return null;
+				});
+			}
+			executeInOrder(Executors.newFixedThreadPool(threads,newThreadFactory("copysource-")), tasks);
+		}else{
+			for(int i=0;i<_copies.length;i++){
+				processCopy(_copyService, _copies[i], _downloadedFiles[i], _generatedSourcesPath);
+			}
+		}
+	}
+
+	protected void processCopy(final CopyService _copyService,final CopyDefinition _copy,final Path _downloadedFile,final Path _generatedSourcesPath) throws MojoExecutionException {
+
+		getLog().info("Process copy: {0}",_copy.getArtifact());
+		getLog().debug("Process copy: {0}",_copy);
+		if((isIncremental())&&(_copyService.isUpToDate(_downloadedFile, _copy, _generatedSourcesPath))){
+			getLog().info("Process copy {0} >> Downloaded source: {1} >> up to date, skipped",_copy.getArtifact(),_downloadedFile);
+		}else{
+			_copyService.processDownloadedSource(_downloadedFile, _copy, _generatedSourcesPath);
+			getLog().debug("Process copy {0} >> Downloaded source: {1} >> processed",_copy.getArtifact(),_downloadedFile);
+		}
+	}
+
+	/**
+	 * Resolve the source artifacts of all copies up front and concurrently, resolving only once the copies sharing the same coordinate
+	 * @param _buildingRequest building request
+	 * @param _copies copies to resolve
+	 * @param _generatedSourcesPath generated sources path
+	 * @return the resolved files in the same order of the copies
+	 * @throws MojoExecutionException if any artifact can not be resolved
+	 */
+	protected Path[] downloadSources(final ProjectBuildingRequest _buildingRequest,final CopyDefinition[] _copies,final Path _generatedSourcesPath) throws MojoExecutionException {
+
+		final Map<String,CopyDefinition> uniqueCoordinates=new LinkedHashMap<>();
+		for(CopyDefinition copy:_copies){
+			uniqueCoordinates.putIfAbsent(coordinateKey(copy), copy);
+		}
+		getLog().debug("Resolve {0} distinct artifacts for {1} copies",uniqueCoordinates.size(),_copies.length);
+
+		final Map<String,Path> resolved=new HashMap<>();
+		if(uniqueCoordinates.size()>1){
+			final List<String> keys=new ArrayList<>(uniqueCoordinates.keySet());
+			final List<Task<Path>> tasks=new ArrayList<>(keys.size());
+			for(String key:keys){
+				final CopyDefinition copy=uniqueCoordinates.get(key);
+				tasks.add(() -> downloadSource(_buildingRequest, copy, _generatedSourcesPath));
+			}
+			final List<Path> files=executeInOrder(newResolutionExecutor(keys.size()), tasks);
+			for(int i=0;i<keys.size();i++){
+				resolved.put(keys.get(i), files.get(i));
+			}
+		}else{
+			for(Map.Entry<String,CopyDefinition> coordinate:uniqueCoordinates.entrySet()){
+				resolved.put(coordinate.getKey(), downloadSource(_buildingRequest, coordinate.getValue(), _generatedSourcesPath));
+			}
+		}
+
+		final Path[] reply=new Path[_copies.length];
+		for(int i=0;i<_copies.length;i++){
+			reply[i]=resolved.get(coordinateKey(_copies[i]));
+		}
+
+		return reply;
+	}
+
+	protected String coordinateKey(final CopyDefinition _copy){
+
+		final ArtifactCoordinate coordinate=toCoordinate(_copy);
+
+		return new StringBuilder()
+						.append(coordinate.getGroupId()).append(':')
+						.append(coordinate.getArtifactId()).append(':')
+						.append(coordinate.getExtension()).append(':')
+						.append(coordinate.getClassifier()).append(':')
+						.append(coordinate.getVersion())
+						.toString();
+	}
+
+	/**
+	 * @param _copy copy definition
+	 * @return the coordinate of the artifact to resolve for the copy (the sources jar)
+	 * @since 2.1.0
+	 */
+	protected ArtifactCoordinate toCoordinate(final CopyDefinition _copy){
+		return _copy.toCoordinate();
+	}
+
+	/**
+	 * Executor for artifact resolution: virtual threads when available (JDK21+) or a bounded pool of platform threads otherwise
+	 * @param _tasks number of tasks to execute
+	 * @return executor to use
+	 */
+	protected ExecutorService newResolutionExecutor(final int _tasks){
+
+		try{
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}catch(ReflectiveOperationException|RuntimeException e){
+			getLog().debug("Virtual threads not available, resolving with platform threads");
+			return Executors.newFixedThreadPool(Math.min(_tasks,Runtime.getRuntime().availableProcessors()),newThreadFactory("copysource-resolver-"));
+		}
+	}
+
+	protected ThreadFactory newThreadFactory(final String _prefix){
+
+		final AtomicInteger threadCounter=new AtomicInteger();
+
+		return runnable -> {
+					final Thread thread=new Thread(runnable,_prefix+threadCounter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				};
+	}
+
+	/**
+	 * Execute the tasks with the given executor (shutting it down at the end) replaying the log messages of each task in submission order
+	 * @param <T> task result type
+	 * @param _executor executor to use
+	 * @param _tasks tasks to execute
+	 * @return the result of each task in submission order
+	 * @throws MojoExecutionException the first failure in submission order
+	 */
+	@SuppressWarnings("UseSpecificCatch")
+	protected <T> List<T> executeInOrder(final ExecutorService _executor,final List<Task<T>> _tasks) throws MojoExecutionException {
+
+		final List<T> reply=new ArrayList<>(_tasks.size());
+		final OrderedLog log=getLog();
+
+		try{
+			final List<Future<TaskOutcome<T>>> outcomes=new ArrayList<>(_tasks.size());
+			for(Task<T> task:_tasks){
+				outcomes.add(_executor.submit(() -> {
+					log.startBuffering();
+					T result=null;
+					Exception failure=null;
+					try{
+						result=task.execute();
+					}catch(MojoExecutionException|RuntimeException e){
+						failure=e;
+					}
+					return new TaskOutcome<>(log.stopBuffering(), result, failure);
+				}));
+			}
+			for(Future<TaskOutcome<T>> future:outcomes){
+				final TaskOutcome<T> outcome=future.get();
+				log.replay(outcome.messages);
+				if(outcome.failure instanceof MojoExecutionException){
+					throw (MojoExecutionException)outcome.failure;
+				}else if(outcome.failure!=null){
+					throw new MojoExecutionException("Failed processing copies", outcome.failure);
+				}
+				reply.add(outcome.result);
+			}
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new MojoExecutionException("Interrupted while processing copies", e);
+		}catch(ExecutionException e){
+			throw new MojoExecutionException("Failed processing copies", e.getCause());
+		}finally{
+			_executor.shutdownNow();
+		}
+
+		return reply;
+	}
 
 	@SuppressWarnings("UseSpecificCatch")
 	protected Path downloadSource(final ProjectBuildingRequest _buildingRequest,final CopyDefinition _copy, final Path _generatedSourcesPath) throws MojoExecutionException {
@@ -198,15 +1106,119 @@ public abstract class CopyClassesBase extends AbstractMojo {
 		Path reply;
 		
 		try{
-			final Artifact artifact=getArtifactResolver()
-											.resolveArtifact(_buildingRequest, _copy.toCoordinate())
-											.getArtifact();
-	getLog().info(MessageFormat.format("Found: {0}",artifact));
-			reply=Paths.get(artifact.getFile().getAbsolutePath());
+			final ArtifactCoordinate coordinate=toCoordinate(_copy);
+			final Optional<Path> local=(isLocalRepositoryFastPath())? findInLocalRepository(coordinate) : Optional.empty();
+			if(local.isPresent()){
+				getLog().info("Found: {0} (local repository)",coordinate);
+				reply=local.get();
+			}else{
+				final Artifact artifact=getArtifactResolver()
+												.resolveArtifact(_buildingRequest, coordinate)
+												.getArtifact();
+				getLog().info("Found: {0}",artifact);
+				reply=Paths.get(artifact.getFile().getAbsolutePath());
+			}
 		}catch(Exception e){
 			throw new MojoExecutionException(MessageFormat.format("Failed processing copy: {0}",_copy.getArtifact()), e);
 		}
 		
 		return reply;
 	}
+
+	/**
+	 * Find the artifact at its default layout path of the local repository, only for fully specified release coordinates 
+	 * (snapshots, version ranges and wildcards are always resolved). The file is taken if its zip central directory can be read and is not empty,
+	 * otherwise the artifact is resolved
+	 * @param _coordinate coordinate of the artifact
+	 * @return the artifact file of the local repository or empty if it must be resolved
+	 * @since 2.1.0
+	 */
+	protected Optional<Path> findInLocalRepository(final ArtifactCoordinate _coordinate){
+
+		Optional<Path> reply=Optional.empty();
+
+		if(isReleaseCoordinate(_coordinate)){
+			reply=Optional.ofNullable(getSession())
+							.map(MavenSession::getLocalRepository)
+							.map(ArtifactRepository::getBasedir)
+							.map(Paths::get)
+							.map(basedir -> basedir.resolve(localRepositoryPath(_coordinate)))
+							.filter(CopyClassesBase::isArchive)
+							.map(Path::toAbsolutePath);
+			getLog().debug("Local repository fast path for {0}: {1}",_coordinate,reply.map(String::valueOf).orElse("not found"));
+		}
+
+		return reply;
+	}
+	/**
+	 * @param _coordinate coordinate of the artifact
+	 * @return true if the coordinate has group, artifact and a fixed release version
+	 * @since 2.1.0
+	 */
+	protected static boolean isReleaseCoordinate(final ArtifactCoordinate _coordinate){
+		return isFixedToken(_coordinate.getGroupId())
+				&&isFixedToken(_coordinate.getArtifactId())
+				&&isFixedToken(_coordinate.getVersion())
+				&&(!_coordinate.getVersion().endsWith(Artifact.SNAPSHOT_VERSION))
+				&&(!Artifact.LATEST_VERSION.equals(_coordinate.getVersion()))
+				&&(!Artifact.RELEASE_VERSION.equals(_coordinate.getVersion()));
+	}
+	private static boolean isFixedToken(final String _token){
+		return (_token!=null)&&(!_token.isEmpty())&&(_token.chars().noneMatch(character -> "*[](),".indexOf(character)>=0));
+	}
+	/**
+	 * @param _coordinate release coordinate of the artifact
+	 * @return the path of the artifact relative to the local repository base directory (groupId/as/folders/artifactId/version/artifactId-version[-classifier].extension)
+	 * @since 2.1.0
+	 */
+	protected static String localRepositoryPath(final ArtifactCoordinate _coordinate){
+
+		final StringBuilder reply=new StringBuilder()
+										.append(_coordinate.getGroupId().replace('.','/')).append('/')
+										.append(_coordinate.getArtifactId()).append('/')
+										.append(_coordinate.getVersion()).append('/')
+										.append(_coordinate.getArtifactId()).append('-').append(_coordinate.getVersion());
+		Optional.ofNullable(_coordinate.getClassifier())
+					.filter(classifier -> !classifier.isEmpty())
+					.ifPresent(classifier -> reply.append('-').append(classifier));
+		reply.append('.').append(Optional.ofNullable(_coordinate.getExtension()).filter(extension -> !extension.isEmpty()).orElse("jar"));
+
+		return reply.toString();
+	}
+	/**
+	 * A truncated download (for example an interrupted build) keeps the local header but loses the central directory, 
+	 * so the archive is only taken if its central directory can be read and has entries
+	 */
+	private static boolean isArchive(final Path _file){
+
+		boolean reply=false;
+
+		if(Files.isRegularFile(_file)){
+			try(JarFile jar=new JarFile(_file.toFile())){
+				reply=(jar.size()>0);
+			}catch(IOException|RuntimeException e){
+				reply=false;
+			}
+		}
+
+		return reply;
+	}
+
+	@FunctionalInterface
+	protected interface Task<T>{
+		T execute() throws MojoExecutionException;
+	}
+
+	private static final class TaskOutcome<T>{
+
+		private final List<Consumer<Log>> messages;
+		private final T result;
+		private final Exception failure;
+
+		TaskOutcome(final List<Consumer<Log>> _messages,final T _result,final Exception _failure){
+			this.messages=_messages;
+			this.result=_result;
+			this.failure=_failure;
+		}
+	}
 }
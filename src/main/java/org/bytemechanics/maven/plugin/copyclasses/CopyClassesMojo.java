@@ -55,7 +55,7 @@ import org.bytemechanics.maven.plugin.copyclasses.enums.Scope;
  *		&lt;/plugin&gt;
  *	</code>
  */
-@Mojo(name = "copy-classes", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
+@Mojo(name = "copy-classes", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
 public class CopyClassesMojo extends CopyClassesBase {
 
 	public CopyClassesMojo() {
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses;
+
+import java.io.IOException;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.MavenExecutionException;
+import org.apache.maven.execution.MavenSession;
+import org.bytemechanics.maven.plugin.copyclasses.services.SourceJarCache;
+
+/**
+ * Keeps the sources jars open during the session and closes them at its end. Only active when the plugin is declared with &lt;extensions&gt;true&lt;/extensions&gt;,
+ * otherwise the sources jars are closed at the end of each execution
+ * @author afarre
+ * @since 2.1.0
+ */
+@Named("copysource")
+@Singleton
+public class CopySourcesLifecycleParticipant extends AbstractMavenLifecycleParticipant {
+
+	@Override
+	public void afterProjectsRead(final MavenSession _session) throws MavenExecutionException {
+		SourceJarCache.enableSessionScope(_session);
+	}
+
+	@Override
+	public void afterSessionEnd(final MavenSession _session) throws MavenExecutionException {
+		try{
+			SourceJarCache.release(_session);
+		}catch(IOException e){
+			throw new MavenExecutionException("Unable to close the copy sources jars", e);
+		}
+	}
+}
@@ -56,7 +56,7 @@ import org.bytemechanics.maven.plugin.copyclasses.enums.Scope;
  *	</code>
  */
 
-@Mojo(name = "copy-test-classes", defaultPhase = LifecyclePhase.GENERATE_TEST_SOURCES)
+@Mojo(name = "copy-test-classes", defaultPhase = LifecyclePhase.GENERATE_TEST_SOURCES, threadSafe = true)
 public class CopyTestClassesMojo extends CopyClassesBase {
 
 	public CopyTestClassesMojo() {
@@ -29,9 +29,20 @@ import org.apache.maven.shared.transfer.artifact.DefaultArtifactCoordinate;
  *			&lt;classes&gt;
  *				&lt;class&gt;org.bytemechanics.commons.string.GenericTextParser&lt;/class&gt;
  *				&lt;class&gt;org.bytemechanics.commons.functional.LambdaUnchecker&lt;/class&gt;
+ *				&lt;!-- all the classes of a package, or of a package and its subpackages --&gt;
+ *				&lt;class&gt;org.bytemechanics.commons.reflection.*&lt;/class&gt;
+ *				&lt;class&gt;org.bytemechanics.commons.collections.**&lt;/class&gt;
  *			&lt;/classes&gt; 
+ *			&lt;!-- optional, classes or wildcards to exclude from the selected classes --&gt;
+ *			&lt;excludes&gt;
+ *				&lt;exclude&gt;org.bytemechanics.commons.collections.internal.**&lt;/exclude&gt;
+ *			&lt;/excludes&gt; 
  *			&lt;fromPackage&gt;org.bytemechanics.commons&lt;/fromPackage&gt;
  *			&lt;toPackage&gt;org.bytemechanics.standalone.ignite.internal.commons&lt;/toPackage&gt;
+ *			&lt;!-- optional, true by default --&gt;
+ *			&lt;annotate&gt;true&lt;/annotate&gt;
+ *			&lt;!-- optional, false by default, also copy the classes under fromPackage referenced by the copied classes --&gt;
+ *			&lt;transitive&gt;false&lt;/transitive&gt;
  *		&lt;/copy&gt;
  *	&lt;/copies&gt;
  * @author afarre
@@ -40,9 +51,12 @@ public class CopyDefinition{
 	
 	private String artifact;
 	private String[] classes;
+	private String[] excludes;
 	private String sourceCharset="UTF-8";
 	private String fromPackage;
 	private String toPackage;
+	private boolean annotate=true;
+	private boolean transitive=false;
 
 
 	public CopyDefinition() {
@@ -70,6 +84,17 @@ public class CopyDefinition{
 		this.classes = classes;
 	}
 
+	/**
+	 * @return classes or wildcards excluded from the selected classes
+	 * @since 2.1.0
+	 */
+	public String[] getExcludes() {
+		return excludes;
+	}
+	public void setExcludes(String[] excludes) {
+		this.excludes = excludes;
+	}
+
 	public String getSourceCharset() {
 		return sourceCharset;
 	}
@@ -93,8 +118,48 @@ public class CopyDefinition{
 	public void setToPackage(String toPackage) {
 		this.toPackage = toPackage;
 	}
+
+	/**
+	 * @return true if the copied classes must be annotated with @CopiedSource
+	 * @since 2.1.0
+	 */
+	public boolean isAnnotate() {
+		return annotate;
+	}
+	public void setAnnotate(boolean annotate) {
+		this.annotate = annotate;
+	}
+
+	/**
+	 * @return true if the classes under fromPackage referenced by the copied classes must be copied too
+	 * @since 2.1.0
+	 */
+	public boolean isTransitive() {
+		return transitive;
+	}
+	public void setTransitive(boolean transitive) {
+		this.transitive = transitive;
+	}
 	
 	public ArtifactCoordinate toCoordinate(){
+		return toCoordinate("sources");
+	}
+	/**
+	 * Coordinate of the binary jar of the artifact: the same coordinate without the sources classifier (other classifiers are kept)
+	 * @return the binary coordinate
+	 * @since 2.1.0
+	 */
+	public ArtifactCoordinate toBinaryCoordinate(){
+		
+		final DefaultArtifactCoordinate reply=toCoordinate(null);
+		
+		if("sources".equals(reply.getClassifier())){
+			reply.setClassifier(null);
+		}
+		
+		return reply;
+	}
+	private DefaultArtifactCoordinate toCoordinate(final String _defaultClassifier){
 		
 		final DefaultArtifactCoordinate reply = new DefaultArtifactCoordinate();
 
@@ -103,7 +168,7 @@ public class CopyDefinition{
 			reply.setGroupId(( tokens.length > 0 ) ? tokens[0] : "");
 			reply.setArtifactId(( tokens.length > 1 ) ? tokens[1] : "*");
 			reply.setVersion(( tokens.length > 2 ) ? tokens[2] : "*");
-			reply.setClassifier(( tokens.length > 3 ) ? tokens[3] : "sources");
+			reply.setClassifier(( tokens.length > 3 ) ? tokens[3] : _defaultClassifier);
         }
 		
 		return reply;
@@ -121,6 +186,12 @@ public class CopyDefinition{
 				reply.append("\t\t[").append(clazz).append("]\n");
 			}
 		}
+		if((this.excludes!=null)&&(this.excludes.length>0)){
+			reply.append("\tExcludes:\n");
+			for(String exclude:this.excludes){
+				reply.append("\t\t[").append(exclude).append("]\n");
+			}
+		}
 		reply.append("\tTransforming from package [").append(this.fromPackage).append("] to package [").append(this.toPackage).append(']');
 		
 		return reply.toString();
@@ -132,9 +203,12 @@ public class CopyDefinition{
 		int hash = 3;
 		hash = 41 * hash + Objects.hashCode(this.artifact);
 		hash = 41 * hash + Arrays.deepHashCode(this.classes);
+		hash = 41 * hash + Arrays.deepHashCode(this.excludes);
 		hash = 41 * hash + Objects.hashCode(this.sourceCharset);
 		hash = 41 * hash + Objects.hashCode(this.fromPackage);
 		hash = 41 * hash + Objects.hashCode(this.toPackage);
+		hash = 41 * hash + Boolean.hashCode(this.annotate);
+		hash = 41 * hash + Boolean.hashCode(this.transitive);
 		return hash;
 	}
 
@@ -162,6 +236,15 @@ public class CopyDefinition{
 		if (!Objects.equals(this.toPackage, other.toPackage)) {
 			return false;
 		}
+		if (this.annotate != other.annotate) {
+			return false;
+		}
+		if (this.transitive != other.transitive) {
+			return false;
+		}
+		if (!Arrays.deepEquals(this.excludes, other.excludes)) {
+			return false;
+		}
 		return Arrays.deepEquals(this.classes, other.classes);
 	}
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.enums;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.bytemechanics.maven.plugin.copyclasses.services.MappedSourceArchive;
+import org.bytemechanics.maven.plugin.copyclasses.services.SourceArchive;
+import org.bytemechanics.maven.plugin.copyclasses.services.ZipFileSystemSourceArchive;
+import org.bytemechanics.maven.plugin.copyclasses.services.ZipSourceArchive;
+
+/**
+ * Implementation used to read the sources jars
+ * @author afarre
+ * @since 2.1.0
+ */
+public enum ArchiveReader {
+
+	/** {@link java.util.jar.JarFile} without verification */
+	JAR{
+		@Override
+		public SourceArchive open(final Path _file) throws IOException{
+			return ZipSourceArchive.jar(_file);
+		}
+	},
+	/** {@link java.util.zip.ZipFile}, without the manifest handling of JarFile */
+	ZIP{
+		@Override
+		public SourceArchive open(final Path _file) throws IOException{
+			return ZipSourceArchive.zip(_file);
+		}
+	},
+	/** Zip file system provider of the JDK */
+	ZIPFS{
+		@Override
+		public SourceArchive open(final Path _file) throws IOException{
+			return ZipFileSystemSourceArchive.open(_file);
+		}
+	},
+	/** Memory mapped file with its own central directory parser, for archives up to 2GB without ZIP64 records */
+	MAPPED{
+		@Override
+		public SourceArchive open(final Path _file) throws IOException{
+			return MappedSourceArchive.open(_file);
+		}
+	},
+	;
+
+	/**
+	 * Open the sources archive
+	 * @param _file sources jar
+	 * @return the opened archive
+	 * @throws IOException if the archive can not be opened
+	 */
+	public abstract SourceArchive open(final Path _file) throws IOException;
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.enums;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+
+/**
+ * Origin of the copyDate stamped at the @CopiedSource annotation of the copied classes
+ * @author afarre
+ * @since 2.1.0
+ */
+public enum CopyDateSource {
+
+	/** Time of the build execution, distinct at each build */
+	EXECUTION(null){
+		@Override
+		public LocalDateTime resolve(final LocalDateTime _executionTime,final ZipEntry _entry){
+			return _executionTime;
+		}
+	},
+	/** Fixed date given by the copyDate parameter or the project.build.outputTimestamp property */
+	FIXED(null){
+		@Override
+		public LocalDateTime resolve(final LocalDateTime _executionTime,final ZipEntry _entry){
+			return _executionTime;
+		}
+	},
+	/** Modification time of each class at the sources jar */
+	ENTRY("entry"){
+		@Override
+		public LocalDateTime resolve(final LocalDateTime _executionTime,final ZipEntry _entry){
+			return Optional.ofNullable(_entry)
+							.filter(entry -> entry.getLastModifiedTime()!=null)
+							.map(entry -> LocalDateTime.ofInstant(entry.getLastModifiedTime().toInstant(), (hasExtendedTime(entry))? ZoneOffset.UTC : ZoneId.systemDefault()))
+							.orElse(_executionTime);
+		}
+	},
+	;
+
+	private static final int EXTENDED_TIMESTAMP_HEADER=0x5455;
+	private static final int NTFS_HEADER=0x000a;
+
+	private final String keyword;
+
+	CopyDateSource(final String _keyword){
+		this.keyword=_keyword;
+	}
+
+	/**
+	 * @return the value of the copyDate parameter that selects this source, or null if it has no keyword
+	 */
+	public String getKeyword() {
+		return keyword;
+	}
+	/**
+	 * @return true if the same inputs always stamp the same copyDate
+	 */
+	public boolean isReproducible(){
+		return this!=EXECUTION;
+	}
+
+	/**
+	 * Resolve the copyDate of a copied class. 
+	 * The entry time is read as UTC when the jar stores the instant (extended timestamp or NTFS extra fields), otherwise as the 
+	 * local date-time of its MS-DOS fields, so it never depends on the time zone of the build
+	 * @param _executionTime execution time (the fixed date when this source is FIXED)
+	 * @param _entry sources jar entry of the class
+	 * @return the copyDate of the class
+	 */
+	public abstract LocalDateTime resolve(final LocalDateTime _executionTime,final ZipEntry _entry);
+
+	/**
+	 * @param _entry jar entry
+	 * @return true if the modification time of the entry comes from an extra field holding the instant instead of the MS-DOS local date-time fields
+	 */
+	protected static boolean hasExtendedTime(final ZipEntry _entry){
+
+		boolean reply=false;
+
+		final byte[] extra=_entry.getExtra();
+		int offset=0;
+		while((!reply)&&(extra!=null)&&(offset+4<=extra.length)){
+			final int header=(extra[offset]&0xff)|((extra[offset+1]&0xff)<<8);
+			final int size=(extra[offset+2]&0xff)|((extra[offset+3]&0xff)<<8);
+			reply=(header==EXTENDED_TIMESTAMP_HEADER)||(header==NTFS_HEADER);
+			offset+=4+size;
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Parse a date with the formats accepted by project.build.outputTimestamp: ISO-8601 date-time with or without offset 
+	 * (dates with offset are converted to UTC) or seconds since the epoch. 
+	 * Empty values and single non digit characters (the maven convention to disable the reproducible timestamp) are ignored
+	 * @param _value value to parse
+	 * @return the parsed date or empty if the value is ignored
+	 * @throws java.time.format.DateTimeParseException if the value is not a valid date
+	 */
+	public static Optional<LocalDateTime> parseDate(final String _value){
+
+		return Optional.ofNullable(_value)
+							.map(String::trim)
+							.filter(value -> !value.isEmpty())
+							.filter(value -> (value.length()>1)||(Character.isDigit(value.charAt(0))))
+							.map(value -> {
+								if(value.chars().allMatch(Character::isDigit)){
+									return LocalDateTime.ofEpochSecond(Long.parseLong(value),0,ZoneOffset.UTC);
+								}
+								if((value.endsWith("Z"))||(value.lastIndexOf('+')>0)||(value.lastIndexOf('-')>value.indexOf('T'))){
+									return OffsetDateTime.parse(value).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+								}
+								return LocalDateTime.parse(value);
+							});
+	}
+}
@@ -16,6 +16,7 @@
 package org.bytemechanics.maven.plugin.copyclasses.enums;
 
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import org.apache.maven.project.MavenProject;
 
 /**
@@ -29,12 +30,20 @@ public enum Scope {
 		public void registerSourceFolder(final MavenProject _project,final Path _folder){
 			_project.addCompileSourceRoot(_folder.toString());
 		}
+		@Override
+		public Path getOutputFolder(final MavenProject _project){
+			return Paths.get(_project.getBuild().getOutputDirectory());
+		}
 	},
 	TEST("generated-test-sources"){
 		@Override
 		public void registerSourceFolder(final MavenProject _project,final Path _folder){
 			_project.addTestCompileSourceRoot(_folder.toString());
 		}
+		@Override
+		public Path getOutputFolder(final MavenProject _project){
+			return Paths.get(_project.getBuild().getTestOutputDirectory());
+		}
 	},
 	;
 	
@@ -49,4 +58,10 @@ public enum Scope {
 	}
 	
 	public abstract void registerSourceFolder(final MavenProject _project,final Path _folder);
+	/**
+	 * @param _project maven project
+	 * @return the folder where the compiled classes of this scope are placed
+	 * @since 2.1.0
+	 */
+	public abstract Path getOutputFolder(final MavenProject _project);
 }
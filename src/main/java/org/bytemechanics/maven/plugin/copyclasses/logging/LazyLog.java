@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.logging;
+
+import java.text.MessageFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Log wrapper that only renders the messages when its level is enabled, and provides an opt-in sampled trace.
+ * When trace sampling is enabled one of every traceSampling subjects receives a tracer that writes at info level
+ * @author afarre
+ * @since 2.1.0
+ */
+public class LazyLog implements Log {
+
+	private final Log delegate;
+	private final int traceSampling;
+	private final AtomicLong traceCandidates;
+
+
+	public LazyLog(final Log _delegate) {
+		this(_delegate,0);
+	}
+	/**
+	 * @param _delegate wrapped log
+	 * @param _traceSampling zero or negative to disable the trace, otherwise one of every _traceSampling subjects is traced
+	 */
+	public LazyLog(final Log _delegate,final int _traceSampling) {
+		this.delegate=_delegate;
+		this.traceSampling=_traceSampling;
+		this.traceCandidates=new AtomicLong();
+	}
+
+	/**
+	 * Wrap the given log, if it is already a LazyLog returns it
+	 * @param _log log to wrap
+	 * @return the lazy log
+	 */
+	public static LazyLog of(final Log _log){
+		return (_log instanceof LazyLog)? (LazyLog)_log : new LazyLog(_log);
+	}
+
+
+	public Log getDelegate() {
+		return delegate;
+	}
+	public int getTraceSampling() {
+		return traceSampling;
+	}
+	public boolean isTraceEnabled() {
+		return this.traceSampling>0;
+	}
+
+	/**
+	 * Retrieve a tracer for the given subject if trace is enabled and the subject is sampled
+	 * @param _subject traced subject (for example the copied class)
+	 * @return the tracer for the subject or empty if the subject is not traced
+	 */
+	public Optional<Consumer<String>> sampleTrace(final String _subject){
+
+		Optional<Consumer<String>> reply=Optional.empty();
+
+		if((isTraceEnabled())&&(this.traceCandidates.getAndIncrement()%this.traceSampling==0)){
+			reply=Optional.of(message -> info(MessageFormat.format("[trace] {0}: {1}",_subject,message)));
+		}
+
+		return reply;
+	}
+
+	public void debug(final Supplier<? extends CharSequence> _message) {
+		if(isDebugEnabled()){
+			debug(_message.get());
+		}
+	}
+	public void debug(final String _pattern,final Object... _arguments) {
+		if(isDebugEnabled()){
+			debug(MessageFormat.format(_pattern,_arguments));
+		}
+	}
+	public void info(final Supplier<? extends CharSequence> _message) {
+		if(isInfoEnabled()){
+			info(_message.get());
+		}
+	}
+	public void info(final String _pattern,final Object... _arguments) {
+		if(isInfoEnabled()){
+			info(MessageFormat.format(_pattern,_arguments));
+		}
+	}
+
+
+	@Override
+	public boolean isDebugEnabled() {
+		return this.delegate.isDebugEnabled();
+	}
+	@Override
+	public void debug(final CharSequence _content) {
+		this.delegate.debug(_content);
+	}
+	@Override
+	public void debug(final CharSequence _content,final Throwable _error) {
+		this.delegate.debug(_content,_error);
+	}
+	@Override
+	public void debug(final Throwable _error) {
+		this.delegate.debug(_error);
+	}
+
+	@Override
+	public boolean isInfoEnabled() {
+		return this.delegate.isInfoEnabled();
+	}
+	@Override
+	public void info(final CharSequence _content) {
+		this.delegate.info(_content);
+	}
+	@Override
+	public void info(final CharSequence _content,final Throwable _error) {
+		this.delegate.info(_content,_error);
+	}
+	@Override
+	public void info(final Throwable _error) {
+		this.delegate.info(_error);
+	}
+
+	@Override
+	public boolean isWarnEnabled() {
+		return this.delegate.isWarnEnabled();
+	}
+	@Override
+	public void warn(final CharSequence _content) {
+		this.delegate.warn(_content);
+	}
+	@Override
+	public void warn(final CharSequence _content,final Throwable _error) {
+		this.delegate.warn(_content,_error);
+	}
+	@Override
+	public void warn(final Throwable _error) {
+		this.delegate.warn(_error);
+	}
+
+	@Override
+	public boolean isErrorEnabled() {
+		return this.delegate.isErrorEnabled();
+	}
+	@Override
+	public void error(final CharSequence _content) {
+		this.delegate.error(_content);
+	}
+	@Override
+	public void error(final CharSequence _content,final Throwable _error) {
+		this.delegate.error(_content,_error);
+	}
+	@Override
+	public void error(final Throwable _error) {
+		this.delegate.error(_error);
+	}
+}
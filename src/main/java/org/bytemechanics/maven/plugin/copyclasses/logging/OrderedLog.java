@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.logging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Log wrapper that allows each thread to buffer its messages in order to replay them later in a deterministic order.
+ * Threads that did not start buffering write directly to the wrapped log
+ * @author afarre
+ * @since 2.1.0
+ */
+public class OrderedLog extends LazyLog {
+
+	private final ThreadLocal<List<Consumer<Log>>> buffer;
+
+
+	public OrderedLog(final Log _delegate) {
+		this(_delegate,0);
+	}
+	public OrderedLog(final Log _delegate,final int _traceSampling) {
+		super(_delegate,_traceSampling);
+		this.buffer=new ThreadLocal<>();
+	}
+
+
+	/**
+	 * Start buffering the messages logged by the current thread
+	 */
+	public void startBuffering(){
+		this.buffer.set(new ArrayList<>());
+	}
+	/**
+	 * Stop buffering the messages logged by the current thread
+	 * @return the messages buffered since startBuffering() in the same order they were logged
+	 */
+	public List<Consumer<Log>> stopBuffering(){
+
+		final List<Consumer<Log>> reply=this.buffer.get();
+		this.buffer.remove();
+
+		return (reply==null)? Collections.emptyList() : reply;
+	}
+	/**
+	 * Log the messages buffered by other thread as if they were logged by the current thread (buffered if the current thread is buffering)
+	 * @param _messages messages to log
+	 */
+	public void append(final List<Consumer<Log>> _messages){
+		_messages.forEach(this::log);
+	}
+	/**
+	 * Write the buffered messages to the wrapped log
+	 * @param _messages messages to replay
+	 */
+	public void replay(final List<Consumer<Log>> _messages){
+		_messages.forEach(message -> message.accept(getDelegate()));
+	}
+
+	protected void log(final Consumer<Log> _message){
+
+		final List<Consumer<Log>> threadBuffer=this.buffer.get();
+		if(threadBuffer!=null){
+			threadBuffer.add(_message);
+		}else{
+			_message.accept(getDelegate());
+		}
+	}
+
+
+	@Override
+	public void debug(final CharSequence _content) {
+		log(log -> log.debug(_content));
+	}
+	@Override
+	public void debug(final CharSequence _content,final Throwable _error) {
+		log(log -> log.debug(_content,_error));
+	}
+	@Override
+	public void debug(final Throwable _error) {
+		log(log -> log.debug(_error));
+	}
+
+	@Override
+	public void info(final CharSequence _content) {
+		log(log -> log.info(_content));
+	}
+	@Override
+	public void info(final CharSequence _content,final Throwable _error) {
+		log(log -> log.info(_content,_error));
+	}
+	@Override
+	public void info(final Throwable _error) {
+		log(log -> log.info(_error));
+	}
+
+	@Override
+	public void warn(final CharSequence _content) {
+		log(log -> log.warn(_content));
+	}
+	@Override
+	public void warn(final CharSequence _content,final Throwable _error) {
+		log(log -> log.warn(_content,_error));
+	}
+	@Override
+	public void warn(final Throwable _error) {
+		log(log -> log.warn(_error));
+	}
+
+	@Override
+	public void error(final CharSequence _content) {
+		log(log -> log.error(_content));
+	}
+	@Override
+	public void error(final CharSequence _content,final Throwable _error) {
+		log(log -> log.error(_content,_error));
+	}
+	@Override
+	public void error(final Throwable _error) {
+		log(log -> log.error(_error));
+	}
+}
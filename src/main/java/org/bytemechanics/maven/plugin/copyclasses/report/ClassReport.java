@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.report;
+
+/**
+ * Performance of the copy of one class: bytes, lines, relocations and time spent at each phase
+ * @author afarre
+ * @since 2.1.0
+ */
+public class ClassReport {
+
+	public static final String REWRITTEN="rewritten";
+	public static final String PASSTHROUGH="passthrough";
+	public static final String CACHED="cached";
+	public static final String UNCHANGED="unchanged";
+
+	private final String clazz;
+	private String origin;
+	private boolean written;
+	private long bytesRead;
+	private long bytesWritten;
+	private int lines;
+	private int relocations;
+	private long readNanos;
+	private long decodeNanos;
+	private long rewriteNanos;
+	private long encodeNanos;
+	private long writeNanos;
+
+
+	public ClassReport(final String _clazz) {
+		this.clazz=_clazz;
+		this.origin=UNCHANGED;
+	}
+
+	public String getClazz() {
+		return clazz;
+	}
+	public String getOrigin() {
+		return origin;
+	}
+	public boolean isWritten() {
+		return written;
+	}
+	public long getBytesRead() {
+		return bytesRead;
+	}
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+	public int getLines() {
+		return lines;
+	}
+	public int getRelocations() {
+		return relocations;
+	}
+	public long getReadNanos() {
+		return readNanos;
+	}
+	public long getDecodeNanos() {
+		return decodeNanos;
+	}
+	public long getRewriteNanos() {
+		return rewriteNanos;
+	}
+	public long getEncodeNanos() {
+		return encodeNanos;
+	}
+	public long getWriteNanos() {
+		return writeNanos;
+	}
+	public long getTotalNanos() {
+		return readNanos+decodeNanos+rewriteNanos+encodeNanos+writeNanos;
+	}
+
+	public ClassReport origin(final String _origin){
+		this.origin=_origin;
+		return this;
+	}
+	public ClassReport read(final long _bytes,final long _nanos){
+		this.bytesRead+=_bytes;
+		this.readNanos+=_nanos;
+		return this;
+	}
+	public ClassReport decoded(final long _nanos){
+		this.decodeNanos+=_nanos;
+		return this;
+	}
+	public ClassReport rewritten(final long _nanos,final int _lines,final int _relocations){
+		this.rewriteNanos+=_nanos;
+		this.lines+=_lines;
+		this.relocations+=_relocations;
+		return this;
+	}
+	public ClassReport encoded(final long _nanos){
+		this.encodeNanos+=_nanos;
+		return this;
+	}
+	/**
+	 * @param _bytes bytes of the generated content
+	 * @param _nanos time spent comparing and writing
+	 * @param _written true if the file has been written (otherwise its content did not change)
+	 * @return this report
+	 */
+	public ClassReport wrote(final long _bytes,final long _nanos,final boolean _written){
+		this.written=_written;
+		this.bytesWritten+=(_written)? _bytes : 0;
+		this.writeNanos+=_nanos;
+		return this;
+	}
+
+	public void write(final JsonWriter _writer){
+		_writer.beginObject(null)
+					.field("class",this.clazz)
+					.field("origin",this.origin)
+					.field("written",this.written)
+					.field("bytesRead",this.bytesRead)
+					.field("bytesWritten",this.bytesWritten)
+					.field("lines",this.lines)
+					.field("relocations",this.relocations)
+					.millis("readMillis",this.readNanos)
+					.millis("decodeMillis",this.decodeNanos)
+					.millis("rewriteMillis",this.rewriteNanos)
+					.millis("encodeMillis",this.encodeNanos)
+					.millis("writeMillis",this.writeNanos)
+				.endObject();
+	}
+}
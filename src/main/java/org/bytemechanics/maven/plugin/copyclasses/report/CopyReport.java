@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.report;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Performance of one copy: time to open and index the sources jar, to select the classes and the report of each copied class
+ * @author afarre
+ * @since 2.1.0
+ */
+public class CopyReport {
+
+	private final String artifact;
+	private final String sourceFile;
+	private final List<ClassReport> classes;
+	private boolean upToDate;
+	private long openNanos;
+	private long selectNanos;
+	private long totalNanos;
+	private int sequentialReads;
+	private int randomReads;
+
+
+	public CopyReport(final String _artifact,final String _sourceFile) {
+		this.artifact=_artifact;
+		this.sourceFile=_sourceFile;
+		this.classes=new ArrayList<>();
+		this.upToDate=false;
+	}
+
+	public String getArtifact() {
+		return artifact;
+	}
+	public String getSourceFile() {
+		return sourceFile;
+	}
+	public List<ClassReport> getClasses() {
+		return Collections.unmodifiableList(classes);
+	}
+	public boolean isUpToDate() {
+		return upToDate;
+	}
+	public long getOpenNanos() {
+		return openNanos;
+	}
+	public long getSelectNanos() {
+		return selectNanos;
+	}
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+	public int getSequentialReads() {
+		return sequentialReads;
+	}
+	public int getRandomReads() {
+		return randomReads;
+	}
+
+	public CopyReport upToDate(final long _nanos){
+		this.upToDate=true;
+		this.totalNanos=_nanos;
+		return this;
+	}
+	public CopyReport opened(final long _nanos){
+		this.openNanos=_nanos;
+		return this;
+	}
+	public CopyReport selected(final long _nanos){
+		this.selectNanos=_nanos;
+		return this;
+	}
+	public CopyReport scanned(final int _sequentialReads,final int _randomReads){
+		this.sequentialReads=_sequentialReads;
+		this.randomReads=_randomReads;
+		return this;
+	}
+	public CopyReport finished(final long _nanos){
+		this.totalNanos=_nanos;
+		return this;
+	}
+	public ClassReport addClass(final ClassReport _class){
+		this.classes.add(_class);
+		return _class;
+	}
+
+	public long sum(final ToLongFunction<ClassReport> _value){
+		return this.classes.stream()
+							.mapToLong(_value)
+							.sum();
+	}
+	public long getWritten(){
+		return this.classes.stream()
+							.filter(ClassReport::isWritten)
+							.count();
+	}
+
+	public void write(final JsonWriter _writer){
+		_writer.beginObject(null)
+					.field("artifact",this.artifact)
+					.field("sourceFile",this.sourceFile)
+					.field("upToDate",this.upToDate)
+					.field("classes",this.classes.size())
+					.field("written",getWritten())
+					.field("bytesRead",sum(ClassReport::getBytesRead))
+					.field("bytesWritten",sum(ClassReport::getBytesWritten))
+					.field("lines",sum(ClassReport::getLines))
+					.field("relocations",sum(ClassReport::getRelocations))
+					.field("sequentialReads",this.sequentialReads)
+					.field("randomReads",this.randomReads)
+					.millis("openMillis",this.openNanos)
+					.millis("selectMillis",this.selectNanos)
+					.millis("totalMillis",this.totalNanos)
+					.beginArray("classReports");
+		this.classes.forEach(clazz -> clazz.write(_writer));
+		_writer.endArray()
+				.endObject();
+	}
+}
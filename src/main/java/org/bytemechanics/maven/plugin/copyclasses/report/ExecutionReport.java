@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.report;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Performance report of one execution of the plugin: time of each phase of the execution and report of each copy.
+ * Written as json at the build folder to track the cost of the plugin per module, and summarized as a table at the log
+ * @author afarre
+ * @since 2.1.0
+ */
+public class ExecutionReport {
+
+	public static final String REPORT_FILE="copysource-report.json";
+	public static final String TEST_REPORT_FILE="copysource-test-report.json";
+	public static final String COMPILED_REPORT_FILE="copysource-compiled-report.json";
+	public static final String PHASE_RESOLUTION="resolution";
+	public static final String PHASE_COPIES="copies";
+	public static final String PHASE_MANIFEST="manifest";
+	public static final String PHASE_FINGERPRINTS="fingerprints";
+	public static final String PHASE_PRECOMPILE="precompile";
+	public static final String PHASE_TOTAL="total";
+
+	private static final String ROW_FORMAT="%-50s %8s %8s %10s %10s %8s %8s %9s %11s %9s %9s";
+
+	private final LocalDateTime date;
+	private final String toolVersion;
+	private final Map<String,Long> phases;
+	private final List<CopyReport> copies;
+
+
+	public ExecutionReport(final String _toolVersion) {
+		this.date=LocalDateTime.now();
+		this.toolVersion=_toolVersion;
+		this.phases=Collections.synchronizedMap(new LinkedHashMap<>());
+		this.copies=Collections.synchronizedList(new ArrayList<>());
+	}
+
+	public Map<String,Long> getPhases() {
+		synchronized(this.phases){
+			return new LinkedHashMap<>(this.phases);
+		}
+	}
+	public List<CopyReport> getCopies() {
+		synchronized(this.copies){
+			return new ArrayList<>(this.copies);
+		}
+	}
+
+	public ExecutionReport addPhase(final String _phase,final long _nanos){
+		this.phases.merge(_phase, _nanos, Long::sum);
+		return this;
+	}
+	public CopyReport addCopy(final CopyReport _copy){
+		this.copies.add(_copy);
+		return _copy;
+	}
+
+	private long sum(final ToLongFunction<CopyReport> _value){
+		return getCopies().stream()
+							.mapToLong(_value)
+							.sum();
+	}
+	private long sumClasses(final ToLongFunction<ClassReport> _value){
+		return sum(copy -> copy.sum(_value));
+	}
+
+	/**
+	 * @param _project project coordinates
+	 * @param _scope copy scope
+	 * @return the json report
+	 */
+	public String toJson(final String _project,final String _scope){
+
+		final JsonWriter reply=new JsonWriter();
+
+		reply.beginObject(null)
+				.field("tool","copysource-maven-plugin")
+				.field("toolVersion",this.toolVersion)
+				.field("project",_project)
+				.field("scope",_scope)
+				.field("date",String.valueOf(this.date))
+				.beginObject("phases");
+		getPhases().forEach(reply::millis);
+		reply.endObject()
+				.beginObject("totals")
+					.field("copies",getCopies().size())
+					.field("upToDate",getCopies().stream().filter(CopyReport::isUpToDate).count())
+					.field("classes",sum(copy -> copy.getClasses().size()))
+					.field("written",sum(CopyReport::getWritten))
+					.field("bytesRead",sumClasses(ClassReport::getBytesRead))
+					.field("bytesWritten",sumClasses(ClassReport::getBytesWritten))
+					.field("lines",sumClasses(ClassReport::getLines))
+					.field("relocations",sumClasses(ClassReport::getRelocations))
+					.millis("openMillis",sum(CopyReport::getOpenNanos))
+					.millis("selectMillis",sum(CopyReport::getSelectNanos))
+					.millis("readMillis",sumClasses(ClassReport::getReadNanos))
+					.millis("decodeMillis",sumClasses(ClassReport::getDecodeNanos))
+					.millis("rewriteMillis",sumClasses(ClassReport::getRewriteNanos))
+					.millis("encodeMillis",sumClasses(ClassReport::getEncodeNanos))
+					.millis("writeMillis",sumClasses(ClassReport::getWriteNanos))
+				.endObject()
+				.beginArray("copyReports");
+		getCopies().forEach(copy -> copy.write(reply));
+		reply.endArray()
+			.endObject();
+
+		return reply.toString();
+	}
+
+	/**
+	 * Write the json report
+	 * @param _file report file
+	 * @param _project project coordinates
+	 * @param _scope copy scope
+	 * @throws IOException if the report can not be written
+	 */
+	public void write(final Path _file,final String _project,final String _scope) throws IOException{
+		Files.createDirectories(_file.toAbsolutePath().getParent());
+		Files.write(_file, toJson(_project,_scope).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String kilobytes(final long _bytes){
+		return String.format(Locale.ROOT,"%.1f",_bytes/1024d);
+	}
+	private static String millis(final long _nanos){
+		return String.format(Locale.ROOT,"%.1f",_nanos/1e6d);
+	}
+
+	/**
+	 * @return summary table with one row per copy and one row with the execution phases
+	 */
+	public List<String> summary(){
+
+		final List<String> reply=new ArrayList<>();
+
+		reply.add(String.format(Locale.ROOT,ROW_FORMAT,"copy","classes","written","KB read","KB written","lines","relocs","open ms","rewrite ms","write ms","total ms"));
+		for(CopyReport copy:getCopies()){
+			reply.add(String.format(Locale.ROOT,ROW_FORMAT,
+										(copy.isUpToDate())? copy.getArtifact()+" (up to date)" : copy.getArtifact(),
+										copy.getClasses().size(),
+										copy.getWritten(),
+										kilobytes(copy.sum(ClassReport::getBytesRead)),
+										kilobytes(copy.sum(ClassReport::getBytesWritten)),
+										copy.sum(ClassReport::getLines),
+										copy.sum(ClassReport::getRelocations),
+										millis(copy.getOpenNanos()),
+										millis(copy.sum(clazz -> clazz.getDecodeNanos()+clazz.getRewriteNanos()+clazz.getEncodeNanos())),
+										millis(copy.sum(ClassReport::getWriteNanos)),
+										millis(copy.getTotalNanos())));
+		}
+		final Map<String,Long> phases=getPhases();
+		if(!phases.isEmpty()){
+			reply.add(phases.entrySet()
+								.stream()
+									.map(phase -> phase.getKey()+' '+millis(phase.getValue())+" ms")
+									.collect(Collectors.joining(", ","phases: ","")));
+		}
+
+		return reply;
+	}
+}
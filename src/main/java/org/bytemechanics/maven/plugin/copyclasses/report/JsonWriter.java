@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.report;
+
+import java.util.Locale;
+
+/**
+ * Minimal json writer for the reports, fields are written in call order
+ * @author afarre
+ * @since 2.1.0
+ */
+public class JsonWriter {
+
+	private final StringBuilder content;
+	private boolean first;
+
+
+	public JsonWriter() {
+		this.content=new StringBuilder(4096);
+		this.first=true;
+	}
+
+	private JsonWriter separator(){
+		if(!this.first){
+			this.content.append(',');
+		}
+		this.first=false;
+		return this;
+	}
+	private JsonWriter name(final String _name){
+		if(_name!=null){
+			string(_name);
+			this.content.append(':');
+		}
+		return this;
+	}
+	private JsonWriter string(final String _value){
+
+		this.content.append('"');
+		for(int i=0;i<_value.length();i++){
+			final char current=_value.charAt(i);
+			switch(current){
+				case '"':
+				case '\\':
+					this.content.append('\\').append(current);
+					break;
+				case '\n':
+					this.content.append("\\n");
+					break;
+				case '\r':
+					this.content.append("\\r");
+					break;
+				case '\t':
+					this.content.append("\\t");
+					break;
+				default:
+					if(current<0x20){
+						this.content.append(String.format("\\u%04x",(int)current));
+					}else{
+						this.content.append(current);
+					}
+					break;
+			}
+		}
+		this.content.append('"');
+
+		return this;
+	}
+
+	/**
+	 * @param _name field name or null inside arrays
+	 * @return this writer
+	 */
+	public JsonWriter beginObject(final String _name){
+		separator().name(_name).content.append('{');
+		this.first=true;
+		return this;
+	}
+	public JsonWriter endObject(){
+		this.content.append('}');
+		this.first=false;
+		return this;
+	}
+	/**
+	 * @param _name field name or null inside arrays
+	 * @return this writer
+	 */
+	public JsonWriter beginArray(final String _name){
+		separator().name(_name).content.append('[');
+		this.first=true;
+		return this;
+	}
+	public JsonWriter endArray(){
+		this.content.append(']');
+		this.first=false;
+		return this;
+	}
+	public JsonWriter field(final String _name,final String _value){
+		separator().name(_name);
+		if(_value==null){
+			this.content.append("null");
+		}else{
+			string(_value);
+		}
+		return this;
+	}
+	public JsonWriter field(final String _name,final long _value){
+		separator().name(_name).content.append(_value);
+		return this;
+	}
+	public JsonWriter field(final String _name,final boolean _value){
+		separator().name(_name).content.append(_value);
+		return this;
+	}
+	/**
+	 * @param _name field name
+	 * @param _nanos duration in nanoseconds
+	 * @return this writer with the duration in milliseconds with microsecond precision
+	 */
+	public JsonWriter millis(final String _name,final long _nanos){
+		separator().name(_name).content.append(String.format(Locale.ROOT,"%.3f",_nanos/1e6d));
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return this.content.toString();
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Checksums of the resolved artifacts shared by the fingerprints, the build cache descriptor and the relocation cache, 
+ * so each artifact is read once per path, size and modification time for all of them. 
+ * The checksums are kept for the life of the JVM, at most MAX_ENTRIES evicting the least recently used
+ * @author afarre
+ * @since 2.1.0
+ */
+public final class ArtifactChecksums {
+
+	public static final int MAX_ENTRIES=1024;
+
+	private static final Map<String,String> CHECKSUMS=new LinkedHashMap<String,String>(16,0.75f,true){
+		private static final long serialVersionUID=1L;
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String,String> _eldest) {
+			return size()>MAX_ENTRIES;
+		}
+	};
+
+	private ArtifactChecksums(){}
+
+	/**
+	 * SHA-256 checksum of the artifact content, computed only if the artifact has not been read with the same size and modification time
+	 * @param _artifactFile artifact file
+	 * @return the hexadecimal checksum of the artifact content
+	 * @throws IOException if the artifact can not be read
+	 */
+	public static String checksum(final Path _artifactFile) throws IOException{
+
+		final BasicFileAttributes attributes=Files.readAttributes(_artifactFile, BasicFileAttributes.class);
+		final String fileKey=_artifactFile.toAbsolutePath().normalize()+"|"+attributes.size()+"|"+attributes.lastModifiedTime().toMillis();
+		String reply;
+		synchronized(CHECKSUMS){
+			reply=CHECKSUMS.get(fileKey);
+		}
+
+		if(reply==null){
+			final MessageDigest digest=RelocationCache.newDigest();
+			try(InputStream inputStream=Files.newInputStream(_artifactFile)){
+				final byte[] buffer=new byte[65536];
+				int read=inputStream.read(buffer);
+				while(read>=0){
+					digest.update(buffer,0,read);
+					read=inputStream.read(buffer);
+				}
+			}
+			reply=RelocationCache.toHex(digest.digest());
+			synchronized(CHECKSUMS){
+				CHECKSUMS.put(fileKey, reply);
+			}
+		}
+
+		return reply;
+	}
+}
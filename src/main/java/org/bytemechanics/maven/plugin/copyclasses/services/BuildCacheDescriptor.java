@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Description of the inputs and outputs of an execution for the build caches (as the maven build cache extension). 
+ * The key is computed from the plugin version, the encoding, the copy date policy and, for each copy, its copy key 
+ * (the copy definition) and the checksum of its resolved artifact, so the same key always produces the same generated sources.
+ * The descriptor is persisted with the generated sources, so an execution whose outputs have been restored with the same key can be skipped
+ * @author afarre
+ * @since 2.1.0
+ */
+public class BuildCacheDescriptor {
+
+	public static final String DESCRIPTOR_FILE="copy-build-cache.properties";
+	public static final String KEY_PROPERTY="copysource.buildCacheKey";
+	protected static final String KEY="key";
+	protected static final String TOOL_VERSION="toolVersion";
+	protected static final String ENCODING="encoding";
+	protected static final String COPY_DATE="copyDate";
+	protected static final String COPY_PREFIX="copy.";
+	protected static final String OUTPUT_PREFIX="output.";
+	protected static final String MANIFEST="manifest";
+	protected static final Pattern MANIFEST_CLASS=Pattern.compile("^\\t\\[([^\\]]+)\\]");
+
+	private final String toolVersion;
+	private final Charset encoding;
+	private final String copyDate;
+	private final Map<String,String> copies;
+	private final List<String> outputs;
+	private final String manifest;
+	private final String key;
+
+
+	/**
+	 * @param _toolVersion plugin version
+	 * @param _encoding output encoding
+	 * @param _copyDate copy date policy (and the reproducible date, if any)
+	 * @param _copies artifact and checksum of each copy by copy key
+	 * @param _outputs output folders relative to the project folder
+	 * @param _manifest manifest resource path (META-INF/...)
+	 */
+	public BuildCacheDescriptor(final String _toolVersion,final Charset _encoding,final String _copyDate,final Map<String,String> _copies,final List<String> _outputs,final String _manifest) {
+		this.toolVersion=_toolVersion;
+		this.encoding=_encoding;
+		this.copyDate=_copyDate;
+		this.copies=Collections.unmodifiableMap(new TreeMap<>(_copies));
+		this.outputs=Collections.unmodifiableList(new ArrayList<>(_outputs));
+		this.manifest=_manifest;
+		this.key=computeKey();
+	}
+
+	public String getToolVersion() {
+		return toolVersion;
+	}
+	public Charset getEncoding() {
+		return encoding;
+	}
+	public String getCopyDate() {
+		return copyDate;
+	}
+	public Map<String, String> getCopies() {
+		return copies;
+	}
+	public List<String> getOutputs() {
+		return outputs;
+	}
+	public String getManifest() {
+		return manifest;
+	}
+	/**
+	 * @return hexadecimal key of the execution inputs
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	private String computeKey(){
+
+		final MessageDigest digest=RelocationCache.newDigest();
+
+		for(String value:new String[]{this.toolVersion,String.valueOf(this.encoding),this.copyDate}){
+			digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+		}
+		this.copies.forEach((copyKey,artifact) -> {
+			digest.update(copyKey.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+			digest.update(artifact.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+		});
+
+		return RelocationCache.toHex(digest.digest());
+	}
+
+	/**
+	 * Load the key of the descriptor persisted at the given META-INF folder
+	 * @param _metainfFolder folder where the descriptor is persisted
+	 * @return the persisted key or empty if no descriptor has been persisted
+	 * @throws MojoExecutionException if the descriptor exist but can not be read
+	 */
+	public static Optional<String> loadKey(final Path _metainfFolder) throws MojoExecutionException{
+
+		Optional<String> reply=Optional.empty();
+
+		final Path file=_metainfFolder.resolve(DESCRIPTOR_FILE);
+		if(Files.exists(file)){
+			final Properties descriptor=new Properties();
+			try(InputStream inputStream=Files.newInputStream(file)){
+				descriptor.load(inputStream);
+			}catch(IOException e){
+				throw new MojoExecutionException(MessageFormat.format("Unable to read build cache descriptor {0}",file), e);
+			}
+			reply=Optional.ofNullable(descriptor.getProperty(KEY));
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Verify if the outputs described have been already generated (or restored by a build cache) from the same inputs
+	 * @param _projectFolder project folder the outputs are relative to
+	 * @param _metainfFolder folder where the descriptor is persisted
+	 * @return true if the persisted key is the same, all the outputs exist and every class listed at the manifest has its generated source
+	 * @throws MojoExecutionException if the descriptor or the manifest exist but can not be read
+	 */
+	public boolean isRestored(final Path _projectFolder,final Path _metainfFolder) throws MojoExecutionException{
+		return loadKey(_metainfFolder)
+						.filter(this.key::equals)
+						.isPresent()
+					&& Files.exists(_metainfFolder.resolveSibling(this.manifest))
+					&& this.outputs.stream()
+									.map(_projectFolder::resolve)
+									.allMatch(Files::isDirectory)
+					&& isGenerated(_metainfFolder.getParent(), _metainfFolder.resolveSibling(this.manifest));
+	}
+
+	/**
+	 * Verify that every class listed at the manifest (the copied classes and the generated annotation) has its source at the generated sources folder.
+	 * The manifest is written with the output encoding
+	 * @param _generatedSourcesPath generated sources folder
+	 * @param _manifestFile manifest file
+	 * @return true if no listed source is missing
+	 * @throws MojoExecutionException if the manifest can not be read
+	 */
+	protected boolean isGenerated(final Path _generatedSourcesPath,final Path _manifestFile) throws MojoExecutionException{
+
+		final List<String> lines;
+		try{
+			lines=Arrays.asList(new String(Files.readAllBytes(_manifestFile), this.encoding).split("\n"));
+		}catch(IOException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable to read manifest {0}",_manifestFile), e);
+		}
+
+		return lines.stream()
+						.map(MANIFEST_CLASS::matcher)
+						.filter(Matcher::find)
+						.map(matcher -> matcher.group(1).replace('.','/')+".java")
+						.map(_generatedSourcesPath::resolve)
+						.allMatch(Files::exists);
+	}
+
+	/**
+	 * Persist the descriptor at the given META-INF folder, if changed. The content only depends on the described inputs and outputs
+	 * @param _metainfFolder folder where the descriptor is persisted
+	 * @throws MojoExecutionException if the descriptor can not be written
+	 */
+	public void store(final Path _metainfFolder) throws MojoExecutionException{
+
+		final Path file=_metainfFolder.resolve(DESCRIPTOR_FILE);
+		final StringBuilder content=new StringBuilder()
+											.append("# copysource-maven-plugin build cache descriptor (do not edit)\n")
+											.append(KEY).append('=').append(this.key).append('\n')
+											.append(TOOL_VERSION).append('=').append(this.toolVersion).append('\n')
+											.append(ENCODING).append('=').append(this.encoding).append('\n')
+											.append(COPY_DATE).append('=').append(this.copyDate).append('\n');
+		this.copies.forEach((copyKey,artifact) -> content.append(COPY_PREFIX).append(copyKey).append('=').append(artifact).append('\n'));
+		for(int i=0;i<this.outputs.size();i++){
+			content.append(OUTPUT_PREFIX).append(i).append('=').append(this.outputs.get(i)).append('\n');
+		}
+		content.append(MANIFEST).append('=').append(this.manifest).append('\n');
+		try{
+			final byte[] bytes=content.toString().getBytes(StandardCharsets.ISO_8859_1);
+			if((!Files.exists(file))||(!Arrays.equals(bytes, Files.readAllBytes(file)))){
+				Files.createDirectories(_metainfFolder);
+				Files.write(file, bytes);
+			}
+		}catch(IOException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable to write build cache descriptor {0}",file), e);
+		}
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.text.MessageFormat;
+
+/**
+ * Relocator of compiled classes. Rewrites the origin package to the destiny package in every Utf8 entry of the class file constant pool,
+ * in its binary form (org/foo/Bar, used by class names and descriptors) and in its source form (org.foo.Bar, used by string literals),
+ * so the relocation matches the one done to the sources. The rest of the class file is copied verbatim.
+ * As the constant pool indexes do not change, the relocated class keeps the same bytecode, attributes and stack map frames
+ * @author afarre
+ * @since 2.1.0
+ */
+public class ClassFileRelocator {
+
+	public static final int MAGIC=0xCAFEBABE;
+
+	private static final int CONSTANT_UTF8=1;
+	private static final int CONSTANT_INTEGER=3;
+	private static final int CONSTANT_FLOAT=4;
+	private static final int CONSTANT_LONG=5;
+	private static final int CONSTANT_DOUBLE=6;
+	private static final int CONSTANT_CLASS=7;
+	private static final int CONSTANT_STRING=8;
+	private static final int CONSTANT_FIELDREF=9;
+	private static final int CONSTANT_METHODREF=10;
+	private static final int CONSTANT_INTERFACE_METHODREF=11;
+	private static final int CONSTANT_NAME_AND_TYPE=12;
+	private static final int CONSTANT_METHOD_HANDLE=15;
+	private static final int CONSTANT_METHOD_TYPE=16;
+	private static final int CONSTANT_DYNAMIC=17;
+	private static final int CONSTANT_INVOKE_DYNAMIC=18;
+	private static final int CONSTANT_MODULE=19;
+	private static final int CONSTANT_PACKAGE=20;
+
+	private final CompiledCopyPlan plan;
+	private final String internalFromPackage;
+	private final String internalToPackage;
+
+	private int relocations;
+	private int constants;
+
+
+	/**
+	 * @param _plan compiled copy plan
+	 */
+	public ClassFileRelocator(final CompiledCopyPlan _plan) {
+		this.plan=_plan;
+		this.internalFromPackage=(_plan.getFromPackage()==null||_plan.getFromPackage().isEmpty())? null : _plan.getFromPackage().replace('.','/');
+		this.internalToPackage=_plan.getToPackage().replace('.','/');
+		this.relocations=0;
+		this.constants=0;
+	}
+
+	/**
+	 * @return number of constant pool entries relocated since this relocator has been created
+	 */
+	public int getRelocations() {
+		return relocations;
+	}
+	/**
+	 * @return number of constant pool entries read since this relocator has been created
+	 */
+	public int getConstants() {
+		return constants;
+	}
+
+	/**
+	 * Relocate the class file
+	 * @param _classFile class file content
+	 * @return the relocated class file content
+	 * @throws IOException if the content is not a valid class file or any relocated entry exceeds the maximum Utf8 entry length
+	 */
+	public byte[] relocate(final byte[] _classFile) throws IOException{
+
+		final ByteArrayOutputStream reply=new ByteArrayOutputStream(_classFile.length+(_classFile.length>>4));
+
+		try(ByteArrayInputStream content=new ByteArrayInputStream(_classFile);
+				DataInputStream input=new DataInputStream(content);
+				DataOutputStream output=new DataOutputStream(reply)){
+			final int magic=input.readInt();
+			if(magic!=MAGIC){
+				throw new IOException(MessageFormat.format("Not a class file, unexpected magic number {0}",Integer.toHexString(magic)));
+			}
+			output.writeInt(magic);
+			output.writeShort(input.readUnsignedShort());
+			output.writeShort(input.readUnsignedShort());
+			final int count=input.readUnsignedShort();
+			output.writeShort(count);
+			for(int i=1;i<count;i++){
+				final int tag=input.readUnsignedByte();
+				output.writeByte(tag);
+				switch(tag){
+					case CONSTANT_UTF8:
+						output.writeUTF(relocate(input.readUTF()));
+						break;
+					case CONSTANT_CLASS:
+					case CONSTANT_STRING:
+					case CONSTANT_METHOD_TYPE:
+					case CONSTANT_MODULE:
+					case CONSTANT_PACKAGE:
+						copy(input, output, 2);
+						break;
+					case CONSTANT_METHOD_HANDLE:
+						copy(input, output, 3);
+						break;
+					case CONSTANT_INTEGER:
+					case CONSTANT_FLOAT:
+					case CONSTANT_FIELDREF:
+					case CONSTANT_METHODREF:
+					case CONSTANT_INTERFACE_METHODREF:
+					case CONSTANT_NAME_AND_TYPE:
+					case CONSTANT_DYNAMIC:
+					case CONSTANT_INVOKE_DYNAMIC:
+						copy(input, output, 4);
+						break;
+					case CONSTANT_LONG:
+					case CONSTANT_DOUBLE:
+						// long and double take two constant pool slots
+						copy(input, output, 8);
+						i++;
+						break;
+					default:
+						throw new IOException(MessageFormat.format("Not a class file, unknown constant pool tag {0} at index {1}",tag,i));
+				}
+				this.constants++;
+			}
+			output.write(_classFile, _classFile.length-content.available(), content.available());
+		}
+
+		return reply.toByteArray();
+	}
+
+	private static void copy(final DataInputStream _input,final DataOutputStream _output,final int _bytes) throws IOException{
+
+		for(int i=0;i<_bytes;i++){
+			_output.writeByte(_input.readUnsignedByte());
+		}
+	}
+
+	/**
+	 * Relocate the origin package in its source and binary forms. As the source rewriter, only whole package segments are relocated: 
+	 * the occurrence can not be preceded by an identifier character, a dot or a slash (so com/org/foo is not relocated from org/foo) 
+	 * and can not be followed by an identifier character (so org/foobar is not relocated from org/foo). 
+	 * In the binary form the occurrence can also start right after the L of a type descriptor or signature (Lorg/foo/Bar;), 
+	 * even when it follows primitive or array descriptors ((ILorg/foo/Bar;)V)
+	 * @param _text constant pool Utf8 entry
+	 * @return the relocated entry (the same instance if there is nothing to relocate)
+	 */
+	protected String relocate(final String _text){
+
+		String reply=_text;
+
+		if((this.internalFromPackage!=null)
+				&&(!this.internalFromPackage.equals(this.internalToPackage))
+				&&((_text.contains(this.plan.getFromPackage()))||(_text.contains(this.internalFromPackage)))){
+			final String fromPackage=this.plan.getFromPackage();
+			final int length=fromPackage.length();
+			final StringBuilder builder=new StringBuilder(_text.length()+16);
+			int i=0;
+			while(i<_text.length()){
+				if((_text.startsWith(fromPackage,i))&&(isSegment(_text,i,length,false))){
+					builder.append(this.plan.getToPackage());
+					i+=length;
+				}else if((_text.startsWith(this.internalFromPackage,i))&&(isSegment(_text,i,length,true))){
+					builder.append(this.internalToPackage);
+					i+=length;
+				}else{
+					builder.append(_text.charAt(i));
+					i++;
+				}
+			}
+			if(!builder.toString().equals(_text)){
+				reply=builder.toString();
+				this.relocations++;
+			}
+		}
+
+		return reply;
+	}
+
+	private static boolean isSegment(final String _text,final int _start,final int _length,final boolean _internal){
+
+		final int end=_start+_length;
+
+		return ((_start==0)||(isBoundary(_text.charAt(_start-1)))||((_internal)&&(isDescriptorStart(_text,_start-1))))
+				&&((end==_text.length())||(!Character.isJavaIdentifierPart(_text.charAt(end))));
+	}
+	private static boolean isBoundary(final char _previous){
+		return (!Character.isJavaIdentifierPart(_previous))&&(_previous!='.')&&(_previous!='/');
+	}
+	/**
+	 * The L of a reference type descriptor can follow other descriptors of the same method descriptor or signature: 
+	 * array dimensions and primitive types (as (ILorg/foo/Bar;)V or (J[Lorg/foo/Bar;)V), walked back to the delimiter that precedes them
+	 */
+	private static boolean isDescriptorStart(final String _text,final int _position){
+
+		boolean reply=(_text.charAt(_position)=='L');
+
+		if(reply){
+			int previous=_position-1;
+			boolean primitives=false;
+			while((previous>=0)&&(isArrayOrPrimitive(_text.charAt(previous)))){
+				primitives|=(_text.charAt(previous)!='[');
+				previous--;
+			}
+			reply=(previous<0)? !primitives : isBoundary(_text.charAt(previous));
+		}
+
+		return reply;
+	}
+	private static boolean isArrayOrPrimitive(final char _descriptor){
+		return "[BCDFIJSZ".indexOf(_descriptor)>=0;
+	}
+}
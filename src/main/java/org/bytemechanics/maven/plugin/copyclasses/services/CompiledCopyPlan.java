@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+
+/**
+ * Transformation plan of a copy, computed once per copy definition and reused for all the classes of the copy.
+ * Holds the precompiled relocation pattern, the resolved source charset and the pre-rendered annotation.
+ * Also decides if the sources can be copied as raw bytes (passthrough) instead of being decoded and rewritten
+ * @author afarre
+ * @since 2.1.0
+ */
+public class CompiledCopyPlan {
+
+	/** The origin package must start a full qualified name: not preceded by an identifier character nor a dot */
+	private static final String SEGMENT_START="(?<![\\p{javaJavaIdentifierPart}.])";
+	/** The origin package must end a package segment: not followed by an identifier character */
+	private static final String SEGMENT_END="(?!\\p{javaJavaIdentifierPart})";
+
+	private final CopyDefinition copy;
+	private final String fromPackage;
+	private final String toPackage;
+	private final Pattern fromPackagePattern;
+	private final String toPackageReplacement;
+	private final Charset sourceCharset;
+	private final String annotation;
+	private final boolean relocating;
+	private final byte[] fromPackageBytes;
+
+
+	/**
+	 * Compile the plan of the copy
+	 * @param _copy copy definition
+	 * @param _annotation annotation to add to the main type of each copied class, or null to not annotate
+	 * @throws java.nio.charset.IllegalCharsetNameException if the source charset name is not valid
+	 * @throws java.nio.charset.UnsupportedCharsetException if the source charset is not supported
+	 */
+	public CompiledCopyPlan(final CopyDefinition _copy,final String _annotation) {
+		this.copy=_copy;
+		this.fromPackage=_copy.getFromPackage();
+		this.toPackage=Optional.ofNullable(_copy.getToPackage()).orElse("");
+		this.fromPackagePattern=Optional.ofNullable(this.fromPackage)
+											.filter(from -> !from.isEmpty())
+											.map(from -> SEGMENT_START+Pattern.quote(from)+SEGMENT_END)
+											.map(Pattern::compile)
+											.orElse(null);
+		this.toPackageReplacement=Matcher.quoteReplacement(this.toPackage);
+		this.sourceCharset=Charset.forName(Optional.ofNullable(_copy.getSourceCharset()).orElse("UTF-8"));
+		this.annotation=_annotation;
+		this.relocating=(this.fromPackagePattern!=null)&&(!this.fromPackage.equals(this.toPackage));
+		this.fromPackageBytes=Optional.ofNullable(this.fromPackagePattern)
+										.map(pattern -> this.fromPackage.getBytes(this.sourceCharset))
+										.filter(bytes -> Arrays.equals(bytes,this.fromPackage.getBytes(StandardCharsets.US_ASCII)))
+										.orElse(null);
+	}
+	private CompiledCopyPlan(final CompiledCopyPlan _plan,final String _annotation) {
+		this.copy=_plan.copy;
+		this.fromPackage=_plan.fromPackage;
+		this.toPackage=_plan.toPackage;
+		this.fromPackagePattern=_plan.fromPackagePattern;
+		this.toPackageReplacement=_plan.toPackageReplacement;
+		this.sourceCharset=_plan.sourceCharset;
+		this.annotation=_annotation;
+		this.relocating=_plan.relocating;
+		this.fromPackageBytes=_plan.fromPackageBytes;
+	}
+
+	/**
+	 * Derive a plan sharing the compiled relocation of this one but with a distinct annotation
+	 * @param _annotation annotation to add to the main type of each copied class, or null to not annotate
+	 * @return the derived plan
+	 */
+	public CompiledCopyPlan withAnnotation(final String _annotation){
+		return new CompiledCopyPlan(this,_annotation);
+	}
+
+
+	public CopyDefinition getCopy() {
+		return copy;
+	}
+	public String getFromPackage() {
+		return fromPackage;
+	}
+	public String getToPackage() {
+		return toPackage;
+	}
+	public Charset getSourceCharset() {
+		return sourceCharset;
+	}
+	public String getAnnotation() {
+		return annotation;
+	}
+	public boolean isAnnotate() {
+		return annotation!=null;
+	}
+	/**
+	 * @return true if the origin package must be replaced by a distinct destiny package
+	 */
+	public boolean isRelocating() {
+		return relocating;
+	}
+
+	/**
+	 * Check if the sources of this plan can be copied without decoding them: they are not annotated, have the same charset than the target 
+	 * and, if relocating, the origin package can be searched as bytes (the source charset encodes it as ASCII)
+	 * @param _targetEncoding encoding of the generated sources
+	 * @return true if the passthrough can be used
+	 * @see #containsFromPackage(byte[], int) 
+	 */
+	public boolean isPassthrough(final Charset _targetEncoding){
+		return (!isAnnotate())
+				&&(this.sourceCharset.equals(_targetEncoding))
+				&&((!this.relocating)||(this.fromPackageBytes!=null));
+	}
+
+	/**
+	 * Search the origin package in the raw content. Any occurrence is reported, even partial package segments, 
+	 * so a false result proves that the content does not need relocation
+	 * @param _content raw source content encoded with the source charset
+	 * @param _length content length
+	 * @return true if the content contains the origin package or it can not be searched as bytes
+	 */
+	public boolean containsFromPackage(final byte[] _content,final int _length){
+
+		boolean reply=(this.fromPackageBytes==null);
+
+		if(!reply){
+			final byte first=this.fromPackageBytes[0];
+			final int last=_length-this.fromPackageBytes.length;
+			for(int i=0;(!reply)&&(i<=last);i++){
+				if(_content[i]==first){
+					int j=1;
+					while((j<this.fromPackageBytes.length)&&(_content[i+j]==this.fromPackageBytes[j])){
+						j++;
+					}
+					reply=(j==this.fromPackageBytes.length);
+				}
+			}
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Replace all the occurrences of the origin package by the destiny package. As the source rewriter, only whole package segments 
+	 * are relocated (org.foobar is not relocated from org.foo), so the paths and manifest entries match the relocated sources
+	 * @param _text text to relocate
+	 * @return the relocated text (the same instance if there is nothing to relocate)
+	 */
+	public String relocate(final String _text){
+
+		String reply=_text;
+
+		if((this.fromPackagePattern!=null)&&(_text.contains(this.fromPackage))){
+			reply=this.fromPackagePattern.matcher(_text).replaceAll(this.toPackageReplacement);
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Resolve the file where the relocated source of the class must be generated
+	 * @param _generatedSourcesPath generated sources folder
+	 * @param _className origin class name
+	 * @return the generated source file
+	 */
+	public Optional<Path> generateSourceFile(final Path _generatedSourcesPath,final String _className){
+
+		return Optional.ofNullable(_className)
+							.map(this::relocate)
+							.map(className -> className.replace('.','/'))
+							.map(className -> className.concat(CopyServiceImpl.JAVA_SOURCE_EXTENSION))
+							.map(_generatedSourcesPath::resolve);
+	}
+
+	/**
+	 * Resolve the file where the relocated compiled class must be written
+	 * @param _outputPath classes output folder
+	 * @param _className origin class name
+	 * @return the class file
+	 */
+	public Optional<Path> generateClassFile(final Path _outputPath,final String _className){
+
+		return Optional.ofNullable(_className)
+							.map(this::relocate)
+							.map(className -> className.replace('.','/'))
+							.map(className -> className.concat(CopyServiceImpl.CLASS_FILE_EXTENSION))
+							.map(_outputPath::resolve);
+	}
+}
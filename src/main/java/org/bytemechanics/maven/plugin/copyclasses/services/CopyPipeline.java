@@ -0,0 +1,393 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.bytemechanics.maven.plugin.copyclasses.logging.OrderedLog;
+
+/**
+ * Staged pipeline to copy the classes: the caller thread reads the sources (read stage) and submits them,
+ * the transformer threads rewrite them (transform stage) and a single writer thread writes them (write stage).
+ * The stages are joined by bounded queues, so a slow stage blocks the previous ones,
+ * and the bytes in flight (read and not yet written) are limited by a memory budget.
+ * A source larger than the budget is admitted alone.
+ * Each copy submits its classes to its own batch and waits for them, so many copies can share the same pipeline.
+ * The messages logged by the stages of each class are buffered and logged by the thread waiting for the batch, in submission order
+ * @author afarre
+ * @since 2.1.0
+ */
+public class CopyPipeline implements AutoCloseable {
+
+	public static final int QUEUE_CAPACITY_PER_THREAD=4;
+
+	/**
+	 * Transform stage of a class
+	 */
+	@FunctionalInterface
+	public interface Transformation{
+		/**
+		 * @param _content source content
+		 * @return the content to write
+		 * @throws IOException if the content can not be decoded or encoded
+		 * @throws MojoExecutionException if the content can not be transformed
+		 */
+		public byte[] apply(byte[] _content) throws IOException, MojoExecutionException;
+	}
+	/**
+	 * Write stage of a class
+	 */
+	@FunctionalInterface
+	public interface Writing{
+		/**
+		 * @param _content content to write
+		 * @throws IOException if the content can not be written
+		 * @throws MojoExecutionException if the content can not be written
+		 */
+		public void accept(byte[] _content) throws IOException, MojoExecutionException;
+	}
+
+	private static final Item POISON=new Item(null,0,null,null,null,null);
+
+	private final int transformers;
+	private final OrderedLog log;
+	private final long maxInFlightBytes;
+	private final BlockingQueue<Item> transformQueue;
+	private final BlockingQueue<Item> writeQueue;
+	private final List<Thread> transformerThreads;
+	private Thread writerThread;
+	private long inFlightBytes;
+	private boolean closed;
+
+
+	/**
+	 * @param _transformers number of transformer threads
+	 * @param _maxInFlightBytes maximum bytes read and not yet written
+	 */
+	public CopyPipeline(final int _transformers,final long _maxInFlightBytes) {
+		this(_transformers,_maxInFlightBytes,null);
+	}
+	/**
+	 * @param _transformers number of transformer threads
+	 * @param _maxInFlightBytes maximum bytes read and not yet written
+	 * @param _log log used by the stages, to buffer their messages, or null to let the stages log directly
+	 */
+	public CopyPipeline(final int _transformers,final long _maxInFlightBytes,final OrderedLog _log) {
+		this.transformers=Math.max(1,_transformers);
+		this.log=_log;
+		this.maxInFlightBytes=Math.max(1,_maxInFlightBytes);
+		this.transformQueue=new ArrayBlockingQueue<>(this.transformers*QUEUE_CAPACITY_PER_THREAD);
+		this.writeQueue=new ArrayBlockingQueue<>(this.transformers*QUEUE_CAPACITY_PER_THREAD);
+		this.transformerThreads=new ArrayList<>(this.transformers);
+		this.writerThread=null;
+		this.inFlightBytes=0;
+		this.closed=false;
+	}
+
+	public int getTransformers() {
+		return transformers;
+	}
+	public long getMaxInFlightBytes() {
+		return maxInFlightBytes;
+	}
+	/**
+	 * @return bytes read and not yet written
+	 */
+	public synchronized long getInFlightBytes() {
+		return inFlightBytes;
+	}
+
+	/**
+	 * @return a new batch to submit the classes of a copy
+	 */
+	public Batch newBatch(){
+		return new Batch();
+	}
+
+	private synchronized void start(){
+
+		if(this.closed){
+			throw new IllegalStateException("Copy pipeline already closed");
+		}
+		if(this.writerThread==null){
+			for(int i=0;i<this.transformers;i++){
+				this.transformerThreads.add(startThread("copysource-transformer-"+(i+1),this::transform));
+			}
+			this.writerThread=startThread("copysource-writer",this::write);
+		}
+	}
+	private static Thread startThread(final String _name,final Runnable _stage){
+
+		final Thread reply=new Thread(_stage,_name);
+
+		reply.setDaemon(true);
+		reply.start();
+
+		return reply;
+	}
+
+	/**
+	 * Reserve budget for the bytes, waiting until they fit unless nothing is in flight
+	 */
+	private synchronized void reserve(final long _bytes) throws InterruptedException{
+
+		while((this.inFlightBytes>0)&&(this.inFlightBytes+_bytes>this.maxInFlightBytes)){
+			wait();
+		}
+		this.inFlightBytes+=_bytes;
+	}
+	/**
+	 * Adjust the reserved budget without waiting, to never block a stage that can release budget later
+	 */
+	private synchronized void adjust(final long _bytes){
+
+		this.inFlightBytes+=_bytes;
+		if(_bytes<0){
+			notifyAll();
+		}
+	}
+	private static long sizeOf(final byte[] _content){
+		return (_content==null)? 0 : _content.length;
+	}
+
+	private void startBuffering(){
+		if(this.log!=null){
+			this.log.startBuffering();
+		}
+	}
+	private List<Consumer<Log>> stopBuffering(){
+		return (this.log!=null)? this.log.stopBuffering() : Collections.emptyList();
+	}
+
+	/**
+	 * Any failure of a stage (errors included) fails the batch of the class, never the stage thread, so the batch can always be awaited
+	 */
+	@SuppressWarnings("UseSpecificCatch")
+	private void transform(){
+
+		try{
+			Item item=this.transformQueue.take();
+			while(item!=POISON){
+				if(!item.batch.isFailed()){
+					startBuffering();
+					try{
+						item.output=item.transformation.apply(item.input);
+					}catch(Throwable e){
+						item.batch.fail(item.name, e);
+					}finally{
+						item.batch.log(item.sequence, stopBuffering());
+					}
+				}
+				adjust(sizeOf(item.output)-sizeOf(item.input));
+				item.input=null;
+				this.writeQueue.put(item);
+				item=this.transformQueue.take();
+			}
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@SuppressWarnings("UseSpecificCatch")
+	private void write(){
+
+		try{
+			Item item=this.writeQueue.take();
+			while(item!=POISON){
+				if((item.output!=null)&&(!item.batch.isFailed())){
+					startBuffering();
+					try{
+						item.writing.accept(item.output);
+					}catch(Throwable e){
+						item.batch.fail(item.name, e);
+					}finally{
+						item.batch.log(item.sequence, stopBuffering());
+					}
+				}
+				adjust(-sizeOf(item.output));
+				item.output=null;
+				item.batch.done();
+				item=this.writeQueue.take();
+			}
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Wait for the submitted classes and stop the stage threads
+	 */
+	@Override
+	public void close() {
+
+		final List<Thread> threads;
+		synchronized(this){
+			this.closed=true;
+			threads=(this.writerThread!=null)? new ArrayList<>(this.transformerThreads) : new ArrayList<>();
+		}
+		try{
+			for(int i=0;i<threads.size();i++){
+				this.transformQueue.put(POISON);
+			}
+			for(Thread thread:threads){
+				thread.join();
+			}
+			if(this.writerThread!=null){
+				this.writeQueue.put(POISON);
+				this.writerThread.join();
+			}
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			threads.forEach(Thread::interrupt);
+			if(this.writerThread!=null){
+				this.writerThread.interrupt();
+			}
+		}
+	}
+
+
+	private static final class Item{
+
+		private final Batch batch;
+		private final int sequence;
+		private final String name;
+		private final Transformation transformation;
+		private final Writing writing;
+		private byte[] input;
+		private byte[] output;
+
+		Item(final Batch _batch,final int _sequence,final String _name,final byte[] _input,final Transformation _transformation,final Writing _writing){
+			this.batch=_batch;
+			this.sequence=_sequence;
+			this.name=_name;
+			this.input=_input;
+			this.transformation=_transformation;
+			this.writing=_writing;
+			this.output=null;
+		}
+	}
+
+	/**
+	 * Classes submitted by a copy. A failure skips the classes of the batch not yet transformed or written
+	 */
+	public final class Batch{
+
+		private int pending;
+		private int submitted;
+		private String failedName;
+		private Throwable failure;
+		private final Map<Integer,List<Consumer<Log>>> messages;
+
+
+		private Batch(){
+			this.pending=0;
+			this.submitted=0;
+			this.failedName=null;
+			this.failure=null;
+			this.messages=new TreeMap<>();
+		}
+
+		/**
+		 * Submit the class to the pipeline, waiting while the memory budget or the transform queue are full
+		 * @param _name class name
+		 * @param _content source content
+		 * @param _transformation transform stage of the class
+		 * @param _writing write stage of the class
+		 * @throws MojoExecutionException if the thread is interrupted while waiting
+		 */
+		public void submit(final String _name,final byte[] _content,final Transformation _transformation,final Writing _writing) throws MojoExecutionException{
+
+			start();
+			final int sequence;
+			synchronized(this){
+				this.pending++;
+				sequence=this.submitted++;
+			}
+			boolean reserved=false;
+			try{
+				reserve(sizeOf(_content));
+				reserved=true;
+				transformQueue.put(new Item(this,sequence,_name,_content,_transformation,_writing));
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				if(reserved){
+					adjust(-sizeOf(_content));
+				}
+				done();
+				throw new MojoExecutionException(MessageFormat.format("Interrupted while submitting class {0}",_name), e);
+			}
+		}
+
+		synchronized boolean isFailed(){
+			return (this.failure!=null);
+		}
+		synchronized void fail(final String _name,final Throwable _failure){
+			if(this.failure==null){
+				this.failedName=_name;
+				this.failure=_failure;
+			}
+		}
+		synchronized void log(final int _sequence,final List<Consumer<Log>> _messages){
+			if(!_messages.isEmpty()){
+				this.messages.computeIfAbsent(_sequence, sequence -> new ArrayList<>())
+								.addAll(_messages);
+			}
+		}
+		synchronized void done(){
+			this.pending--;
+			if(this.pending==0){
+				notifyAll();
+			}
+		}
+
+		/**
+		 * Wait until all the submitted classes have been written or skipped, and log the messages of their stages in submission order
+		 * @throws MojoExecutionException the first failure of the batch, or if the thread is interrupted while waiting
+		 */
+		public synchronized void await() throws MojoExecutionException{
+
+			try{
+				while(this.pending>0){
+					wait();
+				}
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				throw new MojoExecutionException("Interrupted while waiting for the copied classes", e);
+			}
+			if(log!=null){
+				this.messages.values()
+								.forEach(log::append);
+			}
+			this.messages.clear();
+			if(this.failure instanceof MojoExecutionException){
+				throw (MojoExecutionException)this.failure;
+			}
+			if(this.failure!=null){
+				throw new MojoExecutionException(MessageFormat.format("Unable to copy class {0}",this.failedName), this.failure);
+			}
+		}
+	}
+}
@@ -18,23 +18,105 @@ package org.bytemechanics.maven.plugin.copyclasses.services;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.bytemechanics.maven.plugin.copyclasses.enums.CopyDateSource;
 import org.bytemechanics.maven.plugin.copyclasses.enums.Scope;
+import org.bytemechanics.maven.plugin.copyclasses.report.ExecutionReport;
 
 /**
  * Service to copy files and from an existing jar/zip
  * @author afarre
  */
-public interface CopyService {
+public interface CopyService extends AutoCloseable {
 
 	public LocalDateTime getExecutionTime();
+	public default CopyDateSource getCopyDateSource(){
+		return CopyDateSource.EXECUTION;
+	}
 	public String getTargetFolder();
 	public String getGeneratedSourceFolder();
 	public Charset getEncoding();
+	public default boolean isIncremental(){
+		return false;
+	}
 
 	public default void prepareEnvironment(final Path _generatedSourcesPath,final CopyDefinition _copy) throws MojoExecutionException{}
 	public Path generateSourcePath(final Scope _scope) throws MojoExecutionException;
 	public void createManifest(final CopyDefinition[] _copies,final Path generatedSourcesPath) throws MojoExecutionException;
 	public void processDownloadedSource(final Path _sourceFile,final CopyDefinition _copy,final Path _generatedSourcesPath) throws MojoExecutionException;
+	/**
+	 * Copy the selected compiled classes of the binary jar to the classes output folder, relocating them from the origin package to the destiny package
+	 * @param _binaryFile binary jar
+	 * @param _copy copy definition
+	 * @param _outputPath classes output folder
+	 * @throws MojoExecutionException if the jar can not be read, any selected class is not found or can not be relocated
+	 * @since 2.1.0
+	 */
+	public void processDownloadedBinary(final Path _binaryFile,final CopyDefinition _copy,final Path _outputPath) throws MojoExecutionException;
+	/**
+	 * Write the manifest of the copied compiled classes at the META-INF folder of the classes output folder
+	 * @param _copies copies processed
+	 * @param _outputPath classes output folder
+	 * @throws MojoExecutionException if the manifest can not be written
+	 * @since 2.1.0
+	 */
+	public void createCompiledManifest(final CopyDefinition[] _copies,final Path _outputPath) throws MojoExecutionException;
+
+	public default boolean isUpToDate(final Path _sourceFile,final CopyDefinition _copy,final Path _generatedSourcesPath) throws MojoExecutionException{
+		return false;
+	}
+	public default void storeFingerprints(final Path _generatedSourcesPath) throws MojoExecutionException{}
+	/**
+	 * Describe the inputs and outputs of the execution for the build caches
+	 * @param _copies copies to process
+	 * @param _sourceFiles resolved artifact of each copy
+	 * @param _generatedSourcesPath generated sources folder
+	 * @param _outputs output folders relative to the project folder
+	 * @return the build cache descriptor, if the service supports it
+	 * @throws MojoExecutionException if any artifact can not be read
+	 * @since 2.1.0
+	 */
+	public default Optional<BuildCacheDescriptor> describeBuildCache(final CopyDefinition[] _copies,final Path[] _sourceFiles,final Path _generatedSourcesPath,final List<String> _outputs) throws MojoExecutionException{
+		return Optional.empty();
+	}
+	/**
+	 * Compile the generated sources of the copy in process and place its classes at the output folder, 
+	 * reusing the classes compiled by former builds when possible
+	 * @param _copy copy definition (already processed or up to date)
+	 * @param _generatedSourcesPath generated sources folder
+	 * @param _outputPath classes output folder
+	 * @return true if the classes of the copy are at the output folder, false if its sources must be compiled by the project
+	 * @throws MojoExecutionException if the classes can not be written
+	 * @since 2.1.0
+	 */
+	public default boolean precompile(final CopyDefinition _copy,final Path _generatedSourcesPath,final Path _outputPath) throws MojoExecutionException{
+		return false;
+	}
+	/**
+	 * Evict the least recently used entries of the shared relocation cache over its maximum size, if any
+	 * @since 2.1.0
+	 */
+	public default void evictCache(){}
+	/**
+	 * @return number of generated files actually written (files whose content did not change are not written)
+	 */
+	public default int getWrittenFiles(){
+		return 0;
+	}
+	/**
+	 * @return the performance report of the copies processed by this service, if it records them
+	 * @since 2.1.0
+	 */
+	public default Optional<ExecutionReport> getReport(){
+		return Optional.empty();
+	}
+	/**
+	 * Release the resources held by the service (for example the threads of the copy pipeline)
+	 * @since 2.1.0
+	 */
+	@Override
+	public default void close(){}
 }
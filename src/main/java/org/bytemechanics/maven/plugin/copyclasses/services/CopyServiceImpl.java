@@ -15,12 +15,15 @@
  */
 package org.bytemechanics.maven.plugin.copyclasses.services;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.nio.file.Files;
@@ -29,16 +32,38 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+import org.bytemechanics.maven.plugin.copyclasses.enums.CopyDateSource;
 import org.bytemechanics.maven.plugin.copyclasses.enums.Scope;
 import org.bytemechanics.maven.plugin.copyclasses.exceptions.UnableToIdentifyCoordinate;
 import org.bytemechanics.maven.plugin.copyclasses.internal.commons.functional.LambdaUnchecker;
+import org.bytemechanics.maven.plugin.copyclasses.logging.LazyLog;
+import org.bytemechanics.maven.plugin.copyclasses.report.ClassReport;
+import org.bytemechanics.maven.plugin.copyclasses.report.CopyReport;
+import org.bytemechanics.maven.plugin.copyclasses.report.ExecutionReport;
+import org.sonatype.plexus.build.incremental.BuildContext;
 
 /**
  * Service to copy files
@@ -48,25 +73,54 @@ public class CopyServiceImpl implements CopyService {
 
 	public static final String METAINF = "META-INF";
 	public static final String JAVA_SOURCE_EXTENSION=".java";
+	public static final String CLASS_FILE_EXTENSION=".class";
+	public static final String MANIFEST_FILE="copy-manifest.info";
+	public static final String COMPILED_MANIFEST_FILE="copy-compiled-manifest.info";
 	public static final String CUSTOM_ANNOTATION_CLASS="org.bytemechanics.maven.plugin.copyclasses.annotations.CopiedSource";
 	public static final String CUSTOM_IMPORT_ANNOTATION="import "+CUSTOM_ANNOTATION_CLASS+";";
 	public static final String CUSTOM_ANNOTATION_PATTERN="@CopiedSource(tool=\"org.bytemechanics.maven.copysource-maven-plugin\", toolVersion=\"{5}\", originGroupId=\"{0}\", originArtifactId=\"{1}\", originVersion=\"{2}\", originClassifier=\"{3}\", copyDate = \"{4}\")";	
 	
-	private final Log logger;
+	private final LazyLog logger;
 	private final LocalDateTime executionTime;
+	private final CopyDateSource copyDateSource;
 	private final String targetFolder;
 	private final String generatedSourceFolder;
 	private final Charset encoding;
+	private final boolean incremental;
+	private final RelocationCache cache;
+	private final SourceJarCache sourceJars;
+	private final CopyPipeline pipeline;
+	private final ArchiveReader archiveReader;
+	private final SourcePrecompiler precompiler;
+	private final BuildContext buildContext;
+	private final ResidentState residentState;
+	private FingerprintStore fingerprints;
+	private final AtomicInteger writtenFiles=new AtomicInteger();
+	private final Map<CopyDefinition,List<String>> selections=Collections.synchronizedMap(new IdentityHashMap<>());
+	private final ExecutionReport report=new ExecutionReport(getToolVersion());
 	
 	public CopyServiceImpl(final Log _logger,final String _targetFolder,final String _generatedSourceFolder,final Charset _encoding) {
-		this(_logger,_targetFolder,_generatedSourceFolder,_encoding,LocalDateTime.now());
+		this(new Settings(_logger,_targetFolder,_generatedSourceFolder,_encoding));
 	}
-	public CopyServiceImpl(final Log _logger,final String _targetFolder,final String _generatedSourceFolder,final Charset _encoding,final LocalDateTime _executionTime) {
-		this.logger=_logger;
-		this.targetFolder=_targetFolder;
-		this.generatedSourceFolder=_generatedSourceFolder;
-		this.encoding=_encoding;
-		this.executionTime=_executionTime;
+	/**
+	 * @param _settings settings of the service
+	 * @since 2.1.0
+	 */
+	public CopyServiceImpl(final Settings _settings) {
+		this.logger=LazyLog.of(_settings.logger);
+		this.targetFolder=_settings.targetFolder;
+		this.generatedSourceFolder=_settings.generatedSourceFolder;
+		this.encoding=_settings.encoding;
+		this.executionTime=_settings.executionTime;
+		this.incremental=_settings.incremental;
+		this.copyDateSource=_settings.copyDateSource;
+		this.cache=_settings.cache;
+		this.sourceJars=_settings.sourceJars;
+		this.pipeline=_settings.pipeline;
+		this.archiveReader=_settings.archiveReader;
+		this.precompiler=_settings.precompiler;
+		this.buildContext=_settings.buildContext;
+		this.residentState=_settings.residentState;
 	}
 
 	@Override
@@ -74,6 +128,10 @@ public class CopyServiceImpl implements CopyService {
 		return executionTime;
 	}
 	@Override
+	public CopyDateSource getCopyDateSource() {
+		return copyDateSource;
+	}
+	@Override
 	public String getTargetFolder() {
 		return targetFolder;
 	}
@@ -85,6 +143,42 @@ public class CopyServiceImpl implements CopyService {
 	public Charset getEncoding() {
 		return encoding;
 	}
+	@Override
+	public boolean isIncremental() {
+		return incremental;
+	}
+	public Optional<RelocationCache> getCache() {
+		return Optional.ofNullable(cache);
+	}
+	public Optional<SourceJarCache> getSourceJars() {
+		return Optional.ofNullable(sourceJars);
+	}
+	public Optional<CopyPipeline> getPipeline() {
+		return Optional.ofNullable(pipeline);
+	}
+	public ArchiveReader getArchiveReader() {
+		return archiveReader;
+	}
+	public Optional<SourcePrecompiler> getPrecompiler() {
+		return Optional.ofNullable(precompiler);
+	}
+	public Optional<BuildContext> getBuildContext() {
+		return Optional.ofNullable(buildContext);
+	}
+	public Optional<ResidentState> getResidentState() {
+		return Optional.ofNullable(residentState);
+	}
+	@Override
+	public int getWrittenFiles() {
+		return writtenFiles.get();
+	}
+	@Override
+	public Optional<ExecutionReport> getReport() {
+		return Optional.of(report);
+	}
+	public String getToolVersion() {
+		return this.getClass().getPackage().getImplementationVersion();
+	}
 
 	
 	private void copyAnnotation(final Path _sourceFile) throws MojoExecutionException{
@@ -123,7 +217,7 @@ public class CopyServiceImpl implements CopyService {
 					.resolve(_scope.getFolder())
 					.resolve(getGeneratedSourceFolder());
 			Files.createDirectories(reply);
-			this.logger.debug(MessageFormat.format("Generated source folder: {0}",reply));
+			this.logger.debug("Generated source folder: {0}",reply);
 		}catch(IOException e){
 			throw new MojoExecutionException(MessageFormat.format("Unable to create folder {0}",reply), e);
 		}
@@ -136,54 +230,643 @@ public class CopyServiceImpl implements CopyService {
 		try{
 			final Path metainfFolder=_generatedSourcesPath.resolve(METAINF);
 			Files.createDirectories(metainfFolder);
-			writeManifest(metainfFolder, _copies);
+			writeManifest(metainfFolder.resolve(MANIFEST_FILE), _copies, true);
 		}catch(IOException e){
 			throw new MojoExecutionException("Unable create manifest file", e);
 		}
 	}
+	@Override
+	public void createCompiledManifest(final CopyDefinition[] _copies,final Path _outputPath) throws MojoExecutionException {
+	
+		try{
+			final Path metainfFolder=_outputPath.resolve(METAINF);
+			Files.createDirectories(metainfFolder);
+			writeManifest(metainfFolder.resolve(COMPILED_MANIFEST_FILE), _copies, false);
+		}catch(IOException e){
+			throw new MojoExecutionException("Unable create compiled manifest file", e);
+		}
+	}
 
-	private void writeManifest(final Path _metainfFolder, final CopyDefinition[] _copies) throws IOException {
-		try(BufferedWriter sourceWriter=new BufferedWriter(Files.newBufferedWriter(_metainfFolder.resolve("copy-manifest.info"),getEncoding(), StandardOpenOption.CREATE,StandardOpenOption.WRITE,StandardOpenOption.TRUNCATE_EXISTING))){
-			sourceWriter.write("The following classes has been copied from external libraries:\n\n");
-			for(CopyDefinition copy:_copies){
-				sourceWriter.write(MessageFormat.format("From artifact [{0}]:\n", copy.getArtifact()));
-				for(String clazz:copy.getClasses()){
-					sourceWriter.write(MessageFormat.format("\t[{0}] repackaged from [{1}]\n", clazz.replace(copy.getFromPackage(),copy.getToPackage()),clazz));
-				}
+	private void writeManifest(final Path _manifestFile, final CopyDefinition[] _copies,final boolean _annotationGenerated) throws IOException {
+		
+		final StringBuilder manifest=new StringBuilder();
+		manifest.append("The following classes has been copied from external libraries:\n\n");
+		for(CopyDefinition copy:_copies){
+			final CompiledCopyPlan plan=new CompiledCopyPlan(copy, null);
+			manifest.append(MessageFormat.format("From artifact [{0}]:\n", copy.getArtifact()));
+			for(String clazz:getSelectedClasses(copy)){
+				manifest.append(MessageFormat.format("\t[{0}] repackaged from [{1}]\n", plan.relocate(clazz),clazz));
 			}
-			sourceWriter.write(MessageFormat.format("From artifact [org.bytemechanics.maven:copysource-maven-plugin:{0}]:\n", this.getClass().getPackage().getImplementationVersion()));
-			sourceWriter.write(MessageFormat.format("\t[{0}] generated", CUSTOM_ANNOTATION_CLASS));
 		}
+		if(_annotationGenerated){
+			manifest.append(MessageFormat.format("From artifact [org.bytemechanics.maven:copysource-maven-plugin:{0}]:\n", this.getClass().getPackage().getImplementationVersion()));
+			manifest.append(MessageFormat.format("\t[{0}] generated", CUSTOM_ANNOTATION_CLASS));
+		}
+		writeIfDifferent(_manifestFile, encode(manifest));
 	}
 
 	@Override
 	public void processDownloadedSource(final Path _sourceFile,final CopyDefinition _copy,final Path _generatedSourcesPath) throws MojoExecutionException {
 		
-		try(JarFile sourcePackage=new JarFile(_sourceFile.toFile(),true,JarFile.OPEN_READ)){
-			for(String clazz:_copy.getClasses()){
-				logger.debug(MessageFormat.format("Looking for class {0}",clazz));
-				final JarEntry sourceEntry=sourcePackage.getJarEntry(clazz.replace('.','/')+JAVA_SOURCE_EXTENSION);
-				if(sourceEntry==null){
-					throw new MojoExecutionException(MessageFormat.format("Unable find class {0} at source {1} from artifact {2}",clazz,_sourceFile,_copy.getArtifact()));
-				}
-				logger.debug(MessageFormat.format("Creating package {0} destiny",clazz));
-				final Optional<Path> generatedSourceFile=generateSourceFile(_generatedSourcesPath, clazz, _copy);
-				if(generatedSourceFile.isPresent()){
-					final Path targetFile=generatedSourceFile.get();
-					copyDownloadedSource(sourcePackage, sourceEntry, clazz, targetFile, _copy, _sourceFile);
+		final long start=System.nanoTime();
+		final CopyReport copyReport=new CopyReport(_copy.getArtifact(),String.valueOf(_sourceFile));
+		try(OpenedSourceJar openedSource=openSourceJar(_sourceFile)){
+			copyReport.opened(System.nanoTime()-start);
+			final SourceArchive sourcePackage=openedSource.getArchive();
+			final FingerprintStore store=getFingerprints(_generatedSourcesPath);
+			final String copyKey=getCopyKey(_copy);
+			final String relocationKey=getRelocationKey(_copy);
+			final CompiledCopyPlan plan=compilePlan(_copy, _copy.isAnnotate());
+			final String jarChecksum=(isCacheable(plan))? this.cache.checksum(_sourceFile) : null;
+			final SourceJarIndex index=openedSource.getIndex();
+			final long selectStart=System.nanoTime();
+			final Map<String,JarEntry> selection=selectClasses(index, _copy, _sourceFile);
+			copyReport.selected(System.nanoTime()-selectStart);
+			logger.debug("Selected {0} classes of {1} indexed at source {2}",selection.size(),index.size(),_sourceFile);
+			final Map<String,JarEntry> copies=new LinkedHashMap<>(selection);
+			final boolean sequential=SourceJarReader.isSequential(selection.size(), index.getEntries());
+			logger.debug("Reading source {0} {1}",_sourceFile,(sequential)? "sequentially" : "with random access");
+			final Queue<String> pending=(sequential)? new PriorityQueue<>(Comparator.comparingInt(index::getPosition)) : new ArrayDeque<>();
+			pending.addAll(selection.keySet());
+			final Optional<CopyPipeline.Batch> batch=getPipeline().map(CopyPipeline::newBatch);
+			final Map<Path,ClassReport> piped=new LinkedHashMap<>();
+			int copied=0;
+			int unchanged=0;
+			int cached=0;
+			try(SourceJarReader reader=new SourceJarReader(sourcePackage, _sourceFile, index, sequential)){
+				while(!pending.isEmpty()){
+					final String clazz=pending.poll();
+					final JarEntry sourceEntry=copies.get(clazz);
+					final Optional<Path> generatedSourceFile=generateSourceFile(_generatedSourcesPath, clazz, plan);
+					if(generatedSourceFile.isPresent()){
+						final Path targetFile=generatedSourceFile.get();
+						final ClassReport classReport=copyReport.addClass(new ClassReport(clazz));
+						final boolean entryUnchanged=(isIncremental())&&(Files.exists(targetFile))&&(store.isEntryUnchanged(relocationKey, clazz, sourceEntry));
+						final long readStart=System.nanoTime();
+						final byte[] content=(_copy.isTransitive())? readDownloadedSource(reader, sourceEntry, clazz, plan, _sourceFile) : null;
+						if(content!=null){
+							classReport.read(content.length, System.nanoTime()-readStart);
+							for(String referenced:findReferences(content, plan, index, _copy)){
+								if(!copies.containsKey(referenced)){
+									logger.debug("Class {0} referenced by {1}, added to the copy",referenced,clazz);
+									copies.put(referenced, index.getEntry(referenced).get());
+									pending.add(referenced);
+								}
+							}
+						}
+						if(entryUnchanged){
+							logger.debug("Class {0} unchanged at source {1}, skipped",clazz,_sourceFile);
+							unchanged++;
+							continue;
+						}
+						final CompiledCopyPlan classPlan=((plan.isAnnotate())&&(getCopyDateSource()==CopyDateSource.ENTRY))?
+																plan.withAnnotation(getAnnotation(_copy,getCopyDateSource().resolve(getExecutionTime(),sourceEntry)))
+																: plan;
+						final Optional<String> cacheKey=Optional.ofNullable(jarChecksum)
+																.map(checksum -> RelocationCache.key(checksum, clazz, classPlan, getEncoding(), getToolVersion()));
+						final Optional<byte[]> cachedContent=cacheKey.flatMap(this::getCached);
+						if(cachedContent.isPresent()){
+							final long writeStart=System.nanoTime();
+							generatePackage(targetFile);
+							classReport.origin(ClassReport.CACHED)
+										.wrote(cachedContent.get().length, System.nanoTime()-writeStart, writeIfDifferent(targetFile, cachedContent.get()));
+							logger.debug("Class {0} copied from the relocation cache",clazz);
+							cached++;
+						}else if(batch.isPresent()){
+							final long sourceStart=System.nanoTime();
+							final byte[] sourceContent=(content!=null)? content : readDownloadedSource(reader, sourceEntry, clazz, classPlan, _sourceFile);
+							if(content==null){
+								classReport.read(sourceContent.length, System.nanoTime()-sourceStart);
+							}
+							generatePackage(targetFile);
+							piped.put(targetFile, classReport);
+							batch.get().submit(clazz, sourceContent, 
+												source -> transformContent(source, clazz, classPlan, classReport),
+												transformed -> {
+													writeContent(targetFile, transformed, classReport);
+													cacheKey.ifPresent(key -> putCached(key, transformed));
+												});
+						}else{
+							copyDownloadedSource(reader, sourceEntry, content, clazz, targetFile, classPlan, _sourceFile, classReport);
+							cacheKey.ifPresent(key -> putCached(key, targetFile));
+						}
+						store.registerEntry(relocationKey, clazz, sourceEntry);
+						copied++;
+					}
 				}
+				copyReport.scanned(reader.getSequentialReads(), reader.getRandomReads());
+			}
+			if(batch.isPresent()){
+				batch.get().await();
+				piped.forEach((targetFile,classReport) -> logCopied(classReport.getClazz(), targetFile, classReport));
+			}
+			if(copies.size()>selection.size()){
+				logger.info("Added {0} classes referenced by the selected classes of {1}",copies.size()-selection.size(),_copy.getArtifact());
+			}
+			final List<String> selectedClasses=new ArrayList<>(copies.keySet());
+			this.selections.put(_copy, selectedClasses);
+			if(isDynamicSelection(_copy)){
+				store.registerSelection(copyKey, selectedClasses);
+			}
+			store.registerArtifact(copyKey, _sourceFile);
+			logger.info("Copied {0} classes from {1} ({2} written, {3} unchanged at source)",copied,_copy.getArtifact(),copyReport.getWritten(),unchanged);
+			if(cached>0){
+				logger.info("Reused {0} classes of {1} from the relocation cache",cached,_copy.getArtifact());
 			}
+			this.report.addCopy(copyReport.finished(System.nanoTime()-start));
 		}catch(IOException|MojoExecutionException e){
 			throw new MojoExecutionException(MessageFormat.format("Unable to open source {0} from artifact {1}",_sourceFile,_copy.getArtifact()), e);
 		}
 	}
 
-	private void copyDownloadedSource(final JarFile _sourcePackage, final JarEntry _sourceEntry, String _clazz, final Path _targetFile, final CopyDefinition _copy, final Path _sourceFile) throws IOException, MojoExecutionException {
-		try(InputStream inputStream=_sourcePackage.getInputStream(_sourceEntry)){
-			logger.debug(MessageFormat.format("Extracting class {0} source",_clazz));
-			copySource(inputStream, _targetFile, _clazz, _copy, true);
+	@Override
+	public void processDownloadedBinary(final Path _binaryFile,final CopyDefinition _copy,final Path _outputPath) throws MojoExecutionException {
+		
+		final long start=System.nanoTime();
+		final CopyReport copyReport=new CopyReport(_copy.getArtifact(),String.valueOf(_binaryFile));
+		try(SourceArchive binaryPackage=getArchiveReader().open(_binaryFile)){
+			copyReport.opened(System.nanoTime()-start);
+			final CompiledCopyPlan plan=compilePlan(_copy, false);
+			final SourceJarIndex index=(this.residentState!=null)? this.residentState.index(_binaryFile, getArchiveReader(), true, () -> SourceJarIndex.ofCompiled(binaryPackage)) : SourceJarIndex.ofCompiled(binaryPackage);
+			logger.debug("Opened binary {0} with {1} classes (reader: {2})",_binaryFile,index.size(),getArchiveReader());
+			if(_copy.isTransitive()){
+				logger.warn(MessageFormat.format("Transitive copies are not supported for compiled classes, only the selected classes of {0} are copied",_copy.getArtifact()));
+			}
+			final long selectStart=System.nanoTime();
+			final Map<String,JarEntry> selection=selectClasses(index, _copy, _binaryFile);
+			final Map<String,JarEntry> copies=new LinkedHashMap<>(selection);
+			for(String clazz:selection.keySet()){
+				copies.putAll(index.getNested(clazz));
+			}
+			copyReport.selected(System.nanoTime()-selectStart);
+			logger.debug("Selected {0} classes ({1} with their nested classes) of {2} indexed at binary {3}",selection.size(),copies.size(),index.size(),_binaryFile);
+			final boolean sequential=SourceJarReader.isSequential(copies.size(), index.getEntries());
+			final Queue<String> pending=(sequential)? new PriorityQueue<>(Comparator.comparingInt(index::getPosition)) : new ArrayDeque<>();
+			pending.addAll(copies.keySet());
+			final Optional<CopyPipeline.Batch> batch=getPipeline().map(CopyPipeline::newBatch);
+			final Map<Path,ClassReport> piped=new LinkedHashMap<>();
+			try(SourceJarReader reader=new SourceJarReader(binaryPackage, _binaryFile, index, sequential)){
+				while(!pending.isEmpty()){
+					final String clazz=pending.poll();
+					final Optional<Path> classFile=plan.generateClassFile(_outputPath, clazz);
+					if(classFile.isPresent()){
+						final Path targetFile=classFile.get();
+						final ClassReport classReport=copyReport.addClass(new ClassReport(clazz));
+						final long readStart=System.nanoTime();
+						final byte[] content;
+						try(InputStream classInputStream=reader.getInputStream(clazz, copies.get(clazz))){
+							content=readSource(classInputStream);
+						}
+						classReport.read(content.length, System.nanoTime()-readStart);
+						generatePackage(targetFile);
+						if(batch.isPresent()){
+							piped.put(targetFile, classReport);
+							batch.get().submit(clazz, content, 
+												compiled -> relocateContent(compiled, clazz, plan, classReport),
+												relocated -> writeContent(targetFile, relocated, classReport));
+						}else{
+							writeContent(targetFile, relocateContent(content, clazz, plan, classReport), classReport);
+							logCopied(clazz, targetFile, classReport);
+						}
+					}
+				}
+				copyReport.scanned(reader.getSequentialReads(), reader.getRandomReads());
+			}
+			if(batch.isPresent()){
+				batch.get().await();
+				piped.forEach((targetFile,classReport) -> logCopied(classReport.getClazz(), targetFile, classReport));
+			}
+			this.selections.put(_copy, new ArrayList<>(copies.keySet()));
+			logger.info("Copied {0} compiled classes from {1} ({2} written)",copies.size(),_copy.getArtifact(),copyReport.getWritten());
+			this.report.addCopy(copyReport.finished(System.nanoTime()-start));
+		}catch(IOException|MojoExecutionException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable to open binary {0} from artifact {1}",_binaryFile,_copy.getArtifact()), e);
+		}
+	}
+
+	/**
+	 * Transform stage of a compiled class: relocate its constant pool
+	 * @param _content class file content
+	 * @param _clazz class name
+	 * @param _plan compiled copy plan
+	 * @param _report report of the class where to record the timings
+	 * @return the relocated class file content
+	 * @throws IOException if the content is not a valid class file or can not be relocated
+	 * @since 2.1.0
+	 */
+	protected byte[] relocateContent(final byte[] _content,final String _clazz,final CompiledCopyPlan _plan,final ClassReport _report) throws IOException{
+		
+		final byte[] reply;
+		
+		if(_plan.isRelocating()){
+			final long start=System.nanoTime();
+			final ClassFileRelocator relocator=new ClassFileRelocator(_plan);
+			try{
+				reply=relocator.relocate(_content);
+			}catch(IOException e){
+				throw new IOException(MessageFormat.format("Unable to relocate compiled class {0}",_clazz), e);
+			}
+			_report.rewritten(System.nanoTime()-start, relocator.getConstants(), relocator.getRelocations())
+					.origin(ClassReport.REWRITTEN);
+		}else{
+			_report.origin(ClassReport.PASSTHROUGH);
+			reply=_content;
+		}
+		
+		return reply;
+	}
+
+	/**
+	 * Open the sources jar with its index, from the session cache if any
+	 * @param _sourceFile sources jar
+	 * @return the opened sources jar
+	 * @throws IOException if the jar can not be opened
+	 */
+	protected OpenedSourceJar openSourceJar(final Path _sourceFile) throws IOException{
+		
+		final OpenedSourceJar reply;
+		
+		if(this.sourceJars!=null){
+			reply=this.sourceJars.open(_sourceFile, getArchiveReader(), this.residentState);
+		}else{
+			reply=OpenedSourceJar.open(_sourceFile, getArchiveReader(), false, this.residentState);
+		}
+		logger.debug("Opened source {0} with {1} classes (reader: {2}, shared: {3})",_sourceFile,reply.getIndex().size(),reply.getReader(),reply.isShared());
+		
+		return reply;
+	}
+
+	/**
+	 * Resolve the classes selected by the copy (class names and wildcards, minus the excludes) against the index of its sources jar
+	 * @param _index sources jar index
+	 * @param _copy copy definition
+	 * @param _sourceFile sources jar
+	 * @return the selected classes with their entries in selection order
+	 * @throws MojoExecutionException if any class or wildcard does not match any class of the sources jar
+	 */
+	protected Map<String,JarEntry> selectClasses(final SourceJarIndex _index,final CopyDefinition _copy,final Path _sourceFile) throws MojoExecutionException {
+
+		final Map<String,JarEntry> reply=new LinkedHashMap<>();
+
+		for(String selection:Optional.ofNullable(_copy.getClasses()).orElseGet(() -> new String[0])){
+			final Map<String,JarEntry> selected=_index.select(selection);
+			if(selected.isEmpty()){
+				throw new MojoExecutionException(MessageFormat.format("Unable find class {0} at source {1} from artifact {2}",selection,_sourceFile,_copy.getArtifact()));
+			}
+			reply.putAll(selected);
+		}
+		for(String exclude:Optional.ofNullable(_copy.getExcludes()).orElseGet(() -> new String[0])){
+			reply.keySet().removeIf(clazz -> SourceJarIndex.matches(exclude, clazz));
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Find the classes of the sources jar under the origin package referenced by the source (and not excluded by the copy)
+	 * @param _content class source content
+	 * @param _plan compiled copy plan
+	 * @param _index sources jar index
+	 * @param _copy copy definition
+	 * @return the referenced classes
+	 */
+	protected Set<String> findReferences(final byte[] _content,final CompiledCopyPlan _plan,final SourceJarIndex _index,final CopyDefinition _copy){
+
+		final char[] source=new String(_content,_plan.getSourceCharset()).toCharArray();
+		final String scope=Optional.ofNullable(_plan.getFromPackage())
+										.filter(fromPackage -> !fromPackage.isEmpty())
+										.map(fromPackage -> fromPackage+'.')
+										.orElse("");
+		final String[] excludes=Optional.ofNullable(_copy.getExcludes()).orElseGet(() -> new String[0]);
+
+		return new JavaReferenceScanner()
+						.scan(source, source.length)
+							.getCandidates()
+								.stream()
+									.filter(candidate -> candidate.startsWith(scope))
+									.filter(candidate -> _index.getEntry(candidate).isPresent())
+									.filter(candidate -> Stream.of(excludes).noneMatch(exclude -> SourceJarIndex.matches(exclude, candidate)))
+									.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+
+	/**
+	 * @param _copy copy definition
+	 * @return true if the classes of the copy depend on the content of the sources jar: any of the selected classes is a wildcard or the copy is transitive
+	 */
+	protected boolean isDynamicSelection(final CopyDefinition _copy){
+		return (_copy.isTransitive())
+				||(Stream.of(Optional.ofNullable(_copy.getClasses()).orElseGet(() -> new String[0]))
+								.anyMatch(SourceJarIndex::isWildcard));
+	}
+
+	/**
+	 * Classes selected by the copy without reading its sources jar: the class names minus the excludes, 
+	 * or for wildcard or transitive selections the classes registered the last time the copy was processed
+	 * @param _store fingerprints store
+	 * @param _copyKey copy key
+	 * @param _copy copy definition
+	 * @return the selected classes or empty if they are unknown
+	 */
+	protected Optional<List<String>> getKnownSelection(final FingerprintStore _store,final String _copyKey,final CopyDefinition _copy){
+
+		final Optional<List<String>> reply;
+
+		if(isDynamicSelection(_copy)){
+			reply=_store.getSelection(_copyKey);
+		}else{
+			final String[] excludes=Optional.ofNullable(_copy.getExcludes()).orElseGet(() -> new String[0]);
+			reply=Optional.of(Stream.of(Optional.ofNullable(_copy.getClasses()).orElseGet(() -> new String[0]))
+										.filter(clazz -> Stream.of(excludes).noneMatch(exclude -> SourceJarIndex.matches(exclude, clazz)))
+										.collect(Collectors.toList()));
+		}
+
+		return reply;
+	}
+
+	/**
+	 * @param _copy copy definition
+	 * @return the classes selected by the copy during this execution, or its class names if it has not been processed
+	 */
+	protected List<String> getSelectedClasses(final CopyDefinition _copy){
+		return Optional.ofNullable(this.selections.get(_copy))
+							.orElseGet(() -> Arrays.asList(Optional.ofNullable(_copy.getClasses()).orElseGet(() -> new String[0])));
+	}
+
+	@Override
+	public boolean isUpToDate(final Path _sourceFile,final CopyDefinition _copy,final Path _generatedSourcesPath) throws MojoExecutionException {
+
+		final long start=System.nanoTime();
+		final FingerprintStore store=getFingerprints(_generatedSourcesPath);
+		final String copyKey=getCopyKey(_copy);
+		final CompiledCopyPlan plan=compilePlan(_copy, false);
+		final Optional<List<String>> selection=getKnownSelection(store, copyKey, _copy);
+		final boolean reply=selection.isPresent()
+								&& store.isArtifactUnchanged(copyKey, _sourceFile)
+								&& selection.get()
+												.stream()
+													.map(clazz -> generateSourceFile(_generatedSourcesPath, clazz, plan))
+													.allMatch(generatedSourceFile -> generatedSourceFile.filter(Files::exists).isPresent());
+		if(reply){
+			this.selections.put(_copy, selection.get());
+			store.touch(copyKey);
+			store.touchEntries(getRelocationKey(_copy));
+			this.report.addCopy(new CopyReport(_copy.getArtifact(),String.valueOf(_sourceFile)).upToDate(System.nanoTime()-start));
+		}
+		logger.debug("Copy {0} from {1} up to date: {2}",_copy.getArtifact(),_sourceFile,reply);
+
+		return reply;
+	}
+
+	@Override
+	public synchronized void storeFingerprints(final Path _generatedSourcesPath) throws MojoExecutionException {
+		getFingerprints(_generatedSourcesPath).store();
+	}
+
+	@Override
+	public Optional<BuildCacheDescriptor> describeBuildCache(final CopyDefinition[] _copies,final Path[] _sourceFiles,final Path _generatedSourcesPath,final List<String> _outputs) throws MojoExecutionException {
+
+		final FingerprintStore store=getFingerprints(_generatedSourcesPath);
+		final Map<String,String> copies=new TreeMap<>();
+
+		for(int i=0;i<_copies.length;i++){
+			final String copyKey=getCopyKey(_copies[i]);
+			copies.put(copyKey, _copies[i].getArtifact()+'@'+store.artifactChecksum(copyKey, _sourceFiles[i]));
+		}
+		final String copyDate=Optional.ofNullable(getCopyDateKey())
+											.map(copyDateKey -> getCopyDateSource().name()+':'+copyDateKey)
+											.orElseGet(() -> getCopyDateSource().name());
+
+		return Optional.of(new BuildCacheDescriptor(getToolVersion(), getEncoding(), copyDate, copies, _outputs, METAINF+'/'+MANIFEST_FILE));
+	}
+
+	protected synchronized FingerprintStore getFingerprints(final Path _generatedSourcesPath) throws MojoExecutionException {
+		
+		if(this.fingerprints==null){
+			this.fingerprints=FingerprintStore.load(_generatedSourcesPath.resolve(METAINF), this.residentState);
+		}
+		
+		return this.fingerprints;
+	}
+
+	protected String getCopyKey(final CopyDefinition _copy){
+		return FingerprintStore.copyKey(_copy, getEncoding(), getToolVersion(), getCopyDateKey());
+	}
+	protected String getRelocationKey(final CopyDefinition _copy){
+		return FingerprintStore.relocationKey(_copy, getEncoding(), getToolVersion(), getCopyDateKey());
+	}
+	/**
+	 * Reproducible copy dates are part of the fingerprint keys, so changing them regenerates the annotated classes. 
+	 * The execution time is not, otherwise the incremental copies would never match
+	 * @return the copy date discriminator or null if the copy date is the execution time
+	 */
+	protected String getCopyDateKey(){
+		
+		String reply=null;
+		
+		switch(getCopyDateSource()){
+			case FIXED:
+				reply=String.valueOf(getExecutionTime());
+				break;
+			case ENTRY:
+				reply=CopyDateSource.ENTRY.getKeyword();
+				break;
+			default:
+				break;
+		}
+		
+		return reply;
+	}
+
+	/**
+	 * The relocated sources are cacheable when they do not depend on the execution time: not annotated or annotated with a reproducible copy date
+	 * @param _plan compiled copy plan
+	 * @return true if the copy can use the relocation cache
+	 */
+	protected boolean isCacheable(final CompiledCopyPlan _plan){
+		return (getCache().isPresent())&&((!_plan.isAnnotate())||(getCopyDateSource().isReproducible()));
+	}
+
+	/**
+	 * Failures of the relocation cache never fail the build, the class is copied from its source instead
+	 */
+	private Optional<byte[]> getCached(final String _key){
+		try{
+			return this.cache.get(_key);
+		}catch(IOException e){
+			logger.warn(MessageFormat.format("Unable to read relocation cache entry {0}, copied from source",_key), e);
+			return Optional.empty();
+		}
+	}
+	private void putCached(final String _key,final Path _targetFile){
+		try{
+			putCached(_key, Files.readAllBytes(_targetFile));
+		}catch(IOException e){
+			logger.warn(MessageFormat.format("Unable to store {0} at relocation cache entry {1}",_targetFile,_key), e);
+		}
+	}
+	private void putCached(final String _key,final byte[] _content){
+		try{
+			this.cache.put(_key, _content);
+		}catch(IOException e){
+			logger.warn(MessageFormat.format("Unable to store relocation cache entry {0}",_key), e);
+		}
+	}
+
+	/**
+	 * Wait for the classes in flight and stop the pipeline, if any, and close the sources jars cache if it is not kept with the session
+	 */
+	@Override
+	public void close(){
+		if(this.pipeline!=null){
+			this.pipeline.close();
+		}
+		if((this.sourceJars!=null)&&(!this.sourceJars.isSessionScoped())){
+			try{
+				this.sourceJars.close();
+			}catch(IOException e){
+				logger.warn("Unable to close the copy sources jars", e);
+			}
+		}
+	}
+
+	@Override
+	public void evictCache(){
+		if(this.cache!=null){
+			evictCache(this.cache);
+		}
+		getPrecompiler()
+			.flatMap(SourcePrecompiler::getCache)
+			.filter(precompilerCache -> precompilerCache!=this.cache)
+			.ifPresent(this::evictCache);
+	}
+	private void evictCache(final RelocationCache _cache){
+		try{
+			final int evicted=_cache.evict();
+			logger.debug("Evicted {0} entries from the relocation cache {1}",evicted,_cache.getFolder());
+		}catch(IOException e){
+			logger.warn(MessageFormat.format("Unable to evict the relocation cache {0}",_cache.getFolder()), e);
+		}
+	}
+
+	@Override
+	public boolean precompile(final CopyDefinition _copy,final Path _generatedSourcesPath,final Path _outputPath) throws MojoExecutionException{
+
+		boolean reply=false;
+
+		if(this.precompiler!=null){
+			final CompiledCopyPlan plan=compilePlan(_copy, false);
+			final List<Path> sources=new ArrayList<>();
+			for(String clazz:getSelectedClasses(_copy)){
+				generateSourceFile(_generatedSourcesPath, clazz, plan)
+					.ifPresent(sources::add);
+			}
+			generateSourceFile(_generatedSourcesPath, CUSTOM_ANNOTATION_CLASS, plan)
+				.filter(Files::exists)
+				.filter(annotationSource -> !sources.contains(annotationSource))
+				.ifPresent(sources::add);
+			try{
+				final Optional<RelocationCache> precompilerCache=this.precompiler.getCache()
+																	.filter(compiledCache -> isPrecompiledCacheable(_generatedSourcesPath));
+				final String key=(precompilerCache.isPresent())? this.precompiler.key(_generatedSourcesPath, sources, getToolVersion()) : null;
+				Optional<Map<String,byte[]>> classes=precompilerCache.flatMap(compiledCache -> getPrecompiled(compiledCache, key));
+				if(classes.isPresent()){
+					logger.debug("Compiled classes of copy {0} reused from the cache entry {1}",_copy.getArtifact(),key);
+				}else{
+					final SourcePrecompiler.Compilation compilation=this.precompiler.compile(_generatedSourcesPath, sources);
+					if(compilation.isSuccess()){
+						classes=Optional.of(compilation.getClasses());
+						precompilerCache.ifPresent(compiledCache -> putPrecompiled(compiledCache, key, compilation.getClasses()));
+					}else{
+						logger.warn(MessageFormat.format("Unable to precompile copy {0}, its sources are compiled with the project: {1}",_copy.getArtifact(),compilation.getErrors().stream().findFirst().orElse("unknown error")));
+						compilation.getErrors().forEach(error -> logger.debug(error));
+					}
+				}
+				if(classes.isPresent()){
+					int written=0;
+					for(Map.Entry<String,byte[]> compiled:classes.get().entrySet()){
+						final Path classFile=_outputPath.resolve(compiled.getKey());
+						generatePackage(classFile);
+						if(writeIfDifferent(classFile, compiled.getValue())){
+							written++;
+						}
+					}
+					logger.info("Precompiled {0} classes of {1} ({2} written)",classes.get().size(),_copy.getArtifact(),written);
+					reply=true;
+				}
+			}catch(IOException e){
+				throw new MojoExecutionException(MessageFormat.format("Unable to precompile copy {0} to {1}",_copy.getArtifact(),_outputPath), e);
+			}
+		}
+
+		return reply;
+	}
+	/**
+	 * The compiled classes are cacheable when the generated sources do not depend on the execution time: the copy date is reproducible
+	 * or none of the generated sources is annotated (the annotation class is generated with the first annotated copy)
+	 * @param _generatedSourcesPath generated sources folder
+	 * @return true if the compiled classes can use the cache
+	 * @since 2.1.0
+	 */
+	protected boolean isPrecompiledCacheable(final Path _generatedSourcesPath){
+		return (getCopyDateSource().isReproducible())
+				||(!Files.exists(_generatedSourcesPath.resolve(CUSTOM_ANNOTATION_CLASS.replace('.','/')+JAVA_SOURCE_EXTENSION)));
+	}
+	/**
+	 * Failures of the cache never fail the build, the sources are compiled instead
+	 */
+	private Optional<Map<String,byte[]>> getPrecompiled(final RelocationCache _cache,final String _key){
+		try{
+			return _cache.get(_key, RelocationCache.PACKED_EXTENSION)
+							.map(LambdaUnchecker.uncheckedFunction(SourcePrecompiler::unpack));
+		}catch(IOException|RuntimeException e){
+			logger.warn(MessageFormat.format("Unable to read compiled classes cache entry {0}, compiled from sources",_key), e);
+			return Optional.empty();
+		}
+	}
+	private void putPrecompiled(final RelocationCache _cache,final String _key,final Map<String,byte[]> _classes){
+		try{
+			_cache.put(_key, SourcePrecompiler.pack(_classes), RelocationCache.PACKED_EXTENSION);
+		}catch(IOException e){
+			logger.warn(MessageFormat.format("Unable to store compiled classes cache entry {0}",_key), e);
+		}
+	}
+
+	private boolean copyDownloadedSource(final SourceJarReader _reader, final JarEntry _sourceEntry, final byte[] _content, final String _clazz, final Path _targetFile, final CompiledCopyPlan _plan, final Path _sourceFile, final ClassReport _report) throws IOException, MojoExecutionException {
+		try{
+			if(_content!=null){
+				return copyContent(_content, _targetFile, _clazz, _plan, _report);
+			}
+			try(InputStream inputStream=_reader.getInputStream(_clazz, _sourceEntry)){
+				return copySource(inputStream, _targetFile, _clazz, _plan, _report);
+			}
 		}catch(MojoExecutionException e){
-			throw new MojoExecutionException(MessageFormat.format("Unable read source {0} class {1} from artifact {2} with charset {3}",_sourceFile,_clazz,_copy.getArtifact(),_copy.getSourceCharset()), e);
+			throw new MojoExecutionException(MessageFormat.format("Unable read source {0} class {1} from artifact {2} with charset {3}",_sourceFile,_clazz,_plan.getCopy().getArtifact(),_plan.getSourceCharset()), e);
+		}
+	}
+
+	private byte[] readDownloadedSource(final SourceJarReader _reader, final JarEntry _sourceEntry, final String _clazz, final CompiledCopyPlan _plan, final Path _sourceFile) throws MojoExecutionException {
+		try(InputStream inputStream=_reader.getInputStream(_clazz, _sourceEntry)){
+			return readSource(inputStream);
+		}catch(IOException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable read source {0} class {1} from artifact {2}",_sourceFile,_clazz,_plan.getCopy().getArtifact()), e);
+		}
+	}
+
+	/**
+	 * Compile the transformation plan of the copy, to be reused for all the classes of the copy.
+	 * With resident state the relocation is compiled once per artifact, packages and charset and only the annotation is derived
+	 * @param _copy copy definition
+	 * @param _annotate true if the copied classes must be annotated
+	 * @return the compiled plan
+	 * @throws MojoExecutionException if the source charset of the copy is not valid
+	 */
+	protected CompiledCopyPlan compilePlan(final CopyDefinition _copy,final boolean _annotate) throws MojoExecutionException {
+		
+		try{
+			final String annotation=(_annotate)? getAnnotation(_copy,getExecutionTime()) : null;
+			return (this.residentState!=null)? this.residentState.plan(_copy, () -> new CompiledCopyPlan(_copy,null)).withAnnotation(annotation) : new CompiledCopyPlan(_copy,annotation);
+		}catch(IllegalCharsetNameException|UnsupportedCharsetException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable to use charset {0} to copy from package {1}",_copy.getSourceCharset(),_copy.getFromPackage()), e);
 		}
 	}
 	
@@ -195,6 +878,9 @@ public class CopyServiceImpl implements CopyService {
 							.map(className -> className.concat(JAVA_SOURCE_EXTENSION))
 							.map(_generatedSourcesPath::resolve);
 	}
+	protected Optional<Path> generateSourceFile(final Path _generatedSourcesPath, final String _className,final CompiledCopyPlan _plan) {
+		return _plan.generateSourceFile(_generatedSourcesPath, _className);
+	}
 
 	protected void generatePackage(final Path _generatedSource) throws MojoExecutionException {
 		
@@ -213,51 +899,310 @@ public class CopyServiceImpl implements CopyService {
 						.orElseThrow(() -> new UnableToIdentifyCoordinate(_copy));
 	}	
 	
-	protected void copySource(final InputStream _classInputStream,final Path _sourceTargetFile,final String _clazz,final CopyDefinition _copy,final boolean _annotate) throws MojoExecutionException{
+	protected boolean copySource(final InputStream _classInputStream,final Path _sourceTargetFile,final String _clazz,final CopyDefinition _copy,final boolean _annotate) throws MojoExecutionException{
+		return copySource(_classInputStream, _sourceTargetFile, _clazz, compilePlan(_copy, _annotate));
+	}
+	/**
+	 * Copy the source to the target file, rewriting it if needed. The target file is only written if its content changes
+	 * @param _classInputStream source content
+	 * @param _sourceTargetFile target file
+	 * @param _clazz class name
+	 * @param _plan compiled copy plan
+	 * @return true if the target file has been written
+	 * @throws MojoExecutionException if the source can not be read or the target can not be written
+	 */
+	protected boolean copySource(final InputStream _classInputStream,final Path _sourceTargetFile,final String _clazz,final CompiledCopyPlan _plan) throws MojoExecutionException{
+		return copySource(_classInputStream, _sourceTargetFile, _clazz, _plan, new ClassReport(_clazz));
+	}
+	/**
+	 * Copy the source to the target file, rewriting it if needed. The target file is only written if its content changes
+	 * @param _classInputStream source content
+	 * @param _sourceTargetFile target file
+	 * @param _clazz class name
+	 * @param _plan compiled copy plan
+	 * @param _report report of the class where to record the sizes and timings of each step
+	 * @return true if the target file has been written
+	 * @throws MojoExecutionException if the source can not be read or the target can not be written
+	 * @since 2.1.0
+	 */
+	protected boolean copySource(final InputStream _classInputStream,final Path _sourceTargetFile,final String _clazz,final CompiledCopyPlan _plan,final ClassReport _report) throws MojoExecutionException{
+		
+		if((this.buildContext==null)&&(!_plan.isRelocating())&&(_plan.isPassthrough(getEncoding()))){
+			return streamSource(_classInputStream, _sourceTargetFile, _clazz, _plan, _report);
+		}
+		final byte[] content;
+		
+		try{
+			final long start=System.nanoTime();
+			content=readSource(_classInputStream);
+			_report.read(content.length, System.nanoTime()-start);
+		}catch(IOException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable read class {0} from package {1} with charset {2}",_clazz,_plan.getFromPackage(),_plan.getSourceCharset()), e);
+		}
+		
+		return copyContent(content, _sourceTargetFile, _clazz, _plan, _report);
+	}
+	/**
+	 * Stream the source to the target file without decoding nor buffering it, comparing it chunk by chunk with the existing target. 
+	 * Only for the passthrough plans that do not relocate: nothing in the content can change the copy
+	 * @param _classInputStream source content
+	 * @param _sourceTargetFile target file
+	 * @param _clazz class name
+	 * @param _plan compiled copy plan
+	 * @param _report report of the class where to record the sizes and timings of each step
+	 * @return true if the target file has been written
+	 * @throws MojoExecutionException if the source can not be read or the target can not be written
+	 * @since 2.1.0
+	 */
+	protected boolean streamSource(final InputStream _classInputStream,final Path _sourceTargetFile,final String _clazz,final CompiledCopyPlan _plan,final ClassReport _report) throws MojoExecutionException{
+		
+		final boolean reply;
 		
 		generatePackage(_sourceTargetFile);
-		try(BufferedReader sourceReader=new BufferedReader(new InputStreamReader(_classInputStream,_copy.getSourceCharset()));
-				BufferedWriter sourceWriter=new BufferedWriter(Files.newBufferedWriter(_sourceTargetFile,getEncoding(), StandardOpenOption.CREATE,StandardOpenOption.WRITE,StandardOpenOption.TRUNCATE_EXISTING))){
-			String line=sourceReader.readLine();
-			boolean mainFound=false;
-			boolean packageFound=false;
-			boolean isInComment=false;
-			boolean importAdded=false;
-			while(line!=null){
-				packageFound|=isPackage(line);
-				if((!isInComment)&&(isBeginComment(line))){
-					isInComment=true;
-				}else{
-					if(isEndComment(line)){
-						isInComment=false;
+		try{
+			final long start=System.nanoTime();
+			reply=streamIfDifferent(_sourceTargetFile, _classInputStream);
+			final long length=Files.size(_sourceTargetFile);
+			_report.origin(ClassReport.PASSTHROUGH)
+					.read(length, 0)
+					.wrote(length, System.nanoTime()-start, reply);
+			logCopied(_clazz, _sourceTargetFile, _report);
+		}catch(IOException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable read class {0} from package {1} with charset {2}",_clazz,_plan.getFromPackage(),_plan.getSourceCharset()), e);
+		}
+		
+		return reply;
+	}
+	/**
+	 * Copy the already read source content to the target file, rewriting it if needed. The target file is only written if its content changes
+	 * @param _content source content
+	 * @param _sourceTargetFile target file
+	 * @param _clazz class name
+	 * @param _plan compiled copy plan
+	 * @param _report report of the class where to record the sizes and timings of each step
+	 * @return true if the target file has been written
+	 * @throws MojoExecutionException if the source can not be decoded or the target can not be written
+	 * @since 2.1.0
+	 */
+	protected boolean copyContent(final byte[] _content,final Path _sourceTargetFile,final String _clazz,final CompiledCopyPlan _plan,final ClassReport _report) throws MojoExecutionException{
+		
+		final boolean reply;
+		
+		generatePackage(_sourceTargetFile);
+		try{
+			reply=writeContent(_sourceTargetFile, transformContent(_content, _clazz, _plan, _report), _report);
+			logCopied(_clazz, _sourceTargetFile, _report);
+		}catch(IOException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable read class {0} from package {1} with charset {2}",_clazz,_plan.getFromPackage(),_plan.getSourceCharset()), e);
+		}
+		
+		return reply;
+	}
+
+	/**
+	 * Transform stage: rewrite the source content if needed, otherwise the content is copied as is
+	 * @param _content source content
+	 * @param _clazz class name
+	 * @param _plan compiled copy plan
+	 * @param _report report of the class where to record the sizes and timings of each step
+	 * @return the content to write
+	 * @throws IOException if the content can not be encoded
+	 * @since 2.1.0
+	 */
+	protected byte[] transformContent(final byte[] _content,final String _clazz,final CompiledCopyPlan _plan,final ClassReport _report) throws IOException{
+		
+		final byte[] reply;
+		
+		if((!_plan.isPassthrough(getEncoding()))||((_plan.isRelocating())&&(_plan.containsFromPackage(_content,_content.length)))){
+			reply=rewriteContent(_content, _clazz, _plan, _report);
+		}else{
+			_report.origin(ClassReport.PASSTHROUGH);
+			reply=_content;
+		}
+		
+		return reply;
+	}
+
+	protected byte[] rewriteContent(final byte[] _content,final String _clazz,final CompiledCopyPlan _plan,final ClassReport _report) throws IOException{
+		
+		long start=System.nanoTime();
+		final CharBuffer source=_plan.getSourceCharset().decode(ByteBuffer.wrap(_content));
+		_report.decoded(System.nanoTime()-start);
+		start=System.nanoTime();
+		final JavaSourceRewriter rewriter=new JavaSourceRewriter(_plan,this.logger.sampleTrace(_clazz).orElse(null));
+		final String rewritten=rewriter.rewrite(source.array(),source.limit());
+		_report.rewritten(System.nanoTime()-start, rewriter.getLines(), rewriter.getRelocations());
+		start=System.nanoTime();
+		final byte[] reply=encode(rewritten);
+		_report.encoded(System.nanoTime()-start)
+				.origin(ClassReport.REWRITTEN);
+		
+		return reply;
+	}
+
+	/**
+	 * Write stage: write the content if it changed
+	 * @param _sourceTargetFile target file
+	 * @param _content content to write
+	 * @param _report report of the class where to record the sizes and timings of each step
+	 * @return true if the target file has been written
+	 * @throws IOException if the target can not be read or written
+	 * @since 2.1.0
+	 */
+	protected boolean writeContent(final Path _sourceTargetFile,final byte[] _content,final ClassReport _report) throws IOException{
+		
+		final long start=System.nanoTime();
+		final boolean reply=writeIfDifferent(_sourceTargetFile, _content);
+		_report.wrote(_content.length, System.nanoTime()-start, reply);
+		
+		return reply;
+	}
+
+	private void logCopied(final String _clazz,final Path _sourceTargetFile,final ClassReport _report){
+		logger.debug("Copied class {0} to {1}: {2}, {3} lines, {4} relocations, written: {5}",_clazz,_sourceTargetFile,_report.getOrigin(),_report.getLines(),_report.getRelocations(),_report.isWritten());
+	}
+
+	protected byte[] encode(final CharSequence _content) throws CharacterCodingException{
+
+		final ByteBuffer encoded=getEncoding()
+										.newEncoder()
+											.onMalformedInput(CodingErrorAction.REPORT)
+											.onUnmappableCharacter(CodingErrorAction.REPORT)
+											.encode(CharBuffer.wrap(_content));
+		final byte[] reply=new byte[encoded.remaining()];
+		encoded.get(reply);
+		
+		return reply;
+	}
+
+	/**
+	 * Write the content to the target file only if the file does not exist or its content is different, 
+	 * in order to keep the modification time of the unchanged files (used by the compiler stale sources detection).
+	 * With a build context the file is written through it, so the IDE refreshes only the changed files
+	 * @param _target target file
+	 * @param _content content to write
+	 * @return true if the file has been written
+	 * @throws IOException if the target can not be read or written
+	 */
+	protected boolean writeIfDifferent(final Path _target,final byte[] _content) throws IOException{
+
+		final boolean reply=!hasContent(_target, _content);
+
+		if(reply){
+			if(this.buildContext!=null){
+				synchronized(this.buildContext){
+					try(OutputStream outputStream=this.buildContext.newFileOutputStream(_target.toFile())){
+						outputStream.write(_content);
 					}
 				}
-				logger.debug(MessageFormat.format("Extracted class {0} line {1}",_clazz,line));
-				line=line.replaceAll(_copy.getFromPackageRegex(),_copy.getToPackage());
-				if((_annotate)&&(packageFound)&&(!isInComment)&&(!mainFound)){
-					if(isMainTypeDefinition(line)){
-						sourceWriter.write(getAnnotation(_copy,getExecutionTime()));
-						sourceWriter.write('\n');
-						logger.debug(MessageFormat.format("Modified class {0} line {1}",_clazz,line));
-						mainFound=true;
+			}else{
+				Files.write(_target, _content, StandardOpenOption.CREATE,StandardOpenOption.WRITE,StandardOpenOption.TRUNCATE_EXISTING);
+			}
+			this.writtenFiles.incrementAndGet();
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Stream the content to the target file only if the file does not exist or its content is different. 
+	 * The existing target is compared chunk by chunk and rewritten in place from the first different chunk, 
+	 * so the content is never held in memory and the modification time of the unchanged files is kept
+	 * @param _target target file
+	 * @param _content content to write
+	 * @return true if the file has been written
+	 * @throws IOException if the content can not be read or the target can not be read or written
+	 * @see #writeIfDifferent(Path, byte[])
+	 * @since 2.1.0
+	 */
+	protected boolean streamIfDifferent(final Path _target,final InputStream _content) throws IOException{
+
+		boolean reply=!Files.isRegularFile(_target);
+
+		if(reply){
+			Files.copy(_content, _target);
+		}else{
+			try(FileChannel channel=FileChannel.open(_target, StandardOpenOption.READ,StandardOpenOption.WRITE)){
+				final byte[] buffer=new byte[8192];
+				final byte[] existing=new byte[buffer.length];
+				long position=0;
+				int read=_content.read(buffer);
+				while(read>=0){
+					reply=(reply)||(!hasContent(channel, position, existing, buffer, read));
+					if(reply){
+						final ByteBuffer chunk=ByteBuffer.wrap(buffer, 0, read);
+						while(chunk.hasRemaining()){
+							channel.write(chunk, position+chunk.position());
+						}
 					}
-					sourceWriter.write(line);
-					sourceWriter.write('\n');
-					if(!importAdded){
-						sourceWriter.write(CUSTOM_IMPORT_ANNOTATION);
-						sourceWriter.write('\n');
-						importAdded=true;
+					position+=read;
+					read=_content.read(buffer);
+				}
+				if(channel.size()!=position){
+					channel.truncate(position);
+					reply=true;
+				}
+			}
+		}
+		if(reply){
+			this.writtenFiles.incrementAndGet();
+		}
+
+		return reply;
+	}
+
+	private boolean hasContent(final FileChannel _channel,final long _position,final byte[] _existing,final byte[] _content,final int _length) throws IOException{
+
+		final ByteBuffer existing=ByteBuffer.wrap(_existing, 0, _length);
+		int read=0;
+		while((read>=0)&&(existing.hasRemaining())){
+			read=_channel.read(existing, _position+existing.position());
+		}
+		boolean reply=!existing.hasRemaining();
+		for(int i=0;(reply)&&(i<_length);i++){
+			reply=(_existing[i]==_content[i]);
+		}
+
+		return reply;
+	}
+
+	protected boolean hasContent(final Path _target,final byte[] _content) throws IOException{
+
+		boolean reply=(Files.isRegularFile(_target))&&(Files.size(_target)==_content.length);
+
+		if(reply){
+			try(InputStream inputStream=Files.newInputStream(_target)){
+				final byte[] buffer=new byte[8192];
+				int position=0;
+				int read=inputStream.read(buffer);
+				while((reply)&&(read>=0)){
+					for(int i=0;(reply)&&(i<read);i++){
+						reply=(position+i<_content.length)&&(buffer[i]==_content[position+i]);
 					}
-				}else{
-					sourceWriter.write(line);
-					sourceWriter.write('\n');
+					position+=read;
+					read=inputStream.read(buffer);
 				}
-				logger.debug(MessageFormat.format("Modified class {0} line {1}",_clazz,line));
-				line=sourceReader.readLine();
+				reply&=(position==_content.length);
 			}
-		}catch(IOException|IllegalCharsetNameException|UnsupportedCharsetException e){
-			throw new MojoExecutionException(MessageFormat.format("Unable read class {0} from package {1} with charset {2}",_clazz,_copy.getFromPackage(),_copy.getSourceCharset()), e);
 		}
+
+		return reply;
+	}
+
+	protected byte[] readSource(final InputStream _classInputStream) throws IOException{
+
+		byte[] reply=new byte[8192];
+		int length=0;
+		int read=_classInputStream.read(reply,length,reply.length-length);
+		while(read>=0){
+			length+=read;
+			if(length==reply.length){
+				reply=Arrays.copyOf(reply,reply.length*2);
+			}
+			read=_classInputStream.read(reply,length,reply.length-length);
+		}
+
+		return Arrays.copyOf(reply,length);
 	}
 	
 	protected boolean isPackage(final String _line){
@@ -296,4 +1241,132 @@ public class CopyServiceImpl implements CopyService {
 															.findAny())
 						.orElse(Boolean.FALSE);
 	}
+
+
+	/**
+	 * Settings of the copy service. Only the log, the folders and the encoding are required, the rest are optional
+	 * @since 2.1.0
+	 */
+	public static final class Settings{
+
+		private final Log logger;
+		private final String targetFolder;
+		private final String generatedSourceFolder;
+		private final Charset encoding;
+		private LocalDateTime executionTime;
+		private boolean incremental;
+		private CopyDateSource copyDateSource;
+		private RelocationCache cache;
+		private SourceJarCache sourceJars;
+		private CopyPipeline pipeline;
+		private ArchiveReader archiveReader;
+		private SourcePrecompiler precompiler;
+		private BuildContext buildContext;
+		private ResidentState residentState;
+
+
+		/**
+		 * @param _logger plugin log
+		 * @param _targetFolder build target folder
+		 * @param _generatedSourceFolder generated sources folder name
+		 * @param _encoding encoding of the generated sources
+		 */
+		public Settings(final Log _logger,final String _targetFolder,final String _generatedSourceFolder,final Charset _encoding){
+			this.logger=_logger;
+			this.targetFolder=_targetFolder;
+			this.generatedSourceFolder=_generatedSourceFolder;
+			this.encoding=_encoding;
+			this.executionTime=LocalDateTime.now();
+			this.incremental=false;
+			this.copyDateSource=CopyDateSource.EXECUTION;
+			this.cache=null;
+			this.sourceJars=null;
+			this.pipeline=null;
+			this.archiveReader=ArchiveReader.JAR;
+			this.precompiler=null;
+			this.buildContext=null;
+			this.residentState=null;
+		}
+
+		/**
+		 * @param _executionTime copyDate to stamp, the fixed date when the copy date source is FIXED (now by default)
+		 * @return the settings
+		 */
+		public Settings withExecutionTime(final LocalDateTime _executionTime){
+			this.executionTime=_executionTime;
+			return this;
+		}
+		/**
+		 * @param _incremental true to skip the unchanged copies and classes (false by default)
+		 * @return the settings
+		 */
+		public Settings withIncremental(final boolean _incremental){
+			this.incremental=_incremental;
+			return this;
+		}
+		/**
+		 * @param _copyDateSource origin of the copyDate stamped at the copied classes (EXECUTION by default)
+		 * @return the settings
+		 */
+		public Settings withCopyDateSource(final CopyDateSource _copyDateSource){
+			this.copyDateSource=_copyDateSource;
+			return this;
+		}
+		/**
+		 * @param _cache shared cache of relocated sources or null to not use it
+		 * @return the settings
+		 */
+		public Settings withCache(final RelocationCache _cache){
+			this.cache=_cache;
+			return this;
+		}
+		/**
+		 * @param _sourceJars cache of opened sources jars or null to open them for each copy
+		 * @return the settings
+		 */
+		public Settings withSourceJars(final SourceJarCache _sourceJars){
+			this.sourceJars=_sourceJars;
+			return this;
+		}
+		/**
+		 * @param _pipeline pipeline to transform and write the classes or null to copy them inline
+		 * @return the settings
+		 */
+		public Settings withPipeline(final CopyPipeline _pipeline){
+			this.pipeline=_pipeline;
+			return this;
+		}
+		/**
+		 * @param _archiveReader implementation used to read the sources jars (JAR by default)
+		 * @return the settings
+		 */
+		public Settings withArchiveReader(final ArchiveReader _archiveReader){
+			this.archiveReader=_archiveReader;
+			return this;
+		}
+		/**
+		 * @param _precompiler compiler of the generated sources or null to let the project compile them
+		 * @return the settings
+		 */
+		public Settings withPrecompiler(final SourcePrecompiler _precompiler){
+			this.precompiler=_precompiler;
+			return this;
+		}
+		/**
+		 * @param _buildContext build context to write the changed files through (so IDEs refresh only them) or null to write them directly
+		 * @return the settings
+		 */
+		public Settings withBuildContext(final BuildContext _buildContext){
+			this.buildContext=_buildContext;
+			return this;
+		}
+		/**
+		 * @param _residentState JVM resident state to reuse indexes, plans and fingerprints between builds or null to not keep them
+		 * @return the settings
+		 */
+		public Settings withResidentState(final ResidentState _residentState){
+			this.residentState=_residentState;
+			return this;
+		}
+	}
 }
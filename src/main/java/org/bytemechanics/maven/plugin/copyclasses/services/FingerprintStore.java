@@ -0,0 +1,441 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+
+/**
+ * Persisted fingerprints of the copies already done, used to skip the copies (or the classes of a copy) whose inputs did not change since the last build
+ * @author afarre
+ * @since 2.1.0
+ */
+public class FingerprintStore {
+
+	public static final String FINGERPRINTS_FILE="copy-fingerprints.properties";
+	protected static final String KEY_PREFIX="copy.";
+	protected static final String ARTIFACT_SUFFIX=".artifact";
+	protected static final String SELECTION_SUFFIX=".classes";
+	protected static final char SELECTION_SEPARATOR=',';
+	protected static final String ENTRY_PREFIX="class.";
+	protected static final char SEPARATOR=':';
+
+	private final Path file;
+	private final Properties fingerprints;
+	private final Set<String> touched;
+	private final ResidentState state;
+
+
+	public FingerprintStore(final Path _file,final Properties _fingerprints) {
+		this(_file, _fingerprints, null);
+	}
+	/**
+	 * @param _file fingerprints file
+	 * @param _fingerprints fingerprints loaded
+	 * @param _state resident state to keep the stored fingerprints or null to not keep them
+	 */
+	public FingerprintStore(final Path _file,final Properties _fingerprints,final ResidentState _state) {
+		this.file=_file;
+		this.fingerprints=_fingerprints;
+		this.touched=new HashSet<>();
+		this.state=_state;
+	}
+
+
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Load the fingerprints from the given META-INF folder, if no fingerprints has been stored returns an empty store
+	 * @param _metainfFolder folder where the fingerprints are persisted
+	 * @return the loaded fingerprint store
+	 * @throws MojoExecutionException if the fingerprints file exist but can not be read
+	 */
+	public static FingerprintStore load(final Path _metainfFolder) throws MojoExecutionException{
+		return load(_metainfFolder, null);
+	}
+	/**
+	 * Load the fingerprints from the given META-INF folder, reusing the fingerprints kept at the resident state if the file has not been modified since.
+	 * If no fingerprints has been stored returns an empty store
+	 * @param _metainfFolder folder where the fingerprints are persisted
+	 * @param _state resident state or null to always read the fingerprints file
+	 * @return the loaded fingerprint store
+	 * @throws MojoExecutionException if the fingerprints file exist but can not be read
+	 */
+	public static FingerprintStore load(final Path _metainfFolder,final ResidentState _state) throws MojoExecutionException{
+
+		final Path file=_metainfFolder.resolve(FINGERPRINTS_FILE);
+		Properties fingerprints=Optional.ofNullable(_state)
+											.flatMap(state -> state.getFingerprints(file))
+											.orElse(null);
+
+		if(fingerprints==null){
+			fingerprints=new Properties();
+			if(Files.exists(file)){
+				try(InputStream inputStream=Files.newInputStream(file)){
+					fingerprints.load(inputStream);
+				}catch(IOException e){
+					throw new MojoExecutionException(MessageFormat.format("Unable to read fingerprints file {0}",file), e);
+				}
+				if(_state!=null){
+					_state.putFingerprints(file, fingerprints);
+				}
+			}
+		}
+
+		return new FingerprintStore(file, fingerprints, _state);
+	}
+
+	/**
+	 * Persist the fingerprints touched during this execution, fingerprints of copies no longer configured are discarded
+	 * @throws MojoExecutionException if the fingerprints file can not be written
+	 */
+	public synchronized void store() throws MojoExecutionException{
+
+		this.fingerprints.stringPropertyNames()
+							.stream()
+								.filter(key -> !this.touched.contains(key))
+								.forEach(this.fingerprints::remove);
+		try{
+			Files.createDirectories(this.file.getParent());
+			try(OutputStream outputStream=Files.newOutputStream(this.file)){
+				this.fingerprints.store(outputStream,"copysource-maven-plugin fingerprints (do not edit)");
+			}
+			if(this.state!=null){
+				this.state.putFingerprints(this.file, this.fingerprints);
+			}
+		}catch(IOException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable to write fingerprints file {0}",this.file), e);
+		}
+	}
+
+	/**
+	 * Compute the key of the copy from all the inputs that affect the generated sources
+	 * @param _copy copy definition
+	 * @param _encoding output encoding
+	 * @param _toolVersion plugin version
+	 * @return hexadecimal key unique for this combination of inputs
+	 */
+	public static String copyKey(final CopyDefinition _copy,final Charset _encoding,final String _toolVersion){
+		return copyKey(_copy, _encoding, _toolVersion, null);
+	}
+	/**
+	 * Compute the key of the copy from all the inputs that affect the generated sources
+	 * @param _copy copy definition
+	 * @param _encoding output encoding
+	 * @param _toolVersion plugin version
+	 * @param _copyDate reproducible copy date stamped at the copied classes or null if it is not reproducible
+	 * @return hexadecimal key unique for this combination of inputs
+	 */
+	public static String copyKey(final CopyDefinition _copy,final Charset _encoding,final String _toolVersion,final String _copyDate){
+
+		final StringBuilder builder=new StringBuilder();
+		builder.append(_copy.getArtifact()).append('\n');
+		Optional.ofNullable(_copy.getClasses())
+					.ifPresent(classes -> {
+						for(String clazz:classes){
+							builder.append(clazz).append(',');
+						}
+					});
+		builder.append('\n');
+		Optional.ofNullable(_copy.getExcludes())
+					.ifPresent(excludes -> {
+						for(String exclude:excludes){
+							builder.append(exclude).append(',');
+						}
+					});
+		builder.append('\n').append(_copy.getSourceCharset())
+				.append('\n').append(_copy.getFromPackage())
+				.append('\n').append(_copy.getToPackage())
+				.append('\n').append(_copy.isAnnotate())
+				.append('\n').append(_copy.isTransitive())
+				.append('\n').append(_encoding)
+				.append('\n').append(_toolVersion);
+		Optional.ofNullable(_copyDate)
+					.ifPresent(copyDate -> builder.append('\n').append(copyDate));
+
+		return toHex(digest().digest(builder.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Compute the key of the relocation of the copy, equal to the copy key but ignoring the selected classes and, for copies not annotated, 
+	 * the artifact version in order to keep recognizing the already copied classes when the artifact version is upgraded. 
+	 * Annotated copies stamp the origin version, so their key includes it
+	 * @param _copy copy definition
+	 * @param _encoding output encoding
+	 * @param _toolVersion plugin version
+	 * @return hexadecimal key unique for this relocation
+	 */
+	public static String relocationKey(final CopyDefinition _copy,final Charset _encoding,final String _toolVersion){
+		return relocationKey(_copy, _encoding, _toolVersion, null);
+	}
+	/**
+	 * Compute the key of the relocation of the copy, equal to the copy key but ignoring the selected classes and, for copies not annotated, 
+	 * the artifact version in order to keep recognizing the already copied classes when the artifact version is upgraded. 
+	 * Annotated copies stamp the origin version, so their key includes it
+	 * @param _copy copy definition
+	 * @param _encoding output encoding
+	 * @param _toolVersion plugin version
+	 * @param _copyDate reproducible copy date stamped at the copied classes or null if it is not reproducible
+	 * @return hexadecimal key unique for this relocation
+	 */
+	public static String relocationKey(final CopyDefinition _copy,final Charset _encoding,final String _toolVersion,final String _copyDate){
+
+		final ArtifactCoordinate coordinate=_copy.toCoordinate();
+		final StringBuilder builder=new StringBuilder()
+											.append(coordinate.getGroupId()).append(':')
+											.append(coordinate.getArtifactId()).append(':')
+											.append(coordinate.getClassifier());
+		if(_copy.isAnnotate()){
+			builder.append(':').append(coordinate.getVersion());
+		}
+		builder.append('\n').append(_copy.getSourceCharset())
+				.append('\n').append(_copy.getFromPackage())
+				.append('\n').append(_copy.getToPackage())
+				.append('\n').append(_copy.isAnnotate())
+				.append('\n').append(_encoding)
+				.append('\n').append(_toolVersion);
+		Optional.ofNullable(_copyDate)
+					.ifPresent(copyDate -> builder.append('\n').append(copyDate));
+
+		return toHex(digest().digest(builder.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Verify if the artifact file used by the copy is the same used the last time it was processed.
+	 * Size and modification time are checked first, the checksum is only computed if the modification time changed
+	 * @param _copyKey copy key
+	 * @param _artifactFile resolved artifact file
+	 * @return true if the artifact is unchanged
+	 * @throws MojoExecutionException if the artifact can not be read
+	 */
+	public synchronized boolean isArtifactUnchanged(final String _copyKey,final Path _artifactFile) throws MojoExecutionException{
+
+		boolean reply=false;
+
+		final String key=KEY_PREFIX+_copyKey+ARTIFACT_SUFFIX;
+		final String stored=this.fingerprints.getProperty(key);
+		if(stored!=null){
+			final String[] tokens=stored.split(String.valueOf(SEPARATOR),-1);
+			try{
+				if((tokens.length==3)&&(tokens[0].equals(String.valueOf(Files.size(_artifactFile))))){
+					if(tokens[1].equals(String.valueOf(Files.getLastModifiedTime(_artifactFile).toMillis()))){
+						reply=true;
+					}else if(tokens[2].equals(checksum(_artifactFile))){
+						this.fingerprints.setProperty(key,artifactFingerprint(_artifactFile,tokens[2]));
+						reply=true;
+					}
+				}
+			}catch(IOException e){
+				throw new MojoExecutionException(MessageFormat.format("Unable to fingerprint artifact {0}",_artifactFile), e);
+			}
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Checksum of the artifact used by the copy, the fingerprinted checksum is reused if the size and the modification time did not change
+	 * @param _copyKey copy key
+	 * @param _artifactFile resolved artifact file
+	 * @return the hexadecimal checksum of the artifact
+	 * @throws MojoExecutionException if the artifact can not be read
+	 */
+	public synchronized String artifactChecksum(final String _copyKey,final Path _artifactFile) throws MojoExecutionException{
+
+		String reply;
+
+		final String[] tokens=Optional.ofNullable(this.fingerprints.getProperty(KEY_PREFIX+_copyKey+ARTIFACT_SUFFIX))
+											.map(stored -> stored.split(String.valueOf(SEPARATOR),-1))
+											.orElseGet(() -> new String[0]);
+		try{
+			if((tokens.length==3)
+					&&(tokens[0].equals(String.valueOf(Files.size(_artifactFile))))
+					&&(tokens[1].equals(String.valueOf(Files.getLastModifiedTime(_artifactFile).toMillis())))){
+				reply=tokens[2];
+			}else{
+				reply=checksum(_artifactFile);
+			}
+		}catch(IOException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable to fingerprint artifact {0}",_artifactFile), e);
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Register the current fingerprint of the artifact used by the copy
+	 * @param _copyKey copy key
+	 * @param _artifactFile resolved artifact file
+	 * @throws MojoExecutionException if the artifact can not be read
+	 */
+	public synchronized void registerArtifact(final String _copyKey,final Path _artifactFile) throws MojoExecutionException{
+
+		final String key=KEY_PREFIX+_copyKey+ARTIFACT_SUFFIX;
+		try{
+			this.fingerprints.setProperty(key,artifactFingerprint(_artifactFile,checksum(_artifactFile)));
+			this.touched.add(key);
+		}catch(IOException e){
+			throw new MojoExecutionException(MessageFormat.format("Unable to fingerprint artifact {0}",_artifactFile), e);
+		}
+	}
+
+	/**
+	 * Register the classes selected by the copy, needed to verify the generated sources of the wildcard selections without reading the artifact
+	 * @param _copyKey copy key
+	 * @param _classes selected classes
+	 */
+	public synchronized void registerSelection(final String _copyKey,final Collection<String> _classes){
+
+		final String key=KEY_PREFIX+_copyKey+SELECTION_SUFFIX;
+		this.fingerprints.setProperty(key,_classes.stream().collect(Collectors.joining(String.valueOf(SELECTION_SEPARATOR))));
+		this.touched.add(key);
+	}
+
+	/**
+	 * @param _copyKey copy key
+	 * @return the classes selected by the copy the last time it was processed, or empty if they were not registered
+	 */
+	public synchronized Optional<List<String>> getSelection(final String _copyKey){
+
+		return Optional.ofNullable(this.fingerprints.getProperty(KEY_PREFIX+_copyKey+SELECTION_SUFFIX))
+							.map(classes -> classes.isEmpty()? Collections.<String>emptyList() : Arrays.asList(classes.split(String.valueOf(SELECTION_SEPARATOR))));
+	}
+
+	/**
+	 * Verify if the entry of the class has the same CRC32 and uncompressed size (as recorded at the zip central directory) than the last time it was copied
+	 * @param _relocationKey relocation key
+	 * @param _clazz class name
+	 * @param _entry zip entry of the class source
+	 * @return true if the class source is unchanged
+	 */
+	public synchronized boolean isEntryUnchanged(final String _relocationKey,final String _clazz,final ZipEntry _entry){
+
+		final String key=ENTRY_PREFIX+_relocationKey+'.'+_clazz;
+		final boolean reply=(_entry.getCrc()!=-1)
+								&&(_entry.getSize()!=-1)
+								&&(entryFingerprint(_entry).equals(this.fingerprints.getProperty(key)));
+		if(reply){
+			this.touched.add(key);
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Register the CRC32 and uncompressed size of the entry of the copied class
+	 * @param _relocationKey relocation key
+	 * @param _clazz class name
+	 * @param _entry zip entry of the class source
+	 */
+	public synchronized void registerEntry(final String _relocationKey,final String _clazz,final ZipEntry _entry){
+
+		final String key=ENTRY_PREFIX+_relocationKey+'.'+_clazz;
+		if((_entry.getCrc()!=-1)&&(_entry.getSize()!=-1)){
+			this.fingerprints.setProperty(key,entryFingerprint(_entry));
+			this.touched.add(key);
+		}else{
+			this.fingerprints.remove(key);
+		}
+	}
+
+	/**
+	 * Mark all the fingerprints of the copy as in use, in order to keep them when stored
+	 * @param _copyKey copy key
+	 */
+	public synchronized void touch(final String _copyKey){
+		touchPrefix(KEY_PREFIX+_copyKey+'.');
+	}
+
+	/**
+	 * Mark all the class fingerprints of the relocation as in use, in order to keep them when stored
+	 * @param _relocationKey relocation key
+	 */
+	public synchronized void touchEntries(final String _relocationKey){
+		touchPrefix(ENTRY_PREFIX+_relocationKey+'.');
+	}
+
+	protected void touchPrefix(final String _prefix){
+		this.fingerprints.stringPropertyNames()
+							.stream()
+								.filter(key -> key.startsWith(_prefix))
+								.forEach(this.touched::add);
+	}
+
+	protected String entryFingerprint(final ZipEntry _entry){
+		return new StringBuilder()
+						.append(Long.toHexString(_entry.getCrc()))
+						.append(SEPARATOR)
+						.append(_entry.getSize())
+						.toString();
+	}
+
+
+	protected String artifactFingerprint(final Path _artifactFile,final String _checksum) throws IOException{
+		return new StringBuilder()
+						.append(Files.size(_artifactFile))
+						.append(SEPARATOR)
+						.append(Files.getLastModifiedTime(_artifactFile).toMillis())
+						.append(SEPARATOR)
+						.append(_checksum)
+						.toString();
+	}
+
+	protected String checksum(final Path _artifactFile) throws IOException{
+		return ArtifactChecksums.checksum(_artifactFile);
+	}
+
+	protected static MessageDigest digest(){
+		try{
+			return MessageDigest.getInstance("SHA-1");
+		}catch(NoSuchAlgorithmException e){
+			throw new IllegalStateException("SHA-1 digest not available", e);
+		}
+	}
+
+	protected static String toHex(final byte[] _bytes){
+
+		final StringBuilder reply=new StringBuilder(_bytes.length*2);
+		for(byte value:_bytes){
+			reply.append(Character.forDigit((value>>4)&0xF,16))
+					.append(Character.forDigit(value&0xF,16));
+		}
+
+		return reply.toString();
+	}
+}
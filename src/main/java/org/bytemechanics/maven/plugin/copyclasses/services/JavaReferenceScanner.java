@@ -0,0 +1,244 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single-pass scanner of the type references of a java source. Skips comments, strings, text blocks and char literals and collects:
+ * <ul>
+ * <li>The package declaration</li>
+ * <li>The single type imports, static imports and on-demand imports</li>
+ * <li>The names (simple or qualified) used in the code</li>
+ * </ul>
+ * The references are reported as candidate full qualified class names, to be verified against the classes that really exist
+ * (for example a name used in the code is a candidate of the same package and of each on-demand imported package)
+ * @author afarre
+ * @since 2.1.0
+ */
+public class JavaReferenceScanner {
+
+	private static final String PACKAGE_KEYWORD="package";
+	private static final String IMPORT_KEYWORD="import";
+	private static final String STATIC_KEYWORD="static";
+
+	private String packageName;
+	private final List<String> imports;
+	private final List<String> onDemandImports;
+	private final Set<String> names;
+
+
+	public JavaReferenceScanner() {
+		this.packageName=null;
+		this.imports=new ArrayList<>();
+		this.onDemandImports=new ArrayList<>();
+		this.names=new LinkedHashSet<>();
+	}
+
+
+	/**
+	 * @return the declared package or null if the source belongs to the default package
+	 */
+	public String getPackageName() {
+		return packageName;
+	}
+	/**
+	 * @return the single type and static imports (without the static keyword)
+	 */
+	public List<String> getImports() {
+		return imports;
+	}
+	/**
+	 * @return the packages or types imported on demand (without the trailing .*)
+	 */
+	public List<String> getOnDemandImports() {
+		return onDemandImports;
+	}
+	/**
+	 * @return the simple or qualified names used in the code
+	 */
+	public Set<String> getNames() {
+		return names;
+	}
+
+	/**
+	 * Scan the source
+	 * @param _source source characters
+	 * @param _length number of characters of the source to consider
+	 * @return this scanner
+	 */
+	@SuppressWarnings("ValueOfIncrementOrDecrementUsed")
+	public JavaReferenceScanner scan(final char[] _source,final int _length){
+
+		char previous=0;
+		String pendingKeyword=null;
+
+		int i=0;
+		while(i<_length){
+			final char current=_source[i];
+			if(Character.isJavaIdentifierStart(current)){
+				final int[] end=new int[1];
+				final String name=readName(_source,_length,i,end);
+				if(previous!='.'){
+					if((pendingKeyword==null)&&((PACKAGE_KEYWORD.equals(name))||(IMPORT_KEYWORD.equals(name)))){
+						pendingKeyword=name;
+					}else if((IMPORT_KEYWORD.equals(pendingKeyword))&&(STATIC_KEYWORD.equals(name))){
+						// static import, the imported name follows
+					}else if(PACKAGE_KEYWORD.equals(pendingKeyword)){
+						this.packageName=name;
+						pendingKeyword=null;
+					}else if(IMPORT_KEYWORD.equals(pendingKeyword)){
+						if(name.endsWith(".*")){
+							this.onDemandImports.add(name.substring(0,name.length()-2));
+						}else{
+							this.imports.add(name);
+						}
+						pendingKeyword=null;
+					}else{
+						this.names.add(name);
+					}
+				}
+				previous='a';
+				i=end[0];
+			}else if((current=='/')&&(i+1<_length)&&(_source[i+1]=='/')){
+				i=skipUntil(_source,_length,i+2,"\n");
+			}else if((current=='/')&&(i+1<_length)&&(_source[i+1]=='*')){
+				i=skipUntil(_source,_length,i+2,"*/");
+			}else if((current=='"')&&(i+2<_length)&&(_source[i+1]=='"')&&(_source[i+2]=='"')){
+				i=skipLiteral(_source,_length,i+3,"\"\"\"");
+				previous='"';
+			}else if((current=='"')||(current=='\'')){
+				i=skipLiteral(_source,_length,i+1,String.valueOf(current));
+				previous=current;
+			}else{
+				if(!Character.isWhitespace(current)){
+					previous=current;
+				}
+				i++;
+			}
+		}
+
+		return this;
+	}
+
+	/**
+	 * Read a dotted name (identifiers separated by dots, optionally ended by .* ) ignoring the whitespaces around the dots
+	 */
+	private String readName(final char[] _source,final int _length,final int _start,final int[] _end){
+
+		final StringBuilder reply=new StringBuilder();
+
+		int i=_start;
+		boolean more=true;
+		while(more){
+			while((i<_length)&&(Character.isJavaIdentifierPart(_source[i]))){
+				reply.append(_source[i++]);
+			}
+			_end[0]=i;
+			int next=skipWhitespaces(_source,_length,i);
+			more=false;
+			if((next<_length)&&(_source[next]=='.')){
+				next=skipWhitespaces(_source,_length,next+1);
+				if((next<_length)&&(Character.isJavaIdentifierStart(_source[next]))){
+					reply.append('.');
+					i=next;
+					more=true;
+				}else if((next<_length)&&(_source[next]=='*')){
+					reply.append(".*");
+					_end[0]=next+1;
+				}
+			}
+		}
+
+		return reply.toString();
+	}
+
+	private static int skipWhitespaces(final char[] _source,final int _length,final int _start){
+
+		int reply=_start;
+
+		while((reply<_length)&&(Character.isWhitespace(_source[reply]))){
+			reply++;
+		}
+
+		return reply;
+	}
+
+	private static int skipUntil(final char[] _source,final int _length,final int _start,final String _end){
+
+		int reply=_start;
+
+		while((reply<_length)&&(!JavaSourceRewriter.matches(_source,reply,Math.min(_length,reply+_end.length()),_end))){
+			reply++;
+		}
+
+		return Math.min(_length,reply+_end.length());
+	}
+
+	private static int skipLiteral(final char[] _source,final int _length,final int _start,final String _end){
+
+		int reply=_start;
+
+		while((reply<_length)&&(!JavaSourceRewriter.matches(_source,reply,Math.min(_length,reply+_end.length()),_end))){
+			reply+=(_source[reply]=='\\')? 2 : 1;
+		}
+
+		return Math.min(_length,reply+_end.length());
+	}
+
+	/**
+	 * Compute the candidate full qualified class names referenced by the scanned source:
+	 * the imported names and their enclosing names, the qualified names used in the code and their enclosing names,
+	 * and the first segment of each name used in the code resolved against the own package and the on-demand imports
+	 * @return the candidate class names
+	 */
+	public Set<String> getCandidates(){
+
+		final Set<String> reply=new LinkedHashSet<>();
+
+		for(String imported:this.imports){
+			addEnclosingNames(reply,imported);
+		}
+		for(String imported:this.onDemandImports){
+			addEnclosingNames(reply,imported);
+		}
+		for(String name:this.names){
+			if(name.indexOf('.')>0){
+				addEnclosingNames(reply,name);
+			}
+			final int dot=name.indexOf('.');
+			final String simpleName=(dot>0)? name.substring(0,dot) : name;
+			reply.add((this.packageName!=null)? this.packageName+'.'+simpleName : simpleName);
+			for(String imported:this.onDemandImports){
+				reply.add(imported+'.'+simpleName);
+			}
+		}
+
+		return reply;
+	}
+
+	private static void addEnclosingNames(final Set<String> _candidates,final String _name){
+
+		int end=_name.length();
+		while(end>0){
+			_candidates.add(_name.substring(0,end));
+			end=_name.lastIndexOf('.',end-1);
+		}
+	}
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass java source rewriter. Scans the source once tracking the lexical state (code, comments, strings, text blocks and char literals)
+ * and in the same pass:
+ * <ul>
+ * <li>Relocates the origin package to the destiny package (in code, comments and literals)</li>
+ * <li>Adds the annotation import after the package declaration</li>
+ * <li>Adds the annotation before the line of the main type definition</li>
+ * </ul>
+ * Line terminators are normalized to '\n'.
+ * If a tracer is given, each lexical state transition and rewrite is reported to it with its line number
+ * @author afarre
+ * @since 2.1.0
+ */
+public class JavaSourceRewriter {
+
+	private static final int READ_BUFFER=8192;
+	private static final String[] TYPE_KEYWORDS={"class","interface","enum"};
+	private static final String RECORD_KEYWORD="record";
+	private static final String PACKAGE_KEYWORD="package";
+
+	private enum State{ CODE, LINE_COMMENT, BLOCK_COMMENT, STRING, CHAR, TEXT_BLOCK }
+
+	private final String fromPackage;
+	private final String toPackage;
+	private final String annotation;
+	private final String annotationImport;
+	private final Consumer<String> tracer;
+
+	private int relocations;
+	private int lines;
+
+
+	public JavaSourceRewriter(final CompiledCopyPlan _plan) {
+		this(_plan,null);
+	}
+	/**
+	 * @param _plan compiled copy plan
+	 * @param _tracer tracer to report the rewriting steps or null to not trace
+	 */
+	public JavaSourceRewriter(final CompiledCopyPlan _plan,final Consumer<String> _tracer) {
+		this.fromPackage=(_plan.getFromPackage()==null||_plan.getFromPackage().isEmpty())? null : _plan.getFromPackage();
+		this.toPackage=_plan.getToPackage();
+		this.annotation=_plan.getAnnotation();
+		this.annotationImport=CopyServiceImpl.CUSTOM_IMPORT_ANNOTATION;
+		this.tracer=_tracer;
+		this.relocations=0;
+		this.lines=0;
+	}
+
+	/**
+	 * @return number of relocations done since this rewriter has been created
+	 */
+	public int getRelocations() {
+		return relocations;
+	}
+	/**
+	 * @return number of source lines rewritten since this rewriter has been created
+	 * @since 2.1.0
+	 */
+	public int getLines() {
+		return lines;
+	}
+
+	/**
+	 * Read the full content of the reader and rewrite it
+	 * @param _reader source reader
+	 * @return the rewritten source
+	 * @throws IOException if the reader fails
+	 */
+	public String rewrite(final Reader _reader) throws IOException{
+
+		char[] buffer=new char[READ_BUFFER];
+		int length=0;
+		int read=_reader.read(buffer,length,buffer.length-length);
+		while(read>=0){
+			length+=read;
+			if(length==buffer.length){
+				buffer=Arrays.copyOf(buffer,buffer.length*2);
+			}
+			read=_reader.read(buffer,length,buffer.length-length);
+		}
+
+		return rewrite(buffer,length);
+	}
+
+	/**
+	 * Rewrite the source
+	 * @param _source source characters
+	 * @param _length number of characters of the source to consider
+	 * @return the rewritten source
+	 */
+	@SuppressWarnings("ValueOfIncrementOrDecrementUsed")
+	public String rewrite(final char[] _source,final int _length){
+
+		final boolean annotate=(this.annotation!=null);
+		final StringBuilder reply=new StringBuilder(_length+((annotate)? this.annotation.length()+this.annotationImport.length()+2 : 0)+64);
+
+		State state=State.CODE;
+		int line=1;
+		int depth=0;
+		int lineStart=0;
+		char previous=0;
+		boolean packageFound=false;
+		boolean packageClosed=false;
+		boolean importPending=false;
+		boolean mainFound=!annotate;
+
+		int i=0;
+		while(i<_length){
+			char current=_source[i];
+			if(current=='\r'){
+				if((i+1<_length)&&(_source[i+1]=='\n')){
+					i++;
+				}
+				current='\n';
+			}
+			if(current=='\n'){
+				if((state==State.LINE_COMMENT)||(state==State.STRING)||(state==State.CHAR)){
+					state=enter(State.CODE,line);
+				}
+				reply.append('\n');
+				if(importPending){
+					reply.append(this.annotationImport).append('\n');
+					trace("line {0}: annotation import added",line);
+					importPending=false;
+				}
+				lineStart=reply.length();
+				line++;
+				i++;
+				continue;
+			}
+			if((Character.isJavaIdentifierStart(current))&&(isRelocation(_source,_length,i))){
+				reply.append(this.toPackage);
+				i+=this.fromPackage.length();
+				this.relocations++;
+				if(this.tracer!=null){
+					trace("line {0}: {1} relocated to {2}",line,this.fromPackage,this.toPackage);
+				}
+				previous='a';
+				continue;
+			}
+			switch(state){
+				case CODE:
+					if(Character.isJavaIdentifierStart(current)){
+						int end=i+1;
+						while((end<_length)&&(Character.isJavaIdentifierPart(_source[end]))){
+							end++;
+						}
+						if((depth==0)&&(previous!='.')){
+							if((!packageFound)&&(matches(_source,i,end,PACKAGE_KEYWORD))){
+								packageFound=true;
+								trace("line {0}: package declaration",line);
+							}else if((packageClosed)&&(!mainFound)&&(isTypeKeyword(_source,_length,i,end))){
+								reply.insert(lineStart,this.annotation+'\n');
+								mainFound=true;
+								trace("line {0}: main type declaration, annotation added",line);
+							}
+						}
+						reply.append(_source,i,end-i);
+						previous='a';
+						i=end;
+						continue;
+					}
+					if((current=='/')&&(i+1<_length)&&(_source[i+1]=='/')){
+						state=enter(State.LINE_COMMENT,line);
+						reply.append(current).append('/');
+						i+=2;
+						continue;
+					}
+					if((current=='/')&&(i+1<_length)&&(_source[i+1]=='*')){
+						state=enter(State.BLOCK_COMMENT,line);
+						reply.append(current).append('*');
+						i+=2;
+						continue;
+					}
+					if((current=='"')&&(i+2<_length)&&(_source[i+1]=='"')&&(_source[i+2]=='"')){
+						state=enter(State.TEXT_BLOCK,line);
+						reply.append("\"\"\"");
+						i+=3;
+						continue;
+					}
+					switch(current){
+						case '"':
+							state=enter(State.STRING,line);
+							break;
+						case '\'':
+							state=enter(State.CHAR,line);
+							break;
+						case '(':
+						case '[':
+						case '{':
+							depth++;
+							break;
+						case ')':
+						case ']':
+						case '}':
+							depth=Math.max(0,depth-1);
+							break;
+						case ';':
+							if((packageFound)&&(!packageClosed)&&(depth==0)){
+								packageClosed=true;
+								importPending=annotate;
+							}
+							break;
+						default:
+							break;
+					}
+					if(!Character.isWhitespace(current)){
+						previous=current;
+					}
+					break;
+				case BLOCK_COMMENT:
+					if((current=='*')&&(i+1<_length)&&(_source[i+1]=='/')){
+						state=enter(State.CODE,line);
+						reply.append(current).append('/');
+						i+=2;
+						continue;
+					}
+					break;
+				case STRING:
+				case CHAR:
+				case TEXT_BLOCK:
+					if((current=='\\')&&(i+1<_length)&&(_source[i+1]!='\n')&&(_source[i+1]!='\r')){
+						reply.append(current).append(_source[i+1]);
+						i+=2;
+						continue;
+					}
+					if((state==State.STRING)&&(current=='"')){
+						state=enter(State.CODE,line);
+						previous=current;
+					}else if((state==State.CHAR)&&(current=='\'')){
+						state=enter(State.CODE,line);
+						previous=current;
+					}else if((state==State.TEXT_BLOCK)&&(current=='"')&&(i+2<_length)&&(_source[i+1]=='"')&&(_source[i+2]=='"')){
+						state=enter(State.CODE,line);
+						previous=current;
+						reply.append("\"\"\"");
+						i+=3;
+						continue;
+					}
+					break;
+				default:
+					break;
+			}
+			reply.append(current);
+			i++;
+		}
+		if((reply.length()>0)&&(reply.charAt(reply.length()-1)!='\n')){
+			reply.append('\n');
+		}
+		if(importPending){
+			reply.append(this.annotationImport).append('\n');
+			trace("line {0}: annotation import added",line);
+		}
+		this.lines+=(_length==0)? 0 : ((_source[_length-1]=='\n')||(_source[_length-1]=='\r'))? line-1 : line;
+		trace("rewritten {0} characters, {1} relocations",_length,this.relocations);
+
+		return reply.toString();
+	}
+
+	private State enter(final State _state,final int _line){
+		if(this.tracer!=null){
+			trace("line {0}: {1}",_line,_state);
+		}
+		return _state;
+	}
+	private void trace(final String _pattern,final Object... _arguments){
+		if(this.tracer!=null){
+			this.tracer.accept(MessageFormat.format(_pattern,_arguments));
+		}
+	}
+
+	/**
+	 * Check if the origin package starts at the given position as a full qualified name segment:
+	 * not preceded by an identifier character or a dot and not followed by an identifier character
+	 */
+	protected boolean isRelocation(final char[] _source,final int _length,final int _position){
+
+		boolean reply=false;
+
+		if(this.fromPackage!=null){
+			final int end=_position+this.fromPackage.length();
+			reply=(end<=_length)
+					&&(_source[_position]==this.fromPackage.charAt(0))
+					&&((_position==0)||((!Character.isJavaIdentifierPart(_source[_position-1]))&&(_source[_position-1]!='.')))
+					&&((end==_length)||(!Character.isJavaIdentifierPart(_source[end])))
+					&&(matches(_source,_position,end,this.fromPackage));
+		}
+
+		return reply;
+	}
+
+	protected boolean isTypeKeyword(final char[] _source,final int _length,final int _start,final int _end){
+
+		boolean reply=false;
+
+		for(String keyword:TYPE_KEYWORDS){
+			reply|=matches(_source,_start,_end,keyword);
+		}
+		if((!reply)&&(matches(_source,_start,_end,RECORD_KEYWORD))){
+			int next=_end;
+			while((next<_length)&&(Character.isWhitespace(_source[next]))){
+				next++;
+			}
+			reply=(next<_length)&&(next>_end)&&(Character.isJavaIdentifierStart(_source[next]));
+		}
+
+		return reply;
+	}
+
+	protected static boolean matches(final char[] _source,final int _start,final int _end,final String _text){
+
+		boolean reply=(_end-_start==_text.length());
+
+		for(int i=0;(reply)&&(i<_text.length());i++){
+			reply=(_source[_start+i]==_text.charAt(i));
+		}
+
+		return reply;
+	}
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Source archive memory mapped: the central directory is parsed from the mapped file and the entries are inflated from the mapped region,
+ * without the native zip library of the JDK. 
+ * Only archives up to 2GB without ZIP64 records are supported. The mapping is released when it is garbage collected
+ * @author afarre
+ * @since 2.1.0
+ */
+public class MappedSourceArchive implements SourceArchive{
+
+	public static final int END_SIGNATURE=0x06054b50;
+	public static final int CENTRAL_SIGNATURE=0x02014b50;
+	public static final int LOCAL_SIGNATURE=0x04034b50;
+	private static final int END_SIZE=22;
+	private static final int CENTRAL_SIZE=46;
+	private static final int LOCAL_SIZE=30;
+	private static final int MAX_COMMENT_SIZE=0xFFFF;
+	private static final int MAX_ENTRY_SIZE=Integer.MAX_VALUE-8;
+
+	private final Path file;
+	private final ByteBuffer buffer;
+	private final List<JarEntry> entries;
+	private final Map<String,Integer> offsets;
+	private volatile boolean closed;
+
+
+	/**
+	 * @param _file archive file
+	 * @param _buffer archive content
+	 * @throws ZipException if the central directory can not be parsed
+	 */
+	public MappedSourceArchive(final Path _file,final ByteBuffer _buffer) throws ZipException {
+		this.file=_file;
+		this.buffer=_buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		this.entries=new ArrayList<>();
+		this.offsets=new HashMap<>();
+		this.closed=false;
+		readCentralDirectory();
+	}
+
+	/**
+	 * @param _file sources jar
+	 * @return the archive mapped in memory
+	 * @throws IOException if the jar can not be mapped or parsed
+	 */
+	public static MappedSourceArchive open(final Path _file) throws IOException{
+		try(FileChannel channel=FileChannel.open(_file, StandardOpenOption.READ)){
+			if(channel.size()>Integer.MAX_VALUE){
+				throw new ZipException(MessageFormat.format("Archive {0} too large to be memory mapped",_file));
+			}
+			final MappedByteBuffer mapped=channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new MappedSourceArchive(_file, mapped);
+		}
+	}
+
+	private int u16(final int _offset){
+		return this.buffer.getShort(_offset)&0xFFFF;
+	}
+	private long u32(final int _offset){
+		return this.buffer.getInt(_offset)&0xFFFFFFFFl;
+	}
+	/**
+	 * Check the value is a position inside the archive
+	 */
+	private int offset(final long _value) throws ZipException{
+		if((_value<0)||(_value>this.buffer.limit())){
+			throw new ZipException(MessageFormat.format("Invalid offset {0} at archive {1}",_value,this.file));
+		}
+		return (int)_value;
+	}
+	private byte[] bytes(final int _offset,final int _length){
+
+		final byte[] reply=new byte[_length];
+
+		final ByteBuffer view=this.buffer.duplicate();
+		view.position(_offset);
+		view.get(reply);
+
+		return reply;
+	}
+
+	private int findEnd() throws ZipException{
+
+		final int last=this.buffer.limit()-END_SIZE;
+		final int first=Math.max(0,last-MAX_COMMENT_SIZE);
+		for(int offset=last;offset>=first;offset--){
+			if((this.buffer.getInt(offset)==END_SIGNATURE)&&(offset+END_SIZE+u16(offset+20)==this.buffer.limit())){
+				return offset;
+			}
+		}
+
+		throw new ZipException(MessageFormat.format("End of central directory not found at archive {0}",this.file));
+	}
+
+	private void readCentralDirectory() throws ZipException{
+
+		final int end=findEnd();
+		final int total=u16(end+10);
+		final long start=u32(end+16);
+		if((total==0xFFFF)||(start==0xFFFFFFFFl)){
+			throw new ZipException(MessageFormat.format("ZIP64 archive {0} not supported by the memory mapped reader",this.file));
+		}
+		int offset=offset(start);
+		for(int i=0;i<total;i++){
+			if((offset+CENTRAL_SIZE>end)||(this.buffer.getInt(offset)!=CENTRAL_SIGNATURE)){
+				throw new ZipException(MessageFormat.format("Invalid central directory entry {0} at archive {1}",i,this.file));
+			}
+			final int nameLength=u16(offset+28);
+			final int extraLength=u16(offset+30);
+			final int commentLength=u16(offset+32);
+			final String name=new String(bytes(offset+CENTRAL_SIZE, nameLength),StandardCharsets.UTF_8);
+			final JarEntry entry=new JarEntry(name);
+			entry.setMethod(u16(offset+10));
+			entry.setTime(dosToJavaTime(u16(offset+14),u16(offset+12)));
+			entry.setCrc(u32(offset+16));
+			entry.setCompressedSize(u32(offset+20));
+			entry.setSize(u32(offset+24));
+			if(extraLength>0){
+				entry.setExtra(bytes(offset+CENTRAL_SIZE+nameLength, extraLength));
+			}
+			this.entries.add(entry);
+			this.offsets.put(name, offset(u32(offset+42)));
+			offset+=CENTRAL_SIZE+nameLength+extraLength+commentLength;
+		}
+	}
+
+	/**
+	 * Convert a MS-DOS date and time to java time, at the default time zone as {@link ZipEntry} does
+	 */
+	private static long dosToJavaTime(final int _date,final int _time){
+		return new GregorianCalendar(((_date>>9)&0x7f)+1980, ((_date>>5)&0x0f)-1, _date&0x1f, (_time>>11)&0x1f, (_time>>5)&0x3f, (_time<<1)&0x3e)
+						.getTimeInMillis();
+	}
+
+	@Override
+	public Path getFile() {
+		return file;
+	}
+
+	@Override
+	public List<JarEntry> getEntries() {
+		return Collections.unmodifiableList(this.entries);
+	}
+
+	@Override
+	public InputStream getInputStream(final JarEntry _entry) throws IOException {
+
+		if(this.closed){
+			throw new IOException(MessageFormat.format("Archive {0} closed",this.file));
+		}
+		final Integer header=this.offsets.get(_entry.getName());
+		if(header==null){
+			throw new ZipException(MessageFormat.format("Entry {0} not found at archive {1}",_entry.getName(),this.file));
+		}
+		if(this.buffer.getInt(header)!=LOCAL_SIGNATURE){
+			throw new ZipException(MessageFormat.format("Invalid local header of entry {0} at archive {1}",_entry.getName(),this.file));
+		}
+		final int dataOffset=offset((long)header+LOCAL_SIZE+u16(header+26)+u16(header+28));
+		final int compressedSize=offset(_entry.getCompressedSize());
+		if((_entry.getSize()<0)||(_entry.getSize()>MAX_ENTRY_SIZE)){
+			throw new ZipException(MessageFormat.format("Entry {0} at archive {1} too large to be read",_entry.getName(),this.file));
+		}
+		final int size=(int)_entry.getSize();
+		if(dataOffset+compressedSize>this.buffer.limit()){
+			throw new ZipException(MessageFormat.format("Truncated entry {0} at archive {1}",_entry.getName(),this.file));
+		}
+
+		final InputStream reply;
+		switch(_entry.getMethod()){
+			case ZipEntry.STORED:
+				reply=new ByteArrayInputStream(bytes(dataOffset, compressedSize));
+				break;
+			case ZipEntry.DEFLATED:
+				reply=new ByteArrayInputStream(inflate(_entry, dataOffset, compressedSize, size));
+				break;
+			default:
+				throw new ZipException(MessageFormat.format("Unsupported compression method {0} of entry {1} at archive {2}",_entry.getMethod(),_entry.getName(),this.file));
+		}
+
+		return reply;
+	}
+
+	private byte[] inflate(final JarEntry _entry,final int _offset,final int _compressedSize,final int _size) throws ZipException{
+
+		final byte[] reply=new byte[_size];
+
+		// raw deflate streams need an extra dummy byte of input
+		final byte[] input=new byte[_compressedSize+1];
+		final ByteBuffer view=this.buffer.duplicate();
+		view.position(_offset);
+		view.get(input,0,_compressedSize);
+		final Inflater inflater=new Inflater(true);
+		try{
+			inflater.setInput(input);
+			int inflated=0;
+			int read=-1;
+			while((inflated<_size)&&(read!=0)){
+				read=inflater.inflate(reply, inflated, _size-inflated);
+				inflated+=read;
+			}
+			if(inflated!=_size){
+				throw new ZipException(MessageFormat.format("Invalid size of entry {0} at archive {1}",_entry.getName(),this.file));
+			}
+		}catch(DataFormatException e){
+			throw new ZipException(MessageFormat.format("Invalid compressed data of entry {0} at archive {1}: {2}",_entry.getName(),this.file,e.getMessage()));
+		}finally{
+			inflater.end();
+		}
+
+		return reply;
+	}
+
+	@Override
+	public void close() {
+		this.closed=true;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+
+/**
+ * Sources jar opened with its entries index and the reader used to open it. 
+ * When shared (held by a {@link SourceJarCache}) closing it does nothing, the cache closes it at the end of the session
+ * @author afarre
+ * @since 2.1.0
+ */
+public class OpenedSourceJar implements AutoCloseable{
+
+	private final Path file;
+	private final long size;
+	private final long lastModified;
+	private final ArchiveReader reader;
+	private final SourceArchive archive;
+	private final SourceJarIndex index;
+	private final boolean shared;
+
+
+	public OpenedSourceJar(final Path _file,final long _size,final long _lastModified,final ArchiveReader _reader,final SourceArchive _archive,final SourceJarIndex _index,final boolean _shared) {
+		this.file=_file;
+		this.size=_size;
+		this.lastModified=_lastModified;
+		this.reader=_reader;
+		this.archive=_archive;
+		this.index=_index;
+		this.shared=_shared;
+	}
+
+	/**
+	 * Open and index the sources jar with the {@link ArchiveReader#JAR} reader
+	 * @param _file sources jar
+	 * @param _shared true if the jar is shared and must not be closed by its users
+	 * @return the opened sources jar
+	 * @throws IOException if the jar can not be opened
+	 */
+	public static OpenedSourceJar open(final Path _file,final boolean _shared) throws IOException{
+		return open(_file, ArchiveReader.JAR, _shared);
+	}
+	/**
+	 * Open and index the sources jar
+	 * @param _file sources jar
+	 * @param _reader reader implementation
+	 * @param _shared true if the jar is shared and must not be closed by its users
+	 * @return the opened sources jar
+	 * @throws IOException if the jar can not be opened
+	 */
+	public static OpenedSourceJar open(final Path _file,final ArchiveReader _reader,final boolean _shared) throws IOException{
+		return open(_file, _reader, _shared, null);
+	}
+	/**
+	 * Open the sources jar reusing its index from the resident state, if known
+	 * @param _file sources jar
+	 * @param _reader reader implementation
+	 * @param _shared true if the jar is shared and must not be closed by its users
+	 * @param _state resident state or null to always index the jar
+	 * @return the opened sources jar
+	 * @throws IOException if the jar can not be opened
+	 */
+	public static OpenedSourceJar open(final Path _file,final ArchiveReader _reader,final boolean _shared,final ResidentState _state) throws IOException{
+
+		final BasicFileAttributes attributes=Files.readAttributes(_file, BasicFileAttributes.class);
+		final SourceArchive archive=_reader.open(_file);
+		try{
+			final SourceJarIndex index=(_state!=null)? _state.index(_file, _reader, false, () -> SourceJarIndex.of(archive)) : SourceJarIndex.of(archive);
+			return new OpenedSourceJar(_file, attributes.size(), attributes.lastModifiedTime().toMillis(), _reader, archive, index, _shared);
+		}catch(IOException|RuntimeException e){
+			archive.close();
+			throw e;
+		}
+	}
+
+	public Path getFile() {
+		return file;
+	}
+	public ArchiveReader getReader() {
+		return reader;
+	}
+	public SourceArchive getArchive() {
+		return archive;
+	}
+	public SourceJarIndex getIndex() {
+		return index;
+	}
+	public boolean isShared() {
+		return shared;
+	}
+
+	/**
+	 * @return true if the file has not been modified since it was opened
+	 */
+	public boolean isCurrent(){
+
+		boolean reply;
+
+		try{
+			final BasicFileAttributes attributes=Files.readAttributes(this.file, BasicFileAttributes.class);
+			reply=(attributes.size()==this.size)&&(attributes.lastModifiedTime().toMillis()==this.lastModified);
+		}catch(IOException e){
+			reply=false;
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Close the jar if it is not shared
+	 * @throws IOException if the jar can not be closed
+	 */
+	@Override
+	public void close() throws IOException{
+		if(!this.shared){
+			this.archive.close();
+		}
+	}
+
+	/**
+	 * Close the jar even if shared
+	 * @throws IOException if the jar can not be closed
+	 */
+	protected void release() throws IOException{
+		this.archive.close();
+	}
+}
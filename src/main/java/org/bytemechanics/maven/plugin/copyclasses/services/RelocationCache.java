@@ -0,0 +1,283 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent content-addressed cache of relocated sources, shareable by all the builds of the machine (by default at ~/.m2/copysource-cache).
+ * Each entry holds the generated bytes of one class and its key is the hash of everything the generated bytes depend on: 
+ * the checksum of the sources jar, the class name, the origin and destiny packages, the charsets, the annotation and the plugin version.
+ * <ul>
+ * <li>Entries are immutable and published with an atomic move, so concurrent builds never read partial entries</li>
+ * <li>Hits refresh the modification time of the entry, that is the access time used by the eviction</li>
+ * <li>Eviction removes the least recently used entries over the maximum size, holding an exclusive lock of the cache folder so only one build evicts at a time</li>
+ * </ul>
+ * @author afarre
+ * @since 2.1.0
+ */
+public class RelocationCache {
+
+	public static final String DEFAULT_FOLDER="copysource-cache";
+	protected static final String LOCK_FILE=".lock";
+	protected static final String ENTRY_EXTENSION=".java";
+	public static final String PACKED_EXTENSION=".zip";
+	protected static final String TEMPORAL_EXTENSION=".tmp";
+	private static final long ABANDONED_TEMPORAL_MILLIS=TimeUnit.HOURS.toMillis(1);
+	private static final String HASH_ALGORITHM="SHA-256";
+	private static final Object EVICTION_LOCK=new Object();
+
+	private final Path folder;
+	private final long maxSize;
+
+
+	/**
+	 * @param _folder cache folder
+	 * @param _maxSize maximum size in bytes of the cache entries, zero or negative to never evict
+	 */
+	public RelocationCache(final Path _folder,final long _maxSize) {
+		this.folder=_folder;
+		this.maxSize=_maxSize;
+	}
+
+	public Path getFolder() {
+		return folder;
+	}
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	protected static MessageDigest newDigest(){
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(HASH_ALGORITHM+" not available", e);
+		}
+	}
+	protected static String toHex(final byte[] _hash){
+
+		final StringBuilder reply=new StringBuilder(_hash.length*2);
+
+		for(byte value:_hash){
+			reply.append(Character.forDigit((value>>4)&0xF,16))
+					.append(Character.forDigit(value&0xF,16));
+		}
+
+		return reply.toString();
+	}
+
+	/**
+	 * Checksum of the sources jar, computed once per file, size and modification time (shared with the fingerprints, see {@link ArtifactChecksums})
+	 * @param _sourceFile sources jar
+	 * @return the hexadecimal checksum of the jar content
+	 * @throws IOException if the jar can not be read
+	 */
+	public String checksum(final Path _sourceFile) throws IOException{
+		return ArtifactChecksums.checksum(_sourceFile);
+	}
+
+	/**
+	 * Key of a relocated class
+	 * @param _jarChecksum checksum of the sources jar
+	 * @param _clazz full qualified class name
+	 * @param _plan compiled copy plan (origin and destiny packages, source charset and annotation)
+	 * @param _encoding encoding of the generated sources
+	 * @param _toolVersion plugin version
+	 * @return the hexadecimal key
+	 */
+	public static String key(final String _jarChecksum,final String _clazz,final CompiledCopyPlan _plan,final Charset _encoding,final String _toolVersion){
+
+		final MessageDigest digest=newDigest();
+		Stream.of(_jarChecksum,_clazz,_plan.getFromPackage(),_plan.getToPackage(),_plan.getSourceCharset().name(),_encoding.name(),_plan.getAnnotation(),_toolVersion)
+				.map(String::valueOf)
+				.forEach(value -> {
+					digest.update(value.getBytes(StandardCharsets.UTF_8));
+					digest.update((byte)0);
+				});
+
+		return toHex(digest.digest());
+	}
+
+	protected Path entryPath(final String _key){
+		return entryPath(_key, ENTRY_EXTENSION);
+	}
+	protected Path entryPath(final String _key,final String _extension){
+		return this.folder.resolve(_key.substring(0,2)).resolve(_key.substring(2)+_extension);
+	}
+	private static boolean isEntry(final String _name){
+		return (_name.endsWith(ENTRY_EXTENSION))||(_name.endsWith(PACKED_EXTENSION));
+	}
+
+	/**
+	 * Read a cached relocated source refreshing its access time. An entry evicted meanwhile by other build is a miss
+	 * @param _key entry key
+	 * @return the cached content if present
+	 * @throws IOException if the entry exists but can not be read
+	 */
+	public Optional<byte[]> get(final String _key) throws IOException{
+		return get(_key, ENTRY_EXTENSION);
+	}
+	/**
+	 * Read a cached entry of the given kind refreshing its access time. An entry evicted meanwhile by other build is a miss
+	 * @param _key entry key
+	 * @param _extension kind of entry, the relocated sources extension or {@link #PACKED_EXTENSION}
+	 * @return the cached content if present
+	 * @throws IOException if the entry exists but can not be read
+	 */
+	public Optional<byte[]> get(final String _key,final String _extension) throws IOException{
+
+		Optional<byte[]> reply=Optional.empty();
+
+		final Path entry=entryPath(_key, _extension);
+		if(Files.isRegularFile(entry)){
+			try{
+				reply=Optional.of(Files.readAllBytes(entry));
+				Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+			}catch(NoSuchFileException e){
+				// evicted meanwhile by other build
+			}
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Store a relocated source, written to a temporal file and published with an atomic move
+	 * @param _key entry key
+	 * @param _content generated content
+	 * @throws IOException if the entry can not be written
+	 */
+	public void put(final String _key,final byte[] _content) throws IOException{
+		put(_key, _content, ENTRY_EXTENSION);
+	}
+	/**
+	 * Store an entry of the given kind, written to a temporal file and published with an atomic move
+	 * @param _key entry key
+	 * @param _content generated content
+	 * @param _extension kind of entry, the relocated sources extension or {@link #PACKED_EXTENSION}
+	 * @throws IOException if the entry can not be written
+	 */
+	public void put(final String _key,final byte[] _content,final String _extension) throws IOException{
+
+		final Path entry=entryPath(_key, _extension);
+		Files.createDirectories(entry.getParent());
+		final Path temporal=Files.createTempFile(entry.getParent(), _key.substring(2), TEMPORAL_EXTENSION);
+		try{
+			Files.write(temporal, _content);
+			Files.move(temporal, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}finally{
+			Files.deleteIfExists(temporal);
+		}
+	}
+
+	/**
+	 * Remove the least recently used entries until the cache fits its maximum size, and the temporal files abandoned by interrupted builds.
+	 * If other build (or other execution of this jvm) is already evicting, does nothing
+	 * @return the number of removed entries
+	 * @throws IOException if the cache folder can not be read or locked
+	 */
+	public int evict() throws IOException{
+
+		int reply=0;
+
+		if((this.maxSize>0)&&(Files.isDirectory(this.folder))){
+			synchronized(EVICTION_LOCK){
+				try(FileChannel channel=FileChannel.open(this.folder.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+						FileLock lock=channel.tryLock()){
+					if(lock!=null){
+						reply=evictLocked();
+					}
+				}catch(OverlappingFileLockException e){
+					// already evicting from other class loader of this jvm
+				}
+			}
+		}
+
+		return reply;
+	}
+
+	private int evictLocked() throws IOException{
+
+		int reply=0;
+
+		final List<CachedEntry> entries=new ArrayList<>();
+		final long abandoned=System.currentTimeMillis()-ABANDONED_TEMPORAL_MILLIS;
+		try(Stream<Path> files=Files.walk(this.folder, 2)){
+			for(Path file:files.filter(Files::isRegularFile).collect(Collectors.toList())){
+				final String name=file.getFileName().toString();
+				try{
+					final BasicFileAttributes attributes=Files.readAttributes(file, BasicFileAttributes.class);
+					if(isEntry(name)){
+						entries.add(new CachedEntry(file, attributes.lastModifiedTime().toMillis(), attributes.size()));
+					}else if((name.endsWith(TEMPORAL_EXTENSION))&&(attributes.lastModifiedTime().toMillis()<abandoned)){
+						Files.deleteIfExists(file);
+					}
+				}catch(NoSuchFileException e){
+					// removed meanwhile by other build
+				}
+			}
+		}
+		long size=entries.stream()
+							.mapToLong(entry -> entry.size)
+							.sum();
+		if(size>this.maxSize){
+			entries.sort(Comparator.comparingLong(entry -> entry.lastModified));
+			for(int i=0;(size>this.maxSize)&&(i<entries.size());i++){
+				final CachedEntry entry=entries.get(i);
+				if(Files.deleteIfExists(entry.path)){
+					reply++;
+				}
+				size-=entry.size;
+			}
+		}
+
+		return reply;
+	}
+
+	private static final class CachedEntry{
+
+		private final Path path;
+		private final long lastModified;
+		private final long size;
+
+		CachedEntry(final Path _path,final long _lastModified,final long _size){
+			this.path=_path;
+			this.lastModified=_lastModified;
+			this.size=_size;
+		}
+	}
+}
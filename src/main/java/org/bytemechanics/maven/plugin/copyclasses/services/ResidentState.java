@@ -0,0 +1,269 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+
+/**
+ * JVM resident state kept between builds of the same long lived JVM (as the maven daemon, mvnd, or an IDE embedded maven): 
+ * the indexes of the jars, the transformation plans of the copies and the persisted fingerprints.
+ * File based entries are keyed by the file path and validated against its size and modification time, so a modified file 
+ * is indexed (or loaded) again. The state holds at most maxEntries entries, evicting the least recently used ones
+ * @author afarre
+ * @since 2.1.0
+ */
+public class ResidentState {
+
+	public static final String DAEMON_PROPERTY="mvnd.home";
+	protected static final String INDEX_PREFIX="index:";
+	protected static final String COMPILED_INDEX_PREFIX="compiled-index:";
+	protected static final String PLAN_PREFIX="plan:";
+	protected static final String FINGERPRINTS_PREFIX="fingerprints:";
+
+	private static ResidentState shared;
+
+	/**
+	 * Supplier of a value that can fail reading a file
+	 * @param <T> supplied type
+	 */
+	@FunctionalInterface
+	public interface Loader<T>{
+		public T load() throws IOException;
+	}
+	/**
+	 * Compiler of a transformation plan
+	 */
+	@FunctionalInterface
+	public interface PlanCompiler{
+		public CompiledCopyPlan compile() throws MojoExecutionException;
+	}
+
+	private final LinkedHashMap<String,Entry> entries;
+	private int maxEntries;
+	private long hits;
+	private long misses;
+
+
+	/**
+	 * @param _maxEntries maximum entries to keep
+	 */
+	public ResidentState(final int _maxEntries) {
+		this.entries=new LinkedHashMap<>(16,0.75f,true);
+		this.maxEntries=Math.max(1,_maxEntries);
+		this.hits=0;
+		this.misses=0;
+	}
+
+	/**
+	 * Get the state shared by all the executions of this JVM, creating it if it does not exist yet
+	 * @param _maxEntries maximum entries to keep, the shared state is resized if it changes
+	 * @return the shared state
+	 */
+	public static synchronized ResidentState shared(final int _maxEntries){
+
+		if(shared==null){
+			shared=new ResidentState(_maxEntries);
+		}else{
+			shared.resize(_maxEntries);
+		}
+
+		return shared;
+	}
+	/**
+	 * @return true if running inside the maven daemon
+	 */
+	public static boolean isDaemon(){
+		return System.getProperty(DAEMON_PROPERTY)!=null;
+	}
+
+	public synchronized int size(){
+		return this.entries.size();
+	}
+	public synchronized int getMaxEntries(){
+		return this.maxEntries;
+	}
+	/**
+	 * @return number of entries reused since the state was created
+	 */
+	public synchronized long getHits(){
+		return this.hits;
+	}
+	/**
+	 * @return number of entries loaded since the state was created
+	 */
+	public synchronized long getMisses(){
+		return this.misses;
+	}
+
+	/**
+	 * Change the maximum entries to keep, evicting the least recently used entries if needed
+	 * @param _maxEntries maximum entries to keep
+	 */
+	public synchronized void resize(final int _maxEntries){
+		this.maxEntries=Math.max(1,_maxEntries);
+		evict();
+	}
+	/**
+	 * Discard all the entries
+	 */
+	public synchronized void clear(){
+		this.entries.clear();
+	}
+
+	/**
+	 * Get the index of the jar, indexing it if it is not known or if the jar has been modified since it was indexed
+	 * @param _file jar file
+	 * @param _reader reader implementation used to read the jar
+	 * @param _compiled true for the index of the compiled classes, false for the index of the sources
+	 * @param _indexer indexer of the jar
+	 * @return the index of the jar
+	 * @throws IOException if the jar can not be indexed
+	 */
+	public SourceJarIndex index(final Path _file,final ArchiveReader _reader,final boolean _compiled,final Loader<SourceJarIndex> _indexer) throws IOException{
+		return get(((_compiled)? COMPILED_INDEX_PREFIX : INDEX_PREFIX)+_reader+':'+_file.toAbsolutePath().normalize(), _file, _indexer);
+	}
+
+	/**
+	 * Get the transformation plan of the copy relocation (without annotation), compiling it if it is not known
+	 * @param _copy copy definition
+	 * @param _compiler compiler of the plan
+	 * @return the compiled plan
+	 * @throws MojoExecutionException if the plan can not be compiled
+	 */
+	public CompiledCopyPlan plan(final CopyDefinition _copy,final PlanCompiler _compiler) throws MojoExecutionException{
+
+		final String key=new StringBuilder(PLAN_PREFIX)
+									.append(_copy.getArtifact()).append('\n')
+									.append(_copy.getFromPackage()).append('\n')
+									.append(_copy.getToPackage()).append('\n')
+									.append(_copy.getSourceCharset())
+									.toString();
+		CompiledCopyPlan reply=(CompiledCopyPlan)lookup(key, -1, -1);
+
+		if(reply==null){
+			reply=_compiler.compile();
+			put(key, -1, -1, reply);
+		}
+
+		return reply;
+	}
+	/**
+	 * Get a copy of the fingerprints persisted at the file, if known and the file has not been modified since they were loaded or stored
+	 * @param _file fingerprints file
+	 * @return a copy of the fingerprints
+	 */
+	public Optional<Properties> getFingerprints(final Path _file){
+
+		Optional<Properties> reply=Optional.empty();
+
+		final Optional<BasicFileAttributes> attributes=attributes(_file);
+		if(attributes.isPresent()){
+			reply=Optional.ofNullable((Properties)lookup(FINGERPRINTS_PREFIX+_file.toAbsolutePath().normalize(), attributes.get().size(), attributes.get().lastModifiedTime().toMillis()))
+							.map(fingerprints -> (Properties)fingerprints.clone());
+		}
+
+		return reply;
+	}
+	/**
+	 * Keep a copy of the fingerprints just loaded from or stored at the file
+	 * @param _file fingerprints file
+	 * @param _fingerprints fingerprints with the same content of the file
+	 */
+	public void putFingerprints(final Path _file,final Properties _fingerprints){
+		attributes(_file)
+			.ifPresent(attributes -> put(FINGERPRINTS_PREFIX+_file.toAbsolutePath().normalize(), attributes.size(), attributes.lastModifiedTime().toMillis(), _fingerprints.clone()));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T get(final String _key,final Path _file,final Loader<T> _loader) throws IOException{
+
+		final BasicFileAttributes attributes=Files.readAttributes(_file, BasicFileAttributes.class);
+		final long size=attributes.size();
+		final long lastModified=attributes.lastModifiedTime().toMillis();
+		T reply=(T)lookup(_key, size, lastModified);
+
+		if(reply==null){
+			reply=_loader.load();
+			put(_key, size, lastModified, reply);
+		}
+
+		return reply;
+	}
+	private synchronized Object lookup(final String _key,final long _size,final long _lastModified){
+
+		Object reply=null;
+
+		final Entry entry=this.entries.get(_key);
+		if((entry!=null)&&(entry.size==_size)&&(entry.lastModified==_lastModified)){
+			reply=entry.value;
+			this.hits++;
+		}else{
+			if(entry!=null){
+				this.entries.remove(_key);
+			}
+			this.misses++;
+		}
+
+		return reply;
+	}
+	private synchronized void put(final String _key,final long _size,final long _lastModified,final Object _value){
+		this.entries.put(_key, new Entry(_size, _lastModified, _value));
+		evict();
+	}
+	private void evict(){
+
+		while(this.entries.size()>this.maxEntries){
+			final String eldest=this.entries.keySet().iterator().next();
+			this.entries.remove(eldest);
+		}
+	}
+	private static Optional<BasicFileAttributes> attributes(final Path _file){
+
+		Optional<BasicFileAttributes> reply;
+
+		try{
+			reply=Optional.of(Files.readAttributes(_file, BasicFileAttributes.class));
+		}catch(IOException e){
+			reply=Optional.empty();
+		}
+
+		return reply;
+	}
+
+
+	private static final class Entry{
+
+		private final long size;
+		private final long lastModified;
+		private final Object value;
+
+		Entry(final long _size,final long _lastModified,final Object _value){
+			this.size=_size;
+			this.lastModified=_lastModified;
+			this.value=_value;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+
+/**
+ * Opened sources archive, read by one of the {@link org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader} implementations.
+ * Implementations must allow concurrent reads, the opened archives are shared by the copies of the session
+ * @author afarre
+ * @since 2.1.0
+ */
+public interface SourceArchive extends Closeable{
+
+	/**
+	 * @return archive file
+	 */
+	public Path getFile();
+
+	/**
+	 * @return the entries of the archive, in archive order when the implementation knows it
+	 * @throws IOException if the entries can not be read
+	 */
+	public List<JarEntry> getEntries() throws IOException;
+
+	/**
+	 * Open the content of an entry returned by {@link #getEntries()}
+	 * @param _entry archive entry
+	 * @return the entry content stream
+	 * @throws IOException if the entry can not be read or the archive is closed
+	 */
+	public InputStream getInputStream(JarEntry _entry) throws IOException;
+}
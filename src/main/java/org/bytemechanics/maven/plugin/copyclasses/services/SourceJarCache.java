@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.maven.execution.MavenSession;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Cache of the opened sources jars and their entries indexes, so the central directory of each sources jar 
+ * is read once per build instead of once per copy and module. When the plugin is declared as extension the
+ * {@link org.bytemechanics.maven.plugin.copyclasses.CopySourcesLifecycleParticipant} enables the session scope: the cache is kept
+ * at the repository session data and closed by the participant at the end of the session. Otherwise nobody would close it at the
+ * end of the session, so each execution gets its own cache, closed by the copy service at the end of the mojo.
+ * Jars modified after being opened (for example a snapshot downloaded again) are reopened.
+ * @author afarre
+ * @since 2.1.0
+ */
+public class SourceJarCache implements AutoCloseable{
+
+	protected static final String SESSION_KEY=SourceJarCache.class.getName();
+	protected static final String SCOPE_KEY=SourceJarCache.class.getName()+".sessionScoped";
+
+	private final Map<Path,OpenedSourceJar> opened;
+	private final List<OpenedSourceJar> retired;
+	private volatile boolean sessionScoped;
+
+
+	public SourceJarCache() {
+		this.opened=new ConcurrentHashMap<>();
+		this.retired=new ArrayList<>();
+		this.sessionScoped=false;
+	}
+
+	/**
+	 * Enable the session scope of the cache, only called by the lifecycle participant that closes it at the end of the session
+	 * @param _session maven session
+	 */
+	public static void enableSessionScope(final MavenSession _session){
+		Optional.ofNullable(_session)
+				.map(MavenSession::getRepositorySession)
+				.map(RepositorySystemSession::getData)
+				.ifPresent(data -> data.set(SCOPE_KEY, Boolean.TRUE));
+	}
+
+	/**
+	 * Get the cache of the session, creating it if it does not exist yet
+	 * @param _session maven session
+	 * @return the cache of the session, or a new cache not shared (to be closed by the caller) if the session scope is not enabled
+	 * @see #enableSessionScope(MavenSession)
+	 * @see #isSessionScoped()
+	 */
+	public static SourceJarCache of(final MavenSession _session){
+
+		final SourceJarCache reply=new SourceJarCache();
+
+		return Optional.ofNullable(_session)
+						.map(MavenSession::getRepositorySession)
+						.map(RepositorySystemSession::getData)
+						.filter(data -> Boolean.TRUE.equals(data.get(SCOPE_KEY)))
+						.map(data -> register(data, reply))
+						.orElse(reply);
+	}
+	private static SourceJarCache register(final SessionData _data,final SourceJarCache _candidate){
+
+		Object current=_data.get(SESSION_KEY);
+
+		if(!(current instanceof SourceJarCache)){
+			_candidate.sessionScoped=true;
+			_data.set(SESSION_KEY, null, _candidate);
+			current=_data.get(SESSION_KEY);
+		}
+
+		return (current instanceof SourceJarCache)? (SourceJarCache)current : _candidate;
+	}
+
+	/**
+	 * Close and remove the cache of the session, if any
+	 * @param _session maven session
+	 * @throws IOException if any jar can not be closed
+	 */
+	public static void release(final MavenSession _session) throws IOException{
+
+		final Optional<SessionData> data=Optional.ofNullable(_session)
+														.map(MavenSession::getRepositorySession)
+														.map(RepositorySystemSession::getData);
+		final Object current=data.map(sessionData -> sessionData.get(SESSION_KEY))
+									.orElse(null);
+		if(current instanceof SourceJarCache){
+			data.get().set(SESSION_KEY, current, null);
+			((SourceJarCache)current).close();
+		}
+	}
+
+	/**
+	 * @return true if the cache is kept with the session and closed at its end, false if must be closed by its user
+	 */
+	public boolean isSessionScoped(){
+		return this.sessionScoped;
+	}
+
+	/**
+	 * @return number of jars currently opened
+	 */
+	public int size(){
+		return this.opened.size();
+	}
+
+	/**
+	 * Get the opened sources jar, opening and indexing it with the {@link ArchiveReader#JAR} reader if it is not opened yet or if it has been modified since
+	 * @param _file sources jar
+	 * @return the shared opened sources jar, closing it does nothing
+	 * @throws IOException if the jar can not be opened
+	 */
+	public OpenedSourceJar open(final Path _file) throws IOException{
+		return open(_file, ArchiveReader.JAR);
+	}
+	/**
+	 * Get the opened sources jar, opening and indexing it if it is not opened yet, if it has been modified since or if it was opened with other reader
+	 * @param _file sources jar
+	 * @param _reader reader implementation
+	 * @return the shared opened sources jar, closing it does nothing
+	 * @throws IOException if the jar can not be opened
+	 */
+	public OpenedSourceJar open(final Path _file,final ArchiveReader _reader) throws IOException{
+		return open(_file, _reader, null);
+	}
+	/**
+	 * Get the opened sources jar, opening it if it is not opened yet, if it has been modified since or if it was opened with other reader.
+	 * The index of the jar is reused from the resident state, if known
+	 * @param _file sources jar
+	 * @param _reader reader implementation
+	 * @param _state resident state or null to always index the opened jars
+	 * @return the shared opened sources jar, closing it does nothing
+	 * @throws IOException if the jar can not be opened
+	 */
+	public OpenedSourceJar open(final Path _file,final ArchiveReader _reader,final ResidentState _state) throws IOException{
+
+		final Path key=_file.toAbsolutePath().normalize();
+		OpenedSourceJar reply=this.opened.get(key);
+
+		if((reply==null)||(reply.getReader()!=_reader)||(!reply.isCurrent())){
+			synchronized(this){
+				reply=this.opened.get(key);
+				if((reply==null)||(reply.getReader()!=_reader)||(!reply.isCurrent())){
+					if(reply!=null){
+						// can be in use by other copy, closed with the cache
+						this.retired.add(reply);
+					}
+					reply=OpenedSourceJar.open(key, _reader, true, _state);
+					this.opened.put(key, reply);
+				}
+			}
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Close all the opened jars
+	 * @throws IOException if any jar can not be closed, after trying to close all of them
+	 */
+	@Override
+	public synchronized void close() throws IOException{
+
+		IOException failure=null;
+
+		final List<OpenedSourceJar> jars=new ArrayList<>(this.opened.values());
+		jars.addAll(this.retired);
+		this.opened.clear();
+		this.retired.clear();
+		for(OpenedSourceJar jar:jars){
+			try{
+				jar.release();
+			}catch(IOException e){
+				if(failure==null){
+					failure=e;
+				}else{
+					failure.addSuppressed(e);
+				}
+			}
+		}
+		if(failure!=null){
+			throw failure;
+		}
+	}
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Index of the java sources of a sources jar by full qualified class name, built in one pass over the jar central directory.
+ * Resolves the class selections of the copies:
+ * <ul>
+ * <li>org.foo.Bar: the class org.foo.Bar</li>
+ * <li>org.foo.*: all the classes of the package org.foo</li>
+ * <li>org.foo.**: all the classes of the package org.foo and its subpackages</li>
+ * <li>**: all the classes</li>
+ * </ul>
+ * Classes are kept sorted, so a package selection is a range lookup instead of a scan of the entries.
+ * The position of each class at the jar is kept too, in order to read the selected classes in archive order
+ * @author afarre
+ * @since 2.1.0
+ */
+public class SourceJarIndex {
+
+	public static final String PACKAGE_WILDCARD=".*";
+	public static final String SUBPACKAGES_WILDCARD=".**";
+	public static final String ALL_WILDCARD="**";
+
+	private final NavigableMap<String,JarEntry> classes;
+	private final Map<String,Integer> positions;
+	private final int entries;
+
+
+	public SourceJarIndex(final NavigableMap<String,JarEntry> _classes) {
+		this(_classes,sortedPositions(_classes),_classes.size());
+	}
+	/**
+	 * @param _classes entries by class name
+	 * @param _positions position of each class at the jar
+	 * @param _entries number of entries of the jar, including the ones that are not classes
+	 */
+	public SourceJarIndex(final NavigableMap<String,JarEntry> _classes,final Map<String,Integer> _positions,final int _entries) {
+		this.classes=_classes;
+		this.positions=_positions;
+		this.entries=_entries;
+	}
+
+	private static Map<String,Integer> sortedPositions(final NavigableMap<String,JarEntry> _classes){
+
+		final Map<String,Integer> reply=new HashMap<>();
+
+		for(String className:_classes.keySet()){
+			reply.put(className, reply.size());
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Index the java sources of the jar. Entries that are not classes (directories, resources, package-info and module-info) are ignored
+	 * @param _jar sources jar
+	 * @return the index of the jar
+	 */
+	public static SourceJarIndex of(final JarFile _jar){
+		return of(Collections.list(_jar.entries()));
+	}
+	/**
+	 * Index the java sources of the archive. Entries that are not classes (directories, resources, package-info and module-info) are ignored
+	 * @param _archive sources archive
+	 * @return the index of the archive
+	 * @throws IOException if the archive entries can not be read
+	 */
+	public static SourceJarIndex of(final SourceArchive _archive) throws IOException{
+		return of(_archive.getEntries(),CopyServiceImpl.JAVA_SOURCE_EXTENSION);
+	}
+	/**
+	 * Index the compiled classes of the archive, nested classes included (org.foo.Bar$Inner).
+	 * Entries that are not classes (directories, resources, package-info, module-info and multi-release versions) are ignored
+	 * @param _archive binary archive
+	 * @return the index of the archive
+	 * @throws IOException if the archive entries can not be read
+	 */
+	public static SourceJarIndex ofCompiled(final SourceArchive _archive) throws IOException{
+		return of(_archive.getEntries(),CopyServiceImpl.CLASS_FILE_EXTENSION);
+	}
+	private static SourceJarIndex of(final List<JarEntry> _entries){
+		return of(_entries,CopyServiceImpl.JAVA_SOURCE_EXTENSION);
+	}
+	private static SourceJarIndex of(final List<JarEntry> _entries,final String _extension){
+
+		final NavigableMap<String,JarEntry> reply=new TreeMap<>();
+		final Map<String,Integer> positions=new HashMap<>();
+
+		int position=0;
+		for(JarEntry entry:_entries){
+			final int entryPosition=position++;
+			toClassName(entry.getName(),_extension)
+				.ifPresent(className -> {
+					reply.put(className, entry);
+					positions.put(className, entryPosition);
+				});
+		}
+
+		return new SourceJarIndex(reply,positions,_entries.size());
+	}
+
+	protected static Optional<String> toClassName(final String _entryName){
+		return toClassName(_entryName,CopyServiceImpl.JAVA_SOURCE_EXTENSION);
+	}
+	protected static Optional<String> toClassName(final String _entryName,final String _extension){
+
+		return Optional.of(_entryName)
+							.filter(name -> name.endsWith(_extension))
+							.filter(name -> !name.startsWith(CopyServiceImpl.METAINF+'/'))
+							.map(name -> name.substring(0,name.length()-_extension.length()))
+							.filter(name -> isIdentifier(name.substring(name.lastIndexOf('/')+1)))
+							.map(name -> name.replace('/','.'));
+	}
+
+	private static boolean isIdentifier(final String _name){
+
+		boolean reply=(!_name.isEmpty())&&(Character.isJavaIdentifierStart(_name.charAt(0)));
+
+		for(int i=1;(reply)&&(i<_name.length());i++){
+			reply=Character.isJavaIdentifierPart(_name.charAt(i));
+		}
+
+		return reply;
+	}
+
+	/**
+	 * @return number of indexed classes
+	 */
+	public int size(){
+		return this.classes.size();
+	}
+
+	/**
+	 * @return number of entries of the jar, including the ones that are not classes
+	 */
+	public int getEntries(){
+		return this.entries;
+	}
+
+	/**
+	 * @param _clazz full qualified class name
+	 * @return the position of the class source at the jar (in central directory order) or Integer.MAX_VALUE if it is not indexed
+	 */
+	public int getPosition(final String _clazz){
+		return this.positions.getOrDefault(_clazz, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param _clazz full qualified class name
+	 * @return the entry of the class source
+	 */
+	public Optional<JarEntry> getEntry(final String _clazz){
+		return Optional.ofNullable(this.classes.get(_clazz));
+	}
+
+	/**
+	 * @param _clazz full qualified class name
+	 * @return the nested classes of the class (only indexed for compiled classes), sorted by class name
+	 */
+	public Map<String,JarEntry> getNested(final String _clazz){
+		// '%' follows '$' so the range holds all the names starting with the class name and '$'
+		return Collections.unmodifiableMap(this.classes.subMap(_clazz+'$',true,_clazz+'%',false));
+	}
+
+	/**
+	 * @param _selection class name or wildcard selection
+	 * @return true if the selection is a wildcard
+	 */
+	public static boolean isWildcard(final String _selection){
+		return (_selection!=null)&&((_selection.endsWith(PACKAGE_WILDCARD))||(_selection.endsWith(SUBPACKAGES_WILDCARD))||(_selection.equals(ALL_WILDCARD)));
+	}
+
+	/**
+	 * Check if the class is matched by the selection
+	 * @param _selection class name or wildcard selection
+	 * @param _clazz full qualified class name
+	 * @return true if the class is selected
+	 */
+	public static boolean matches(final String _selection,final String _clazz){
+
+		final boolean reply;
+
+		if(ALL_WILDCARD.equals(_selection)){
+			reply=true;
+		}else if(_selection.endsWith(SUBPACKAGES_WILDCARD)){
+			final String prefix=_selection.substring(0,_selection.length()-SUBPACKAGES_WILDCARD.length()+1);
+			reply=_clazz.startsWith(prefix);
+		}else if(_selection.endsWith(PACKAGE_WILDCARD)){
+			final String prefix=_selection.substring(0,_selection.length()-PACKAGE_WILDCARD.length()+1);
+			reply=(_clazz.startsWith(prefix))&&(_clazz.indexOf('.',prefix.length())<0);
+		}else{
+			reply=_selection.equals(_clazz);
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Resolve the selection against the index
+	 * @param _selection class name or wildcard selection
+	 * @return the selected classes with their entries, sorted by class name
+	 */
+	public Map<String,JarEntry> select(final String _selection){
+
+		final Map<String,JarEntry> reply=new LinkedHashMap<>();
+
+		if(ALL_WILDCARD.equals(_selection)){
+			reply.putAll(this.classes);
+		}else if(isWildcard(_selection)){
+			final boolean subpackages=_selection.endsWith(SUBPACKAGES_WILDCARD);
+			final String prefix=_selection.substring(0,_selection.length()-((subpackages)? SUBPACKAGES_WILDCARD : PACKAGE_WILDCARD).length()+1);
+			// '/' follows '.' so the range holds all the names starting with the prefix
+			for(Map.Entry<String,JarEntry> indexed:this.classes.subMap(prefix,true,prefix.substring(0,prefix.length()-1)+'/',false).entrySet()){
+				if((subpackages)||(indexed.getKey().indexOf('.',prefix.length())<0)){
+					reply.put(indexed.getKey(), indexed.getValue());
+				}
+			}
+		}else{
+			getEntry(_selection)
+				.ifPresent(entry -> reply.put(_selection, entry));
+		}
+
+		return Collections.unmodifiableMap(reply);
+	}
+}
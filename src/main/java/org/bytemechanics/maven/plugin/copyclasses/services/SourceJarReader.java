@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reader of the class sources of a sources jar in one of two modes:
+ * <ul>
+ * <li>Random access: each class is read through the archive reader (one seek per class)</li>
+ * <li>Sequential: the jar is streamed once front to back and each class is read when the stream passes by its entry,
+ * so the classes must be requested in archive order. Classes requested behind the stream position (or not found by the stream)
+ * are read with random access</li>
+ * </ul>
+ * The sequential mode pays when the copy reads a large part of the jar, see {@link #isSequential(int, int)}
+ * @author afarre
+ * @since 2.1.0
+ */
+public class SourceJarReader implements Closeable {
+
+	public static final int SEQUENTIAL_MIN_CLASSES=32;
+	public static final double SEQUENTIAL_MIN_RATIO=0.25d;
+	public static final int STREAM_BUFFER=64*1024;
+
+	private final SourceArchive archive;
+	private final Path file;
+	private final SourceJarIndex index;
+	private final boolean sequential;
+	private ZipInputStream stream;
+	private int nextPosition;
+	private boolean ended;
+	private int sequentialReads;
+	private int randomReads;
+
+
+	/**
+	 * @param _archive opened sources archive (not closed by this reader)
+	 * @param _file sources jar file
+	 * @param _index index of the jar
+	 * @param _sequential true to stream the jar, false to use random access
+	 */
+	public SourceJarReader(final SourceArchive _archive,final Path _file,final SourceJarIndex _index,final boolean _sequential) {
+		this.archive=_archive;
+		this.file=_file;
+		this.index=_index;
+		this.sequential=_sequential;
+		this.stream=null;
+		this.nextPosition=0;
+		this.ended=false;
+		this.sequentialReads=0;
+		this.randomReads=0;
+	}
+
+	/**
+	 * Choose the sequential mode when the copy selects at least SEQUENTIAL_MIN_CLASSES classes
+	 * and at least SEQUENTIAL_MIN_RATIO of the jar entries
+	 * @param _selected number of selected classes
+	 * @param _entries number of entries of the jar
+	 * @return true if the jar should be read sequentially
+	 */
+	public static boolean isSequential(final int _selected,final int _entries){
+		return (_selected>=SEQUENTIAL_MIN_CLASSES)&&(_selected>=_entries*SEQUENTIAL_MIN_RATIO);
+	}
+
+	public boolean isSequential() {
+		return sequential;
+	}
+	/**
+	 * @return number of classes read from the sequential stream
+	 */
+	public int getSequentialReads() {
+		return sequentialReads;
+	}
+	/**
+	 * @return number of classes read with random access
+	 */
+	public int getRandomReads() {
+		return randomReads;
+	}
+
+	/**
+	 * Open the class source. In sequential mode the returned stream is only valid until the next class is requested
+	 * @param _clazz full qualified class name
+	 * @param _entry class source entry
+	 * @return the class source content stream
+	 * @throws IOException if the entry can not be read
+	 */
+	public InputStream getInputStream(final String _clazz,final JarEntry _entry) throws IOException{
+
+		InputStream reply=null;
+
+		if((this.sequential)&&(!this.ended)&&(this.index.getPosition(_clazz)>=this.nextPosition)){
+			reply=seek(_entry.getName());
+		}
+		if(reply!=null){
+			this.sequentialReads++;
+		}else{
+			this.randomReads++;
+			reply=this.archive.getInputStream(_entry);
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Advance the stream up to the entry. If the stream can not be read any more the rest of classes are read with random access
+	 */
+	private InputStream seek(final String _entryName) throws IOException{
+
+		InputStream reply=null;
+
+		try{
+			if(this.stream==null){
+				this.stream=new ZipInputStream(new BufferedInputStream(Files.newInputStream(this.file),STREAM_BUFFER));
+			}
+			while((reply==null)&&(!this.ended)){
+				final ZipEntry entry=this.stream.getNextEntry();
+				if(entry==null){
+					this.ended=true;
+				}else{
+					this.nextPosition++;
+					if(_entryName.equals(entry.getName())){
+						reply=new EntryInputStream(this.stream);
+					}
+				}
+			}
+		}catch(ZipException e){
+			this.ended=true;
+		}
+
+		return reply;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(this.stream!=null){
+			this.stream.close();
+		}
+	}
+
+
+	/**
+	 * Stream of the current entry, closing it does not close the jar stream
+	 */
+	private static final class EntryInputStream extends FilterInputStream{
+
+		EntryInputStream(final InputStream _stream){
+			super(_stream);
+		}
+
+		@Override
+		public void close() throws IOException {
+			// the jar stream is closed by the reader
+		}
+	}
+}
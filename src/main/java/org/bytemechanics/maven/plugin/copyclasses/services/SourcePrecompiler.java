@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+/**
+ * In-process compiler of the generated sources of a copy. The sources are compiled with the system java compiler against the JDK
+ * and the rest of the generated sources (not compiled, only resolved), and the class files are kept in memory.
+ * The compiled classes are stored at the cache as a single entry keyed by the hash of the compiled sources, the rest of the sources 
+ * resolved by the compiler, the compiler options and the compiler version, so later builds (of any project copying the same classes) reuse them without compiling
+ * @author afarre
+ * @since 2.1.0
+ */
+public class SourcePrecompiler {
+
+	private static final long ENTRY_TIME=0l;
+
+	private final JavaCompiler compiler;
+	private final RelocationCache cache;
+	private final Charset encoding;
+	private final List<String> options;
+
+
+	/**
+	 * @param _compiler java compiler
+	 * @param _cache cache of the compiled classes or null to always compile
+	 * @param _encoding encoding of the generated sources
+	 * @param _options compiler options (release, source and target, debug information...)
+	 */
+	public SourcePrecompiler(final JavaCompiler _compiler,final RelocationCache _cache,final Charset _encoding,final List<String> _options) {
+		this.compiler=_compiler;
+		this.cache=_cache;
+		this.encoding=_encoding;
+		this.options=Collections.unmodifiableList(new ArrayList<>(_options));
+	}
+
+	/**
+	 * @return the compiler of the running jdk, empty when running on a jre
+	 */
+	public static Optional<JavaCompiler> systemCompiler(){
+		return Optional.ofNullable(ToolProvider.getSystemJavaCompiler());
+	}
+
+	public Optional<RelocationCache> getCache() {
+		return Optional.ofNullable(cache);
+	}
+	public Charset getEncoding() {
+		return encoding;
+	}
+	public List<String> getOptions() {
+		return options;
+	}
+
+	/**
+	 * Key of the compiled classes of a set of sources. Besides the compiled sources, the key includes every source of the sources folder,
+	 * because the compiler resolves them and the compiled classes depend on them (inherited members, inlined constants...)
+	 * @param _sourcesPath generated sources folder
+	 * @param _sources generated sources to compile
+	 * @param _toolVersion plugin version
+	 * @return the hexadecimal key
+	 * @throws IOException if any source can not be read
+	 */
+	public String key(final Path _sourcesPath,final List<Path> _sources,final String _toolVersion) throws IOException{
+
+		final MessageDigest digest=RelocationCache.newDigest();
+
+		for(String value:new String[]{_toolVersion,System.getProperty("java.vendor"),System.getProperty("java.version"),this.encoding.name(),String.join(" ",this.options)}){
+			digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+		}
+		for(Path source:sorted(_sourcesPath, _sources)){
+			digest.update(relative(_sourcesPath, source).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+		}
+		digest.update((byte)0);
+		for(Path source:sorted(_sourcesPath, sourcePath(_sourcesPath))){
+			digest.update(relative(_sourcesPath, source).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+			digest.update(Files.readAllBytes(source));
+			digest.update((byte)0);
+		}
+
+		return RelocationCache.toHex(digest.digest());
+	}
+	private static List<Path> sourcePath(final Path _sourcesPath) throws IOException{
+		try(Stream<Path> files=Files.walk(_sourcesPath)){
+			return files.filter(Files::isRegularFile)
+						.filter(file -> file.getFileName().toString().endsWith(JavaFileObject.Kind.SOURCE.extension))
+						.collect(Collectors.toList());
+		}
+	}
+	private static String relative(final Path _sourcesPath,final Path _source){
+		return _sourcesPath.relativize(_source).toString().replace('\\','/');
+	}
+	private static List<Path> sorted(final Path _sourcesPath,final List<Path> _sources){
+		return _sources.stream()
+						.sorted((source1,source2) -> relative(_sourcesPath, source1).compareTo(relative(_sourcesPath, source2)))
+						.collect(Collectors.toList());
+	}
+
+	/**
+	 * Compile the sources. Classes referenced by the sources are resolved from the JDK and the generated sources folder, but only the given sources are compiled
+	 * @param _sourcesPath generated sources folder
+	 * @param _sources generated sources to compile
+	 * @return the compilation result
+	 * @throws IOException if the compiler file manager fails
+	 */
+	public Compilation compile(final Path _sourcesPath,final List<Path> _sources) throws IOException{
+
+		final Map<String,ByteArrayOutputStream> outputs=new TreeMap<>();
+		final DiagnosticCollector<JavaFileObject> diagnostics=new DiagnosticCollector<>();
+		final boolean success;
+
+		try(StandardJavaFileManager standardManager=this.compiler.getStandardFileManager(diagnostics, Locale.ROOT, this.encoding)){
+			standardManager.setLocation(StandardLocation.SOURCE_PATH, Collections.singletonList(_sourcesPath.toFile()));
+			standardManager.setLocation(StandardLocation.CLASS_PATH, Collections.emptyList());
+			final ForwardingJavaFileManager<StandardJavaFileManager> memoryManager=new ForwardingJavaFileManager<StandardJavaFileManager>(standardManager){
+				@Override
+				public JavaFileObject getJavaFileForOutput(final Location _location,final String _className,final JavaFileObject.Kind _kind,final FileObject _sibling) throws IOException {
+					final String name=_className.replace('.','/')+_kind.extension;
+					return new SimpleJavaFileObject(URI.create("memory:///"+name),_kind){
+						@Override
+						public OutputStream openOutputStream() throws IOException {
+							final ByteArrayOutputStream reply=new ByteArrayOutputStream();
+							synchronized(outputs){
+								outputs.put(name, reply);
+							}
+							return reply;
+						}
+					};
+				}
+			};
+			final List<String> compilerOptions=new ArrayList<>(this.options);
+			compilerOptions.add("-implicit:none");
+			compilerOptions.add("-proc:none");
+			success=this.compiler.getTask(null, memoryManager, diagnostics, compilerOptions, null, standardManager.getJavaFileObjectsFromFiles(sorted(_sourcesPath, _sources).stream().map(Path::toFile).collect(Collectors.toList())))
+										.call();
+		}
+
+		final Map<String,byte[]> classes=new TreeMap<>();
+		outputs.forEach((name,output) -> classes.put(name, output.toByteArray()));
+		final List<String> errors=diagnostics.getDiagnostics()
+												.stream()
+													.filter(diagnostic -> diagnostic.getKind()==Diagnostic.Kind.ERROR)
+													.map(diagnostic -> diagnostic.getSource()==null? diagnostic.getMessage(Locale.ROOT) : diagnostic.getSource().getName()+':'+diagnostic.getLineNumber()+": "+diagnostic.getMessage(Locale.ROOT))
+													.collect(Collectors.toList());
+
+		return new Compilation(success, classes, errors);
+	}
+
+	/**
+	 * Pack the class files in a single cache entry (a zip with fixed entry times, so the same classes produce the same entry)
+	 * @param _classes class files by relative path
+	 * @return the packed class files
+	 * @throws IOException if the entry can not be packed
+	 */
+	public static byte[] pack(final Map<String,byte[]> _classes) throws IOException{
+
+		final ByteArrayOutputStream reply=new ByteArrayOutputStream();
+
+		try(ZipOutputStream outputStream=new ZipOutputStream(reply)){
+			for(Map.Entry<String,byte[]> clazz:new TreeMap<>(_classes).entrySet()){
+				final ZipEntry entry=new ZipEntry(clazz.getKey());
+				entry.setTime(ENTRY_TIME);
+				outputStream.putNextEntry(entry);
+				outputStream.write(clazz.getValue());
+				outputStream.closeEntry();
+			}
+		}
+
+		return reply.toByteArray();
+	}
+	/**
+	 * Unpack the class files of a cache entry
+	 * @param _packed packed class files
+	 * @return the class files by relative path
+	 * @throws IOException if the entry is corrupted
+	 */
+	public static Map<String,byte[]> unpack(final byte[] _packed) throws IOException{
+
+		final Map<String,byte[]> reply=new TreeMap<>();
+
+		try(ZipInputStream inputStream=new ZipInputStream(new ByteArrayInputStream(_packed))){
+			ZipEntry entry=inputStream.getNextEntry();
+			while(entry!=null){
+				final ByteArrayOutputStream content=new ByteArrayOutputStream();
+				final byte[] buffer=new byte[8192];
+				int read=inputStream.read(buffer);
+				while(read>=0){
+					content.write(buffer,0,read);
+					read=inputStream.read(buffer);
+				}
+				reply.put(entry.getName(), content.toByteArray());
+				entry=inputStream.getNextEntry();
+			}
+		}
+
+		return reply;
+	}
+
+
+	/**
+	 * Result of a compilation
+	 */
+	public static final class Compilation{
+
+		private final boolean success;
+		private final Map<String,byte[]> classes;
+		private final List<String> errors;
+
+		Compilation(final boolean _success,final Map<String,byte[]> _classes,final List<String> _errors){
+			this.success=_success;
+			this.classes=Collections.unmodifiableMap(_classes);
+			this.errors=Collections.unmodifiableList(_errors);
+		}
+
+		public boolean isSuccess() {
+			return success;
+		}
+		/**
+		 * @return the class files by relative path (org/foo/Bar.class)
+		 */
+		public Map<String,byte[]> getClasses() {
+			return classes;
+		}
+		public List<String> getErrors() {
+			return errors;
+		}
+	}
+}
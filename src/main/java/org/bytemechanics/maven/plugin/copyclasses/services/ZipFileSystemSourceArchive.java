@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Source archive read with the zip {@link FileSystem} provider of the JDK. 
+ * The provider does not expose the archive order, so the entries are listed sorted by name. 
+ * Neither exposes the extra fields of the entries, that tell if their time is an instant (extended timestamp or NTFS) or a local 
+ * MS-DOS date-time, so they are taken from the central directory parsed as {@link MappedSourceArchive} does
+ * @author afarre
+ * @since 2.1.0
+ */
+public class ZipFileSystemSourceArchive implements SourceArchive{
+
+	public static final String ZIP_ATTRIBUTES="zip:*";
+	public static final String ZIP_CRC_ATTRIBUTE="crc";
+	public static final String ZIP_COMPRESSED_SIZE_ATTRIBUTE="compressedSize";
+
+	private final Path file;
+	private final FileSystem fileSystem;
+
+
+	public ZipFileSystemSourceArchive(final Path _file,final FileSystem _fileSystem) {
+		this.file=_file;
+		this.fileSystem=_fileSystem;
+	}
+
+	/**
+	 * @param _file sources jar
+	 * @return the archive read with a new zip file system
+	 * @throws IOException if the jar can not be opened
+	 */
+	public static ZipFileSystemSourceArchive open(final Path _file) throws IOException{
+		return new ZipFileSystemSourceArchive(_file,FileSystems.newFileSystem(_file,(ClassLoader)null));
+	}
+
+	@Override
+	public Path getFile() {
+		return file;
+	}
+
+	@Override
+	public List<JarEntry> getEntries() throws IOException{
+
+		final Map<String,byte[]> extras=getExtras();
+		try(Stream<Path> paths=Files.walk(this.fileSystem.getPath("/"))){
+			return paths.filter(Files::isRegularFile)
+						.sorted(Comparator.comparing(Path::toString))
+						.map(path -> toEntry(path, extras))
+						.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Extra fields of the entries by name. Archives the central directory parser does not support (ZIP64 or larger than 2GB) 
+	 * are listed without extra fields, so their entry times are read as local MS-DOS date-times
+	 */
+	private Map<String,byte[]> getExtras(){
+		try(MappedSourceArchive centralDirectory=MappedSourceArchive.open(this.file)){
+			return centralDirectory.getEntries()
+									.stream()
+										.filter(entry -> entry.getExtra()!=null)
+										.collect(Collectors.toMap(JarEntry::getName, JarEntry::getExtra, (first,second) -> first));
+		}catch(IOException e){
+			return Collections.emptyMap();
+		}
+	}
+
+	private JarEntry toEntry(final Path _path,final Map<String,byte[]> _extras){
+
+		final JarEntry reply=new JarEntry(_path.toString().substring(1));
+
+		try{
+			final BasicFileAttributes attributes=Files.readAttributes(_path, BasicFileAttributes.class);
+			reply.setSize(attributes.size());
+			reply.setTime(attributes.lastModifiedTime().toMillis());
+			Optional.ofNullable(_extras.get(reply.getName()))
+						.ifPresent(reply::setExtra);
+			final Map<String,Object> zipAttributes=Files.readAttributes(_path, ZIP_ATTRIBUTES);
+			final Object crc=zipAttributes.get(ZIP_CRC_ATTRIBUTE);
+			if(crc instanceof Long){
+				reply.setCrc((Long)crc);
+			}
+			final Object compressedSize=zipAttributes.get(ZIP_COMPRESSED_SIZE_ATTRIBUTE);
+			if(compressedSize instanceof Long){
+				reply.setCompressedSize((Long)compressedSize);
+			}
+		}catch(IOException|UnsupportedOperationException|IllegalArgumentException e){
+			// the entry is kept with the attributes read, the unknown ones are not used to detect its changes
+		}
+
+		return reply;
+	}
+
+	@Override
+	public InputStream getInputStream(final JarEntry _entry) throws IOException {
+		return Files.newInputStream(this.fileSystem.getPath(_entry.getName()));
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.fileSystem.close();
+	}
+}
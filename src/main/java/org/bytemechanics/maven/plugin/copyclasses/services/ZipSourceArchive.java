@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Source archive read with {@link JarFile} or {@link ZipFile}. 
+ * Jars are not verified: its integrity is already checked by the repository checksums and the jar signatures do not apply to the copied sources
+ * @author afarre
+ * @since 2.1.0
+ */
+public class ZipSourceArchive implements SourceArchive{
+
+	private final Path file;
+	private final ZipFile zip;
+
+
+	public ZipSourceArchive(final Path _file,final ZipFile _zip) {
+		this.file=_file;
+		this.zip=_zip;
+	}
+
+	/**
+	 * @param _file sources jar
+	 * @return the archive read with a not verified {@link JarFile}
+	 * @throws IOException if the jar can not be opened
+	 */
+	public static ZipSourceArchive jar(final Path _file) throws IOException{
+		return new ZipSourceArchive(_file,new JarFile(_file.toFile(),false,ZipFile.OPEN_READ));
+	}
+	/**
+	 * @param _file sources jar
+	 * @return the archive read with a {@link ZipFile}, without the manifest and signatures handling of {@link JarFile}
+	 * @throws IOException if the jar can not be opened
+	 */
+	public static ZipSourceArchive zip(final Path _file) throws IOException{
+		return new ZipSourceArchive(_file,new ZipFile(_file.toFile(),ZipFile.OPEN_READ));
+	}
+
+	@Override
+	public Path getFile() {
+		return file;
+	}
+
+	@Override
+	public List<JarEntry> getEntries(){
+
+		final List<JarEntry> reply=new ArrayList<>(this.zip.size());
+
+		final Enumeration<? extends ZipEntry> entries=this.zip.entries();
+		while(entries.hasMoreElements()){
+			final ZipEntry entry=entries.nextElement();
+			reply.add((entry instanceof JarEntry)? (JarEntry)entry : new JarEntry(entry));
+		}
+
+		return reply;
+	}
+
+	@Override
+	public InputStream getInputStream(final JarEntry _entry) throws IOException {
+		return this.zip.getInputStream(_entry);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.zip.close();
+	}
+}
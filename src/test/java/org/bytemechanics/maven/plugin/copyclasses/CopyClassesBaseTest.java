@@ -20,18 +20,28 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 import mockit.Expectations;
 import mockit.Injectable;
 import mockit.Mocked;
 import mockit.Tested;
+import mockit.Verifications;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenExecutionRequest;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Resource;
@@ -40,12 +50,22 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
+import org.apache.maven.shared.transfer.artifact.DefaultArtifactCoordinate;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolverException;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResult;
 import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+import org.bytemechanics.maven.plugin.copyclasses.enums.CopyDateSource;
 import org.bytemechanics.maven.plugin.copyclasses.enums.Scope;
+import org.bytemechanics.maven.plugin.copyclasses.report.ExecutionReport;
+import org.bytemechanics.maven.plugin.copyclasses.services.CopyPipeline;
+import org.bytemechanics.maven.plugin.copyclasses.services.BuildCacheDescriptor;
 import org.bytemechanics.maven.plugin.copyclasses.services.CopyService;
+import org.bytemechanics.maven.plugin.copyclasses.services.CopyServiceImpl;
+import org.bytemechanics.maven.plugin.copyclasses.services.FingerprintStore;
+import org.bytemechanics.maven.plugin.copyclasses.services.RelocationCache;
+import org.bytemechanics.maven.plugin.copyclasses.services.ResidentState;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,7 +73,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.sonatype.plexus.build.incremental.BuildContext;
 
 /**
  *
@@ -210,7 +233,7 @@ public class CopyClassesBaseTest {
 
 	@Test
 	@DisplayName("instantiateCopyService() should instantiate efectivelly the copy service")
-	public void instantiateCopyService(final @Mocked Build _build){
+	public void instantiateCopyService(final @Mocked Build _build) throws MojoExecutionException{
 		
 		final Properties projectProperties=new Properties();
 		projectProperties.setProperty("project.build.sourceEncoding", "UTF-16");
@@ -219,16 +242,231 @@ public class CopyClassesBaseTest {
 			project.getProperties(); result=projectProperties;
 			project.getBuild(); result=_build;
 			_build.getDirectory(); result="myDirectory";
+			instance.isIncremental(); result=true;
 		}};
 		
 		CopyService actual=instance.instantiateCopyService();
 		Assertions.assertEquals(StandardCharsets.UTF_16, actual.getEncoding());
 		Assertions.assertEquals(generatedSourceFolder, actual.getGeneratedSourceFolder());
 		Assertions.assertEquals("myDirectory", actual.getTargetFolder());
+		Assertions.assertTrue(actual.isIncremental());
+	}
+	@Test
+	@DisplayName("instantiateCopyService() should stamp the project.build.outputTimestamp as copy date")
+	public void instantiateCopyService_outputTimestamp(final @Mocked Build _build) throws MojoExecutionException{
+		
+		final Properties projectProperties=new Properties();
+		projectProperties.setProperty("project.build.outputTimestamp", "2026-01-02T03:04:05Z");
+
+		new Expectations() {{
+			project.getProperties(); result=projectProperties;
+			project.getBuild(); result=_build;
+			_build.getDirectory(); result="myDirectory";
+		}};
+		
+		CopyService actual=instance.instantiateCopyService();
+		Assertions.assertEquals(CopyDateSource.FIXED, actual.getCopyDateSource());
+		Assertions.assertEquals(LocalDateTime.of(2026,1,2,3,4,5), actual.getExecutionTime());
+	}
+
+	static Stream<Arguments> resolveCopyDateSourceDataPack() {
+	    return Stream.of(
+			Arguments.of(null,null,CopyDateSource.EXECUTION),
+			Arguments.of(null,"a",CopyDateSource.EXECUTION),
+			Arguments.of(null,"1767323045",CopyDateSource.FIXED),
+			Arguments.of("2026-01-02T03:04:05",null,CopyDateSource.FIXED),
+			Arguments.of(" ","1767323045",CopyDateSource.FIXED),
+			Arguments.of("entry","1767323045",CopyDateSource.ENTRY),
+			Arguments.of("ENTRY",null,CopyDateSource.ENTRY)
+		);
+	}
+	@ParameterizedTest(name = "resolveCopyDateSource() with copyDate {0} and outputTimestamp {1} should be {2}")
+	@MethodSource("resolveCopyDateSourceDataPack")
+	public void resolveCopyDateSource(final String _copyDate,final String _outputTimestamp,final CopyDateSource _expected) throws MojoExecutionException{
+		
+		final Properties projectProperties=new Properties();
+		if(_outputTimestamp!=null){
+			projectProperties.setProperty("project.build.outputTimestamp", _outputTimestamp);
+		}
+
+		new Expectations() {{
+			instance.getCopyDate(); result=_copyDate; minTimes=0;
+			project.getProperties(); result=projectProperties; minTimes=0;
+		}};
+		
+		Assertions.assertEquals(_expected, instance.resolveCopyDateSource());
+	}
+	@Test
+	@DisplayName("resolveCopyDateSource() should fail naming project.build.outputTimestamp when it can not be parsed")
+	public void resolveCopyDateSource_invalid(){
+		
+		final Properties projectProperties=new Properties();
+		projectProperties.setProperty("project.build.outputTimestamp", "not-a-date");
+
+		new Expectations() {{
+			instance.getCopyDate(); result=null; minTimes=0;
+			project.getProperties(); result=projectProperties; minTimes=0;
+		}};
+		
+		final MojoExecutionException exception=Assertions.assertThrows(MojoExecutionException.class, () -> instance.resolveCopyDateSource());
+		Assertions.assertTrue(exception.getMessage().contains("project.build.outputTimestamp"), exception.getMessage());
+	}
+	@Test
+	@DisplayName("resolveCopyDate() should prefer the copyDate parameter over project.build.outputTimestamp")
+	public void resolveCopyDate() throws MojoExecutionException{
+		
+		final Properties projectProperties=new Properties();
+		projectProperties.setProperty("project.build.outputTimestamp", "1767323045");
+
+		new Expectations() {{
+			instance.getCopyDate(); result="2020-06-07T08:09:10"; minTimes=0;
+			project.getProperties(); result=projectProperties; minTimes=0;
+		}};
+		
+		Assertions.assertEquals(LocalDateTime.of(2020,6,7,8,9,10), instance.resolveCopyDate(CopyDateSource.FIXED));
+	}
+	@Test
+	@DisplayName("resolveCopyDate() should fail if the copy date is not valid")
+	public void resolveCopyDate_invalid(){
+		
+		new Expectations() {{
+			instance.getCopyDate(); result="yesterday"; minTimes=0;
+		}};
+		
+		Assertions.assertThrows(MojoExecutionException.class, () -> instance.resolveCopyDate(CopyDateSource.FIXED));
+	}
+	@Test
+	@DisplayName("resolveCompilerOptions() should use the source and target of the maven compiler properties")
+	public void resolveCompilerOptions(){
+		
+		final Properties projectProperties=new Properties();
+		projectProperties.setProperty("maven.compiler.source", "1.8");
+		projectProperties.setProperty("maven.compiler.target", "1.8");
+
+		new Expectations() {{
+			project.getProperties(); result=projectProperties;
+		}};
+		
+		Assertions.assertEquals(Arrays.asList("-g","-nowarn","-source","1.8","-target","1.8"), instance.resolveCompilerOptions());
+	}
+	@Test
+	@DisplayName("isUnchangedInWorkspace() should be true in incremental builds when the project descriptor did not change, the generated sources have the last build cache key and every copy is up to date")
+	public void isUnchangedInWorkspace(final @Mocked BuildContext _buildContext,final @Mocked CopyService _copyService) throws MojoExecutionException, IOException{
+		
+		final Path generatedFolder=Paths.get("target/tests/isUnchangedInWorkspace/copies");
+		final Path metainfFolder=generatedFolder.resolve(CopyClassesBase.METAINF);
+		Files.createDirectories(metainfFolder);
+		Files.write(metainfFolder.resolve(CopyServiceImpl.MANIFEST_FILE), "manifest".getBytes(StandardCharsets.UTF_8));
+		final BuildCacheDescriptor descriptor=new BuildCacheDescriptor("2.1.0", StandardCharsets.UTF_8, "EXECUTION", Collections.singletonMap("copy1", "a:b:1@cafe"), Collections.singletonList("copies"), "META-INF/copy-manifest.info");
+		descriptor.store(metainfFolder);
+		final Path jar1=Paths.get("repository/a/b/1/b-1-sources.jar");
+		final Path jar2=Paths.get("repository/c/d/2/d-2-sources.jar");
+
+		new Expectations() {{
+			instance.getBuildContext(); result=_buildContext;
+			instance.isIncremental(); result=true;
+			instance.isPrecompile(); result=false;
+			instance.isLocalRepositoryFastPath(); result=true;
+			instance.findInLocalRepository((ArtifactCoordinate)any); returns(Optional.of(jar1),Optional.of(jar2),Optional.of(jar1),Optional.of(jar2),Optional.of(jar1),Optional.empty());
+			_copyService.isUpToDate(jar1, copy1, generatedFolder); result=true;
+			_copyService.isUpToDate(jar2, copy2, generatedFolder); returns(true,false);
+			_buildContext.isIncremental(); result=true;
+			_buildContext.hasDelta((java.io.File)any); returns(false,false,false,true);
+			_buildContext.getValue(BuildCacheDescriptor.KEY_PROPERTY+".generated-sources"); result=descriptor.getKey();
+		}};
+		
+		Assertions.assertTrue(instance.isUnchangedInWorkspace(_copyService, Scope.SRC, copies, generatedFolder));
+		Assertions.assertFalse(instance.isUnchangedInWorkspace(_copyService, Scope.SRC, copies, generatedFolder));
+		Assertions.assertFalse(instance.isUnchangedInWorkspace(_copyService, Scope.SRC, copies, generatedFolder));
+		Assertions.assertFalse(instance.isUnchangedInWorkspace(_copyService, Scope.SRC, copies, generatedFolder));
+	}
+	@Test
+	@DisplayName("isUnchangedInWorkspace() should be false without the local repository fast path")
+	public void isUnchangedInWorkspace_noLocalRepositoryFastPath(final @Mocked BuildContext _buildContext,final @Mocked CopyService _copyService) throws MojoExecutionException, IOException{
+		
+		final Path generatedFolder=Paths.get("target/tests/isUnchangedInWorkspace_noLocalRepositoryFastPath/copies");
+		final Path metainfFolder=generatedFolder.resolve(CopyClassesBase.METAINF);
+		Files.createDirectories(metainfFolder);
+		Files.write(metainfFolder.resolve(CopyServiceImpl.MANIFEST_FILE), "manifest".getBytes(StandardCharsets.UTF_8));
+		final BuildCacheDescriptor descriptor=new BuildCacheDescriptor("2.1.0", StandardCharsets.UTF_8, "EXECUTION", Collections.singletonMap("copy1", "a:b:1@cafe"), Collections.singletonList("copies"), "META-INF/copy-manifest.info");
+		descriptor.store(metainfFolder);
+
+		new Expectations() {{
+			instance.getBuildContext(); result=_buildContext;
+			instance.isIncremental(); result=true;
+			instance.isPrecompile(); result=false;
+			instance.isLocalRepositoryFastPath(); result=false;
+			_buildContext.isIncremental(); result=true;
+			_buildContext.hasDelta((java.io.File)any); result=false; minTimes=0;
+			_buildContext.getValue(BuildCacheDescriptor.KEY_PROPERTY+".generated-sources"); result=descriptor.getKey(); minTimes=0;
+		}};
+		
+		Assertions.assertFalse(instance.isUnchangedInWorkspace(_copyService, Scope.SRC, copies, generatedFolder));
+		new Verifications() {{
+			instance.findInLocalRepository((ArtifactCoordinate)any); times=0;
+			_copyService.isUpToDate((Path)any, (CopyDefinition)any, (Path)any); times=0;
+		}};
+	}
+	static Stream<Arguments> isUnchangedInWorkspace_changingDataPack() {
+	    return Stream.of(
+			Arguments.of("1.0-SNAPSHOT"),
+			Arguments.of("[1.0,2.0)"),
+			Arguments.of("LATEST"),
+			Arguments.of("RELEASE")
+		);
+	}
+	@ParameterizedTest(name = "isUnchangedInWorkspace() should be false when a copy depends on the changing version {0}")
+	@MethodSource("isUnchangedInWorkspace_changingDataPack")
+	public void isUnchangedInWorkspace_changing(final String _version,final @Mocked BuildContext _buildContext,final @Mocked CopyService _copyService) throws MojoExecutionException, IOException{
+		
+		final Path generatedFolder=Paths.get("target/tests/isUnchangedInWorkspace_changing/copies");
+		final Path metainfFolder=generatedFolder.resolve(CopyClassesBase.METAINF);
+		Files.createDirectories(metainfFolder);
+		Files.write(metainfFolder.resolve(CopyServiceImpl.MANIFEST_FILE), "manifest".getBytes(StandardCharsets.UTF_8));
+		final BuildCacheDescriptor descriptor=new BuildCacheDescriptor("2.1.0", StandardCharsets.UTF_8, "EXECUTION", Collections.singletonMap("copy1", "a:b:"+_version+"@cafe"), Collections.singletonList("copies"), "META-INF/copy-manifest.info");
+		descriptor.store(metainfFolder);
+		final DefaultArtifactCoordinate coordinate=new DefaultArtifactCoordinate();
+		coordinate.setGroupId("a");
+		coordinate.setArtifactId("b");
+		coordinate.setVersion(_version);
+		coordinate.setClassifier("sources");
+
+		new Expectations() {{
+			copy1.toCoordinate(); result=coordinate;
+			instance.getBuildContext(); result=_buildContext;
+			instance.isIncremental(); result=true;
+			instance.isPrecompile(); result=false;
+			instance.isLocalRepositoryFastPath(); result=true;
+			_buildContext.isIncremental(); result=true;
+			_buildContext.hasDelta((java.io.File)any); result=false;
+			_buildContext.getValue(BuildCacheDescriptor.KEY_PROPERTY+".generated-sources"); result=descriptor.getKey();
+		}};
+		
+		Assertions.assertFalse(instance.isUnchangedInWorkspace(_copyService, Scope.SRC, new CopyDefinition[]{copy1}, generatedFolder));
+		new Verifications() {{
+			_copyService.isUpToDate((Path)any, (CopyDefinition)any, (Path)any); times=0;
+		}};
+	}
+	@Test
+	@DisplayName("precompileCopies() should stop at the first copy that can not be precompiled")
+	public void precompileCopies(final @Mocked CopyService _copyService) throws MojoExecutionException{
+		
+		final Path generatedFolder=Paths.get("target/tests/precompileCopies/copies");
+		final Path outputFolder=Paths.get("target/tests/precompileCopies/classes");
+
+		new Expectations() {{
+			_copyService.precompile(copy1, generatedFolder, outputFolder); result=false; times=1;
+		}};
+		
+		Assertions.assertFalse(instance.precompileCopies(_copyService, copies, generatedFolder, outputFolder));
+
+		new Verifications() {{
+			_copyService.precompile(copy2, (Path)any, (Path)any); times=0;
+		}};
 	}
 	@Test
 	@DisplayName("instantiateCopyService() should instantiate efectivelly the copy service with default values")
-	public void instantiateCopyService_defaults(final @Mocked Build _build){
+	public void instantiateCopyService_defaults(final @Mocked Build _build) throws MojoExecutionException{
 		
 		final Properties projectProperties=new Properties();
 
@@ -242,6 +480,162 @@ public class CopyClassesBaseTest {
 		Assertions.assertEquals(StandardCharsets.UTF_8, actual.getEncoding());
 		Assertions.assertEquals(generatedSourceFolder, actual.getGeneratedSourceFolder());
 		Assertions.assertEquals("myDirectory", actual.getTargetFolder());
+		Assertions.assertEquals(ArchiveReader.JAR, ((CopyServiceImpl)actual).getArchiveReader());
+	}
+	@Test
+	@DisplayName("instantiateCopyService() should read the sources jars with the archiveReader implementation")
+	public void instantiateCopyService_archiveReader(final @Mocked Build _build) throws MojoExecutionException{
+		
+		new Expectations() {{
+			project.getProperties(); result=new Properties();
+			project.getBuild(); result=_build;
+			_build.getDirectory(); result="myDirectory";
+			instance.getArchiveReader(); result=ArchiveReader.MAPPED;
+		}};
+		
+		CopyService actual=instance.instantiateCopyService();
+		Assertions.assertEquals(ArchiveReader.MAPPED, ((CopyServiceImpl)actual).getArchiveReader());
+	}
+	
+	@Test
+	@DisplayName("instantiateRelocationCache() should create the cache at cacheDirectory limited to cacheMaxSize megabytes when enabled")
+	public void instantiateRelocationCache(){
+		
+		new Expectations() {{
+			instance.isCache(); result=true;
+			instance.getCacheDirectory(); result="target/tests/relocationCache";
+			instance.getCacheMaxSize(); result=2;
+		}};
+		
+		final RelocationCache actual=instance.instantiateRelocationCache();
+		Assertions.assertEquals(Paths.get("target/tests/relocationCache"), actual.getFolder());
+		Assertions.assertEquals(2097152l, actual.getMaxSize());
+	}
+	@Test
+	@DisplayName("instantiateRelocationCache() should not create the cache when disabled")
+	public void instantiateRelocationCache_disabled(){
+		
+		new Expectations() {{
+			instance.isCache(); result=false;
+			instance.getCacheDirectory(); result="target/tests/relocationCache"; minTimes=0;
+		}};
+		
+		Assertions.assertNull(instance.instantiateRelocationCache());
+	}
+	
+	@Test
+	@DisplayName("instantiateResidentState() should share the state limited to residentCacheMaxEntries when enabled")
+	public void instantiateResidentState(){
+		
+		new Expectations() {{
+			instance.isResidentCache(); result=true;
+			instance.getResidentCacheMaxEntries(); result=16;
+		}};
+		
+		final ResidentState actual=instance.instantiateResidentState();
+		Assertions.assertNotNull(actual);
+		Assertions.assertEquals(16, actual.getMaxEntries());
+		Assertions.assertSame(actual, ResidentState.shared(16));
+	}
+	@Test
+	@DisplayName("instantiateResidentState() should not share the state when disabled outside the daemon")
+	public void instantiateResidentState_disabled(){
+		
+		new Expectations() {{
+			instance.isResidentCache(); result=false;
+			instance.getResidentCacheMaxEntries(); result=16; minTimes=0;
+		}};
+		
+		Assertions.assertNull(instance.instantiateResidentState());
+	}
+	
+	@Test
+	@DisplayName("instantiateCopyPipeline() should create the pipeline limited to pipelineMaxMemory megabytes")
+	public void instantiateCopyPipeline(){
+		
+		new Expectations() {{
+			instance.getPipelineMaxMemory(); result=8;
+		}};
+		
+		try(CopyPipeline actual=instance.instantiateCopyPipeline()){
+			Assertions.assertNotNull(actual);
+			Assertions.assertEquals(8l*1024l*1024l, actual.getMaxInFlightBytes());
+			Assertions.assertEquals(Runtime.getRuntime().availableProcessors(), actual.getTransformers());
+		}
+	}
+	@Test
+	@DisplayName("instantiateCopyPipeline() should not create the pipeline when pipelineMaxMemory is zero")
+	public void instantiateCopyPipeline_disabled(){
+		
+		new Expectations() {{
+			instance.getPipelineMaxMemory(); result=0;
+		}};
+		
+		Assertions.assertNull(instance.instantiateCopyPipeline());
+	}
+	
+	@ParameterizedTest(name = "writeReport() for scope {0} should write the report at the build directory")
+	@EnumSource(Scope.class)
+	public void writeReport(final Scope _scope,final @Mocked Build _build) throws IOException{
+		
+		final Path directory=Paths.get("target/tests/writeReport").resolve(_scope.name());
+		final Path expected=directory.resolve((_scope==Scope.TEST)? ExecutionReport.TEST_REPORT_FILE : ExecutionReport.REPORT_FILE);
+		Files.deleteIfExists(expected);
+		
+		new Expectations() {{
+			project.getBuild(); result=_build;
+			_build.getDirectory(); result=directory.toString();
+			project.getId(); result="org.bytemechanics:my-project:jar:1.0.0";
+		}};
+		
+		instance.writeReport(new ExecutionReport("2.1.0").addPhase(ExecutionReport.PHASE_TOTAL, 1000000l), _scope);
+		Assertions.assertTrue(Files.exists(expected));
+		final String json=new String(Files.readAllBytes(expected),StandardCharsets.UTF_8);
+		Assertions.assertTrue(json.contains("\"project\":\"org.bytemechanics:my-project:jar:1.0.0\""),json);
+		Assertions.assertTrue(json.contains("\"scope\":\""+_scope.name()+"\""),json);
+	}
+	@Test
+	@DisplayName("writeReport() should not write the report when disabled")
+	public void writeReport_disabled() throws IOException{
+		
+		new Expectations() {{
+			instance.isReport(); result=false;
+			project.getBuild(); times=0;
+		}};
+		
+		instance.writeReport(new ExecutionReport("2.1.0"), Scope.SRC);
+	}
+	
+	@Test
+	@DisplayName("getEffectiveParallelism() should use the parallelism parameter when defined")
+	public void getEffectiveParallelism_parameter(){
+		
+		new Expectations() {{
+			instance.getParallelism(); result=3;
+		}};
+		Assertions.assertEquals(3,instance.getEffectiveParallelism());
+	}
+	@Test
+	@DisplayName("getEffectiveParallelism() should use the maven degree of concurrency when parallelism is not defined")
+	public void getEffectiveParallelism_degreeOfConcurrency(final @Mocked MavenExecutionRequest _request){
+		
+		new Expectations() {{
+			instance.getParallelism(); result=0;
+			session.getRequest(); result=_request;
+			_request.getDegreeOfConcurrency(); result=8;
+		}};
+		Assertions.assertEquals(8,instance.getEffectiveParallelism());
+	}
+	@Test
+	@DisplayName("getEffectiveParallelism() should be sequential when nor parallelism nor degree of concurrency are defined")
+	public void getEffectiveParallelism_default(final @Mocked MavenExecutionRequest _request){
+		
+		new Expectations() {{
+			instance.getParallelism(); result=0;
+			session.getRequest(); result=_request;
+			_request.getDegreeOfConcurrency(); result=0;
+		}};
+		Assertions.assertEquals(1,instance.getEffectiveParallelism());
 	}
 	
 	@ParameterizedTest(name = "generateSources() for scope {0}")
@@ -257,6 +651,8 @@ public class CopyClassesBaseTest {
 		final Resource expectedResource=new Resource();
 		expectedResource.setDirectory(expectedGeneratedFolder.resolve(CopyClassesBase.METAINF).toString());
 		expectedResource.setTargetPath(CopyClassesBase.METAINF);
+		expectedResource.addExclude(FingerprintStore.FINGERPRINTS_FILE);
+		expectedResource.addExclude(BuildCacheDescriptor.DESCRIPTOR_FILE);
 
 		final List<Resource> actualResource=new ArrayList<>();
 		
@@ -266,16 +662,74 @@ public class CopyClassesBaseTest {
 			_copyService.generateSourcePath(_scope); result=expectedGeneratedFolder; times=1;
 			
 			instance.getCopies(); result=new CopyDefinition[]{copy1,copy2}; times=2;
+			instance.isIncremental(); result=true;
+			instance.getEffectiveParallelism(); result=1;
 			
 			copy1.toString(); result="copy1"; 
+			instance.coordinateKey(copy1); result="copy1";
 			instance.downloadSource((ProjectBuildingRequest)any, copy1, expectedGeneratedFolder); result=downloadedResource; times=1;
+			_copyService.isUpToDate(downloadedResource, copy1, expectedGeneratedFolder); result=false; times=1;
 			_copyService.processDownloadedSource(downloadedResource, copy1, expectedGeneratedFolder); times=1;
 			
 			copy2.toString(); result="copy2"; 
+			instance.coordinateKey(copy2); result="copy2";
 			instance.downloadSource((ProjectBuildingRequest)any, copy2, expectedGeneratedFolder); result=downloadedResource; times=1;
-			_copyService.processDownloadedSource(downloadedResource, copy2, expectedGeneratedFolder); times=1;
+			_copyService.isUpToDate(downloadedResource, copy2, expectedGeneratedFolder); result=true; times=1;
+			_copyService.processDownloadedSource(downloadedResource, copy2, expectedGeneratedFolder); times=0;
 			
 			_copyService.createManifest(copies, expectedGeneratedFolder); times=1;
+			_copyService.storeFingerprints(expectedGeneratedFolder); times=1;
+
+			project.addResource(withCapture(actualResource)); times=1;
+		}};
+
+		instance.generateSources(_scope);
+		
+		Assertions.assertEquals(1,actualResource.size());
+		Assertions.assertEquals(expectedResource.toString(),actualResource.get(0).toString());
+	}
+	
+	@ParameterizedTest(name = "generateSources() for scope {0} processing copies in parallel")
+	@EnumSource(Scope.class)
+	public void generateSources_parallel(final Scope _scope,final @Mocked ProjectBuildingRequest _request,final @Mocked CopyService _copyService) throws MojoExecutionException{
+		
+		final Properties projectProperties=new Properties();
+		projectProperties.setProperty("project.build.sourceEncoding", "UTF-8");
+		final Path expectedGeneratedFolder=Paths.get("target/tests/generateSources_parallel")
+												.resolve(_scope.getFolder())
+												.resolve(this.generatedSourceFolder);
+		final Path downloadedResource=Paths.get("myDownloadedResource");
+		final Resource expectedResource=new Resource();
+		expectedResource.setDirectory(expectedGeneratedFolder.resolve(CopyClassesBase.METAINF).toString());
+		expectedResource.setTargetPath(CopyClassesBase.METAINF);
+		expectedResource.addExclude(FingerprintStore.FINGERPRINTS_FILE);
+		expectedResource.addExclude(BuildCacheDescriptor.DESCRIPTOR_FILE);
+
+		final List<Resource> actualResource=new ArrayList<>();
+		
+		new Expectations() {{
+			instance.instantiateCopyService(); result=_copyService;
+			session.getProjectBuildingRequest(); result=_request;
+			_copyService.generateSourcePath(_scope); result=expectedGeneratedFolder; times=1;
+			
+			instance.getCopies(); result=new CopyDefinition[]{copy1,copy2}; times=2;
+			instance.isIncremental(); result=true;
+			instance.getEffectiveParallelism(); result=4;
+			
+			copy1.toString(); result="copy1"; 
+			instance.coordinateKey(copy1); result="copy1";
+			instance.downloadSource((ProjectBuildingRequest)any, copy1, expectedGeneratedFolder); result=downloadedResource; times=1;
+			_copyService.isUpToDate(downloadedResource, copy1, expectedGeneratedFolder); result=false; times=1;
+			_copyService.processDownloadedSource(downloadedResource, copy1, expectedGeneratedFolder); times=1;
+			
+			copy2.toString(); result="copy2"; 
+			instance.coordinateKey(copy2); result="copy2";
+			instance.downloadSource((ProjectBuildingRequest)any, copy2, expectedGeneratedFolder); result=downloadedResource; times=1;
+			_copyService.isUpToDate(downloadedResource, copy2, expectedGeneratedFolder); result=true; times=1;
+			_copyService.processDownloadedSource(downloadedResource, copy2, expectedGeneratedFolder); times=0;
+			
+			_copyService.createManifest(copies, expectedGeneratedFolder); times=1;
+			_copyService.storeFingerprints(expectedGeneratedFolder); times=1;
 
 			project.addResource(withCapture(actualResource)); times=1;
 		}};
@@ -286,6 +740,78 @@ public class CopyClassesBaseTest {
 		Assertions.assertEquals(expectedResource.toString(),actualResource.get(0).toString());
 	}
 	
+	@Test
+	@DisplayName("copyCompiledClasses() should copy the compiled classes of each copy to the classes output folder")
+	public void copyCompiledClasses(final @Mocked ProjectBuildingRequest _request,final @Mocked CopyService _copyService,final @Mocked Build _build) throws MojoExecutionException{
+		
+		final Path expectedOutputFolder=Paths.get("target/tests/copyCompiledClasses/classes");
+		final Path downloadedResource=Paths.get("myDownloadedBinary");
+		
+		new Expectations() {{
+			instance.instantiateCopyService(); result=_copyService;
+			session.getProjectBuildingRequest(); result=_request;
+			project.getBuild(); result=_build;
+			_build.getOutputDirectory(); result=expectedOutputFolder.toString();
+			
+			instance.getCopies(); result=new CopyDefinition[]{copy1,copy2}; times=1;
+			instance.getEffectiveParallelism(); result=1;
+			
+			copy1.toString(); result="copy1"; 
+			instance.coordinateKey(copy1); result="copy1";
+			instance.downloadSource((ProjectBuildingRequest)any, copy1, expectedOutputFolder); result=downloadedResource; times=1;
+			_copyService.processDownloadedBinary(downloadedResource, copy1, expectedOutputFolder); times=1;
+			
+			copy2.toString(); result="copy2"; 
+			instance.coordinateKey(copy2); result="copy2";
+			instance.downloadSource((ProjectBuildingRequest)any, copy2, expectedOutputFolder); result=downloadedResource; times=1;
+			_copyService.processDownloadedBinary(downloadedResource, copy2, expectedOutputFolder); times=1;
+			
+			_copyService.createCompiledManifest((CopyDefinition[])any, expectedOutputFolder); times=1;
+			_copyService.processDownloadedSource((Path)any, (CopyDefinition)any, (Path)any); times=0;
+			_copyService.storeFingerprints((Path)any); times=0;
+			project.addResource((Resource)any); times=0;
+		}};
+
+		instance.copyCompiledClasses();
+	}
+	
+	@Test
+	@DisplayName("downloadSources() should resolve only once the copies with the same coordinate")
+	public void downloadSources_deduplicated(final @Mocked ProjectBuildingRequest _request,final @Mocked CopyDefinition _copy3) throws MojoExecutionException{
+		
+		final Path generatedFolder=Paths.get("target/tests/downloadSources_deduplicated");
+		final Path firstResource=Paths.get("myFirstResource");
+		final Path secondResource=Paths.get("mySecondResource");
+
+		new Expectations() {{
+			instance.coordinateKey(copy1); result="g:a:jar:sources:1";
+			instance.coordinateKey(copy2); result="g:b:jar:sources:1";
+			instance.coordinateKey(_copy3); result="g:a:jar:sources:1";
+			instance.downloadSource(_request, copy1, generatedFolder); result=firstResource; times=1;
+			instance.downloadSource(_request, copy2, generatedFolder); result=secondResource; times=1;
+			instance.downloadSource(_request, _copy3, generatedFolder); times=0;
+		}};
+
+		final Path[] actual=instance.downloadSources(_request, new CopyDefinition[]{copy1,copy2,_copy3}, generatedFolder);
+		Assertions.assertArrayEquals(new Path[]{firstResource,secondResource,firstResource}, actual);
+	}
+	@Test
+	@DisplayName("downloadSources() should raise the resolution failure")
+	@SuppressWarnings("ThrowableResultIgnored")
+	public void downloadSources_failure(final @Mocked ProjectBuildingRequest _request) throws MojoExecutionException{
+		
+		final Path generatedFolder=Paths.get("target/tests/downloadSources_failure");
+
+		new Expectations() {{
+			instance.coordinateKey(copy1); result="g:a:jar:sources:1";
+			instance.coordinateKey(copy2); result="g:b:jar:sources:1";
+			instance.downloadSource(_request, copy1, generatedFolder); result=Paths.get("myFirstResource");
+			instance.downloadSource(_request, copy2, generatedFolder); result=new MojoExecutionException("Failed processing copy");
+		}};
+
+		Assertions.assertThrows(MojoExecutionException.class, () -> instance.downloadSources(_request, new CopyDefinition[]{copy1,copy2}, generatedFolder));
+	}
+	
 	@Test
 	@DisplayName("downloadSource() success execution")
 	public void downloadSource(final @Mocked ProjectBuildingRequest _request,final @Mocked CopyDefinition _copy, final @Mocked ArtifactCoordinate _artifactCoordinate,final @Mocked ArtifactResult _artifactResult,final @Mocked Artifact _artifact) throws ArtifactResolverException, IOException, MojoExecutionException{
@@ -322,6 +848,123 @@ public class CopyClassesBaseTest {
 		Assertions.assertTrue(exception.getCause() instanceof NullPointerException);
 	}
 	
+	@Test
+	@DisplayName("downloadSource() should take the release artifacts present at the local repository without resolving them")
+	public void downloadSource_localRepository(final @Mocked ProjectBuildingRequest _request,final @Mocked CopyDefinition _copy,final @Mocked ArtifactRepository _localRepository) throws ArtifactResolverException, IOException, MojoExecutionException{
+		
+		final Path generatedFolder=Paths.get("target/tests/downloadSource_localRepository/generated");
+		final Path basedir=Paths.get("target/tests/downloadSource_localRepository/repository");
+		final Path expected=basedir.resolve("org/bytemechanics/copy-commons/1.5.0/copy-commons-1.5.0-sources.jar").toAbsolutePath();
+		Files.createDirectories(expected.getParent());
+		Files.copy(Paths.get("src/test/resources/files/fakeJar.jar"), expected, StandardCopyOption.REPLACE_EXISTING);
+		final DefaultArtifactCoordinate coordinate=new DefaultArtifactCoordinate();
+		coordinate.setGroupId("org.bytemechanics");
+		coordinate.setArtifactId("copy-commons");
+		coordinate.setVersion("1.5.0");
+		coordinate.setClassifier("sources");
+
+		new Expectations() {{
+			instance.isLocalRepositoryFastPath(); result=true;
+			_copy.toCoordinate(); result=coordinate; times=1;
+			session.getLocalRepository(); result=_localRepository;
+			_localRepository.getBasedir(); result=basedir.toString();
+			artifactResolver.resolveArtifact((ProjectBuildingRequest)any, (ArtifactCoordinate)any); times=0;
+		}};
+
+		Assertions.assertEquals(expected,instance.downloadSource(_request, _copy, generatedFolder));
+	}
+	@Test
+	@DisplayName("downloadSource() should resolve the release artifacts not present at the local repository")
+	public void downloadSource_localRepository_missing(final @Mocked ProjectBuildingRequest _request,final @Mocked CopyDefinition _copy,final @Mocked ArtifactRepository _localRepository,final @Mocked ArtifactResult _artifactResult,final @Mocked Artifact _artifact) throws ArtifactResolverException, IOException, MojoExecutionException{
+		
+		final Path generatedFolder=Paths.get("target/tests/downloadSource_localRepository_missing/generated");
+		final Path basedir=Paths.get("target/tests/downloadSource_localRepository_missing/repository");
+		final File fileCopy=new File("myFileFromCopy");
+		final DefaultArtifactCoordinate coordinate=new DefaultArtifactCoordinate();
+		coordinate.setGroupId("org.bytemechanics");
+		coordinate.setArtifactId("copy-commons");
+		coordinate.setVersion("1.5.0");
+		coordinate.setClassifier("sources");
+
+		new Expectations() {{
+			instance.isLocalRepositoryFastPath(); result=true;
+			_copy.toCoordinate(); result=coordinate; times=1;
+			session.getLocalRepository(); result=_localRepository;
+			_localRepository.getBasedir(); result=basedir.toString();
+			artifactResolver.resolveArtifact(_request, coordinate); result=_artifactResult; times=1;
+			_artifactResult.getArtifact(); result=_artifact; times=1;
+			_artifact.getFile(); result=fileCopy; times=1;
+		}};
+
+		Assertions.assertEquals(fileCopy.toPath().toAbsolutePath(),instance.downloadSource(_request, _copy, generatedFolder));
+	}
+
+	@Test
+	@DisplayName("downloadSource() should resolve the release artifacts truncated at the local repository")
+	public void downloadSource_localRepository_truncated(final @Mocked ProjectBuildingRequest _request,final @Mocked CopyDefinition _copy,final @Mocked ArtifactRepository _localRepository,final @Mocked ArtifactResult _artifactResult,final @Mocked Artifact _artifact) throws ArtifactResolverException, IOException, MojoExecutionException{
+		
+		final Path generatedFolder=Paths.get("target/tests/downloadSource_localRepository_truncated/generated");
+		final Path basedir=Paths.get("target/tests/downloadSource_localRepository_truncated/repository");
+		final Path truncated=basedir.resolve("org/bytemechanics/copy-commons/1.5.0/copy-commons-1.5.0-sources.jar");
+		Files.createDirectories(truncated.getParent());
+		final byte[] content=Files.readAllBytes(Paths.get("src/test/resources/files/fakeJar.jar"));
+		Files.write(truncated, Arrays.copyOf(content, content.length/2));
+		final File fileCopy=new File("myFileFromCopy");
+		final DefaultArtifactCoordinate coordinate=new DefaultArtifactCoordinate();
+		coordinate.setGroupId("org.bytemechanics");
+		coordinate.setArtifactId("copy-commons");
+		coordinate.setVersion("1.5.0");
+		coordinate.setClassifier("sources");
+
+		new Expectations() {{
+			instance.isLocalRepositoryFastPath(); result=true;
+			_copy.toCoordinate(); result=coordinate; times=1;
+			session.getLocalRepository(); result=_localRepository;
+			_localRepository.getBasedir(); result=basedir.toString();
+			artifactResolver.resolveArtifact(_request, coordinate); result=_artifactResult; times=1;
+			_artifactResult.getArtifact(); result=_artifact; times=1;
+			_artifact.getFile(); result=fileCopy; times=1;
+		}};
+
+		Assertions.assertEquals(fileCopy.toPath().toAbsolutePath(),instance.downloadSource(_request, _copy, generatedFolder));
+	}
+
+	static Stream<Arguments> releaseCoordinateDatapack() {
+	    return Stream.of(
+			Arguments.of("org.bytemechanics", "copy-commons", "1.5.0", true),
+			Arguments.of("org.bytemechanics", "copy-commons", "1.5.0-SNAPSHOT", false),
+			Arguments.of("org.bytemechanics", "copy-commons", "[1.0,2.0)", false),
+			Arguments.of("org.bytemechanics", "copy-commons", "LATEST", false),
+			Arguments.of("org.bytemechanics", "copy-commons", "RELEASE", false),
+			Arguments.of("org.bytemechanics", "*", "1.5.0", false),
+			Arguments.of("", "copy-commons", "1.5.0", false),
+			Arguments.of("org.bytemechanics", "copy-commons", null, false)
+		);
+	}
+	@ParameterizedTest(name = "isReleaseCoordinate() of {0}:{1}:{2} should be {3}")
+	@MethodSource("releaseCoordinateDatapack")
+	public void isReleaseCoordinate(final String _groupId,final String _artifactId,final String _version,final boolean _expected){
+		
+		final DefaultArtifactCoordinate coordinate=new DefaultArtifactCoordinate();
+		coordinate.setGroupId(_groupId);
+		coordinate.setArtifactId(_artifactId);
+		coordinate.setVersion(_version);
+		
+		Assertions.assertEquals(_expected, CopyClassesBase.isReleaseCoordinate(coordinate));
+	}
+	@Test
+	@DisplayName("localRepositoryPath() should follow the default repository layout")
+	public void localRepositoryPath(){
+		
+		final DefaultArtifactCoordinate coordinate=new DefaultArtifactCoordinate();
+		coordinate.setGroupId("org.bytemechanics");
+		coordinate.setArtifactId("copy-commons");
+		coordinate.setVersion("1.5.0");
+		Assertions.assertEquals("org/bytemechanics/copy-commons/1.5.0/copy-commons-1.5.0.jar", CopyClassesBase.localRepositoryPath(coordinate));
+		coordinate.setClassifier("sources");
+		Assertions.assertEquals("org/bytemechanics/copy-commons/1.5.0/copy-commons-1.5.0-sources.jar", CopyClassesBase.localRepositoryPath(coordinate));
+	}
+	
 	class CopyClassesBaseImpl extends CopyClassesBase{
 
 		public CopyClassesBaseImpl() {
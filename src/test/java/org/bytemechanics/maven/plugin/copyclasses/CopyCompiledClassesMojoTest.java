@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.Tested;
+import mockit.Verifications;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class CopyCompiledClassesMojoTest {
+	
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> CopyCompiledClassesMojoTest >>>> setupSpec");
+		try(InputStream inputStream = CopyCompiledClassesMojoTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+	
+	@Tested
+	@Mocked
+	CopyCompiledClassesMojo instance;
+
+	@Test
+	@DisplayName("Execute should delegate to copyCompiledClasses")
+	public void execute() throws MojoExecutionException {
+		
+		new Expectations() {{
+			instance.copyCompiledClasses();
+		}};
+		instance.execute();
+		new Verifications() {{
+			instance.copyCompiledClasses(); times=1;
+		}};
+	}
+
+	@Test
+	@DisplayName("toCoordinate() should resolve the binary jar of the copy")
+	public void toCoordinate() {
+		
+		final CopyDefinition copy=new CopyDefinition("myGroupId:myArtifactId:myVersion",new String[]{"myclass1"},"UTF-8","myFromPackage","myToPackage");
+		final ArtifactCoordinate coordinate=instance.toCoordinate(copy);
+		Assertions.assertEquals("myArtifactId",coordinate.getArtifactId());
+		Assertions.assertNull(coordinate.getClassifier());
+	}
+}
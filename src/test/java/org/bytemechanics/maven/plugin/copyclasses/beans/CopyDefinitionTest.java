@@ -159,6 +159,58 @@ public class CopyDefinitionTest {
 		Assertions.assertEquals("myToPackage2",copy.getToPackage());
 	}
 
+	@Test
+	@DisplayName("isAnnotate() should be true by default")
+	public void isAnnotate_default(){
+		final CopyDefinition copy=new CopyDefinition("myArtifact",new String[]{"myclass1","myclass2"},"mycharset","myFrompackage","myToPackage");
+		Assertions.assertTrue(copy.isAnnotate());
+		Assertions.assertTrue(new CopyDefinition().isAnnotate());
+	}
+	@Test
+	@DisplayName("isAnnotate() should be false once disabled with setAnnotate() and the definition should be distinct")
+	public void setAnnotate(){
+		final CopyDefinition copy=new CopyDefinition("myArtifact",new String[]{"myclass1","myclass2"},"mycharset","myFrompackage","myToPackage");
+		final CopyDefinition notAnnotated=new CopyDefinition("myArtifact",new String[]{"myclass1","myclass2"},"mycharset","myFrompackage","myToPackage");
+		notAnnotated.setAnnotate(false);
+		Assertions.assertFalse(notAnnotated.isAnnotate());
+		Assertions.assertNotEquals(copy,notAnnotated);
+	}
+
+	@Test
+	@DisplayName("isTransitive() should be false by default")
+	public void isTransitive_default(){
+		final CopyDefinition copy=new CopyDefinition("myArtifact",new String[]{"myclass1","myclass2"},"mycharset","myFrompackage","myToPackage");
+		Assertions.assertFalse(copy.isTransitive());
+		Assertions.assertFalse(new CopyDefinition().isTransitive());
+	}
+	@Test
+	@DisplayName("isTransitive() should be true once enabled with setTransitive() and the definition should be distinct")
+	public void setTransitive(){
+		final CopyDefinition copy=new CopyDefinition("myArtifact",new String[]{"myclass1","myclass2"},"mycharset","myFrompackage","myToPackage");
+		final CopyDefinition transitive=new CopyDefinition("myArtifact",new String[]{"myclass1","myclass2"},"mycharset","myFrompackage","myToPackage");
+		transitive.setTransitive(true);
+		Assertions.assertTrue(transitive.isTransitive());
+		Assertions.assertNotEquals(copy,transitive);
+	}
+
+	@Test
+	@DisplayName("getExcludes() should be null by default")
+	public void getExcludes_null(){
+		final CopyDefinition copy=new CopyDefinition("myArtifact",new String[]{"myclass1","myclass2"},"mycharset","myFrompackage","myToPackage");
+		Assertions.assertNull(copy.getExcludes());
+	}
+	@Test
+	@DisplayName("getExcludes() should be the same set with setExcludes() and the definition should be distinct")
+	public void setExcludes(){
+		final CopyDefinition copy=new CopyDefinition("myArtifact",new String[]{"my.package.**"},"mycharset","myFrompackage","myToPackage");
+		final CopyDefinition excluding=new CopyDefinition("myArtifact",new String[]{"my.package.**"},"mycharset","myFrompackage","myToPackage");
+		excluding.setExcludes(new String[]{"my.package.internal.*"});
+		Assertions.assertArrayEquals(new String[]{"my.package.internal.*"},excluding.getExcludes());
+		Assertions.assertNotEquals(copy,excluding);
+		Assertions.assertNotEquals(copy.hashCode(),excluding.hashCode());
+		Assertions.assertEquals("Copy:	From: myArtifact\n	Classes:\n		[my.package.**]\n	Excludes:\n		[my.package.internal.*]\n	Transforming from package [myFrompackage] to package [myToPackage]",excluding.toString());
+	}
+
 	@Test
 	@DisplayName("getFromPackageRegex() should replace all dots with double bars the fromPackage value")
 	public void getFromPackageRegex(){
@@ -196,6 +248,27 @@ public class CopyDefinitionTest {
 		Assertions.assertEquals(_classifier,coordinate.getClassifier());
 	}
 	
+	static Stream<Arguments> binaryCoordinateDataPack() {
+	    return Stream.of(
+			Arguments.of(null, null,null,null,null),
+			Arguments.of("myGroupId:myArtifactId:myVersion", "myGroupId","myArtifactId","myVersion",null),
+			Arguments.of("myGroupId:myArtifactId:myVersion:sources", "myGroupId","myArtifactId","myVersion",null),
+			Arguments.of("myGroupId:myArtifactId:myVersion:myClassifier", "myGroupId","myArtifactId","myVersion","myClassifier")
+		);
+	}
+	
+	@ParameterizedTest(name = "From a copyDefinition with {0} as artifact when toBinaryCoordinate() is called should generate a coordinate with groupId {1}, artifactId {2}, version {3} and classifier {4}")
+	@MethodSource("binaryCoordinateDataPack")
+	public void toBinaryCoordinate(final String _coordinate, final String _groupId,final String _artifactId,final String _version,final String _classifier){
+		final CopyDefinition copy=new CopyDefinition(_coordinate,new String[]{"myclass1","myclass2"},"mycharset","myFrompackage","myToPackage");
+		final ArtifactCoordinate coordinate=copy.toBinaryCoordinate();
+		Assertions.assertEquals(_groupId,coordinate.getGroupId());
+		Assertions.assertEquals(_artifactId,coordinate.getArtifactId());
+		Assertions.assertEquals(_version,coordinate.getVersion());
+		Assertions.assertEquals(_classifier,coordinate.getClassifier());
+		Assertions.assertEquals("jar",coordinate.getExtension());
+	}
+	
 	static Stream<Arguments> distinctDataPack() {
 	    return Stream.of(
 			Arguments.of("myArtifact",new String[]{"myclass1","myclass2"},"mycharset","myFrompackage","myToPackage","myArtifact2",new String[]{"myclass1","myclass2"},"mycharset","myFrompackage","myToPackage"),
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.enums;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.bytemechanics.maven.plugin.copyclasses.services.SourceArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class ArchiveReaderTest {
+
+	private static final Path FAKE_JAR=Paths.get("src/test/resources/files/fakeJar.jar");
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> ArchiveReaderTest >>>> setupSpec");
+		try(InputStream inputStream = ArchiveReaderTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    public void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private static byte[] read(final InputStream _inputStream) throws IOException{
+		try(InputStream inputStream=_inputStream;
+				ByteArrayOutputStream outputStream=new ByteArrayOutputStream()){
+			final byte[] buffer=new byte[1024];
+			int read=inputStream.read(buffer);
+			while(read>=0){
+				outputStream.write(buffer, 0, read);
+				read=inputStream.read(buffer);
+			}
+			return outputStream.toByteArray();
+		}
+	}
+
+	@ParameterizedTest(name = "open() with {0} should read the same entries and contents as JarFile")
+	@EnumSource(ArchiveReader.class)
+	public void open(final ArchiveReader _reader) throws IOException{
+
+		try(JarFile jar=new JarFile(FAKE_JAR.toFile());
+				SourceArchive archive=_reader.open(FAKE_JAR)){
+			Assertions.assertEquals(FAKE_JAR, archive.getFile());
+			final Map<String,JarEntry> expected=jar.stream()
+													.filter(entry -> !entry.isDirectory())
+													.collect(Collectors.toMap(JarEntry::getName, Function.identity()));
+			final Map<String,JarEntry> actual=archive.getEntries().stream()
+													.filter(entry -> !entry.isDirectory())
+													.collect(Collectors.toMap(JarEntry::getName, Function.identity()));
+			Assertions.assertEquals(expected.keySet(), actual.keySet());
+			for(JarEntry entry:expected.values()){
+				final JarEntry actualEntry=actual.get(entry.getName());
+				Assertions.assertEquals(entry.getSize(), actualEntry.getSize(), entry.getName());
+				Assertions.assertEquals(entry.getCrc(), actualEntry.getCrc(), entry.getName());
+				Assertions.assertEquals(entry.getTime(), actualEntry.getTime(), entry.getName());
+				Assertions.assertArrayEquals(read(jar.getInputStream(entry)), read(archive.getInputStream(actualEntry)), entry.getName());
+			}
+		}
+	}
+
+	@ParameterizedTest(name = "open() with {0} should read stored, deflated and empty entries of archives with comment")
+	@EnumSource(ArchiveReader.class)
+	public void open_methods(final ArchiveReader _reader) throws IOException{
+
+		final Path file=Paths.get("target/tests/archiveReader/open_methods-"+_reader+".jar");
+		Files.createDirectories(file.getParent());
+		final byte[] stored="package org.foo;\npublic class Stored{}\n".getBytes(StandardCharsets.UTF_8);
+		final StringBuilder deflated=new StringBuilder();
+		for(int i=0;i<2000;i++){
+			deflated.append("// line ").append(i).append(" \u00f1\n");
+		}
+		try(ZipOutputStream outputStream=new ZipOutputStream(Files.newOutputStream(file))){
+			final ZipEntry storedEntry=new ZipEntry("org/foo/Stored.java");
+			final CRC32 crc=new CRC32();
+			crc.update(stored);
+			storedEntry.setMethod(ZipEntry.STORED);
+			storedEntry.setSize(stored.length);
+			storedEntry.setCrc(crc.getValue());
+			outputStream.putNextEntry(storedEntry);
+			outputStream.write(stored);
+			outputStream.putNextEntry(new ZipEntry("org/foo/Deflated.java"));
+			outputStream.write(deflated.toString().getBytes(StandardCharsets.UTF_8));
+			outputStream.putNextEntry(new ZipEntry("org/foo/Empty.java"));
+			outputStream.setComment("archive comment");
+		}
+
+		try(SourceArchive archive=_reader.open(file)){
+			final Map<String,JarEntry> entries=archive.getEntries().stream()
+													.collect(Collectors.toMap(JarEntry::getName, Function.identity()));
+			Assertions.assertEquals(3, entries.size());
+			Assertions.assertArrayEquals(stored, read(archive.getInputStream(entries.get("org/foo/Stored.java"))));
+			Assertions.assertArrayEquals(deflated.toString().getBytes(StandardCharsets.UTF_8), read(archive.getInputStream(entries.get("org/foo/Deflated.java"))));
+			Assertions.assertArrayEquals(new byte[0], read(archive.getInputStream(entries.get("org/foo/Empty.java"))));
+		}
+	}
+
+	@ParameterizedTest(name = "open() with {0} should keep the entry copy dates independent of the time zone of the build")
+	@EnumSource(ArchiveReader.class)
+	public void open_entryTime(final ArchiveReader _reader) throws IOException{
+
+		final Path file=Paths.get("target/tests/archiveReader/open_entryTime-"+_reader+".jar");
+		Files.createDirectories(file.getParent());
+		final LocalDateTime executionTime=LocalDateTime.of(2026,1,2,3,4,5);
+		final LocalDateTime entryTime=LocalDateTime.of(2020,6,7,8,9,10);
+		final TimeZone timeZone=TimeZone.getDefault();
+		try{
+			TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+			try(ZipOutputStream outputStream=new ZipOutputStream(Files.newOutputStream(file))){
+				final ZipEntry extended=new ZipEntry("my/Extended.java");
+				extended.setLastModifiedTime(FileTime.from(entryTime.toInstant(ZoneOffset.UTC)));
+				outputStream.putNextEntry(extended);
+				outputStream.closeEntry();
+				final ZipEntry dos=new ZipEntry("my/Dos.java");
+				dos.setTime(entryTime.atZone(ZoneId.of("America/New_York")).toInstant().toEpochMilli());
+				outputStream.putNextEntry(dos);
+				outputStream.closeEntry();
+			}
+			try(SourceArchive archive=_reader.open(file)){
+				final Map<String,JarEntry> entries=archive.getEntries().stream()
+														.collect(Collectors.toMap(JarEntry::getName, Function.identity()));
+				Assertions.assertEquals(entryTime, CopyDateSource.ENTRY.resolve(executionTime, entries.get("my/Extended.java")));
+				Assertions.assertEquals(LocalDateTime.of(2020,6,7,21,9,10), CopyDateSource.ENTRY.resolve(executionTime, entries.get("my/Dos.java")));
+			}
+		}finally{
+			TimeZone.setDefault(timeZone);
+		}
+	}
+
+	@ParameterizedTest(name = "getInputStream() with {0} should fail once the archive is closed")
+	@EnumSource(ArchiveReader.class)
+	@SuppressWarnings("ThrowableResultIgnored")
+	public void getInputStream_closed(final ArchiveReader _reader) throws IOException{
+
+		final SourceArchive archive=_reader.open(FAKE_JAR);
+		final JarEntry entry=archive.getEntries().stream()
+									.filter(candidate -> candidate.getName().endsWith(".java"))
+									.findFirst()
+									.get();
+		archive.close();
+		Assertions.assertThrows(Exception.class, () -> read(archive.getInputStream(entry)));
+	}
+
+	@Test
+	@DisplayName("open() with MAPPED of a file that is not an archive should fail")
+	@SuppressWarnings("ThrowableResultIgnored")
+	public void open_notArchive() throws IOException{
+
+		final Path file=Paths.get("target/tests/archiveReader/open_notArchive.jar");
+		Files.createDirectories(file.getParent());
+		Files.write(file, "not an archive".getBytes(StandardCharsets.UTF_8));
+		Assertions.assertThrows(IOException.class, () -> ArchiveReader.MAPPED.open(file));
+	}
+}
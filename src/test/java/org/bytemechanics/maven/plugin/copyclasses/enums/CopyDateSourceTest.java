@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.enums;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class CopyDateSourceTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> CopyDateSourceTest >>>> setupSpec");
+		try(InputStream inputStream = CopyDateSourceTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    public void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+
+	static Stream<Arguments> parseDateDataPack() {
+	    return Stream.of(
+			Arguments.of("2026-01-02T03:04:05Z",Optional.of(LocalDateTime.of(2026,1,2,3,4,5))),
+			Arguments.of("2026-01-02T03:04:05+02:00",Optional.of(LocalDateTime.of(2026,1,2,1,4,5))),
+			Arguments.of("2026-01-02T03:04:05-01:00",Optional.of(LocalDateTime.of(2026,1,2,4,4,5))),
+			Arguments.of("2026-01-02T03:04:05",Optional.of(LocalDateTime.of(2026,1,2,3,4,5))),
+			Arguments.of("1767323045",Optional.of(LocalDateTime.of(2026,1,2,3,4,5))),
+			Arguments.of("1",Optional.of(LocalDateTime.of(1970,1,1,0,0,1))),
+			Arguments.of("a",Optional.empty()),
+			Arguments.of(" ",Optional.empty()),
+			Arguments.of(null,Optional.empty())
+		);
+	}
+	@ParameterizedTest(name = "parseDate() of {0} should result as {1}")
+	@MethodSource("parseDateDataPack")
+	public void parseDate(final String _value,final Optional<LocalDateTime> _expected){
+		Assertions.assertEquals(_expected, CopyDateSource.parseDate(_value));
+	}
+	@Test
+	@DisplayName("parseDate() should fail with invalid dates")
+	public void parseDate_invalid(){
+		Assertions.assertThrows(DateTimeParseException.class, () -> CopyDateSource.parseDate("yesterday"));
+	}
+
+	@Test
+	@DisplayName("resolve() should return the execution time for the execution and fixed sources")
+	public void resolve_executionTime(){
+		
+		final LocalDateTime executionTime=LocalDateTime.of(2026,1,2,3,4,5);
+		final ZipEntry entry=new ZipEntry("my/Class.java");
+		entry.setTime(0l);
+		Assertions.assertEquals(executionTime, CopyDateSource.EXECUTION.resolve(executionTime, entry));
+		Assertions.assertEquals(executionTime, CopyDateSource.FIXED.resolve(executionTime, entry));
+	}
+	@Test
+	@DisplayName("resolve() should return the local time stored at the entry for the entry source")
+	public void resolve_entry(){
+		
+		final LocalDateTime executionTime=LocalDateTime.of(2026,1,2,3,4,5);
+		final LocalDateTime entryTime=LocalDateTime.of(2020,6,7,8,9,10);
+		final ZipEntry entry=new ZipEntry("my/Class.java");
+		entry.setTime(entryTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+		Assertions.assertEquals(entryTime, CopyDateSource.ENTRY.resolve(executionTime, entry));
+		Assertions.assertEquals(executionTime, CopyDateSource.ENTRY.resolve(executionTime, new ZipEntry("my/Other.java")));
+	}
+
+	@Test
+	@DisplayName("resolve() should read the extended timestamps as UTC and the MS-DOS times as local date-time whatever the time zone of the build")
+	public void resolve_entry_timeZone() throws IOException{
+		
+		final LocalDateTime executionTime=LocalDateTime.of(2026,1,2,3,4,5);
+		final LocalDateTime entryTime=LocalDateTime.of(2020,6,7,8,9,10);
+		final TimeZone timeZone=TimeZone.getDefault();
+		try{
+			TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+			final ByteArrayOutputStream jar=new ByteArrayOutputStream();
+			try(ZipOutputStream outputStream=new ZipOutputStream(jar)){
+				final ZipEntry extended=new ZipEntry("my/Extended.java");
+				extended.setLastModifiedTime(FileTime.from(entryTime.toInstant(ZoneOffset.UTC)));
+				outputStream.putNextEntry(extended);
+				outputStream.closeEntry();
+				final ZipEntry dos=new ZipEntry("my/Dos.java");
+				dos.setTime(entryTime.atZone(ZoneId.of("America/New_York")).toInstant().toEpochMilli());
+				outputStream.putNextEntry(dos);
+				outputStream.closeEntry();
+			}
+			try(ZipInputStream inputStream=new ZipInputStream(new ByteArrayInputStream(jar.toByteArray()))){
+				final ZipEntry extended=inputStream.getNextEntry();
+				Assertions.assertTrue(CopyDateSource.hasExtendedTime(extended));
+				Assertions.assertEquals(entryTime, CopyDateSource.ENTRY.resolve(executionTime, extended));
+				final ZipEntry dos=inputStream.getNextEntry();
+				Assertions.assertFalse(CopyDateSource.hasExtendedTime(dos));
+				Assertions.assertEquals(LocalDateTime.of(2020,6,7,21,9,10), CopyDateSource.ENTRY.resolve(executionTime, dos));
+			}
+		}finally{
+			TimeZone.setDefault(timeZone);
+		}
+	}
+
+	@Test
+	@DisplayName("Only the execution source should not be reproducible")
+	public void isReproducible(){
+		Assertions.assertFalse(CopyDateSource.EXECUTION.isReproducible());
+		Assertions.assertTrue(CopyDateSource.FIXED.isReproducible());
+		Assertions.assertTrue(CopyDateSource.ENTRY.isReproducible());
+		Assertions.assertEquals("entry", CopyDateSource.ENTRY.getKeyword());
+	}
+}
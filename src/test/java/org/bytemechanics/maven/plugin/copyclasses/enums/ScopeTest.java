@@ -19,10 +19,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import mockit.Expectations;
 import mockit.Mocked;
+import org.apache.maven.model.Build;
 import org.apache.maven.project.MavenProject;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -85,4 +87,25 @@ public class ScopeTest {
 		}};
 		Scope.TEST.registerSourceFolder(_project, _folder);
 	}
+
+	@Test
+	@DisplayName("Source scope getOutputFolder should return the build output directory")
+	public void getOutputFolder_Source(final @Mocked MavenProject _project,final @Mocked Build _build){
+		
+		new Expectations() {{
+			_project.getBuild(); result=_build;
+			_build.getOutputDirectory(); result="target/classes"; times=1;
+		}};
+		Assertions.assertEquals(Paths.get("target/classes"),Scope.SRC.getOutputFolder(_project));
+	}
+	@Test
+	@DisplayName("Test scope getOutputFolder should return the build test output directory")
+	public void getOutputFolder_TestSource(final @Mocked MavenProject _project,final @Mocked Build _build){
+		
+		new Expectations() {{
+			_project.getBuild(); result=_build;
+			_build.getTestOutputDirectory(); result="target/test-classes"; times=1;
+		}};
+		Assertions.assertEquals(Paths.get("target/test-classes"),Scope.TEST.getOutputFolder(_project));
+	}
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.bytemechanics.maven.plugin.copyclasses.mocks.LogMock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class LazyLogTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> LazyLogTest >>>> setupSpec");
+		try(InputStream inputStream = LazyLogTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private static class RecordingLog extends LogMock{
+
+		final List<String> messages=new ArrayList<>();
+
+		RecordingLog(final LogMock.Level _level){
+			super(LazyLogTest.class,_level);
+		}
+
+		@Override
+		public synchronized void debug(CharSequence cs) {
+			super.debug(cs);
+			this.messages.add(cs.toString());
+		}
+		@Override
+		public synchronized void info(CharSequence cs) {
+			super.info(cs);
+			this.messages.add(cs.toString());
+		}
+	}
+
+	@Test
+	@DisplayName("Messages of disabled levels should not be rendered")
+	public void disabled(){
+
+		final RecordingLog delegate=new RecordingLog(LogMock.Level.INFO);
+		final LazyLog log=new LazyLog(delegate);
+		final AtomicInteger rendered=new AtomicInteger();
+		log.debug(() -> "supplied "+rendered.incrementAndGet());
+		log.debug("pattern {0}",rendered);
+		Assertions.assertEquals(0, rendered.get());
+		Assertions.assertTrue(delegate.messages.isEmpty());
+	}
+
+	@Test
+	@DisplayName("Messages of enabled levels should be rendered")
+	public void enabled(){
+
+		final RecordingLog delegate=new RecordingLog(LogMock.Level.DEBUG);
+		final LazyLog log=new LazyLog(delegate);
+		log.debug(() -> "supplied");
+		log.debug("pattern {0} {1}","a","b");
+		log.info("info {0}","c");
+		Assertions.assertEquals(Arrays.asList("supplied","pattern a b","info c"),delegate.messages);
+	}
+
+	@Test
+	@DisplayName("sampleTrace() should be empty when trace is disabled")
+	public void sampleTrace_disabled(){
+
+		final LazyLog log=new LazyLog(new RecordingLog(LogMock.Level.DEBUG));
+		Assertions.assertFalse(log.isTraceEnabled());
+		Assertions.assertFalse(log.sampleTrace("my.Class").isPresent());
+	}
+
+	@Test
+	@DisplayName("sampleTrace() should return a tracer for one of every traceSampling subjects")
+	public void sampleTrace_sampled(){
+
+		final RecordingLog delegate=new RecordingLog(LogMock.Level.INFO);
+		final LazyLog log=new LazyLog(delegate,3);
+		int sampled=0;
+		for(int i=0;i<9;i++){
+			if(log.sampleTrace("my.Class"+i).isPresent()){
+				sampled++;
+			}
+		}
+		Assertions.assertEquals(3, sampled);
+		log.sampleTrace("my.Traced").ifPresent(tracer -> tracer.accept("message"));
+		Assertions.assertEquals(Arrays.asList("[trace] my.Traced: message"),delegate.messages);
+	}
+
+	@Test
+	@DisplayName("of() should not wrap twice")
+	public void of(){
+
+		final LazyLog log=new LazyLog(new RecordingLog(LogMock.Level.INFO));
+		Assertions.assertSame(log, LazyLog.of(log));
+		Assertions.assertNotSame(log, LazyLog.of(log.getDelegate()));
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.apache.maven.plugin.logging.Log;
+import org.bytemechanics.maven.plugin.copyclasses.mocks.LogMock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class OrderedLogTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> OrderedLogTest >>>> setupSpec");
+		try(InputStream inputStream = OrderedLogTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private static class RecordingLog extends LogMock{
+
+		final List<String> messages=new ArrayList<>();
+
+		RecordingLog(){
+			super(OrderedLogTest.class,LogMock.Level.DEBUG);
+		}
+
+		@Override
+		public synchronized void info(CharSequence cs) {
+			super.info(cs);
+			this.messages.add(cs.toString());
+		}
+	}
+
+	@Test
+	@DisplayName("Messages logged without buffering should be written directly")
+	public void notBuffered(){
+
+		final RecordingLog delegate=new RecordingLog();
+		final OrderedLog log=new OrderedLog(delegate);
+		log.info("first");
+		log.info("second");
+		Assertions.assertEquals(Arrays.asList("first","second"),delegate.messages);
+	}
+
+	@Test
+	@DisplayName("Messages logged while buffering should be written only when replayed")
+	public void buffered(){
+
+		final RecordingLog delegate=new RecordingLog();
+		final OrderedLog log=new OrderedLog(delegate);
+		log.startBuffering();
+		log.info("first");
+		log.info("second");
+		Assertions.assertTrue(delegate.messages.isEmpty());
+		final List<Consumer<Log>> messages=log.stopBuffering();
+		log.info("third");
+		log.replay(messages);
+		Assertions.assertEquals(Arrays.asList("third","first","second"),delegate.messages);
+	}
+
+	@Test
+	@DisplayName("Messages buffered by concurrent threads should be replayed in submission order")
+	public void concurrent() throws InterruptedException, ExecutionException{
+
+		final RecordingLog delegate=new RecordingLog();
+		final OrderedLog log=new OrderedLog(delegate);
+		final ExecutorService executor=Executors.newFixedThreadPool(4);
+		try{
+			final List<Future<List<Consumer<Log>>>> futures=new ArrayList<>();
+			for(int i=0;i<8;i++){
+				final int task=i;
+				futures.add(executor.submit(() -> {
+					log.startBuffering();
+					for(int j=0;j<3;j++){
+						log.info(task+"."+j);
+					}
+					return log.stopBuffering();
+				}));
+			}
+			for(Future<List<Consumer<Log>>> future:futures){
+				log.replay(future.get());
+			}
+		}finally{
+			executor.shutdownNow();
+		}
+		final List<String> expected=new ArrayList<>();
+		for(int i=0;i<8;i++){
+			for(int j=0;j<3;j++){
+				expected.add(i+"."+j);
+			}
+		}
+		Assertions.assertEquals(expected,delegate.messages);
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.report;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class ExecutionReportTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> ExecutionReportTest >>>> setupSpec");
+		try(InputStream inputStream = ExecutionReportTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private ExecutionReport report(){
+
+		final ExecutionReport reply=new ExecutionReport("2.1.0");
+
+		final CopyReport copy=new CopyReport("org.bytemechanics:copy-commons:1.5.0","copy-commons-1.5.0-sources.jar")
+											.opened(2000000l)
+											.selected(100000l);
+		copy.addClass(new ClassReport("org.bytemechanics.commons.lang.ArrayUtils"))
+				.origin(ClassReport.REWRITTEN)
+				.read(1000l,1000l)
+				.decoded(1000l)
+				.rewritten(3000l,40,3)
+				.encoded(1000l)
+				.wrote(1100l,1000l,true);
+		copy.addClass(new ClassReport("org.bytemechanics.commons.string.Figlet"))
+				.origin(ClassReport.CACHED)
+				.wrote(500l,1000l,false);
+		reply.addCopy(copy.finished(5000000l));
+		reply.addCopy(new CopyReport("org.bytemechanics:other:1.0.0","other-1.0.0-sources.jar").upToDate(300000l));
+		reply.addPhase(ExecutionReport.PHASE_COPIES,6000000l)
+				.addPhase(ExecutionReport.PHASE_COPIES,1000000l)
+				.addPhase(ExecutionReport.PHASE_TOTAL,9000000l);
+
+		return reply;
+	}
+
+	@Test
+	@DisplayName("addPhase() should accumulate the time of the repeated phases")
+	public void addPhase(){
+		Assertions.assertEquals(Long.valueOf(7000000l), report().getPhases().get(ExecutionReport.PHASE_COPIES));
+	}
+
+	@Test
+	@DisplayName("toJson() should report the phases, the totals and every copy with its classes")
+	public void toJson(){
+
+		final String json=report().toJson("org.bytemechanics:my-project:jar:1.0.0","SRC");
+
+		Assertions.assertTrue(json.startsWith("{\"tool\":\"copysource-maven-plugin\",\"toolVersion\":\"2.1.0\",\"project\":\"org.bytemechanics:my-project:jar:1.0.0\",\"scope\":\"SRC\","),json);
+		Assertions.assertTrue(json.contains("\"phases\":{\"copies\":7.000,\"total\":9.000}"),json);
+		Assertions.assertTrue(json.contains("\"totals\":{\"copies\":2,\"upToDate\":1,\"classes\":2,\"written\":1,\"bytesRead\":1000,\"bytesWritten\":1100,\"lines\":40,\"relocations\":3,"),json);
+		Assertions.assertTrue(json.contains("{\"class\":\"org.bytemechanics.commons.lang.ArrayUtils\",\"origin\":\"rewritten\",\"written\":true,\"bytesRead\":1000,\"bytesWritten\":1100,\"lines\":40,\"relocations\":3,"),json);
+		Assertions.assertTrue(json.contains("{\"class\":\"org.bytemechanics.commons.string.Figlet\",\"origin\":\"cached\",\"written\":false,"),json);
+		Assertions.assertTrue(json.contains("{\"artifact\":\"org.bytemechanics:other:1.0.0\",\"sourceFile\":\"other-1.0.0-sources.jar\",\"upToDate\":true,"),json);
+		Assertions.assertTrue(json.endsWith("\"classReports\":[]}]}"),json);
+	}
+
+	@Test
+	@DisplayName("toJson() should escape the strings")
+	public void toJson_escaped(){
+
+		final String json=new ExecutionReport(null).toJson("my \"project\"\\\n\t\u0001","SRC");
+
+		Assertions.assertTrue(json.contains("\"toolVersion\":null"),json);
+		Assertions.assertTrue(json.contains("\"project\":\"my \\\"project\\\"\\\\\\n\\t\\u0001\""),json);
+	}
+
+	@Test
+	@DisplayName("summary() should report one row per copy and one row with the phases")
+	public void summary(){
+
+		final List<String> summary=report().summary();
+
+		Assertions.assertEquals(4, summary.size());
+		Assertions.assertTrue(summary.get(0).startsWith("copy"),summary.get(0));
+		Assertions.assertTrue(summary.get(1).startsWith("org.bytemechanics:copy-commons:1.5.0 "),summary.get(1));
+		Assertions.assertTrue(summary.get(2).startsWith("org.bytemechanics:other:1.0.0 (up to date) "),summary.get(2));
+		Assertions.assertEquals("phases: copies 7.0 ms, total 9.0 ms", summary.get(3));
+	}
+
+	@Test
+	@DisplayName("write() should write the json report creating its folder")
+	public void write() throws IOException{
+
+		final Path file=Paths.get("target/tests/executionReport/write").resolve(ExecutionReport.REPORT_FILE);
+		Files.deleteIfExists(file);
+		final ExecutionReport report=report();
+		report.write(file,"org.bytemechanics:my-project:jar:1.0.0","TEST");
+
+		Assertions.assertEquals(report.toJson("org.bytemechanics:my-project:jar:1.0.0","TEST").replaceAll("\"date\":\"[^\"]*\"",""),
+								new String(Files.readAllBytes(file),StandardCharsets.UTF_8).replaceAll("\"date\":\"[^\"]*\"",""));
+	}
+}
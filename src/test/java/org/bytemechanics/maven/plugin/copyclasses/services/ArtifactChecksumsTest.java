@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class ArtifactChecksumsTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> ArtifactChecksumsTest >>>> setupSpec");
+		try(InputStream inputStream = ArtifactChecksumsTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	@Test
+	@DisplayName("checksum() should read the artifact again only when its size or modification time change")
+	public void checksum() throws IOException{
+
+		final Path artifact=Paths.get("target/tests/artifactChecksums/checksum.jar");
+		Files.createDirectories(artifact.getParent());
+		Files.copy(Paths.get("src/test/resources/files/fakeJar.jar"), artifact, StandardCopyOption.REPLACE_EXISTING);
+		Files.setLastModifiedTime(artifact, FileTime.fromMillis(1000000));
+
+		final String checksum=ArtifactChecksums.checksum(artifact);
+		Assertions.assertEquals(64, checksum.length());
+		final byte[] content=Files.readAllBytes(artifact);
+		content[content.length-1]++;
+		Files.write(artifact, content);
+		Files.setLastModifiedTime(artifact, FileTime.fromMillis(1000000));
+		Assertions.assertEquals(checksum, ArtifactChecksums.checksum(artifact));
+		Files.setLastModifiedTime(artifact, FileTime.fromMillis(2000000));
+		Assertions.assertNotEquals(checksum, ArtifactChecksums.checksum(artifact));
+	}
+}
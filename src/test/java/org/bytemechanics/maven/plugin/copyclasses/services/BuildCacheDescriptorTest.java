@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class BuildCacheDescriptorTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> BuildCacheDescriptorTest >>>> setupSpec");
+		try(InputStream inputStream = BuildCacheDescriptorTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private Path folder(final String _name) throws IOException{
+
+		final Path reply=Paths.get("target/tests/buildCacheDescriptor").resolve(_name);
+
+		if(Files.exists(reply)){
+			try(Stream<Path> paths=Files.walk(reply)){
+				paths.sorted(Comparator.reverseOrder())
+						.map(Path::toFile)
+						.forEach(java.io.File::delete);
+			}
+		}
+		Files.createDirectories(reply);
+
+		return reply;
+	}
+	private Map<String,String> copies(final String... _values){
+
+		final Map<String,String> reply=new TreeMap<>();
+
+		for(int i=0;i<_values.length;i+=2){
+			reply.put(_values[i], _values[i+1]);
+		}
+
+		return reply;
+	}
+	private BuildCacheDescriptor descriptor(final String _copyDate,final Map<String,String> _copies){
+		return new BuildCacheDescriptor("2.1.0", StandardCharsets.UTF_8, _copyDate, _copies, Collections.singletonList("generated-sources/copies"), "META-INF/copy-manifest.info");
+	}
+
+	@Test
+	@DisplayName("getKey() should be stable for the same inputs and distinct when any input changes")
+	public void getKey(){
+
+		final String key=descriptor("EXECUTION", copies("copy1","a:b:1@cafe","copy2","c:d:2@babe")).getKey();
+		Assertions.assertEquals(64, key.length());
+		Assertions.assertEquals(key, descriptor("EXECUTION", copies("copy2","c:d:2@babe","copy1","a:b:1@cafe")).getKey());
+		Assertions.assertEquals(key, new BuildCacheDescriptor("2.1.0", StandardCharsets.UTF_8, "EXECUTION", copies("copy1","a:b:1@cafe","copy2","c:d:2@babe"), Arrays.asList("other","outputs"), "META-INF/copy-manifest.info").getKey());
+		Assertions.assertNotEquals(key, descriptor("EXECUTION", copies("copy1","a:b:1@cafe","copy2","c:d:2@beef")).getKey());
+		Assertions.assertNotEquals(key, descriptor("EXECUTION", copies("copy1","a:b:1@cafe","copy3","c:d:2@babe")).getKey());
+		Assertions.assertNotEquals(key, descriptor("EXECUTION", copies("copy1","a:b:1@cafe")).getKey());
+		Assertions.assertNotEquals(key, descriptor("FIXED:2026-01-01T00:00", copies("copy1","a:b:1@cafe","copy2","c:d:2@babe")).getKey());
+		Assertions.assertNotEquals(key, new BuildCacheDescriptor("2.2.0", StandardCharsets.UTF_8, "EXECUTION", copies("copy1","a:b:1@cafe","copy2","c:d:2@babe"), Collections.emptyList(), "META-INF/copy-manifest.info").getKey());
+		Assertions.assertNotEquals(key, new BuildCacheDescriptor("2.1.0", StandardCharsets.UTF_16, "EXECUTION", copies("copy1","a:b:1@cafe","copy2","c:d:2@babe"), Collections.emptyList(), "META-INF/copy-manifest.info").getKey());
+	}
+
+	@Test
+	@DisplayName("store() should persist the key to be loaded by loadKey() and only rewrite the descriptor when it changes")
+	public void store() throws IOException, MojoExecutionException{
+
+		final Path metainf=folder("store").resolve("META-INF");
+		Assertions.assertEquals(Optional.empty(), BuildCacheDescriptor.loadKey(metainf));
+
+		final BuildCacheDescriptor descriptor=descriptor("EXECUTION", copies("copy1","a:b:1@cafe"));
+		descriptor.store(metainf);
+		final Path file=metainf.resolve(BuildCacheDescriptor.DESCRIPTOR_FILE);
+		Assertions.assertEquals(Optional.of(descriptor.getKey()), BuildCacheDescriptor.loadKey(metainf));
+		final String content=new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+		Assertions.assertTrue(content.contains("copy.copy1=a:b:1@cafe\n"), content);
+		Assertions.assertTrue(content.contains("output.0=generated-sources/copies\n"), content);
+		Assertions.assertTrue(content.contains("manifest=META-INF/copy-manifest.info\n"), content);
+
+		Files.setLastModifiedTime(file, java.nio.file.attribute.FileTime.fromMillis(0));
+		descriptor.store(metainf);
+		Assertions.assertEquals(0, Files.getLastModifiedTime(file).toMillis());
+	}
+
+	@Test
+	@DisplayName("isRestored() should be true only when the stored key is the same and all the outputs and the generated sources listed at the manifest exist")
+	public void isRestored() throws IOException, MojoExecutionException{
+
+		final Path project=folder("isRestored");
+		final Path generated=project.resolve("generated-sources/copies");
+		final Path metainf=generated.resolve("META-INF");
+		final BuildCacheDescriptor descriptor=descriptor("EXECUTION", copies("copy1","a:b:1@cafe"));
+
+		Assertions.assertFalse(descriptor.isRestored(project, metainf));
+		descriptor.store(metainf);
+		Assertions.assertFalse(descriptor.isRestored(project, metainf));
+		Files.write(metainf.resolve("copy-manifest.info"), "manifest\nFrom artifact [a:b:1]:\n\t[my.copied.Clazz] repackaged from [org.copied.Clazz]\n".getBytes(StandardCharsets.UTF_8));
+		Files.deleteIfExists(generated.resolve("my/copied/Clazz.java"));
+		Assertions.assertFalse(descriptor.isRestored(project, metainf));
+		Files.createDirectories(generated.resolve("my/copied"));
+		Files.write(generated.resolve("my/copied/Clazz.java"), "class Clazz{}".getBytes(StandardCharsets.UTF_8));
+		Assertions.assertTrue(descriptor.isRestored(project, metainf));
+		Assertions.assertFalse(descriptor("EXECUTION", copies("copy1","a:b:1@beef")).isRestored(project, metainf));
+		Assertions.assertFalse(new BuildCacheDescriptor("2.1.0", StandardCharsets.UTF_8, "EXECUTION", copies("copy1","a:b:1@cafe"), Arrays.asList("generated-sources/copies","classes"), "META-INF/copy-manifest.info").isRestored(project, metainf));
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class ClassFileRelocatorTest {
+
+	private static final String FROM_PACKAGE="org.bytemechanics.maven.plugin.copyclasses.services";
+	private static final String TO_PACKAGE="my.relocated.services";
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> ClassFileRelocatorTest >>>> setupSpec");
+		try(InputStream inputStream = ClassFileRelocatorTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	public static class Relocatable{
+
+		private final long counter=Long.MAX_VALUE;
+		private final double ratio=0.5d;
+
+		public Relocatable() {
+		}
+
+		public String describe(){
+			return getClass().getName()+"|org.bytemechanics.maven.plugin.copyclasses.services.Other|"+counter+"|"+ratio;
+		}
+	}
+
+	private static byte[] compiled(final Class<?> _class) throws IOException{
+
+		try(InputStream inputStream=_class.getResourceAsStream('/'+_class.getName().replace('.','/')+".class");
+				ByteArrayOutputStream outputStream=new ByteArrayOutputStream()){
+			final byte[] buffer=new byte[4096];
+			int read=inputStream.read(buffer);
+			while(read>=0){
+				outputStream.write(buffer,0,read);
+				read=inputStream.read(buffer);
+			}
+			return outputStream.toByteArray();
+		}
+	}
+
+	private static CompiledCopyPlan plan(final String _fromPackage,final String _toPackage){
+		return new CompiledCopyPlan(new CopyDefinition("g:a:v",new String[]{"**"},"UTF-8",_fromPackage,_toPackage),null);
+	}
+
+	private static final class DefiningClassLoader extends ClassLoader{
+
+		DefiningClassLoader(){
+			super(ClassFileRelocatorTest.class.getClassLoader());
+		}
+
+		Class<?> define(final byte[] _classFile){
+			return defineClass(null, _classFile, 0, _classFile.length);
+		}
+	}
+
+	@Test
+	@DisplayName("relocate() should rewrite the class names, descriptors and literals of the constant pool keeping the class loadable")
+	public void relocate() throws IOException, ReflectiveOperationException{
+
+		final ClassFileRelocator relocator=new ClassFileRelocator(plan(FROM_PACKAGE, TO_PACKAGE));
+		final byte[] relocated=relocator.relocate(compiled(Relocatable.class));
+
+		Assertions.assertTrue(relocator.getRelocations()>0);
+		Assertions.assertTrue(relocator.getConstants()>relocator.getRelocations());
+		final Class<?> relocatedClass=new DefiningClassLoader().define(relocated);
+		Assertions.assertEquals(TO_PACKAGE+".ClassFileRelocatorTest$Relocatable", relocatedClass.getName());
+		final Object instance=relocatedClass.getConstructor().newInstance();
+		Assertions.assertEquals(TO_PACKAGE+".ClassFileRelocatorTest$Relocatable|"+TO_PACKAGE+".Other|"+Long.MAX_VALUE+"|0.5", relocatedClass.getMethod("describe").invoke(instance));
+	}
+
+	@Test
+	@DisplayName("relocate() should only relocate whole package segments in the binary and source forms")
+	public void relocate_segments(){
+
+		final ClassFileRelocator relocator=new ClassFileRelocator(plan("org.foo", "my.foo"));
+		Assertions.assertEquals("my/foo/X", relocator.relocate("org/foo/X"));
+		Assertions.assertEquals("my/foo", relocator.relocate("org/foo"));
+		Assertions.assertEquals("(Lmy/foo/X;[Lmy/foo/bar/Y;)Ljava/util/List<Lmy/foo/X;>;", relocator.relocate("(Lorg/foo/X;[Lorg/foo/bar/Y;)Ljava/util/List<Lorg/foo/X;>;"));
+		Assertions.assertEquals("my.foo.X|my.foo.bar.Y", relocator.relocate("org.foo.X|org.foo.bar.Y"));
+		Assertions.assertEquals(4, relocator.getRelocations());
+		final String unrelated="org/foobar/X;com/org/foo/Y;Lorg/foobar/Z;org.foobar.X;com.org.foo.Y;XLorg/foo/Z;";
+		Assertions.assertSame(unrelated, relocator.relocate(unrelated));
+		Assertions.assertEquals("Lorg/foobar/X;Lmy/foo/Y;com.org.foo.Z", relocator.relocate("Lorg/foobar/X;Lorg/foo/Y;com.org.foo.Z"));
+	}
+
+	@Test
+	@DisplayName("relocate() should relocate the type descriptors that follow primitive and array descriptors")
+	public void relocate_primitiveDescriptors(){
+
+		final ClassFileRelocator relocator=new ClassFileRelocator(plan("org.foo", "my.foo"));
+		Assertions.assertEquals("(ILmy/foo/X;)V", relocator.relocate("(ILorg/foo/X;)V"));
+		Assertions.assertEquals("(J[Lmy/foo/X;Z)Lmy/foo/Y;", relocator.relocate("(J[Lorg/foo/X;Z)Lorg/foo/Y;"));
+		Assertions.assertEquals("(ZB[[CLmy/foo/X;DLmy/foo/Y;)V", relocator.relocate("(ZB[[CLorg/foo/X;DLorg/foo/Y;)V"));
+		Assertions.assertEquals("<T:Ljava/lang/Object;>(TT;FLmy/foo/X;)V", relocator.relocate("<T:Ljava/lang/Object;>(TT;FLorg/foo/X;)V"));
+		Assertions.assertEquals(4, relocator.getRelocations());
+		Assertions.assertEquals("XILorg/foo/Z;", relocator.relocate("XILorg/foo/Z;"));
+		Assertions.assertEquals("ILorg/foo/Z;", relocator.relocate("ILorg/foo/Z;"));
+	}
+
+	@Test
+	@DisplayName("relocate() without relocation should keep the class file content")
+	public void relocate_same() throws IOException{
+
+		final byte[] original=compiled(Relocatable.class);
+		final ClassFileRelocator relocator=new ClassFileRelocator(plan("org.notfound", "my.notfound"));
+		Assertions.assertArrayEquals(original, relocator.relocate(original));
+		Assertions.assertEquals(0, relocator.getRelocations());
+	}
+
+	@Test
+	@DisplayName("relocate() of a content that is not a class file should fail")
+	public void relocate_notClassFile() throws IOException{
+
+		final ClassFileRelocator relocator=new ClassFileRelocator(plan(FROM_PACKAGE, TO_PACKAGE));
+		Assertions.assertThrows(IOException.class, () -> relocator.relocate("package org.foo;".getBytes()));
+		Assertions.assertThrows(IOException.class, () -> relocator.relocate(Arrays.copyOf(compiled(Relocatable.class), 20)));
+	}
+}
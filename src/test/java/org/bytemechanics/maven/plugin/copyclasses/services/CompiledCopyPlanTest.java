@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class CompiledCopyPlanTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> CompiledCopyPlanTest >>>> setupSpec");
+		try(InputStream inputStream = CompiledCopyPlanTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	static Stream<Arguments> relocateDataPack() {
+	    return Stream.of(
+			Arguments.of("package com.mypackage.match.sub;","package com.mypackage2.matched.true.sub;"),
+			Arguments.of("import com.mypackage.match.Other; import com.mypackage.match.Another;","import com.mypackage2.matched.true.Other; import com.mypackage2.matched.true.Another;"),
+			Arguments.of("import com.mypackageXmatch.Other;","import com.mypackageXmatch.Other;"),
+			Arguments.of("import com.mypackage.matchbar.Other;","import com.mypackage.matchbar.Other;"),
+			Arguments.of("import org.com.mypackage.match.Other; import xcom.mypackage.match.Other;","import org.com.mypackage.match.Other; import xcom.mypackage.match.Other;"),
+			Arguments.of("com.mypackage.match","com.mypackage2.matched.true"),
+			Arguments.of("public class MyClass {",	"public class MyClass {"),
+			Arguments.of("","")
+		);
+	}
+	@ParameterizedTest(name = "relocate() for line {0} should result as {1}")
+	@MethodSource("relocateDataPack")
+	public void relocate(final String _line,final String _expected){
+		
+		final CopyDefinition copy=new CopyDefinition("myArtifact", new String[0], "UTF-8", "com.mypackage.match", "com.mypackage2.matched.true");
+		final CompiledCopyPlan plan=new CompiledCopyPlan(copy, null);
+		Assertions.assertEquals(_expected, plan.relocate(_line));
+	}
+
+	@Test
+	@DisplayName("relocate() should treat the destiny package as literal replacement")
+	public void relocate_literalReplacement(){
+		
+		final CopyDefinition copy=new CopyDefinition("myArtifact", new String[0], "UTF-8", "com.mypackage", "com.$my\\package");
+		final CompiledCopyPlan plan=new CompiledCopyPlan(copy, null);
+		Assertions.assertEquals("import com.$my\\package.Other;", plan.relocate("import com.mypackage.Other;"));
+	}
+
+	@Test
+	@DisplayName("relocate() without origin package should not modify the text")
+	public void relocate_noFromPackage(){
+		
+		final CopyDefinition copy=new CopyDefinition("myArtifact", new String[0], "UTF-8", null, "com.mypackage2");
+		final CompiledCopyPlan plan=new CompiledCopyPlan(copy, null);
+		Assertions.assertEquals("import com.mypackage.Other;", plan.relocate("import com.mypackage.Other;"));
+	}
+
+	@Test
+	@DisplayName("generateSourceFile() should map the class to the relocated path")
+	public void generateSourceFile(){
+		
+		final CopyDefinition copy=new CopyDefinition("myArtifact", new String[0], "UTF-8", "com.mypackage.match", "com.mypackage2.matched.true");
+		final CompiledCopyPlan plan=new CompiledCopyPlan(copy, null);
+		final Path myPath=Paths.get("first","second");
+		Assertions.assertEquals(Optional.of(myPath.resolve("com/mypackage2/matched/true/myclass.java")), plan.generateSourceFile(myPath, "com.mypackage.match.myclass"));
+		Assertions.assertEquals(Optional.of(myPath.resolve("com/mypackage/notmatch/myclass.java")), plan.generateSourceFile(myPath, "com.mypackage.notmatch.myclass"));
+		Assertions.assertEquals(Optional.of(myPath.resolve("com/mypackage/matchbar/myclass.java")), plan.generateSourceFile(myPath, "com.mypackage.matchbar.myclass"));
+		Assertions.assertFalse(plan.generateSourceFile(myPath, null).isPresent());
+	}
+
+	@Test
+	@DisplayName("generateClassFile() should map the class to the relocated path only when the class is under the origin package")
+	public void generateClassFile(){
+		
+		final CopyDefinition copy=new CopyDefinition("myArtifact", new String[0], "UTF-8", "com.mypackage.match", "com.mypackage2.matched.true");
+		final CompiledCopyPlan plan=new CompiledCopyPlan(copy, null);
+		final Path myPath=Paths.get("first","second");
+		Assertions.assertEquals(Optional.of(myPath.resolve("com/mypackage2/matched/true/sub/myclass.class")), plan.generateClassFile(myPath, "com.mypackage.match.sub.myclass"));
+		Assertions.assertEquals(Optional.of(myPath.resolve("com/mypackage/matchbar/myclass.class")), plan.generateClassFile(myPath, "com.mypackage.matchbar.myclass"));
+		Assertions.assertFalse(plan.generateClassFile(myPath, null).isPresent());
+	}
+
+	@Test
+	@DisplayName("The plan should keep the annotation and the resolved charset")
+	public void annotationAndCharset(){
+		
+		final CopyDefinition copy=new CopyDefinition("myArtifact", new String[0], "UTF-16", "com.mypackage", "com.mypackage2");
+		final CompiledCopyPlan annotated=new CompiledCopyPlan(copy, "@MyAnnotation");
+		final CompiledCopyPlan notAnnotated=new CompiledCopyPlan(copy, null);
+		Assertions.assertTrue(annotated.isAnnotate());
+		Assertions.assertEquals("@MyAnnotation", annotated.getAnnotation());
+		Assertions.assertFalse(notAnnotated.isAnnotate());
+		Assertions.assertEquals(StandardCharsets.UTF_16, annotated.getSourceCharset());
+	}
+
+	static Stream<Arguments> isPassthroughDataPack() {
+	    return Stream.of(
+			Arguments.of("UTF-8", "com.mypackage", "com.mypackage", null, StandardCharsets.UTF_8, false, true),
+			Arguments.of("UTF-8", null, "com.mypackage2", null, StandardCharsets.UTF_8, false, true),
+			Arguments.of("UTF-8", "com.mypackage", "com.mypackage2", null, StandardCharsets.UTF_8, true, true),
+			Arguments.of("ISO-8859-1", "com.mypackage", "com.mypackage2", null, StandardCharsets.ISO_8859_1, true, true),
+			Arguments.of("UTF-16", "com.mypackage", "com.mypackage2", null, StandardCharsets.UTF_16, true, false),
+			Arguments.of("UTF-8", "com.mypackage", "com.mypackage", null, StandardCharsets.ISO_8859_1, false, false),
+			Arguments.of("UTF-8", "com.mypackage", "com.mypackage", "@MyAnnotation", StandardCharsets.UTF_8, false, false)
+		);
+	}
+	@ParameterizedTest(name = "isPassthrough() for charset {0} from {1} to {2} with annotation {3} and target encoding {4} should be relocating {5} and passthrough {6}")
+	@MethodSource("isPassthroughDataPack")
+	public void isPassthrough(final String _charset,final String _from,final String _to,final String _annotation,final Charset _encoding,final boolean _relocating,final boolean _passthrough){
+		
+		final CopyDefinition copy=new CopyDefinition("myArtifact", new String[0], _charset, _from, _to);
+		final CompiledCopyPlan plan=new CompiledCopyPlan(copy, _annotation);
+		Assertions.assertEquals(_relocating, plan.isRelocating());
+		Assertions.assertEquals(_passthrough, plan.isPassthrough(_encoding));
+	}
+
+	static Stream<Arguments> containsFromPackageDataPack() {
+	    return Stream.of(
+			Arguments.of("package com.mypackage.sub;", true),
+			Arguments.of("import com.mypackageX.Other;", true),
+			Arguments.of("ends with com.mypackage", true),
+			Arguments.of("ends with com.mypackag", false),
+			Arguments.of("package com.other; /* \u00e1 com.my-package */", false),
+			Arguments.of("", false)
+		);
+	}
+	@ParameterizedTest(name = "containsFromPackage() for content {0} should result as {1}")
+	@MethodSource("containsFromPackageDataPack")
+	public void containsFromPackage(final String _content,final boolean _expected){
+		
+		final CopyDefinition copy=new CopyDefinition("myArtifact", new String[0], "UTF-8", "com.mypackage", "com.mypackage2");
+		final CompiledCopyPlan plan=new CompiledCopyPlan(copy, null);
+		final byte[] content=_content.getBytes(StandardCharsets.UTF_8);
+		Assertions.assertEquals(_expected, plan.containsFromPackage(content, content.length));
+	}
+
+	@Test
+	@DisplayName("The plan can not be compiled with an unsupported charset")
+	@SuppressWarnings("ThrowableResultIgnored")
+	public void unsupportedCharset(){
+		
+		final CopyDefinition copy=new CopyDefinition("myArtifact", new String[0], "UTF-128", "com.mypackage", "com.mypackage2");
+		Assertions.assertThrows(UnsupportedCharsetException.class, () -> new CompiledCopyPlan(copy, null));
+	}
+
+	@Test
+	@DisplayName("withAnnotation() should share the relocation and replace the annotation")
+	public void withAnnotation(){
+		
+		final CopyDefinition copy=new CopyDefinition("myArtifact", new String[0], "UTF-8", "com.mypackage", "com.mypackage2");
+		final CompiledCopyPlan plan=new CompiledCopyPlan(copy, "@MyAnnotation");
+		final CompiledCopyPlan derived=plan.withAnnotation("@OtherAnnotation");
+		Assertions.assertEquals("@MyAnnotation", plan.getAnnotation());
+		Assertions.assertEquals("@OtherAnnotation", derived.getAnnotation());
+		Assertions.assertSame(copy, derived.getCopy());
+		Assertions.assertEquals(plan.getSourceCharset(), derived.getSourceCharset());
+		Assertions.assertEquals("import com.mypackage2.Other;", derived.relocate("import com.mypackage.Other;"));
+		Assertions.assertFalse(plan.withAnnotation(null).isAnnotate());
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.bytemechanics.maven.plugin.copyclasses.logging.OrderedLog;
+import org.bytemechanics.maven.plugin.copyclasses.mocks.LogMock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class CopyPipelineTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> CopyPipelineTest >>>> setupSpec");
+		try(InputStream inputStream = CopyPipelineTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	@Test
+	@DisplayName("submit() should transform and write every class of the batch")
+	public void submit() throws MojoExecutionException{
+
+		final Map<String,String> written=new ConcurrentHashMap<>();
+		try(CopyPipeline pipeline=new CopyPipeline(3,1024)){
+			final CopyPipeline.Batch batch=pipeline.newBatch();
+			for(int i=0;i<100;i++){
+				final String name="class"+i;
+				batch.submit(name, name.getBytes(), content -> new String(content).toUpperCase().getBytes(), content -> written.put(name, new String(content)));
+			}
+			batch.await();
+			Assertions.assertEquals(0, pipeline.getInFlightBytes());
+		}
+		Assertions.assertEquals(100, written.size());
+		Assertions.assertEquals("CLASS42", written.get("class42"));
+	}
+
+	@Test
+	@DisplayName("submit() should keep the bytes in flight under the memory budget")
+	public void submit_budget() throws MojoExecutionException{
+
+		final AtomicLong maxInFlight=new AtomicLong();
+		try(CopyPipeline pipeline=new CopyPipeline(4,100)){
+			final CopyPipeline.Batch batch=pipeline.newBatch();
+			for(int i=0;i<200;i++){
+				batch.submit("class"+i, new byte[30],
+								content -> {
+									maxInFlight.accumulateAndGet(pipeline.getInFlightBytes(), Math::max);
+									return new byte[40];
+								},
+								content -> maxInFlight.accumulateAndGet(pipeline.getInFlightBytes(), Math::max));
+			}
+			batch.await();
+		}
+		Assertions.assertTrue(maxInFlight.get()>0);
+		Assertions.assertTrue(maxInFlight.get()<=100+4*10,"max in flight "+maxInFlight.get());
+	}
+
+	@Test
+	@DisplayName("submit() of a class bigger than the memory budget should admit it alone")
+	public void submit_oversized() throws MojoExecutionException{
+
+		final AtomicLong writtenBytes=new AtomicLong();
+		try(CopyPipeline pipeline=new CopyPipeline(2,10)){
+			final CopyPipeline.Batch batch=pipeline.newBatch();
+			batch.submit("big1", new byte[100], content -> content, content -> writtenBytes.addAndGet(content.length));
+			batch.submit("big2", new byte[100], content -> content, content -> writtenBytes.addAndGet(content.length));
+			batch.await();
+		}
+		Assertions.assertEquals(200, writtenBytes.get());
+	}
+
+	@Test
+	@DisplayName("await() should raise the failure of its batch without affecting the other batches")
+	@SuppressWarnings("ThrowableResultIgnored")
+	public void await_failure() throws MojoExecutionException{
+
+		final AtomicLong written=new AtomicLong();
+		try(CopyPipeline pipeline=new CopyPipeline(2,1024)){
+			final CopyPipeline.Batch failed=pipeline.newBatch();
+			final CopyPipeline.Batch succeeded=pipeline.newBatch();
+			for(int i=0;i<10;i++){
+				final int index=i;
+				failed.submit("failed"+i, new byte[1],
+								content -> {
+									if(index==3){
+										throw new IOException("expected failure");
+									}
+									return content;
+								},
+								content -> {});
+				succeeded.submit("succeeded"+i, new byte[1], content -> content, content -> written.incrementAndGet());
+			}
+			final MojoExecutionException exception=Assertions.assertThrows(MojoExecutionException.class, failed::await);
+			Assertions.assertTrue(exception.getMessage().contains("failed3"));
+			Assertions.assertTrue(exception.getCause() instanceof IOException);
+			succeeded.await();
+			Assertions.assertEquals(0, pipeline.getInFlightBytes());
+		}
+		Assertions.assertEquals(10, written.get());
+	}
+
+	@Test
+	@DisplayName("await() should raise the errors thrown by the stages instead of waiting forever")
+	public void await_error() throws MojoExecutionException{
+
+		try(CopyPipeline pipeline=new CopyPipeline(2,1024)){
+			final CopyPipeline.Batch batch=pipeline.newBatch();
+			batch.submit("transformed", new byte[1], content -> { throw new AssertionError("expected transform error"); }, content -> {});
+			batch.submit("written", new byte[1], content -> content, content -> { throw new AssertionError("expected write error"); });
+			final MojoExecutionException exception=Assertions.assertThrows(MojoExecutionException.class, batch::await);
+			Assertions.assertTrue(exception.getCause() instanceof AssertionError);
+			Assertions.assertEquals(0, pipeline.getInFlightBytes());
+			final CopyPipeline.Batch next=pipeline.newBatch();
+			final AtomicLong written=new AtomicLong();
+			next.submit("next", new byte[1], content -> content, content -> written.incrementAndGet());
+			next.await();
+			Assertions.assertEquals(1, written.get());
+		}
+	}
+
+	private static class RecordingLog extends LogMock{
+
+		final List<String> messages=new ArrayList<>();
+
+		RecordingLog(){
+			super(CopyPipelineTest.class,LogMock.Level.DEBUG);
+		}
+
+		@Override
+		public synchronized void info(CharSequence cs) {
+			super.info(cs);
+			this.messages.add(cs.toString());
+		}
+	}
+
+	@Test
+	@DisplayName("await() should log the messages of the stages in submission order through the buffer of the awaiting thread")
+	public void await_log() throws MojoExecutionException{
+
+		final RecordingLog delegate=new RecordingLog();
+		final OrderedLog log=new OrderedLog(delegate);
+		final List<String> expected=new ArrayList<>();
+		try(CopyPipeline pipeline=new CopyPipeline(4,1024,log)){
+			log.startBuffering();
+			final CopyPipeline.Batch batch=pipeline.newBatch();
+			for(int i=0;i<50;i++){
+				final String name="class"+i;
+				expected.add("transform "+name);
+				expected.add("write "+name);
+				batch.submit(name, name.getBytes(), 
+								content -> {
+									log.info("transform "+name);
+									return content;
+								},
+								content -> log.info("write "+name));
+			}
+			batch.await();
+			Assertions.assertTrue(delegate.messages.isEmpty());
+			log.replay(log.stopBuffering());
+		}
+		Assertions.assertEquals(expected, delegate.messages);
+	}
+
+	@Test
+	@DisplayName("submit() after close() should fail")
+	public void submit_closed() throws MojoExecutionException{
+
+		final CopyPipeline pipeline=new CopyPipeline(1,1024);
+		final CopyPipeline.Batch batch=pipeline.newBatch();
+		pipeline.close();
+		Assertions.assertThrows(IllegalStateException.class, () -> batch.submit("closed", new byte[1], content -> content, content -> {}));
+	}
+}
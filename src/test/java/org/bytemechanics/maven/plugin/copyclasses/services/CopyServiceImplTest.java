@@ -15,6 +15,8 @@
  */
 package org.bytemechanics.maven.plugin.copyclasses.services;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Method;
@@ -24,9 +26,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.jar.JarFile;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
@@ -41,8 +49,10 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
 import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.bytemechanics.maven.plugin.copyclasses.enums.CopyDateSource;
 import org.bytemechanics.maven.plugin.copyclasses.enums.Scope;
 import org.bytemechanics.maven.plugin.copyclasses.mocks.LogMock;
+import org.bytemechanics.maven.plugin.copyclasses.report.ClassReport;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,6 +63,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.sonatype.plexus.build.incremental.BuildContext;
 
 /**
  *
@@ -111,6 +122,34 @@ public class CopyServiceImplTest {
 		Assertions.assertTrue(actual.isPresent());
 		Assertions.assertEquals(expected, actual.get());
 	}
+	@Test
+	@DisplayName("CopyServiceImpl(Settings) should take the given settings and default the rest as the legacy constructor")
+	public void settings(final @Mocked BuildContext _buildContext){
+		
+		final LocalDateTime executionTime=LocalDateTime.of(2026,1,2,3,4,5);
+		final CopyServiceImpl legacy=new CopyServiceImpl(logger, "target", "copies", StandardCharsets.UTF_8);
+		Assertions.assertFalse(legacy.isIncremental());
+		Assertions.assertEquals(CopyDateSource.EXECUTION, legacy.getCopyDateSource());
+		Assertions.assertNotNull(legacy.getArchiveReader());
+		Assertions.assertFalse(legacy.getCache().isPresent());
+		Assertions.assertFalse(legacy.getBuildContext().isPresent());
+		
+		final CopyServiceImpl service=new CopyServiceImpl(new CopyServiceImpl.Settings(logger, "target", "copies", StandardCharsets.UTF_8)
+																.withExecutionTime(executionTime)
+																.withIncremental(true)
+																.withCopyDateSource(CopyDateSource.FIXED)
+																.withBuildContext(_buildContext));
+		Assertions.assertEquals("target", service.getTargetFolder());
+		Assertions.assertEquals("copies", service.getGeneratedSourceFolder());
+		Assertions.assertEquals(StandardCharsets.UTF_8, service.getEncoding());
+		Assertions.assertEquals(executionTime, service.getExecutionTime());
+		Assertions.assertTrue(service.isIncremental());
+		Assertions.assertEquals(CopyDateSource.FIXED, service.getCopyDateSource());
+		Assertions.assertEquals(legacy.getArchiveReader(), service.getArchiveReader());
+		Assertions.assertSame(_buildContext, service.getBuildContext().get());
+		Assertions.assertFalse(service.getPipeline().isPresent());
+	}
+	
 	@Test
 	@DisplayName("generatePackage() for null class should return empty Optional<Path>")
 	public void generateSourceFile_null(final @Mocked CopyDefinition _copy){
@@ -168,7 +207,7 @@ public class CopyServiceImplTest {
 								"From artifact [mySecondArtifact]:\n" +
 								"	[second.destiny.package.class1] repackaged from [my.second.original.package.class1]\n" +
 								"	[second.destiny.package.class2] repackaged from [my.second.original.package.class2]\n" +
-								"	[second.destiny.package.class3] repackaged from [my.second.original.package.class3]\n" +
+								"	[my.second.original.packagebar.class3] repackaged from [my.second.original.packagebar.class3]\n" +
 								"From artifact [org.bytemechanics.maven:copysource-maven-plugin:"+this.getClass().getPackage().getImplementationVersion()+"]:\n" +
 								"	["+CopyServiceImpl.CUSTOM_ANNOTATION_CLASS+"] generated";
 		new Expectations() {{
@@ -177,7 +216,7 @@ public class CopyServiceImplTest {
 			_copy1.getFromPackage(); result="my.first.original.package"; minTimes=1;
 			_copy1.getToPackage(); result="first.destiny.package"; minTimes=1;
 			_copy2.getArtifact(); result="mySecondArtifact"; minTimes=1;
-			_copy2.getClasses(); result=new String[]{"my.second.original.package.class1","my.second.original.package.class2","my.second.original.package.class3"}; minTimes=1;
+			_copy2.getClasses(); result=new String[]{"my.second.original.package.class1","my.second.original.package.class2","my.second.original.packagebar.class3"}; minTimes=1;
 			_copy2.getFromPackage(); result="my.second.original.package"; minTimes=1;
 			_copy2.getToPackage(); result="second.destiny.package"; minTimes=1;
 		}};
@@ -238,16 +277,102 @@ public class CopyServiceImplTest {
 
 		new Expectations() {{
 			_copy.getClasses(); result=new String[]{"org.bytemechanics.commons.collections.FastDropLastQueue","org.bytemechanics.commons.lang.ArrayUtils","org.bytemechanics.commons.string.Figlet"};
-			instance.generateSourceFile(generatedSourcesPath, "org.bytemechanics.commons.collections.FastDropLastQueue", _copy); result=Optional.of(generatedSourcesQueuePath); times=1;
-			instance.copySource((InputStream)any,generatedSourcesQueuePath,"org.bytemechanics.commons.collections.FastDropLastQueue",_copy,true); times=1;
-			instance.generateSourceFile(generatedSourcesPath, "org.bytemechanics.commons.lang.ArrayUtils", _copy); result=Optional.of(generatedSourcesArrayPath); times=1;
-			instance.copySource((InputStream)any,generatedSourcesArrayPath,"org.bytemechanics.commons.lang.ArrayUtils",_copy,true); times=1;
-			instance.generateSourceFile(generatedSourcesPath, "org.bytemechanics.commons.string.Figlet", _copy); result=Optional.of(generatedSourcesFigletPath); times=1;
-			instance.copySource((InputStream)any,generatedSourcesFigletPath,"org.bytemechanics.commons.string.Figlet",_copy,true); times=1;
+			_copy.getSourceCharset(); result="UTF-8";
+			_copy.isAnnotate(); result=true;
+			instance.generateSourceFile(generatedSourcesPath, "org.bytemechanics.commons.collections.FastDropLastQueue", (CompiledCopyPlan)any); result=Optional.of(generatedSourcesQueuePath); times=1;
+			instance.copySource((InputStream)any,generatedSourcesQueuePath,"org.bytemechanics.commons.collections.FastDropLastQueue",(CompiledCopyPlan)any,(ClassReport)any); times=1;
+			instance.generateSourceFile(generatedSourcesPath, "org.bytemechanics.commons.lang.ArrayUtils", (CompiledCopyPlan)any); result=Optional.of(generatedSourcesArrayPath); times=1;
+			instance.copySource((InputStream)any,generatedSourcesArrayPath,"org.bytemechanics.commons.lang.ArrayUtils",(CompiledCopyPlan)any,(ClassReport)any); times=1;
+			instance.generateSourceFile(generatedSourcesPath, "org.bytemechanics.commons.string.Figlet", (CompiledCopyPlan)any); result=Optional.of(generatedSourcesFigletPath); times=1;
+			instance.copySource((InputStream)any,generatedSourcesFigletPath,"org.bytemechanics.commons.string.Figlet",(CompiledCopyPlan)any,(ClassReport)any); times=1;
 		}};
 		instance.processDownloadedSource(downloadedFile, _copy, generatedSourcesPath);
 	}		
 	
+	@Test
+	@DisplayName("processDownloadedSource() with copy pipeline should generate the same sources than copying inline")
+	public void processDownloadedSource_pipeline() throws IOException, MojoExecutionException{
+	
+		final Path downloadedFile=Paths.get("src/test/resources/files/fakeJar.jar");
+		final Path inlinePath=Paths.get("target/tests/processDownloadedSource_pipeline/inline");
+		final Path pipelinePath=Paths.get("target/tests/processDownloadedSource_pipeline/pipeline");
+		final CopyDefinition copy=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.**"}, "UTF-8", "org.bytemechanics.commons", "my.commons");
+		final LocalDateTime executionTime=LocalDateTime.of(2020,1,1,0,0);
+
+		new CopyServiceImpl(new CopyServiceImpl.Settings(logger, "target", "copies", StandardCharsets.UTF_8).withExecutionTime(executionTime)).processDownloadedSource(downloadedFile, copy, inlinePath);
+		try(CopyServiceImpl service=new CopyServiceImpl(new CopyServiceImpl.Settings(logger, "target", "copies", StandardCharsets.UTF_8).withExecutionTime(executionTime).withPipeline(new CopyPipeline(2, 4096)))){
+			service.processDownloadedSource(downloadedFile, copy, pipelinePath);
+			Assertions.assertEquals(0, service.getPipeline().get().getInFlightBytes());
+			Assertions.assertEquals(11, service.getReport().get().getCopies().get(0).getClasses().size());
+			for(String clazz:service.getSelectedClasses(copy)){
+				final String file=clazz.replace("org.bytemechanics.commons","my.commons").replace('.','/')+".java";
+				Assertions.assertArrayEquals(Files.readAllBytes(inlinePath.resolve(file)), Files.readAllBytes(pipelinePath.resolve(file)),file);
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName("openSourceJar() without session cache should open a not shared jar")
+	public void openSourceJar() throws IOException{
+		
+		try(OpenedSourceJar opened=instance.openSourceJar(Paths.get("src/test/resources/files/fakeJar.jar"))){
+			Assertions.assertFalse(opened.isShared());
+			Assertions.assertEquals(11, opened.getIndex().size());
+		}
+	}
+	
+	static Stream<Arguments> selectClassesDataPack() {
+	    return Stream.of(
+			Arguments.of(new String[]{"org.bytemechanics.commons.string.Figlet","org.bytemechanics.commons.lang.*"},null,
+							Arrays.asList("org.bytemechanics.commons.string.Figlet","org.bytemechanics.commons.lang.ArrayUtils","org.bytemechanics.commons.lang.AutoCloseableResource")),
+			Arguments.of(new String[]{"org.bytemechanics.commons.string.*","org.bytemechanics.commons.string.Figlet"},new String[]{"org.bytemechanics.commons.string.Figlet"},
+							Arrays.asList("org.bytemechanics.commons.string.GenericTextParser","org.bytemechanics.commons.string.SimpleFormat","org.bytemechanics.commons.string.Stringify")),
+			Arguments.of(new String[]{"org.bytemechanics.commons.**"},new String[]{"org.bytemechanics.commons.string.*","org.bytemechanics.commons.functional.**","org.bytemechanics.commons.lang.ArrayUtils"},
+							Arrays.asList("org.bytemechanics.commons.collections.FastDropLastQueue","org.bytemechanics.commons.lang.AutoCloseableResource","org.bytemechanics.commons.reflection.ObjectFactory","org.bytemechanics.commons.reflection.PrimitiveTypeConverter"))
+		);
+	}
+	@ParameterizedTest(name = "selectClasses() of {0} excluding {1} should select {2}")
+	@MethodSource("selectClassesDataPack")
+	public void selectClasses(final String[] _classes,final String[] _excludes,final List<String> _expected) throws IOException, MojoExecutionException{
+		
+		final CopyDefinition copy=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", _classes, "UTF-8", "org.bytemechanics.commons", "my.commons");
+		copy.setExcludes(_excludes);
+		try(JarFile jar=new JarFile("src/test/resources/files/fakeJar.jar")){
+			Assertions.assertEquals(_expected, new ArrayList<>(instance.selectClasses(SourceJarIndex.of(jar), copy, Paths.get("fakeJar.jar")).keySet()));
+		}
+		Assertions.assertEquals(Stream.of(_classes).anyMatch(clazz -> clazz.contains("*")), instance.isDynamicSelection(copy));
+	}
+	@Test
+	@DisplayName("findReferences() should return the not excluded classes of the jar under fromPackage referenced by the source")
+	public void findReferences() throws IOException{
+		
+		final CopyDefinition copy=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.string.GenericTextParser"}, "UTF-8", "org.bytemechanics.commons", "my.commons");
+		final CompiledCopyPlan plan=new CompiledCopyPlan(copy, null);
+		try(JarFile jar=new JarFile("src/test/resources/files/fakeJar.jar")){
+			final SourceJarIndex index=SourceJarIndex.of(jar);
+			final byte[] content;
+			try(InputStream inputStream=jar.getInputStream(index.getEntry("org.bytemechanics.commons.string.GenericTextParser").get())){
+				content=instance.readSource(inputStream);
+			}
+			Assertions.assertEquals(new LinkedHashSet<>(Arrays.asList("org.bytemechanics.commons.functional.LambdaUnchecker","org.bytemechanics.commons.string.GenericTextParser")), instance.findReferences(content, plan, index, copy));
+			copy.setExcludes(new String[]{"org.bytemechanics.commons.functional.*"});
+			Assertions.assertEquals(new LinkedHashSet<>(Arrays.asList("org.bytemechanics.commons.string.GenericTextParser")), instance.findReferences(content, plan, index, copy));
+			copy.setTransitive(true);
+			Assertions.assertTrue(instance.isDynamicSelection(copy));
+		}
+	}
+	@Test
+	@DisplayName("selectClasses() should fail when any selection does not match any class")
+	@SuppressWarnings("ThrowableResultIgnored")
+	public void selectClasses_notFound() throws IOException{
+		
+		final CopyDefinition copy=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.string.Figlet","org.bytemechanics.commons.notfound.*"}, "UTF-8", "org.bytemechanics.commons", "my.commons");
+		try(JarFile jar=new JarFile("src/test/resources/files/fakeJar.jar")){
+			final SourceJarIndex index=SourceJarIndex.of(jar);
+			Assertions.assertThrows(MojoExecutionException.class, () -> instance.selectClasses(index, copy, Paths.get("fakeJar.jar")));
+		}
+	}
+
 	@Test
 	@DisplayName("generatePackage() for should generate the folders")
 	public void generatePackage() throws MojoExecutionException{
@@ -303,6 +428,73 @@ public class CopyServiceImplTest {
 		Assertions.assertEquals(expected, actual);
 	}
 	
+	static Stream<Arguments> getCopyDateKeyDataPack() {
+	    return Stream.of(
+			Arguments.of(CopyDateSource.EXECUTION,null),
+			Arguments.of(CopyDateSource.FIXED,"2026-01-02T03:04:05"),
+			Arguments.of(CopyDateSource.ENTRY,"entry")
+		);
+	}
+	@ParameterizedTest(name = "getCopyDateKey() with copy date source {0} should be {1}")
+	@MethodSource("getCopyDateKeyDataPack")
+	public void getCopyDateKey(final CopyDateSource _source,final String _expected){
+		
+		new Expectations() {{
+			instance.getCopyDateSource(); result=_source;
+			instance.getExecutionTime(); result=LocalDateTime.of(2026,1,2,3,4,5); minTimes=0;
+		}};
+		
+		Assertions.assertEquals(_expected, instance.getCopyDateKey());
+	}
+	
+	static Stream<Arguments> isCacheableDataPack() {
+	    return Stream.of(
+			Arguments.of(false,false,CopyDateSource.EXECUTION,false),
+			Arguments.of(true,false,CopyDateSource.EXECUTION,true),
+			Arguments.of(true,true,CopyDateSource.EXECUTION,false),
+			Arguments.of(true,true,CopyDateSource.FIXED,true),
+			Arguments.of(true,true,CopyDateSource.ENTRY,true)
+		);
+	}
+	@ParameterizedTest(name = "isCacheable() with cache {0}, annotated {1} and copy date source {2} should be {3}")
+	@MethodSource("isCacheableDataPack")
+	public void isCacheable(final boolean _cache,final boolean _annotate,final CopyDateSource _source,final boolean _expected){
+		
+		final CompiledCopyPlan plan=new CompiledCopyPlan(new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{}, "UTF-8", "org.foo", "my.foo"),(_annotate)? "@CopiedSource" : null);
+		new Expectations() {{
+			instance.getCache(); result=(_cache)? Optional.of(new RelocationCache(Paths.get("target/tests/isCacheable"),0)) : Optional.empty();
+			instance.getCopyDateSource(); result=_source; minTimes=0;
+		}};
+		
+		Assertions.assertEquals(_expected, instance.isCacheable(plan));
+	}
+	
+	static Stream<Arguments> isPrecompiledCacheableDataPack() {
+	    return Stream.of(
+			Arguments.of(false,CopyDateSource.EXECUTION,true),
+			Arguments.of(true,CopyDateSource.EXECUTION,false),
+			Arguments.of(true,CopyDateSource.FIXED,true),
+			Arguments.of(true,CopyDateSource.ENTRY,true)
+		);
+	}
+	@ParameterizedTest(name = "isPrecompiledCacheable() with annotated sources {0} and copy date source {1} should be {2}")
+	@MethodSource("isPrecompiledCacheableDataPack")
+	public void isPrecompiledCacheable(final boolean _annotated,final CopyDateSource _source,final boolean _expected) throws IOException{
+		
+		final Path generatedSourcesPath=Paths.get("target/tests/isPrecompiledCacheable").resolve(String.valueOf(_annotated));
+		final Path annotationSource=generatedSourcesPath.resolve(CopyServiceImpl.CUSTOM_ANNOTATION_CLASS.replace('.','/')+CopyServiceImpl.JAVA_SOURCE_EXTENSION);
+		Files.createDirectories(annotationSource.getParent());
+		Files.deleteIfExists(annotationSource);
+		if(_annotated){
+			Files.write(annotationSource, "package org.bytemechanics.maven.plugin.copyclasses.annotations;".getBytes(StandardCharsets.UTF_8));
+		}
+		new Expectations() {{
+			instance.getCopyDateSource(); result=_source;
+		}};
+		
+		Assertions.assertEquals(_expected, instance.isPrecompiledCacheable(generatedSourcesPath));
+	}
+	
 	static Stream<Arguments> copySourceDataPack() {
 	    return Stream.of(
 			Arguments.of("org.bytemechanics.commons.functional.LambdaUnchecker","com/mypackage2/matched/true/LambdaUnchecker.java"),
@@ -326,7 +518,7 @@ public class CopyServiceImplTest {
 		new Expectations() {{
 			instance.getEncoding(); result=StandardCharsets.UTF_8;
 			instance.getAnnotation(_copy,(LocalDateTime)any); result="@CopiedSource(tool=\"org.bytemechanics.maven.copysource-maven-plugin\", toolVersion=\"null\", originGroupId=\"org.bytemechanics\", originArtifactId=\"copy-commons\", originVersion=\"1.5.0\", originClassifier=\"null\", copyDate = \"2022-08-08T10:54:19.782697\")";
-			_copy.getFromPackageRegex(); result="org\\.bytemechanics\\.commons\\.functional";
+			_copy.getFromPackage(); result="org.bytemechanics.commons.functional";
 			_copy.getToPackage(); result="com.mypackage2.matched.true";
 			_copy.getSourceCharset(); result="UTF-8";
 		}};
@@ -338,6 +530,125 @@ public class CopyServiceImplTest {
 			Assertions.fail("Should not raise an exception here",e);
 		}
 	}
+	static Stream<Arguments> copySourcePassthroughDataPack() {
+	    return Stream.of(
+			Arguments.of("org.bytemechanics.maven.plugin.copyclasses.enums", "org.bytemechanics.maven.plugin.copyclasses.enums", 0),
+			Arguments.of("org.bytemechanics.commons.functional", "com.mypackage2.matched.true", 0),
+			Arguments.of("org.bytemechanics.maven.plugin.copyclasses.enums", "com.mypackage2.matched.true", 1)
+		);
+	}
+	@ParameterizedTest(name = "copySource() not annotated from {0} to {1} should rewrite the source {2} times and otherwise copy the raw bytes")
+	@MethodSource("copySourcePassthroughDataPack")
+	public void copySource_passthrough(final String _from,final String _to,final int _rewrites) throws MojoExecutionException, IOException {
+		
+		final Path originalSourceFile=Paths.get("src/test/resources/files/original/Scope.javacode");
+		final Path generatedSourceFile=Paths.get("target/tests/copySource_passthrough").resolve(_rewrites+"-"+_to).resolve("Scope.java");
+		final CompiledCopyPlan plan=new CompiledCopyPlan(new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[0], "UTF-8", _from, _to), null);
+		
+		new Expectations() {{
+			instance.getEncoding(); result=StandardCharsets.UTF_8;
+			instance.rewriteContent((byte[])any,"org.bytemechanics.maven.plugin.copyclasses.enums.Scope",plan,(ClassReport)any); result=new byte[0]; times=_rewrites;
+		}};
+		try(InputStream inputStream=Files.newInputStream(originalSourceFile)){
+			instance.copySource(inputStream,generatedSourceFile,"org.bytemechanics.maven.plugin.copyclasses.enums.Scope",plan); 
+		}
+		if(_rewrites==0){
+			Assertions.assertArrayEquals(Files.readAllBytes(originalSourceFile),Files.readAllBytes(generatedSourceFile));
+		}
+	}
+	@Test
+	@DisplayName("copySource() should record the sizes, lines, relocations and origin of the class at its report")
+	public void copySource_report() throws MojoExecutionException, IOException {
+		
+		final Path originalSourceFile=Paths.get("src/test/resources/files/original/Scope.javacode");
+		final Path generatedSourceFile=Paths.get("target/tests/copySource_report/Scope.java");
+		final CompiledCopyPlan plan=new CompiledCopyPlan(new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[0], "UTF-8", "org.bytemechanics.maven.plugin.copyclasses.enums", "com.mypackage2.matched.true"), null);
+		final ClassReport report=new ClassReport("org.bytemechanics.maven.plugin.copyclasses.enums.Scope");
+		
+		new Expectations() {{
+			instance.getEncoding(); result=StandardCharsets.UTF_8;
+		}};
+		Files.deleteIfExists(generatedSourceFile);
+		try(InputStream inputStream=Files.newInputStream(originalSourceFile)){
+			Assertions.assertTrue(instance.copySource(inputStream,generatedSourceFile,"org.bytemechanics.maven.plugin.copyclasses.enums.Scope",plan,report));
+		}
+		Assertions.assertEquals(ClassReport.REWRITTEN, report.getOrigin());
+		Assertions.assertTrue(report.isWritten());
+		Assertions.assertEquals(Files.size(originalSourceFile), report.getBytesRead());
+		Assertions.assertEquals(Files.size(generatedSourceFile), report.getBytesWritten());
+		Assertions.assertEquals(Files.readAllLines(originalSourceFile,StandardCharsets.UTF_8).size(), report.getLines());
+		Assertions.assertTrue(report.getRelocations()>0);
+	}
+	@Test
+	@DisplayName("writeIfDifferent() should only write the file if it does not exist or its content changed")
+	public void writeIfDifferent() throws IOException {
+		
+		final Path target=Paths.get("target/tests/writeIfDifferent/Target.java");
+		Files.createDirectories(target.getParent());
+		Files.deleteIfExists(target);
+		final byte[] content="package my.pack;\nclass Target{}\n".getBytes(StandardCharsets.UTF_8);
+		final byte[] sameSize="package my.pack;\nclass Tarjet{}\n".getBytes(StandardCharsets.UTF_8);
+		
+		Assertions.assertTrue(instance.writeIfDifferent(target, content));
+		final FileTime written=FileTime.fromMillis(Files.getLastModifiedTime(target).toMillis()-60000);
+		Files.setLastModifiedTime(target, written);
+		Assertions.assertFalse(instance.writeIfDifferent(target, content));
+		Assertions.assertEquals(written, Files.getLastModifiedTime(target));
+		Assertions.assertTrue(instance.writeIfDifferent(target, sameSize));
+		Assertions.assertArrayEquals(sameSize, Files.readAllBytes(target));
+		Assertions.assertTrue(instance.writeIfDifferent(target, content));
+		Assertions.assertEquals(3, instance.getWrittenFiles());
+	}
+
+	@Test
+	@DisplayName("streamIfDifferent() should compare the content in chunks and only write the file if it does not exist or its content changed")
+	public void streamIfDifferent() throws IOException {
+		
+		final Path target=Paths.get("target/tests/streamIfDifferent/Target.java");
+		Files.createDirectories(target.getParent());
+		Files.deleteIfExists(target);
+		final byte[] content=new byte[20000];
+		Arrays.fill(content, (byte)'a');
+		final byte[] changed=content.clone();
+		changed[10000]='b';
+		final byte[] shorter=Arrays.copyOf(content, 15000);
+		
+		Assertions.assertTrue(instance.streamIfDifferent(target, new ByteArrayInputStream(content)));
+		final FileTime written=FileTime.fromMillis(Files.getLastModifiedTime(target).toMillis()-60000);
+		Files.setLastModifiedTime(target, written);
+		Assertions.assertFalse(instance.streamIfDifferent(target, new ByteArrayInputStream(content)));
+		Assertions.assertEquals(written, Files.getLastModifiedTime(target));
+		Assertions.assertTrue(instance.streamIfDifferent(target, new ByteArrayInputStream(changed)));
+		Assertions.assertArrayEquals(changed, Files.readAllBytes(target));
+		Assertions.assertTrue(instance.streamIfDifferent(target, new ByteArrayInputStream(shorter)));
+		Assertions.assertArrayEquals(shorter, Files.readAllBytes(target));
+		Assertions.assertTrue(instance.streamIfDifferent(target, new ByteArrayInputStream(content)));
+		Assertions.assertArrayEquals(content, Files.readAllBytes(target));
+		Assertions.assertEquals(4, instance.getWrittenFiles());
+	}
+
+	@Test
+	@DisplayName("writeIfDifferent() with build context should write only the changed files through it")
+	public void writeIfDifferent_buildContext(final @Mocked BuildContext _buildContext) throws IOException {
+		
+		final Path target=Paths.get("target/tests/writeIfDifferent_buildContext/Target.java");
+		Files.createDirectories(target.getParent());
+		final byte[] content="package my.pack;\nclass Target{}\n".getBytes(StandardCharsets.UTF_8);
+		Files.write(target, content);
+		final byte[] changed="package my.pack;\nclass Changed{}\n".getBytes(StandardCharsets.UTF_8);
+		final ByteArrayOutputStream written=new ByteArrayOutputStream();
+		final CopyServiceImpl service=new CopyServiceImpl(new CopyServiceImpl.Settings(logger, "target", "copies", StandardCharsets.UTF_8).withBuildContext(_buildContext));
+
+		new Expectations() {{
+			_buildContext.newFileOutputStream(target.toFile()); result=written; times=1;
+		}};
+		
+		Assertions.assertFalse(service.writeIfDifferent(target, content));
+		Assertions.assertTrue(service.writeIfDifferent(target, changed));
+		Assertions.assertArrayEquals(changed, written.toByteArray());
+		Assertions.assertEquals(1, service.getWrittenFiles());
+	}
+
 	@Test
 	@DisplayName("copySource() with non readable source file should raise MojoExecutionException")
 	@SuppressWarnings({"CallToPrintStackTrace", "CallToPrintStackTrace", "ThrowableResultIgnored", "ThrowableResultIgnored"})
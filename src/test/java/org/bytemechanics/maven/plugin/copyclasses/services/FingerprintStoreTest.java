@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class FingerprintStoreTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> FingerprintStoreTest >>>> setupSpec");
+		try(InputStream inputStream = FingerprintStoreTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private Path prepareArtifact(final String _test) throws IOException{
+
+		final Path folder=Paths.get("target/tests/fingerprints").resolve(_test);
+		Files.createDirectories(folder);
+		final Path artifact=folder.resolve("fakeJar.jar");
+		Files.copy(Paths.get("src/test/resources/files/fakeJar.jar"), artifact, StandardCopyOption.REPLACE_EXISTING);
+		Files.deleteIfExists(folder.resolve(FingerprintStore.FINGERPRINTS_FILE));
+
+		return artifact;
+	}
+
+	@Test
+	@DisplayName("copyKey() should be stable for equal definitions and distinct when any input changes")
+	public void copyKey(){
+
+		final CopyDefinition copy=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.string.Figlet"}, "UTF-8", "org.bytemechanics.commons", "my.internal");
+		final CopyDefinition same=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.string.Figlet"}, "UTF-8", "org.bytemechanics.commons", "my.internal");
+		final CopyDefinition other=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.string.Figlet"}, "UTF-8", "org.bytemechanics.commons", "my.other");
+
+		final String key=FingerprintStore.copyKey(copy, StandardCharsets.UTF_8, "2.1.0");
+		Assertions.assertEquals(key, FingerprintStore.copyKey(same, StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, FingerprintStore.copyKey(other, StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, FingerprintStore.copyKey(copy, StandardCharsets.UTF_16, "2.1.0"));
+		Assertions.assertNotEquals(key, FingerprintStore.copyKey(copy, StandardCharsets.UTF_8, "2.2.0"));
+		other.setToPackage("my.internal");
+		other.setAnnotate(false);
+		Assertions.assertNotEquals(key, FingerprintStore.copyKey(other, StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertEquals(key, FingerprintStore.copyKey(copy, StandardCharsets.UTF_8, "2.1.0", null));
+		other.setAnnotate(true);
+		other.setTransitive(true);
+		Assertions.assertNotEquals(key, FingerprintStore.copyKey(other, StandardCharsets.UTF_8, "2.1.0"));
+		same.setExcludes(new String[]{"org.bytemechanics.commons.string.Other"});
+		Assertions.assertNotEquals(key, FingerprintStore.copyKey(same, StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, FingerprintStore.copyKey(copy, StandardCharsets.UTF_8, "2.1.0", "2026-01-01T00:00"));
+		Assertions.assertNotEquals(FingerprintStore.copyKey(copy, StandardCharsets.UTF_8, "2.1.0", "2026-01-01T00:00"), FingerprintStore.copyKey(copy, StandardCharsets.UTF_8, "2.1.0", "entry"));
+	}
+
+	@Test
+	@DisplayName("isArtifactUnchanged() should be false when the artifact has never been registered")
+	public void isArtifactUnchanged_notRegistered() throws IOException, MojoExecutionException{
+
+		final Path artifact=prepareArtifact("isArtifactUnchanged_notRegistered");
+		final FingerprintStore store=FingerprintStore.load(artifact.getParent());
+
+		Assertions.assertFalse(store.isArtifactUnchanged("mykey", artifact));
+	}
+	@Test
+	@DisplayName("isArtifactUnchanged() should be true after register and store, even if only the modification time changed")
+	public void isArtifactUnchanged_registered() throws IOException, MojoExecutionException{
+
+		final Path artifact=prepareArtifact("isArtifactUnchanged_registered");
+		final FingerprintStore store=FingerprintStore.load(artifact.getParent());
+		store.registerArtifact("mykey", artifact);
+		store.store();
+
+		final FingerprintStore loaded=FingerprintStore.load(artifact.getParent());
+		Assertions.assertTrue(loaded.isArtifactUnchanged("mykey", artifact));
+		Files.setLastModifiedTime(artifact, FileTime.fromMillis(Files.getLastModifiedTime(artifact).toMillis()-60000));
+		Assertions.assertTrue(loaded.isArtifactUnchanged("mykey", artifact));
+		Assertions.assertFalse(loaded.isArtifactUnchanged("otherkey", artifact));
+	}
+	@Test
+	@DisplayName("isArtifactUnchanged() should be false when the artifact content changed")
+	public void isArtifactUnchanged_changed() throws IOException, MojoExecutionException{
+
+		final Path artifact=prepareArtifact("isArtifactUnchanged_changed");
+		final FingerprintStore store=FingerprintStore.load(artifact.getParent());
+		store.registerArtifact("mykey", artifact);
+		Files.write(artifact, new byte[]{1,2,3});
+
+		Assertions.assertFalse(store.isArtifactUnchanged("mykey", artifact));
+	}
+	@Test
+	@DisplayName("artifactChecksum() should reuse the registered checksum while the size and the modification time do not change")
+	public void artifactChecksum() throws IOException, MojoExecutionException{
+
+		final Path artifact=prepareArtifact("artifactChecksum");
+		final FingerprintStore store=FingerprintStore.load(artifact.getParent());
+		final String checksum=store.artifactChecksum("mykey", artifact);
+		Assertions.assertEquals(checksum, store.checksum(artifact));
+		store.registerArtifact("mykey", artifact);
+		Assertions.assertEquals(checksum, store.artifactChecksum("mykey", artifact));
+		final FileTime modified=Files.getLastModifiedTime(artifact);
+		final byte[] content=Files.readAllBytes(artifact);
+		content[content.length-1]++;
+		Files.write(artifact, content);
+		Files.setLastModifiedTime(artifact, modified);
+		Assertions.assertEquals(checksum, store.artifactChecksum("mykey", artifact));
+		Files.setLastModifiedTime(artifact, FileTime.fromMillis(modified.toMillis()+60000));
+		Assertions.assertNotEquals(checksum, store.artifactChecksum("mykey", artifact));
+	}
+	@Test
+	@DisplayName("store() should discard the fingerprints not touched during the execution")
+	public void store_discardUntouched() throws IOException, MojoExecutionException{
+
+		final Path artifact=prepareArtifact("store_discardUntouched");
+		final FingerprintStore store=FingerprintStore.load(artifact.getParent());
+		store.registerArtifact("kept", artifact);
+		store.registerArtifact("discarded", artifact);
+		store.store();
+
+		final FingerprintStore second=FingerprintStore.load(artifact.getParent());
+		second.touch("kept");
+		second.store();
+
+		final FingerprintStore third=FingerprintStore.load(artifact.getParent());
+		Assertions.assertTrue(third.isArtifactUnchanged("kept", artifact));
+		Assertions.assertFalse(third.isArtifactUnchanged("discarded", artifact));
+	}
+
+	@Test
+	@DisplayName("relocationKey() of copies not annotated should ignore the artifact version and the selected classes")
+	public void relocationKey(){
+
+		final CopyDefinition copy=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.string.Figlet"}, "UTF-8", "org.bytemechanics.commons", "my.internal");
+		final CopyDefinition upgraded=new CopyDefinition("org.bytemechanics:copy-commons:1.6.0", new String[]{"org.bytemechanics.commons.lang.ArrayUtils"}, "UTF-8", "org.bytemechanics.commons", "my.internal");
+		final CopyDefinition relocated=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.string.Figlet"}, "UTF-8", "org.bytemechanics.commons", "my.other");
+
+		copy.setAnnotate(false);
+		upgraded.setAnnotate(false);
+		relocated.setAnnotate(false);
+
+		final String key=FingerprintStore.relocationKey(copy, StandardCharsets.UTF_8, "2.1.0");
+		Assertions.assertEquals(key, FingerprintStore.relocationKey(upgraded, StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, FingerprintStore.relocationKey(relocated, StandardCharsets.UTF_8, "2.1.0"));
+	}
+	@Test
+	@DisplayName("relocationKey() of annotated copies should depend on the artifact version stamped at the annotation")
+	public void relocationKey_annotated(){
+
+		final CopyDefinition copy=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.string.Figlet"}, "UTF-8", "org.bytemechanics.commons", "my.internal");
+		final CopyDefinition otherSelection=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.lang.ArrayUtils"}, "UTF-8", "org.bytemechanics.commons", "my.internal");
+		final CopyDefinition upgraded=new CopyDefinition("org.bytemechanics:copy-commons:1.6.0", new String[]{"org.bytemechanics.commons.string.Figlet"}, "UTF-8", "org.bytemechanics.commons", "my.internal");
+
+		final String key=FingerprintStore.relocationKey(copy, StandardCharsets.UTF_8, "2.1.0");
+		Assertions.assertEquals(key, FingerprintStore.relocationKey(otherSelection, StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, FingerprintStore.relocationKey(upgraded, StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, FingerprintStore.relocationKey(copy, StandardCharsets.UTF_8, "2.2.0"));
+		Assertions.assertNotEquals(key, FingerprintStore.relocationKey(copy, StandardCharsets.UTF_8, "2.1.0", "FIXED:2026-01-01T00:00"));
+	}
+
+	@Test
+	@DisplayName("isEntryUnchanged() should compare the central directory CRC32 and size of the entry")
+	public void isEntryUnchanged() throws IOException, MojoExecutionException{
+
+		final Path artifact=prepareArtifact("isEntryUnchanged");
+		final FingerprintStore store=FingerprintStore.load(artifact.getParent());
+		try(JarFile jar=new JarFile(artifact.toFile())){
+			final JarEntry figlet=jar.getJarEntry("org/bytemechanics/commons/string/Figlet.java");
+			final JarEntry arrayUtils=jar.getJarEntry("org/bytemechanics/commons/lang/ArrayUtils.java");
+			Assertions.assertFalse(store.isEntryUnchanged("mykey", "org.bytemechanics.commons.string.Figlet", figlet));
+			store.registerEntry("mykey", "org.bytemechanics.commons.string.Figlet", figlet);
+			store.store();
+
+			final FingerprintStore loaded=FingerprintStore.load(artifact.getParent());
+			Assertions.assertTrue(loaded.isEntryUnchanged("mykey", "org.bytemechanics.commons.string.Figlet", figlet));
+			Assertions.assertFalse(loaded.isEntryUnchanged("mykey", "org.bytemechanics.commons.string.Figlet", arrayUtils));
+			Assertions.assertFalse(loaded.isEntryUnchanged("otherkey", "org.bytemechanics.commons.string.Figlet", figlet));
+		}
+	}
+
+	@Test
+	@DisplayName("getSelection() should return the registered selection once stored and reloaded")
+	public void registerSelection() throws IOException, MojoExecutionException{
+
+		final Path folder=prepareArtifact("registerSelection").getParent();
+		final FingerprintStore store=FingerprintStore.load(folder);
+		Assertions.assertFalse(store.getSelection("mykey").isPresent());
+		store.registerSelection("mykey", Arrays.asList("my.package.Class1","my.package.sub.Class2"));
+		store.registerSelection("myemptykey", Collections.emptyList());
+		store.store();
+
+		final FingerprintStore reloaded=FingerprintStore.load(folder);
+		Assertions.assertEquals(Optional.of(Arrays.asList("my.package.Class1","my.package.sub.Class2")), reloaded.getSelection("mykey"));
+		Assertions.assertEquals(Optional.of(Collections.emptyList()), reloaded.getSelection("myemptykey"));
+	}
+}
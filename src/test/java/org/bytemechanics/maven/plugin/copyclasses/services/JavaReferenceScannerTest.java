@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class JavaReferenceScannerTest {
+
+	private static final String SOURCE="/* package org.commented; */\n"
+										+ "package org.foo.bar ;\n"
+										+ "import org.foo.util.Helper;\n"
+										+ "import static org.foo.util.Constants.VALUE;\n"
+										+ "import org.foo.other.*;\n"
+										+ "import static org.foo.util.Statics.*;\n"
+										+ "// import org.foo.Commented;\n"
+										+ "@Marker\n"
+										+ "public class Bar extends Base<Sibling>{\n"
+										+ "	private String text=\"org.foo.InString \\\" Quoted\";\n"
+										+ "	private String block=\"\"\"\n"
+										+ "		InTextBlock\n"
+										+ "		\"\"\";\n"
+										+ "	private char c='\"';\n"
+										+ "	private org.foo.deep.Qualified qualified=org.foo.deep . Qualified.create().method();\n"
+										+ "	private Outer.Inner inner;\n"
+										+ "}";
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> JavaReferenceScannerTest >>>> setupSpec");
+		try(InputStream inputStream = JavaReferenceScannerTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private JavaReferenceScanner scan(final String _source){
+		return new JavaReferenceScanner().scan(_source.toCharArray(), _source.length());
+	}
+
+	@Test
+	@DisplayName("scan() should collect the package and the imports outside comments")
+	public void scan_declarations(){
+
+		final JavaReferenceScanner scanner=scan(SOURCE);
+		Assertions.assertEquals("org.foo.bar", scanner.getPackageName());
+		Assertions.assertEquals(Arrays.asList("org.foo.util.Helper","org.foo.util.Constants.VALUE"), scanner.getImports());
+		Assertions.assertEquals(Arrays.asList("org.foo.other","org.foo.util.Statics"), scanner.getOnDemandImports());
+	}
+
+	@Test
+	@DisplayName("scan() should collect the names used in the code but not in comments or literals")
+	public void scan_names(){
+
+		final Set<String> names=scan(SOURCE).getNames();
+		Assertions.assertTrue(names.containsAll(Arrays.asList("Marker","Base","Sibling","org.foo.deep.Qualified.create","Outer.Inner")));
+		Assertions.assertFalse(names.contains("InString"));
+		Assertions.assertFalse(names.contains("Quoted"));
+		Assertions.assertFalse(names.contains("InTextBlock"));
+		Assertions.assertFalse(names.contains("method"));
+		Assertions.assertFalse(names.stream().anyMatch(name -> name.contains("Commented")||name.contains("commented")));
+	}
+
+	@Test
+	@DisplayName("getCandidates() should resolve the names against the own package, the imports and the enclosing names")
+	public void getCandidates(){
+
+		final Set<String> candidates=scan(SOURCE).getCandidates();
+		Assertions.assertTrue(candidates.containsAll(Arrays.asList("org.foo.util.Helper","org.foo.util.Constants","org.foo.util.Statics",
+																	"org.foo.bar.Sibling","org.foo.bar.Marker","org.foo.other.Sibling",
+																	"org.foo.deep.Qualified","org.foo.bar.Outer")));
+		Assertions.assertFalse(candidates.contains("org.foo.Commented"));
+		Assertions.assertFalse(candidates.contains("org.foo.InString"));
+	}
+
+	@Test
+	@DisplayName("getCandidates() of a source at the default package should use the simple names")
+	public void getCandidates_defaultPackage(){
+
+		final JavaReferenceScanner scanner=scan("class Bar extends Base{}");
+		Assertions.assertNull(scanner.getPackageName());
+		Assertions.assertTrue(scanner.getCandidates().contains("Base"));
+	}
+}
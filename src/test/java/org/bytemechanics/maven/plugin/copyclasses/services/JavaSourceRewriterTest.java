@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class JavaSourceRewriterTest {
+
+	private static final String ANNOTATION="@CopiedSource(tool=\"org.bytemechanics.maven.copysource-maven-plugin\", toolVersion=\"null\", originGroupId=\"org.bytemechanics\", originArtifactId=\"copy-commons\", originVersion=\"1.5.0\", originClassifier=\"null\", copyDate = \"2022-08-08T10:54:19.782697\")";
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> JavaSourceRewriterTest >>>> setupSpec");
+		try(InputStream inputStream = JavaSourceRewriterTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private CompiledCopyPlan plan(final String _from,final String _to,final boolean _annotate){
+		return new CompiledCopyPlan(new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{}, "UTF-8", _from, _to),(_annotate)? ANNOTATION : null);
+	}
+	private String rewrite(final CompiledCopyPlan _plan,final String _source){
+		return new JavaSourceRewriter(_plan).rewrite(_source.toCharArray(),_source.length());
+	}
+
+	static Stream<Arguments> rewriteFilesDataPack() {
+	    return Stream.of(
+			Arguments.of("LambdaUnchecker.javacode"),
+			Arguments.of("Scope.javacode")
+		);
+	}
+	@ParameterizedTest(name = "rewrite() for file {0} should generate the expected file")
+	@MethodSource("rewriteFilesDataPack")
+	public void rewrite_files(final String _file) throws IOException {
+
+		final CompiledCopyPlan plan=plan("org.bytemechanics.commons.functional","com.mypackage2.matched.true",true);
+		final String original=new String(Files.readAllBytes(Paths.get("src/test/resources/files/original").resolve(_file)),StandardCharsets.UTF_8);
+		final String expected=new String(Files.readAllBytes(Paths.get("src/test/resources/files/expected").resolve(_file)),StandardCharsets.UTF_8);
+
+		try(StringReader reader=new StringReader(original)){
+			Assertions.assertEquals(expected.replace("\r\n","\n"), new JavaSourceRewriter(plan).rewrite(reader));
+		}
+	}
+
+	static Stream<Arguments> rewriteDataPack() {
+	    return Stream.of(
+			Arguments.of("package org.foo;\n\npublic class Bar{}\n",
+							"package my.foo;\n"+CopyServiceImpl.CUSTOM_IMPORT_ANNOTATION+"\n\n"+ANNOTATION+"\npublic class Bar{}\n"),
+			Arguments.of("package org.foo;\r\n/* this class is a comment\r\n class */\r\n// another class comment\r\npublic enum Bar{}",
+							"package my.foo;\n"+CopyServiceImpl.CUSTOM_IMPORT_ANNOTATION+"\n/* this class is a comment\n class */\n// another class comment\n"+ANNOTATION+"\npublic enum Bar{}\n"),
+			Arguments.of("package org.foo;\n@Use(value=Other.class)\n@interface Bar{}\n",
+							"package my.foo;\n"+CopyServiceImpl.CUSTOM_IMPORT_ANNOTATION+"\n@Use(value=Other.class)\n"+ANNOTATION+"\n@interface Bar{}\n"),
+			Arguments.of("package org.foo;\nimport org.foobar.record.Other;\npublic record Bar(String org){}\n",
+							"package my.foo;\n"+CopyServiceImpl.CUSTOM_IMPORT_ANNOTATION+"\nimport org.foobar.record.Other;\n"+ANNOTATION+"\npublic record Bar(String org){}\n"),
+			Arguments.of("package org.foo.sub;\nclass Bar{ String s=\"org.foo.Bar \\\" class \"; char c='\"'; String t=\"\"\"\n  org.foo \"\" class\n  \"\"\"; com.org.foo.X x; }\n",
+							"package my.foo.sub;\n"+CopyServiceImpl.CUSTOM_IMPORT_ANNOTATION+"\n"+ANNOTATION+"\nclass Bar{ String s=\"my.foo.Bar \\\" class \"; char c='\"'; String t=\"\"\"\n  my.foo \"\" class\n  \"\"\"; com.org.foo.X x; }\n")
+		);
+	}
+	@ParameterizedTest(name = "rewrite() for source {0} should result as {1}")
+	@MethodSource("rewriteDataPack")
+	public void rewrite(final String _source,final String _expected) {
+		Assertions.assertEquals(_expected, rewrite(plan("org.foo","my.foo",true),_source));
+	}
+
+	@Test
+	@DisplayName("rewrite() without annotation should only relocate and count the relocations")
+	public void rewrite_notAnnotated() {
+
+		final JavaSourceRewriter rewriter=new JavaSourceRewriter(plan("org.foo","my.foo",false));
+		final String source="package org.foo;\n/** see org.foo.Bar */\npublic class Bar extends org.foo.Base{}";
+
+		Assertions.assertEquals("package my.foo;\n/** see my.foo.Bar */\npublic class Bar extends my.foo.Base{}\n", rewriter.rewrite(source.toCharArray(),source.length()));
+		Assertions.assertEquals(3, rewriter.getRelocations());
+		Assertions.assertEquals(3, rewriter.getLines());
+	}
+
+	@Test
+	@DisplayName("rewrite() with tracer should report the state transitions and rewrites by line")
+	public void rewrite_traced() {
+
+		final List<String> traces=new ArrayList<>();
+		final JavaSourceRewriter rewriter=new JavaSourceRewriter(plan("org.foo","my.foo",true),traces::add);
+		final String source="package org.foo;\n// comment\nclass Bar{}";
+		rewriter.rewrite(source.toCharArray(),source.length());
+
+		Assertions.assertEquals(Arrays.asList("line 1: package declaration",
+												"line 1: org.foo relocated to my.foo",
+												"line 1: annotation import added",
+												"line 2: LINE_COMMENT",
+												"line 2: CODE",
+												"line 3: main type declaration, annotation added",
+												"rewritten 39 characters, 1 relocations"),traces);
+	}
+
+	@Test
+	@DisplayName("rewrite() without package should not annotate")
+	public void rewrite_defaultPackage() {
+		Assertions.assertEquals("public class Bar{}\n", rewrite(plan("org.foo","my.foo",true),"public class Bar{}"));
+	}
+
+	@Test
+	@DisplayName("rewrite() of an empty source should generate an empty source")
+	public void rewrite_empty() {
+		Assertions.assertEquals("", rewrite(plan("org.foo","my.foo",true),""));
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class RelocationCacheTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> RelocationCacheTest >>>> setupSpec");
+		try(InputStream inputStream = RelocationCacheTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private Path folder(final String _name) throws IOException{
+
+		final Path reply=Paths.get("target/tests/relocationCache").resolve(_name);
+
+		if(Files.exists(reply)){
+			try(Stream<Path> paths=Files.walk(reply)){
+				paths.sorted(Comparator.reverseOrder())
+						.map(Path::toFile)
+						.forEach(java.io.File::delete);
+			}
+		}
+
+		return reply;
+	}
+	private CompiledCopyPlan plan(final String _to,final String _annotation){
+		return new CompiledCopyPlan(new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{}, "UTF-8", "org.foo", _to),_annotation);
+	}
+
+	@Test
+	@DisplayName("key() should change with any of the values the relocated source depends on")
+	public void key(){
+
+		final String key=RelocationCache.key("checksum", "org.foo.Bar", plan("my.foo",null), StandardCharsets.UTF_8, "2.1.0");
+		Assertions.assertEquals(64, key.length());
+		Assertions.assertEquals(key, RelocationCache.key("checksum", "org.foo.Bar", plan("my.foo",null), StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, RelocationCache.key("checksum2", "org.foo.Bar", plan("my.foo",null), StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, RelocationCache.key("checksum", "org.foo.Other", plan("my.foo",null), StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, RelocationCache.key("checksum", "org.foo.Bar", plan("your.foo",null), StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, RelocationCache.key("checksum", "org.foo.Bar", plan("my.foo","@CopiedSource"), StandardCharsets.UTF_8, "2.1.0"));
+		Assertions.assertNotEquals(key, RelocationCache.key("checksum", "org.foo.Bar", plan("my.foo",null), StandardCharsets.UTF_16, "2.1.0"));
+		Assertions.assertNotEquals(key, RelocationCache.key("checksum", "org.foo.Bar", plan("my.foo",null), StandardCharsets.UTF_8, "2.2.0"));
+	}
+
+	@Test
+	@DisplayName("checksum() should depend on the content of the sources jar")
+	public void checksum() throws IOException{
+
+		final Path folder=folder("checksum");
+		Files.createDirectories(folder);
+		final Path jar=Files.write(folder.resolve("sources.jar"), "content".getBytes(StandardCharsets.UTF_8));
+		final RelocationCache cache=new RelocationCache(folder.resolve("cache"), 0);
+		final String checksum=cache.checksum(jar);
+		Assertions.assertEquals("ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73", checksum);
+		Assertions.assertEquals(checksum, cache.checksum(jar));
+		Files.write(jar, "other content".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(jar, FileTime.fromMillis(System.currentTimeMillis()+10000));
+		Assertions.assertNotEquals(checksum, cache.checksum(jar));
+	}
+
+	@Test
+	@DisplayName("get() should return the content stored with put() and refresh its access time")
+	public void put_get() throws IOException{
+
+		final RelocationCache cache=new RelocationCache(folder("put_get"), 0);
+		final String key=RelocationCache.key("checksum", "org.foo.Bar", plan("my.foo",null), StandardCharsets.UTF_8, "2.1.0");
+		final byte[] content="package my.foo;".getBytes(StandardCharsets.UTF_8);
+
+		Assertions.assertFalse(cache.get(key).isPresent());
+		cache.put(key, content);
+		final Path entry=cache.entryPath(key);
+		Assertions.assertTrue(Files.isRegularFile(entry));
+		Files.setLastModifiedTime(entry, FileTime.fromMillis(0));
+		Assertions.assertArrayEquals(content, cache.get(key).get());
+		Assertions.assertTrue(Files.getLastModifiedTime(entry).toMillis()>0);
+		cache.put(key, content);
+		try(Stream<Path> files=Files.list(entry.getParent())){
+			Assertions.assertEquals(1, files.count());
+		}
+	}
+
+	@Test
+	@DisplayName("get() should not mix the relocated sources with the packed entries of the same key")
+	public void put_get_packed() throws IOException{
+
+		final RelocationCache cache=new RelocationCache(folder("put_get_packed"), 0);
+		final String key=RelocationCache.key("checksum", "org.foo.Bar", plan("my.foo",null), StandardCharsets.UTF_8, "2.1.0");
+		final byte[] content="package my.foo;".getBytes(StandardCharsets.UTF_8);
+		final byte[] packed=new byte[]{0x50,0x4B,0x03,0x04};
+
+		cache.put(key, packed, RelocationCache.PACKED_EXTENSION);
+		Assertions.assertFalse(cache.get(key).isPresent());
+		Assertions.assertTrue(cache.entryPath(key, RelocationCache.PACKED_EXTENSION).getFileName().toString().endsWith(".zip"));
+		cache.put(key, content);
+		Assertions.assertArrayEquals(content, cache.get(key).get());
+		Assertions.assertArrayEquals(packed, cache.get(key, RelocationCache.PACKED_EXTENSION).get());
+	}
+
+	@Test
+	@DisplayName("evict() should remove the least recently used entries over the maximum size and the abandoned temporal files")
+	public void evict() throws IOException{
+
+		final RelocationCache cache=new RelocationCache(folder("evict"), 25);
+		final byte[] content="0123456789".getBytes(StandardCharsets.UTF_8);
+		final String[] keys=new String[4];
+		for(int i=0;i<keys.length;i++){
+			keys[i]=RelocationCache.key("checksum", "org.foo.Bar"+i, plan("my.foo",null), StandardCharsets.UTF_8, "2.1.0");
+			cache.put(keys[i], content);
+			Files.setLastModifiedTime(cache.entryPath(keys[i]), FileTime.fromMillis(1000000l*(i+1)));
+		}
+		Files.setLastModifiedTime(cache.entryPath(keys[0]), FileTime.fromMillis(9000000l));
+		final Path abandoned=Files.write(cache.entryPath(keys[0]).getParent().resolve("abandoned"+RelocationCache.TEMPORAL_EXTENSION), content);
+		Files.setLastModifiedTime(abandoned, FileTime.fromMillis(0));
+
+		Assertions.assertEquals(2, cache.evict());
+		Assertions.assertTrue(cache.get(keys[0]).isPresent());
+		Assertions.assertFalse(cache.get(keys[1]).isPresent());
+		Assertions.assertFalse(cache.get(keys[2]).isPresent());
+		Assertions.assertTrue(cache.get(keys[3]).isPresent());
+		Assertions.assertFalse(Files.exists(abandoned));
+		Assertions.assertEquals(0, cache.evict());
+	}
+
+	@Test
+	@DisplayName("evict() without maximum size should never remove entries")
+	public void evict_unlimited() throws IOException{
+
+		final RelocationCache cache=new RelocationCache(folder("evict_unlimited"), 0);
+		final String key=RelocationCache.key("checksum", "org.foo.Bar", plan("my.foo",null), StandardCharsets.UTF_8, "2.1.0");
+		cache.put(key, "0123456789".getBytes(StandardCharsets.UTF_8));
+		Assertions.assertEquals(0, cache.evict());
+		Assertions.assertTrue(cache.get(key).isPresent());
+	}
+}
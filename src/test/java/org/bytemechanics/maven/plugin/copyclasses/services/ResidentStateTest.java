@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.bytemechanics.maven.plugin.copyclasses.beans.CopyDefinition;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class ResidentStateTest {
+
+	private static final Path FAKE_JAR=Paths.get("src/test/resources/files/fakeJar.jar");
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> ResidentStateTest >>>> setupSpec");
+		try(InputStream inputStream = ResidentStateTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	@Test
+	@DisplayName("index() should reuse the index until the jar is modified")
+	public void index() throws IOException{
+
+		final Path jar=Paths.get("target/tests/residentState/index.jar");
+		Files.createDirectories(jar.getParent());
+		Files.copy(FAKE_JAR, jar, StandardCopyOption.REPLACE_EXISTING);
+		Files.setLastModifiedTime(jar, FileTime.fromMillis(1000000));
+		final ResidentState state=new ResidentState(10);
+		final AtomicInteger indexed=new AtomicInteger();
+		final ResidentState.Loader<SourceJarIndex> indexer=() -> {
+			indexed.incrementAndGet();
+			try(OpenedSourceJar opened=OpenedSourceJar.open(jar, ArchiveReader.JAR, false)){
+				return opened.getIndex();
+			}
+		};
+
+		final SourceJarIndex index=state.index(jar, ArchiveReader.JAR, false, indexer);
+		Assertions.assertEquals(11, index.size());
+		Assertions.assertSame(index, state.index(jar, ArchiveReader.JAR, false, indexer));
+		Assertions.assertEquals(1, indexed.get());
+		Assertions.assertNotSame(index, state.index(jar, ArchiveReader.JAR, true, indexer));
+		Assertions.assertEquals(2, indexed.get());
+		Files.setLastModifiedTime(jar, FileTime.fromMillis(2000000));
+		Assertions.assertNotSame(index, state.index(jar, ArchiveReader.JAR, false, indexer));
+		Assertions.assertEquals(3, indexed.get());
+		Assertions.assertEquals(1, state.getHits());
+		Assertions.assertEquals(3, state.getMisses());
+	}
+
+	@Test
+	@DisplayName("OpenedSourceJar.open() with state should reuse the index of the jar")
+	public void openedSourceJar() throws IOException{
+
+		final ResidentState state=new ResidentState(10);
+		final SourceJarIndex index;
+		try(OpenedSourceJar opened=OpenedSourceJar.open(FAKE_JAR, ArchiveReader.JAR, false, state)){
+			index=opened.getIndex();
+		}
+		try(OpenedSourceJar opened=OpenedSourceJar.open(FAKE_JAR, ArchiveReader.JAR, false, state)){
+			Assertions.assertSame(index, opened.getIndex());
+		}
+		try(OpenedSourceJar opened=OpenedSourceJar.open(FAKE_JAR, ArchiveReader.ZIP, false, state)){
+			Assertions.assertNotSame(index, opened.getIndex());
+			Assertions.assertEquals(index.size(), opened.getIndex().size());
+		}
+	}
+
+	@Test
+	@DisplayName("plan() should compile the plan once per artifact, packages and charset")
+	public void plan() throws MojoExecutionException{
+
+		final ResidentState state=new ResidentState(10);
+		final CopyDefinition copy=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.string.Figlet"}, "UTF-8", "org.bytemechanics.commons", "my.internal.commons");
+		final CopyDefinition sameRelocation=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.lang.ArrayUtils"}, "UTF-8", "org.bytemechanics.commons", "my.internal.commons");
+		final CopyDefinition otherRelocation=new CopyDefinition("org.bytemechanics:copy-commons:1.5.0", new String[]{"org.bytemechanics.commons.string.Figlet"}, "UTF-8", "org.bytemechanics.commons", "my.other.commons");
+
+		final CompiledCopyPlan plan=state.plan(copy, () -> new CompiledCopyPlan(copy,null));
+		Assertions.assertSame(plan, state.plan(sameRelocation, () -> new CompiledCopyPlan(sameRelocation,null)));
+		final CompiledCopyPlan other=state.plan(otherRelocation, () -> new CompiledCopyPlan(otherRelocation,null));
+		Assertions.assertNotSame(plan, other);
+		Assertions.assertEquals("my.other.commons", other.getToPackage());
+	}
+
+	@Test
+	@DisplayName("getFingerprints() should return a copy of the fingerprints until the file is modified")
+	public void fingerprints() throws IOException{
+
+		final Path file=Paths.get("target/tests/residentState/fingerprints.properties");
+		Files.createDirectories(file.getParent());
+		Files.write(file, "key=value\n".getBytes());
+		Files.setLastModifiedTime(file, FileTime.fromMillis(1000000));
+		final ResidentState state=new ResidentState(10);
+		final Properties fingerprints=new Properties();
+		fingerprints.setProperty("key", "value");
+
+		Assertions.assertFalse(state.getFingerprints(file).isPresent());
+		state.putFingerprints(file, fingerprints);
+		fingerprints.setProperty("key", "changed");
+		final Properties kept=state.getFingerprints(file).get();
+		Assertions.assertEquals("value", kept.getProperty("key"));
+		kept.setProperty("key", "changed");
+		Assertions.assertEquals("value", state.getFingerprints(file).get().getProperty("key"));
+		Files.setLastModifiedTime(file, FileTime.fromMillis(2000000));
+		Assertions.assertFalse(state.getFingerprints(file).isPresent());
+		Assertions.assertEquals(0, state.size());
+	}
+
+	@Test
+	@DisplayName("resize() should evict the least recently used entries")
+	public void resize() throws MojoExecutionException{
+
+		final ResidentState state=new ResidentState(10);
+		final CompiledCopyPlan[] plans=new CompiledCopyPlan[3];
+		final CopyDefinition[] copies=new CopyDefinition[3];
+		for(int i=0;i<3;i++){
+			final CopyDefinition copy=new CopyDefinition("org.bytemechanics:copy-commons:1.5."+i, new String[]{"org.bytemechanics.commons.string.Figlet"}, "UTF-8", "org.bytemechanics.commons", "my.internal.commons");
+			copies[i]=copy;
+			plans[i]=state.plan(copy, () -> new CompiledCopyPlan(copy,null));
+		}
+		Assertions.assertSame(plans[0], state.plan(copies[0], () -> null));
+		state.resize(2);
+		Assertions.assertEquals(2, state.size());
+		Assertions.assertSame(plans[0], state.plan(copies[0], () -> null));
+		Assertions.assertSame(plans[2], state.plan(copies[2], () -> null));
+		Assertions.assertNull(state.plan(copies[1], () -> null));
+	}
+
+	@Test
+	@DisplayName("FingerprintStore.load() with state should reuse the fingerprints stored")
+	public void fingerprintStore() throws MojoExecutionException{
+
+		final Path metainf=Paths.get("target/tests/residentState/fingerprintStore/META-INF");
+		final ResidentState state=new ResidentState(10);
+		final FingerprintStore store=FingerprintStore.load(metainf, state);
+		store.registerSelection("copy", Arrays.asList("class1","class2"));
+		store.store();
+		Assertions.assertEquals(1, state.size());
+		Assertions.assertEquals(Arrays.asList("class1","class2"), FingerprintStore.load(metainf, state).getSelection("copy").orElse(null));
+		Assertions.assertEquals(1, state.getHits());
+	}
+}
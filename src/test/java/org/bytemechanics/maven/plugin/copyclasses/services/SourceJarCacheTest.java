@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.apache.maven.execution.MavenSession;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class SourceJarCacheTest {
+
+	private static final Path FAKE_JAR=Paths.get("src/test/resources/files/fakeJar.jar");
+	private static final String CLASS="org.bytemechanics.commons.string.Figlet";
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> SourceJarCacheTest >>>> setupSpec");
+		try(InputStream inputStream = SourceJarCacheTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private static boolean isOpen(final OpenedSourceJar _jar){
+		try(InputStream inputStream=_jar.getArchive().getInputStream(_jar.getIndex().getEntry(CLASS).get())){
+			return inputStream!=null;
+		}catch(IOException|IllegalStateException e){
+			return false;
+		}
+	}
+
+	@Test
+	@DisplayName("OpenedSourceJar.open() should index the jar and close it only if not shared")
+	public void openedSourceJar() throws IOException{
+
+		final OpenedSourceJar shared=OpenedSourceJar.open(FAKE_JAR, true);
+		Assertions.assertEquals(11, shared.getIndex().size());
+		shared.close();
+		Assertions.assertTrue(isOpen(shared));
+		shared.release();
+		Assertions.assertFalse(isOpen(shared));
+
+		final OpenedSourceJar notShared=OpenedSourceJar.open(FAKE_JAR, false);
+		Assertions.assertTrue(notShared.isCurrent());
+		notShared.close();
+		Assertions.assertFalse(isOpen(notShared));
+	}
+
+	@Test
+	@DisplayName("open() should open each jar once until closed")
+	public void open() throws IOException{
+
+		final SourceJarCache cache=new SourceJarCache();
+		final OpenedSourceJar opened=cache.open(FAKE_JAR);
+		Assertions.assertTrue(opened.isShared());
+		Assertions.assertSame(opened, cache.open(FAKE_JAR.toAbsolutePath()));
+		opened.close();
+		Assertions.assertTrue(isOpen(opened));
+		Assertions.assertEquals(1, cache.size());
+		cache.close();
+		Assertions.assertEquals(0, cache.size());
+		Assertions.assertFalse(isOpen(opened));
+	}
+
+	@Test
+	@DisplayName("open() should reopen the jars modified since opened and close both at close()")
+	public void open_modified() throws IOException{
+
+		final Path jar=Paths.get("target/tests/sourceJarCache/open_modified.jar");
+		Files.createDirectories(jar.getParent());
+		Files.copy(FAKE_JAR, jar, StandardCopyOption.REPLACE_EXISTING);
+		Files.setLastModifiedTime(jar, FileTime.fromMillis(1000000));
+		final SourceJarCache cache=new SourceJarCache();
+		final OpenedSourceJar opened=cache.open(jar);
+		Files.setLastModifiedTime(jar, FileTime.fromMillis(2000000));
+		Assertions.assertFalse(opened.isCurrent());
+		final OpenedSourceJar reopened=cache.open(jar);
+		Assertions.assertNotSame(opened, reopened);
+		Assertions.assertTrue(isOpen(opened));
+		cache.close();
+		Assertions.assertFalse(isOpen(opened));
+		Assertions.assertFalse(isOpen(reopened));
+	}
+
+	@Test
+	@DisplayName("open() should reopen the jars opened with other reader")
+	public void open_reader() throws IOException{
+
+		final SourceJarCache cache=new SourceJarCache();
+		final OpenedSourceJar opened=cache.open(FAKE_JAR);
+		Assertions.assertEquals(ArchiveReader.JAR, opened.getReader());
+		final OpenedSourceJar mapped=cache.open(FAKE_JAR, ArchiveReader.MAPPED);
+		Assertions.assertNotSame(opened, mapped);
+		Assertions.assertEquals(ArchiveReader.MAPPED, mapped.getReader());
+		Assertions.assertSame(mapped, cache.open(FAKE_JAR, ArchiveReader.MAPPED));
+		Assertions.assertEquals(11, mapped.getIndex().size());
+		Assertions.assertTrue(isOpen(opened));
+		cache.close();
+		Assertions.assertFalse(isOpen(opened));
+		Assertions.assertFalse(isOpen(mapped));
+	}
+
+	@Test
+	@DisplayName("of() without session should return a new cache")
+	public void of_null(){
+		Assertions.assertNotSame(SourceJarCache.of(null), SourceJarCache.of(null));
+	}
+
+	@Test
+	@DisplayName("of() should return the same cache for the same session until released when the session scope is enabled")
+	public void of(final @Mocked MavenSession _session) throws IOException{
+
+		final DefaultRepositorySystemSession repositorySession=new DefaultRepositorySystemSession();
+		new Expectations() {{
+			_session.getRepositorySession(); result=repositorySession;
+		}};
+
+		SourceJarCache.enableSessionScope(_session);
+		final SourceJarCache cache=SourceJarCache.of(_session);
+		Assertions.assertTrue(cache.isSessionScoped());
+		Assertions.assertSame(cache, SourceJarCache.of(_session));
+		final OpenedSourceJar opened=cache.open(FAKE_JAR);
+		SourceJarCache.release(_session);
+		Assertions.assertFalse(isOpen(opened));
+		Assertions.assertNotSame(cache, SourceJarCache.of(_session));
+	}
+
+	@Test
+	@DisplayName("of() should return a new cache not session scoped for each execution when the session scope is not enabled")
+	public void of_notScoped(final @Mocked MavenSession _session) throws IOException{
+
+		final DefaultRepositorySystemSession repositorySession=new DefaultRepositorySystemSession();
+		new Expectations() {{
+			_session.getRepositorySession(); result=repositorySession;
+		}};
+
+		final SourceJarCache cache=SourceJarCache.of(_session);
+		Assertions.assertFalse(cache.isSessionScoped());
+		Assertions.assertNotSame(cache, SourceJarCache.of(_session));
+		final OpenedSourceJar opened=cache.open(FAKE_JAR);
+		SourceJarCache.release(_session);
+		Assertions.assertTrue(isOpen(opened));
+		cache.close();
+		Assertions.assertFalse(isOpen(opened));
+	}
+}
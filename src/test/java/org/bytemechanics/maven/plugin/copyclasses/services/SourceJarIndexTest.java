@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class SourceJarIndexTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> SourceJarIndexTest >>>> setupSpec");
+		try(InputStream inputStream = SourceJarIndexTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+
+	static Stream<Arguments> toClassNameDataPack() {
+	    return Stream.of(
+			Arguments.of("org/foo/Bar.java",Optional.of("org.foo.Bar")),
+			Arguments.of("Bar.java",Optional.of("Bar")),
+			Arguments.of("org/foo/package-info.java",Optional.empty()),
+			Arguments.of("module-info.java",Optional.empty()),
+			Arguments.of("META-INF/versions/9/org/foo/Bar.java",Optional.empty()),
+			Arguments.of("org/foo/",Optional.empty()),
+			Arguments.of("org/foo/bar.properties",Optional.empty())
+		);
+	}
+	@ParameterizedTest(name = "toClassName() of entry {0} should be {1}")
+	@MethodSource("toClassNameDataPack")
+	public void toClassName(final String _entryName,final Optional<String> _expected){
+		Assertions.assertEquals(_expected, SourceJarIndex.toClassName(_entryName));
+	}
+
+	static Stream<Arguments> toCompiledClassNameDataPack() {
+	    return Stream.of(
+			Arguments.of("org/foo/Bar.class",Optional.of("org.foo.Bar")),
+			Arguments.of("org/foo/Bar$Inner.class",Optional.of("org.foo.Bar$Inner")),
+			Arguments.of("org/foo/Bar.java",Optional.empty()),
+			Arguments.of("org/foo/package-info.class",Optional.empty()),
+			Arguments.of("module-info.class",Optional.empty()),
+			Arguments.of("META-INF/versions/9/org/foo/Bar.class",Optional.empty())
+		);
+	}
+	@ParameterizedTest(name = "toClassName() of compiled entry {0} should be {1}")
+	@MethodSource("toCompiledClassNameDataPack")
+	public void toClassName_compiled(final String _entryName,final Optional<String> _expected){
+		Assertions.assertEquals(_expected, SourceJarIndex.toClassName(_entryName, CopyServiceImpl.CLASS_FILE_EXTENSION));
+	}
+
+	static Stream<Arguments> matchesDataPack() {
+	    return Stream.of(
+			Arguments.of("org.foo.Bar","org.foo.Bar",true),
+			Arguments.of("org.foo.Bar","org.foo.BarBis",false),
+			Arguments.of("org.foo.*","org.foo.Bar",true),
+			Arguments.of("org.foo.*","org.foo.sub.Bar",false),
+			Arguments.of("org.foo.*","org.foobar.Bar",false),
+			Arguments.of("org.foo.**","org.foo.Bar",true),
+			Arguments.of("org.foo.**","org.foo.sub.Bar",true),
+			Arguments.of("org.foo.**","org.foobar.Bar",false),
+			Arguments.of("**","org.foobar.Bar",true)
+		);
+	}
+	@ParameterizedTest(name = "matches() selection {0} with class {1} should be {2}")
+	@MethodSource("matchesDataPack")
+	public void matches(final String _selection,final String _clazz,final boolean _expected){
+		Assertions.assertEquals(_expected, SourceJarIndex.matches(_selection, _clazz));
+		Assertions.assertEquals(_selection.contains("*"), SourceJarIndex.isWildcard(_selection));
+	}
+
+	static Stream<Arguments> selectDataPack() {
+	    return Stream.of(
+			Arguments.of("org.bytemechanics.commons.string.Figlet",Arrays.asList("org.bytemechanics.commons.string.Figlet")),
+			Arguments.of("org.bytemechanics.commons.string.NotExist",Collections.emptyList()),
+			Arguments.of("org.bytemechanics.commons.lang.*",Arrays.asList("org.bytemechanics.commons.lang.ArrayUtils","org.bytemechanics.commons.lang.AutoCloseableResource")),
+			Arguments.of("org.bytemechanics.commons.*",Collections.emptyList()),
+			Arguments.of("org.bytemechanics.commons.**",Arrays.asList("org.bytemechanics.commons.collections.FastDropLastQueue",
+																	"org.bytemechanics.commons.functional.LambdaUnchecker","org.bytemechanics.commons.functional.Tuple",
+																	"org.bytemechanics.commons.lang.ArrayUtils","org.bytemechanics.commons.lang.AutoCloseableResource",
+																	"org.bytemechanics.commons.reflection.ObjectFactory","org.bytemechanics.commons.reflection.PrimitiveTypeConverter",
+																	"org.bytemechanics.commons.string.Figlet","org.bytemechanics.commons.string.GenericTextParser","org.bytemechanics.commons.string.SimpleFormat","org.bytemechanics.commons.string.Stringify")),
+			Arguments.of("org.bytemechanics.common.**",Collections.emptyList())
+		);
+	}
+	@ParameterizedTest(name = "select() of {0} at fakeJar should result as {1}")
+	@MethodSource("selectDataPack")
+	public void select(final String _selection,final List<String> _expected) throws IOException{
+		
+		try(JarFile jar=new JarFile("src/test/resources/files/fakeJar.jar")){
+			final SourceJarIndex index=SourceJarIndex.of(jar);
+			Assertions.assertEquals(11, index.size());
+			Assertions.assertEquals(_expected, new ArrayList<>(index.select(_selection).keySet()));
+			index.select(_selection)
+					.forEach((clazz,entry) -> Assertions.assertEquals(clazz.replace('.','/')+".java", entry.getName()));
+		}
+	}
+
+	@Test
+	@DisplayName("select() should only visit the range of the package on indexes with many entries")
+	public void select_largeIndex(){
+
+		final NavigableMap<String,JarEntry> classes=new TreeMap<>();
+		for(int i=0;i<200;i++){
+			for(int j=0;j<250;j++){
+				final String name="org.pack"+i+".sub"+(j%5)+".Class"+j;
+				classes.put(name, new JarEntry(name.replace('.','/')+".java"));
+			}
+		}
+		final SourceJarIndex index=new SourceJarIndex(classes);
+		Assertions.assertEquals(50000, index.size());
+		Assertions.assertEquals(250, index.select("org.pack42.**").size());
+		Assertions.assertEquals(50, index.select("org.pack42.sub3.*").size());
+		Assertions.assertEquals(0, index.select("org.pack42.*").size());
+		Assertions.assertEquals(50000, index.select("**").size());
+		Assertions.assertTrue(index.getEntry("org.pack199.sub4.Class249").isPresent());
+		Assertions.assertTrue(index.getPosition("org.pack0.sub0.Class0")<index.getPosition("org.pack0.sub0.Class5"));
+		Assertions.assertEquals(Integer.MAX_VALUE, index.getPosition("org.pack200.sub0.Class0"));
+	}
+
+	@Test
+	@DisplayName("getPosition() should return the position of the class at the jar")
+	public void getPosition() throws IOException{
+
+		try(JarFile jar=new JarFile("src/test/resources/files/fakeJar.jar")){
+			final SourceJarIndex index=SourceJarIndex.of(jar);
+			final List<String> entries=new ArrayList<>();
+			jar.stream().forEach(entry -> entries.add(entry.getName()));
+			for(String clazz:index.select("**").keySet()){
+				Assertions.assertEquals(clazz.replace('.','/')+".java", entries.get(index.getPosition(clazz)));
+			}
+			Assertions.assertEquals(Integer.MAX_VALUE, index.getPosition("org.bytemechanics.commons.string.NotExist"));
+		}
+	}
+
+	@Test
+	@DisplayName("ofCompiled() should index the compiled classes and getNested() should return the nested classes of a class")
+	public void ofCompiled() throws IOException{
+
+		final Path file=Paths.get("target/tests/sourceJarIndex/ofCompiled.jar");
+		Files.createDirectories(file.getParent());
+		try(JarOutputStream outputStream=new JarOutputStream(Files.newOutputStream(file))){
+			for(String entry:new String[]{"org/foo/Bar.class","org/foo/Bar$Inner.class","org/foo/Bar$Inner$Deep.class","org/foo/BarBis.class",
+											"org/foo/package-info.class","module-info.class","META-INF/versions/9/org/foo/Bar.class","org/foo/Bar.java"}){
+				outputStream.putNextEntry(new JarEntry(entry));
+				outputStream.write(new byte[]{(byte)0xCA,(byte)0xFE,(byte)0xBA,(byte)0xBE});
+			}
+		}
+
+		try(SourceArchive archive=ArchiveReader.JAR.open(file)){
+			final SourceJarIndex index=SourceJarIndex.ofCompiled(archive);
+			Assertions.assertEquals(4, index.size());
+			Assertions.assertEquals(8, index.getEntries());
+			Assertions.assertEquals(Arrays.asList("org.foo.Bar$Inner","org.foo.Bar$Inner$Deep"), new ArrayList<>(index.getNested("org.foo.Bar").keySet()));
+			Assertions.assertEquals(Arrays.asList("org.foo.Bar$Inner$Deep"), new ArrayList<>(index.getNested("org.foo.Bar$Inner").keySet()));
+			Assertions.assertTrue(index.getNested("org.foo.BarBis").isEmpty());
+			Assertions.assertEquals(Arrays.asList("org.foo.Bar","org.foo.Bar$Inner","org.foo.Bar$Inner$Deep","org.foo.BarBis"), new ArrayList<>(index.select("org.foo.*").keySet()));
+			Assertions.assertEquals("org/foo/Bar$Inner.class", index.getEntry("org.foo.Bar$Inner").map(JarEntry::getName).orElse(null));
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bytemechanics.maven.plugin.copyclasses.enums.ArchiveReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class SourceJarReaderTest {
+
+	private static final Path FAKE_JAR=Paths.get("src/test/resources/files/fakeJar.jar");
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> SourceJarReaderTest >>>> setupSpec");
+		try(InputStream inputStream = SourceJarReaderTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private static byte[] read(final SourceJarReader _reader,final String _clazz,final JarEntry _entry) throws IOException{
+		try(InputStream inputStream=_reader.getInputStream(_clazz, _entry);
+				ByteArrayOutputStream outputStream=new ByteArrayOutputStream()){
+			final byte[] buffer=new byte[1024];
+			int read=inputStream.read(buffer);
+			while(read>=0){
+				outputStream.write(buffer, 0, read);
+				read=inputStream.read(buffer);
+			}
+			return outputStream.toByteArray();
+		}
+	}
+
+	static Stream<Arguments> isSequentialDataPack() {
+	    return Stream.of(
+			Arguments.of(0,0,false),
+			Arguments.of(11,26,false),
+			Arguments.of(31,31,false),
+			Arguments.of(32,32,true),
+			Arguments.of(32,1000,false),
+			Arguments.of(250,1000,true),
+			Arguments.of(249,1000,false)
+		);
+	}
+	@ParameterizedTest(name = "isSequential() with {0} classes selected of {1} entries should be {2}")
+	@MethodSource("isSequentialDataPack")
+	public void isSequential(final int _selected,final int _entries,final boolean _expected){
+		Assertions.assertEquals(_expected, SourceJarReader.isSequential(_selected, _entries));
+	}
+
+	@Test
+	@DisplayName("getInputStream() in sequential mode should read the same content as random access")
+	public void getInputStream_sequential() throws IOException{
+
+		try(SourceArchive jar=ArchiveReader.JAR.open(FAKE_JAR)){
+			final SourceJarIndex index=SourceJarIndex.of(jar);
+			final Map<String,JarEntry> selection=index.select("**");
+			final List<String> ordered=new ArrayList<>(selection.keySet());
+			ordered.sort(Comparator.comparingInt(index::getPosition));
+			try(SourceJarReader sequential=new SourceJarReader(jar, FAKE_JAR, index, true);
+					SourceJarReader random=new SourceJarReader(jar, FAKE_JAR, index, false)){
+				for(String clazz:ordered){
+					Assertions.assertArrayEquals(read(random, clazz, selection.get(clazz)), read(sequential, clazz, selection.get(clazz)), clazz);
+				}
+				Assertions.assertTrue(sequential.isSequential());
+				Assertions.assertEquals(11, sequential.getSequentialReads());
+				Assertions.assertEquals(0, sequential.getRandomReads());
+				Assertions.assertFalse(random.isSequential());
+				Assertions.assertEquals(0, random.getSequentialReads());
+				Assertions.assertEquals(11, random.getRandomReads());
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("getInputStream() in sequential mode of a class behind the stream should fall back to random access")
+	public void getInputStream_behind() throws IOException{
+
+		try(SourceArchive jar=ArchiveReader.JAR.open(FAKE_JAR)){
+			final SourceJarIndex index=SourceJarIndex.of(jar);
+			final Map<String,JarEntry> selection=index.select("**");
+			final List<String> ordered=new ArrayList<>(selection.keySet());
+			ordered.sort(Comparator.comparingInt(index::getPosition));
+			final String first=ordered.get(0);
+			final String last=ordered.get(ordered.size()-1);
+			try(SourceJarReader sequential=new SourceJarReader(jar, FAKE_JAR, index, true);
+					SourceJarReader random=new SourceJarReader(jar, FAKE_JAR, index, false)){
+				Assertions.assertArrayEquals(read(random, last, selection.get(last)), read(sequential, last, selection.get(last)), last);
+				Assertions.assertArrayEquals(read(random, first, selection.get(first)), read(sequential, first, selection.get(first)), first);
+				Assertions.assertEquals(1, sequential.getSequentialReads());
+				Assertions.assertEquals(1, sequential.getRandomReads());
+			}
+		}
+	}
+}
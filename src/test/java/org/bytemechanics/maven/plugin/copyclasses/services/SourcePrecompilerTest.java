@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.maven.plugin.copyclasses.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class SourcePrecompilerTest {
+
+	@BeforeAll
+	public static void setup() throws IOException{
+		System.out.println(">>>>> SourcePrecompilerTest >>>> setupSpec");
+		try(InputStream inputStream = SourcePrecompilerTest.class.getResourceAsStream("/logging.properties")){
+			LogManager.getLogManager().readConfiguration(inputStream);
+		}catch (final IOException e){
+			Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+			Logger.getAnonymousLogger().severe(e.getMessage());
+		}
+	}
+
+	@BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> "+this.getClass().getSimpleName()+" >>>> "+testInfo.getTestMethod().map(Method::getName).orElse("Unkown")+""+testInfo.getTags().toString()+" >>>> "+testInfo.getDisplayName());
+	}
+
+	private Path folder(final String _name) throws IOException{
+
+		final Path reply=Paths.get("target/tests/sourcePrecompiler").resolve(_name);
+
+		if(Files.exists(reply)){
+			try(Stream<Path> paths=Files.walk(reply)){
+				paths.sorted(Comparator.reverseOrder())
+						.map(Path::toFile)
+						.forEach(java.io.File::delete);
+			}
+		}
+		Files.createDirectories(reply);
+
+		return reply;
+	}
+	private Path source(final Path _folder,final String _class,final String _content) throws IOException{
+
+		final Path reply=_folder.resolve(_class.replace('.','/')+".java");
+
+		Files.createDirectories(reply.getParent());
+		Files.write(reply, _content.getBytes(StandardCharsets.UTF_8));
+
+		return reply;
+	}
+	private SourcePrecompiler precompiler(final String... _options){
+		return new SourcePrecompiler(SourcePrecompiler.systemCompiler().get(), null, StandardCharsets.UTF_8, Arrays.asList(_options));
+	}
+
+	@Test
+	@DisplayName("compile() should compile only the given sources resolving the rest from the sources folder")
+	public void compile() throws IOException{
+
+		final Path folder=folder("compile");
+		final Path bar=source(folder, "my.foo.Bar", "package my.foo;\npublic class Bar {\n\tpublic static class Inner {}\n\tpublic Other other(){ return new Other(); }\n}\n");
+		source(folder, "my.foo.Other", "package my.foo;\npublic class Other {}\n");
+		final Path baz=source(folder, "my.foo.baz.Baz", "package my.foo.baz;\npublic class Baz extends my.foo.Bar {}\n");
+
+		final SourcePrecompiler.Compilation compilation=precompiler("-g").compile(folder, Arrays.asList(baz,bar));
+		Assertions.assertTrue(compilation.isSuccess(), compilation.getErrors().toString());
+		Assertions.assertEquals(Collections.emptyList(), compilation.getErrors());
+		Assertions.assertEquals(Arrays.asList("my/foo/Bar$Inner.class","my/foo/Bar.class","my/foo/baz/Baz.class"), Arrays.asList(compilation.getClasses().keySet().toArray()));
+		final byte[] content=compilation.getClasses().get("my/foo/Bar.class");
+		Assertions.assertEquals((byte)0xCA, content[0]);
+		Assertions.assertEquals((byte)0xFE, content[1]);
+	}
+
+	@Test
+	@DisplayName("compile() should report the errors of the sources that do not compile")
+	public void compile_failure() throws IOException{
+
+		final Path folder=folder("failure");
+		final Path bar=source(folder, "my.foo.Bar", "package my.foo;\npublic class Bar extends org.missing.Missing {}\n");
+
+		final SourcePrecompiler.Compilation compilation=precompiler().compile(folder, Collections.singletonList(bar));
+		Assertions.assertFalse(compilation.isSuccess());
+		Assertions.assertFalse(compilation.getErrors().isEmpty());
+		Assertions.assertTrue(compilation.getErrors().get(0).contains("Bar.java:2"), compilation.getErrors().get(0));
+	}
+
+	@Test
+	@DisplayName("key() should change with the sources, the rest of the sources folder and the compiler options but not with the sources order")
+	public void key() throws IOException{
+
+		final Path folder=folder("key");
+		final Path bar=source(folder, "my.foo.Bar", "package my.foo;\npublic class Bar {}\n");
+		final Path other=source(folder, "my.foo.Other", "package my.foo;\npublic class Other {}\n");
+		final List<Path> sources=Arrays.asList(bar,other);
+
+		final String key=precompiler("-g").key(folder, sources, "2.1.0");
+		Assertions.assertEquals(64, key.length());
+		Assertions.assertEquals(key, precompiler("-g").key(folder, Arrays.asList(other,bar), "2.1.0"));
+		Assertions.assertNotEquals(key, precompiler("-g","-nowarn").key(folder, sources, "2.1.0"));
+		Assertions.assertNotEquals(key, precompiler("-g").key(folder, sources, "2.2.0"));
+		Assertions.assertNotEquals(key, new SourcePrecompiler(SourcePrecompiler.systemCompiler().get(), null, StandardCharsets.UTF_16, Arrays.asList("-g")).key(folder, sources, "2.1.0"));
+		Assertions.assertNotEquals(key, precompiler("-g").key(folder, Collections.singletonList(bar), "2.1.0"));
+		source(folder, "my.foo.Other", "package my.foo;\npublic class Other { }\n");
+		final String changed=precompiler("-g").key(folder, sources, "2.1.0");
+		Assertions.assertNotEquals(key, changed);
+		source(folder, "my.foo.baz.Sibling", "package my.foo.baz;\npublic class Sibling {}\n");
+		Assertions.assertNotEquals(changed, precompiler("-g").key(folder, sources, "2.1.0"));
+	}
+
+	@Test
+	@DisplayName("pack() should produce the same entry for the same classes and unpack() should restore them")
+	public void pack() throws IOException{
+
+		final Map<String,byte[]> classes=new TreeMap<>();
+		classes.put("my/foo/Bar.class", new byte[]{1,2,3});
+		classes.put("my/foo/Bar$Inner.class", new byte[]{4,5});
+
+		final byte[] packed=SourcePrecompiler.pack(classes);
+		Assertions.assertArrayEquals(packed, SourcePrecompiler.pack(classes));
+		final Map<String,byte[]> unpacked=SourcePrecompiler.unpack(packed);
+		Assertions.assertEquals(classes.keySet(), unpacked.keySet());
+		Assertions.assertArrayEquals(new byte[]{1,2,3}, unpacked.get("my/foo/Bar.class"));
+		Assertions.assertArrayEquals(new byte[]{4,5}, unpacked.get("my/foo/Bar$Inner.class"));
+	}
+}